@@ -66,6 +66,24 @@ public class ReferenceCounterUtil implements ReferenceCounter, AutoCloseable {
       return useUpdater.incrementAndGet(this);
    }
 
+   /**
+    * Increments the counter unless it is 0, i.e. unless the task meant for when the value was 0 may have been
+    * executed.
+    *
+    * @return {@code true} if the counter was incremented
+    */
+   public boolean incrementIfPositive() {
+      int value;
+      do {
+         value = use;
+         if (value <= 0) {
+            return false;
+         }
+      }
+      while (!useUpdater.compareAndSet(this, value, value + 1));
+      return true;
+   }
+
    @Override
    public int decrement() {
       int value = useUpdater.decrementAndGet(this);
@@ -186,29 +186,12 @@ public class TypedProperties {
    }
 
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return Boolean.valueOf(null);
-      } else if (value instanceof Boolean booleanValue) {
-         return booleanValue;
-      } else if (value instanceof SimpleString simpleString) {
-         return Boolean.valueOf(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toBoolean(key, doGetProperty(key));
    }
 
    public Byte getByteProperty(final SimpleString key,
                                final Supplier<Byte> defaultValue) throws ActiveMQPropertyConversionException {
-      Objects.requireNonNull(defaultValue);
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return defaultValue.get();
-      } else if (value instanceof Byte byteValue) {
-         return byteValue;
-      } else if (value instanceof SimpleString simpleString) {
-         return Byte.parseByte(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toByte(key, doGetProperty(key), defaultValue);
    }
 
    public Byte getByteProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
@@ -228,117 +211,31 @@ public class TypedProperties {
    }
 
    public byte[] getBytesProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return null;
-      } else if (value instanceof byte[] bytes) {
-         return bytes;
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toBytes(key, doGetProperty(key));
    }
 
    public Double getDoubleProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return Double.valueOf(null);
-      } else if (value instanceof Float floatValue) {
-         return floatValue.doubleValue();
-      } else if (value instanceof Double doubleValue) {
-         return doubleValue;
-      } else if (value instanceof SimpleString simpleString) {
-         return Double.parseDouble(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toDouble(key, doGetProperty(key));
    }
 
    public Integer getIntProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return Integer.valueOf(null);
-      } else if (value instanceof Integer integer) {
-         return integer;
-      } else if (value instanceof Byte byteValue) {
-         return byteValue.intValue();
-      } else if (value instanceof Short shortValue) {
-         return shortValue.intValue();
-      } else if (value instanceof SimpleString simpleString) {
-         return Integer.parseInt(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toInteger(key, doGetProperty(key));
    }
 
    public Long getLongProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return Long.valueOf(null);
-      } else if (value instanceof Long longValue) {
-         return longValue;
-      } else if (value instanceof Byte byteValue) {
-         return byteValue.longValue();
-      } else if (value instanceof Short shortValue) {
-         return shortValue.longValue();
-      } else if (value instanceof Integer integer) {
-         return integer.longValue();
-      } else if (value instanceof SimpleString simpleString) {
-         return Long.parseLong(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toLong(key, doGetProperty(key));
    }
 
    public Short getShortProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null) {
-         return Short.valueOf(null);
-      } else if (value instanceof Byte byteValue) {
-         return byteValue.shortValue();
-      } else if (value instanceof Short shortValue) {
-         return shortValue;
-      } else if (value instanceof SimpleString simpleString) {
-         return Short.parseShort(simpleString.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toShort(key, doGetProperty(key));
    }
 
    public Float getFloatProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-      if (value == null)
-         return Float.valueOf(null);
-      if (value instanceof Float floatValue) {
-         return floatValue;
-      }
-      if (value instanceof SimpleString string) {
-         return Float.parseFloat(string.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toFloat(key, doGetProperty(key));
    }
 
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      Object value = doGetProperty(key);
-
-      if (value == null) {
-         return null;
-      }
-
-      if (value instanceof SimpleString string) {
-         return string;
-      } else if (value instanceof Boolean) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Character) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Byte) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Short) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Integer) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Long) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Float) {
-         return SimpleString.of(value.toString());
-      } else if (value instanceof Double) {
-         return SimpleString.of(value.toString());
-      }
-      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+      return toSimpleString(key, doGetProperty(key));
    }
 
    public Object removeProperty(final SimpleString key) {
@@ -503,6 +400,72 @@ public class TypedProperties {
     * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
     */
    public static boolean searchProperty(SimpleString key, ByteBuf buffer, int startIndex) {
+      return searchPropertyValue(key, buffer, startIndex) >= 0;
+   }
+
+   /**
+    * Decodes the value of the {@code key} property contained in {@code buffer}, starting from {@code startIndex}
+    * assuming it to be a valid encoded {@link TypedProperties} content, without decoding any other property.
+    *
+    * @return the value of the property or {@code null} if not found
+    * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
+    */
+   public static Object readProperty(SimpleString key,
+                                     ByteBuf buffer,
+                                     int startIndex,
+                                     TypedPropertiesDecoderPools keyValuePools) {
+      int index = searchPropertyValue(key, buffer, startIndex);
+      if (index < 0) {
+         return null;
+      }
+      final byte type = buffer.getByte(index);
+      index++;
+      switch (type) {
+         case NULL: {
+            return null;
+         }
+         case CHAR: {
+            return (char) buffer.getShort(index);
+         }
+         case BOOLEAN: {
+            return buffer.getBoolean(index);
+         }
+         case BYTE: {
+            return buffer.getByte(index);
+         }
+         case BYTES: {
+            final byte[] bytes = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, bytes);
+            return bytes;
+         }
+         case SHORT: {
+            return buffer.getShort(index);
+         }
+         case INT: {
+            return buffer.getInt(index);
+         }
+         case LONG: {
+            return buffer.getLong(index);
+         }
+         case FLOAT: {
+            return buffer.getFloat(index);
+         }
+         case DOUBLE: {
+            return buffer.getDouble(index);
+         }
+         case STRING: {
+            return StringValue.readStringValue(buffer.duplicate().readerIndex(index), keyValuePools == null ? null : keyValuePools.getPropertyValuesPool()).val;
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
+   /**
+    * @return the index of the encoded value of the {@code key} property or {@code -1} if not found
+    */
+   private static int searchPropertyValue(SimpleString key, ByteBuf buffer, int startIndex) {
       // It won't implement a straight linear search for key
       // because it would risk to find a SimpleString encoded property value
       // equals to the key we're searching for!
@@ -510,7 +473,7 @@ public class TypedProperties {
       byte b = buffer.getByte(index);
       index++;
       if (b == DataConstants.NULL) {
-         return false;
+         return -1;
       }
       final int numHeaders = buffer.getInt(index);
       index += Integer.BYTES;
@@ -518,10 +481,10 @@ public class TypedProperties {
          final int keyLength = buffer.getInt(index);
          index += Integer.BYTES;
          if (key.equals(buffer, index, keyLength)) {
-            return true;
+            return index + keyLength;
          }
          if (i == numHeaders - 1) {
-            return false;
+            return -1;
          }
          index += keyLength;
          byte type = buffer.getByte(index);
@@ -566,7 +529,7 @@ public class TypedProperties {
             }
          }
       }
-      return false;
+      return -1;
    }
 
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
@@ -819,6 +782,137 @@ public class TypedProperties {
       }
    }
 
+   public static Boolean toBoolean(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return Boolean.valueOf(null);
+      } else if (value instanceof Boolean booleanValue) {
+         return booleanValue;
+      } else if (value instanceof SimpleString simpleString) {
+         return Boolean.valueOf(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Byte toByte(final SimpleString key,
+                             final Object value,
+                             final Supplier<Byte> defaultValue) throws ActiveMQPropertyConversionException {
+      Objects.requireNonNull(defaultValue);
+      if (value == null) {
+         return defaultValue.get();
+      } else if (value instanceof Byte byteValue) {
+         return byteValue;
+      } else if (value instanceof SimpleString simpleString) {
+         return Byte.parseByte(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static byte[] toBytes(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return null;
+      } else if (value instanceof byte[] bytes) {
+         return bytes;
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Double toDouble(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return Double.valueOf(null);
+      } else if (value instanceof Float floatValue) {
+         return floatValue.doubleValue();
+      } else if (value instanceof Double doubleValue) {
+         return doubleValue;
+      } else if (value instanceof SimpleString simpleString) {
+         return Double.parseDouble(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Integer toInteger(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return Integer.valueOf(null);
+      } else if (value instanceof Integer integer) {
+         return integer;
+      } else if (value instanceof Byte byteValue) {
+         return byteValue.intValue();
+      } else if (value instanceof Short shortValue) {
+         return shortValue.intValue();
+      } else if (value instanceof SimpleString simpleString) {
+         return Integer.parseInt(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Long toLong(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return Long.valueOf(null);
+      } else if (value instanceof Long longValue) {
+         return longValue;
+      } else if (value instanceof Byte byteValue) {
+         return byteValue.longValue();
+      } else if (value instanceof Short shortValue) {
+         return shortValue.longValue();
+      } else if (value instanceof Integer integer) {
+         return integer.longValue();
+      } else if (value instanceof SimpleString simpleString) {
+         return Long.parseLong(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Short toShort(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return Short.valueOf(null);
+      } else if (value instanceof Byte byteValue) {
+         return byteValue.shortValue();
+      } else if (value instanceof Short shortValue) {
+         return shortValue;
+      } else if (value instanceof SimpleString simpleString) {
+         return Short.parseShort(simpleString.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static Float toFloat(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null)
+         return Float.valueOf(null);
+      if (value instanceof Float floatValue) {
+         return floatValue;
+      }
+      if (value instanceof SimpleString string) {
+         return Float.parseFloat(string.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
+   public static SimpleString toSimpleString(final SimpleString key, final Object value) throws ActiveMQPropertyConversionException {
+      if (value == null) {
+         return null;
+      }
+
+      if (value instanceof SimpleString string) {
+         return string;
+      } else if (value instanceof Boolean) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Character) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Byte) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Short) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Integer) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Long) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Float) {
+         return SimpleString.of(value.toString());
+      } else if (value instanceof Double) {
+         return SimpleString.of(value.toString());
+      }
+      throw new ActiveMQPropertyConversionException("Invalid conversion: " + key);
+   }
+
    private Object doGetProperty(final SimpleString key) {
       lock.readLock().lock();
       try {
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.utils;
 
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.readProperty;
 import static org.apache.activemq.artemis.utils.collections.TypedProperties.searchProperty;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -312,6 +313,42 @@ public class TypedPropertiesTest {
       });
    }
 
+   @Test
+   public void testReadAllProperties() {
+      TypedProperties props = new TypedProperties();
+      props.putByteProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBytes());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), null);
+      props.putBooleanProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBoolean());
+      props.putShortProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomChar());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomUUIDSimpleString());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), null);
+      final SimpleString value = RandomUtil.randomUUIDSimpleString();
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), value);
+      ByteBuf buf = Unpooled.buffer();
+      // the properties aren't expected to be at the beginning of the buffer
+      buf.writeLong(RandomUtil.randomLong());
+      props.encode(buf);
+      final int readerIndex = buf.readerIndex();
+      assertNull(readProperty(value, buf, Long.BYTES, null));
+      props.forEachKey(key -> {
+         final Object expected = props.getProperty(key);
+         final Object actual = readProperty(SimpleString.of(key.toString()), buf, Long.BYTES, new TypedProperties.TypedPropertiesDecoderPools());
+         if (expected instanceof byte[] expectedBytes) {
+            assertArrayEquals(expectedBytes, (byte[]) actual);
+         } else {
+            assertEquals(expected, actual);
+         }
+         assertNull(readProperty(key.concat(" "), buf, Long.BYTES, null));
+      });
+      assertEquals(readerIndex, buf.readerIndex());
+   }
+
    @Test
    public void testSearchPartiallyEncodedBuffer() {
       assertThrows(IndexOutOfBoundsException.class, () -> {
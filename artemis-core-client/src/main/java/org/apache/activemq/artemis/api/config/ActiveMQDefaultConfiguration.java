@@ -294,6 +294,21 @@ public final class ActiveMQDefaultConfiguration {
    // The maximal number of data files before we can start deleting corrupted files instead of moving them to attic.
    private static int DEFAULT_JOURNAL_MAX_ATTIC_FILES = 10;
 
+   // How many journal files may be read and decoded concurrently when loading the message journal
+   private static int DEFAULT_JOURNAL_LOAD_PARALLELISM = 1;
+
+   // The lower bound, in nanoseconds, of the adaptive journal buffer timeout
+   private static int DEFAULT_JOURNAL_BUFFER_TIMEOUT_MIN = -1;
+
+   // The upper bound, in nanoseconds, of the adaptive journal buffer timeout; -1 keeps the timeout fixed
+   private static int DEFAULT_JOURNAL_BUFFER_TIMEOUT_MAX = -1;
+
+   // The estimated heap size in bytes of the pages kept in memory once no cursor uses them; -1 disables the shared page cache
+   private static long DEFAULT_PAGE_CACHE_MAX_SIZE = -1;
+
+   // The number of filtered queues bound to an address, which can be looked up by a property value, from which they are indexed; 0 disables the index
+   private static int DEFAULT_ROUTING_FILTER_INDEX_MIN_BINDINGS = 16;
+
    // Interval to log server specific information (e.g. memory usage etc)
    private static long DEFAULT_SERVER_DUMP_INTERVAL = -1;
 
@@ -425,6 +440,9 @@ public final class ActiveMQDefaultConfiguration {
    // When a replica comes online this is how long the replicating server will wait for a confirmation from the replica that the replication synchronization process is complete
    private static long DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT = 30000;
 
+   // How many ordered stripes the replica applies replicated journal, paging and large-message packets on; 0 keeps the single ordered stream
+   private static int DEFAULT_REPLICATION_STRIPES = 0;
+
    // Will this backup server become active on a normal server shutdown
    private static boolean DEFAULT_FAILOVER_ON_SERVER_SHUTDOWN = false;
 
@@ -680,6 +698,9 @@ public final class ActiveMQDefaultConfiguration {
    // Whether or not to report security cache metrics
    private static final boolean DEFAULT_SECURITY_CACHE_METRICS = false;
 
+   // Whether or not to report latency histograms for addresses and queues
+   private static final boolean DEFAULT_LATENCY_HISTOGRAM_METRICS = false;
+
    // How often (in ms) to scan for expired MQTT sessions
    private static long DEFAULT_MQTT_SESSION_SCAN_INTERVAL = 500;
 
@@ -1117,6 +1138,42 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_MAX_ATTIC_FILES;
    }
 
+   /**
+    * how many journal files may be read and decoded concurrently when loading the message journal.
+    */
+   public static int getDefaultJournalLoadParallelism() {
+      return DEFAULT_JOURNAL_LOAD_PARALLELISM;
+   }
+
+   /**
+    * the lower bound, in nanoseconds, of the adaptive journal buffer timeout.
+    */
+   public static int getDefaultJournalBufferTimeoutMin() {
+      return DEFAULT_JOURNAL_BUFFER_TIMEOUT_MIN;
+   }
+
+   /**
+    * the upper bound, in nanoseconds, of the adaptive journal buffer timeout; -1 keeps the timeout fixed.
+    */
+   public static int getDefaultJournalBufferTimeoutMax() {
+      return DEFAULT_JOURNAL_BUFFER_TIMEOUT_MAX;
+   }
+
+   /**
+    * the estimated heap size in bytes of the pages kept in memory once no cursor uses them; -1 disables the shared page cache.
+    */
+   public static long getDefaultPageCacheMaxSize() {
+      return DEFAULT_PAGE_CACHE_MAX_SIZE;
+   }
+
+   /**
+    * the number of filtered queues bound to an address, which can be looked up by a property value, from which they are
+    * indexed; 0 disables the index.
+    */
+   public static int getDefaultRoutingFilterIndexMinBindings() {
+      return DEFAULT_ROUTING_FILTER_INDEX_MIN_BINDINGS;
+   }
+
    /**
     * Interval to log server specific information (e.g. memory usage etc)
     */
@@ -1431,6 +1488,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_INITIAL_REPLICATION_SYNC_TIMEOUT;
    }
 
+   /**
+    * How many ordered stripes the replica applies replicated packets on, 0 keeps the single ordered stream
+    */
+   public static int getDefaultReplicationStripes() {
+      return DEFAULT_REPLICATION_STRIPES;
+   }
+
    /**
     * if we have to start as a replicated server this is the delay to wait before fail-back occurs
     *
@@ -1927,6 +1991,13 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_SECURITY_CACHE_METRICS;
    }
 
+   /**
+    * Whether to report latency histograms for addresses and queues
+    */
+   public static Boolean getDefaultLatencyHistogramMetrics() {
+      return DEFAULT_LATENCY_HISTOGRAM_METRICS;
+   }
+
    /**
     * How often (in ms) to scan for expired MQTT sessions
     */
@@ -26,6 +26,7 @@ public class ServerLocatorConfig {
    public int minLargeMessageSize = ActiveMQClient.DEFAULT_MIN_LARGE_MESSAGE_SIZE;
    public int consumerWindowSize = ActiveMQClient.DEFAULT_CONSUMER_WINDOW_SIZE;
    public int consumerMaxRate = ActiveMQClient.DEFAULT_CONSUMER_MAX_RATE;
+   public int consumerMaxWindowSize = ActiveMQClient.DEFAULT_CONSUMER_MAX_WINDOW_SIZE;
    public int confirmationWindowSize = ActiveMQClient.DEFAULT_CONFIRMATION_WINDOW_SIZE;
    public int producerWindowSize = ActiveMQClient.DEFAULT_PRODUCER_WINDOW_SIZE;
    public int producerMaxRate = ActiveMQClient.DEFAULT_PRODUCER_MAX_RATE;
@@ -66,6 +67,7 @@ public class ServerLocatorConfig {
       minLargeMessageSize = locator.minLargeMessageSize;
       consumerWindowSize = locator.consumerWindowSize;
       consumerMaxRate = locator.consumerMaxRate;
+      consumerMaxWindowSize = locator.consumerMaxWindowSize;
       confirmationWindowSize = locator.confirmationWindowSize;
       producerWindowSize = locator.producerWindowSize;
       producerMaxRate = locator.producerMaxRate;
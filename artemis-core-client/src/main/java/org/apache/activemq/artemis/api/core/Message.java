@@ -905,4 +905,33 @@ public interface Message {
     * Used for user context data. Useful on interceptors.
     */
    void setUserContext(Object key, Object value);
+
+   /**
+    * {@return the conversion of this message cached for the consumers of another protocol under {@code key}, or
+    * {@code null} if there's none}
+    */
+   default Object getConversion(Object key) {
+      return null;
+   }
+
+   /**
+    * Caches {@code conversion}, the encoding of this message for the consumers of another protocol, under {@code key}
+    * so that every consumer this message is delivered to can reuse it. The cached conversions are dropped whenever the
+    * message changes.
+    * <p>
+    * {@code memoryEstimate} is the heap used by {@code conversion}: the caller accounts it to the owner of the message
+    * and it is returned by {@link #releaseConversions()} once the message is no longer referenced.
+    */
+   default void setConversion(Object key, Object conversion, int memoryEstimate) {
+   }
+
+   /**
+    * Drops the conversions cached for this message.
+    *
+    * @return the sum of the memory estimates of every conversion cached since the last release, including the ones
+    * already dropped because the message changed
+    */
+   default int releaseConversions() {
+      return 0;
+   }
 }
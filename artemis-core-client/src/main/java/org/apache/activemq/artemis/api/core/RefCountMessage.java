@@ -21,6 +21,7 @@ import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -137,6 +138,12 @@ public class RefCountMessage {
 
    private volatile Map userContext;
 
+   // the conversions of this message cached for the consumers of other protocols, as key and value pairs
+   private volatile Object[] conversions;
+
+   // the memory estimate of the conversions cached since the last release, guarded by this
+   private int conversionsEstimate;
+
    private volatile int durableRefCount = 0;
 
    private volatile int refCount = 0;
@@ -338,4 +345,52 @@ public class RefCountMessage {
       }
       userContext.put(key, value);
    }
+
+   public Object getConversion(Object key) {
+      final Object[] conversions = this.conversions;
+      if (conversions != null) {
+         for (int i = 0; i < conversions.length; i += 2) {
+            if (conversions[i] == key) {
+               return conversions[i + 1];
+            }
+         }
+      }
+      return null;
+   }
+
+   public synchronized void setConversion(Object key, Object conversion, int memoryEstimate) {
+      conversionsEstimate += memoryEstimate;
+      final Object[] conversions = this.conversions;
+      if (conversions != null) {
+         for (int i = 0; i < conversions.length; i += 2) {
+            if (conversions[i] == key) {
+               final Object[] updated = conversions.clone();
+               updated[i + 1] = conversion;
+               this.conversions = updated;
+               return;
+            }
+         }
+      }
+      final Object[] updated = conversions == null ? new Object[2] : Arrays.copyOf(conversions, conversions.length + 2);
+      updated[updated.length - 2] = key;
+      updated[updated.length - 1] = conversion;
+      this.conversions = updated;
+   }
+
+   /**
+    * Drops the conversions of this message, once it changed.
+    */
+   protected void clearConversions() {
+      //a volatile store is a costly operation: better to check if is necessary
+      if (conversions != null) {
+         conversions = null;
+      }
+   }
+
+   public synchronized int releaseConversions() {
+      clearConversions();
+      final int estimate = conversionsEstimate;
+      conversionsEstimate = 0;
+      return estimate;
+   }
 }
@@ -255,6 +255,26 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setConsumerWindowSize(int consumerWindowSize);
 
+   /**
+    * Returns the maximum window size for flow control of the consumers created through this factory.
+    * <p>
+    * When it is greater than the consumer window size, a consumer that drains its buffer grants additional credits
+    * to the broker, up to this value, and grants less again while messages wait in its buffer. Value is in bytes,
+    * -1 keeps the window of the consumers fixed. Default value is
+    * {@link ActiveMQClient#DEFAULT_CONSUMER_MAX_WINDOW_SIZE}.
+    *
+    * @return the maximum window size used for consumer flow control
+    */
+   int getConsumerMaxWindowSize();
+
+   /**
+    * Sets the maximum window size for flow control of the consumers created through this factory.
+    *
+    * @param consumerMaxWindowSize maximum window size (in bytes) used for consumer flow control, or -1
+    * @return this ServerLocator
+    */
+   ServerLocator setConsumerMaxWindowSize(int consumerMaxWindowSize);
+
    /**
     * Returns the maximum rate of message consumption for consumers created through this factory.
     * <p>
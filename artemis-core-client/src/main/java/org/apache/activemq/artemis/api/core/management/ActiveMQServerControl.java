@@ -39,6 +39,17 @@ public interface ActiveMQServerControl {
    String AUTHENTICATION_FAILURE_COUNT = "Number of failed authentication attempts";
    String AUTHORIZATION_SUCCESS_COUNT = "Number of successful authorization attempts";
    String AUTHORIZATION_FAILURE_COUNT = "Number of failed authorization attempts";
+   String JOURNAL_COMPACT_COUNT_DESCRIPTION = "Number of message journal compactions completed since this server was started";
+   String JOURNAL_COMPACT_BYTES_WRITTEN_DESCRIPTION = "Total bytes written into new message journal files by compacting since this server was started";
+   String JOURNAL_COMPACT_LAST_DURATION_DESCRIPTION = "Duration in milliseconds of the last message journal compaction";
+   String JOURNAL_COMPACT_LAST_PAUSE_DESCRIPTION = "Time in milliseconds message journal appends were held by the last compaction";
+   String JOURNAL_COMPACT_MAX_PAUSE_DESCRIPTION = "Longest time in milliseconds message journal appends were held by a single compaction";
+   String JOURNAL_BUFFER_TIMEOUT_DESCRIPTION = "Timeout in milliseconds currently used by the message journal buffer to batch writes";
+   String JOURNAL_BUFFER_SYNC_LATENCY_DESCRIPTION = "Average time in milliseconds taken to complete a synced message journal buffer flush, only measured when the buffer timeout is adaptive";
+   String PAGING_CACHE_HITS_DESCRIPTION = "Number of times a page was found in the shared page cache instead of being read from its file";
+   String PAGING_CACHE_MISSES_DESCRIPTION = "Number of times a page had to be read from its file";
+   String PAGING_CACHE_EVICTIONS_DESCRIPTION = "Number of pages released from the shared page cache to stay within page-cache-max-size";
+   String PAGING_CACHE_SIZE_DESCRIPTION = "Size in bytes of the page files held by the shared page cache";
 
    /**
     * {@return this server's name.}
@@ -28,6 +28,8 @@ public interface AddressControl {
    String ADDRESS_SIZE_DESCRIPTION = "the number of estimated bytes being used by all the queue(s) bound to this address; used to control paging and blocking";
    String NUMBER_OF_PAGES_DESCRIPTION = "number of pages used by this address";
    String LIMIT_PERCENT_DESCRIPTION = "the % of memory limit (global or local) that is in use by this address";
+   String ROUTE_LATENCY_DESCRIPTION = "milliseconds from a session receiving a message sent to this address until it is routed to its bindings";
+   String JOURNAL_SYNC_LATENCY_DESCRIPTION = "milliseconds between a durable message sent to this address being routed and its storage being synced";
 
    /**
     * {@return the internal ID of this address}
@@ -319,6 +319,21 @@ public final class AddressSettingsInfo {
    }
    private int initialQueueBufferSize;
 
+   static {
+      META_BEAN.add(Boolean.class, "partitionByGroupId", (t, p) -> t.partitionByGroupId = p, t -> t.partitionByGroupId);
+   }
+   private boolean partitionByGroupId;
+
+   static {
+      META_BEAN.add(Long.class, "adaptiveConsumerWindowLatency", (t, p) -> t.adaptiveConsumerWindowLatency = p, t -> t.adaptiveConsumerWindowLatency);
+   }
+   private long adaptiveConsumerWindowLatency;
+
+   static {
+      META_BEAN.add(String.class, "indexedProperties", (t, p) -> t.indexedProperties = p, t -> t.indexedProperties);
+   }
+   private String indexedProperties;
+
 
    public static AddressSettingsInfo fromJSON(final String jsonString) {
       AddressSettingsInfo newInfo = new AddressSettingsInfo();
@@ -572,5 +587,17 @@ public final class AddressSettingsInfo {
    public int getInitialQueueBufferSize() {
       return initialQueueBufferSize;
    }
+
+   public boolean isPartitionByGroupId() {
+      return partitionByGroupId;
+   }
+
+   public long getAdaptiveConsumerWindowLatency() {
+      return adaptiveConsumerWindowLatency;
+   }
+
+   public String getIndexedProperties() {
+      return indexedProperties;
+   }
 }
 
@@ -45,6 +45,9 @@ public interface QueueControl {
    String MESSAGES_EXPIRED_DESCRIPTION = "number of messages expired from this queue since it was created";
    String MESSAGES_KILLED_DESCRIPTION = "number of messages removed from this queue since it was created due to exceeding the max delivery attempts";
 
+   String DISPATCH_LATENCY_DESCRIPTION = "milliseconds between a message being added to this queue and its first dispatch to a consumer";
+   String ACKNOWLEDGE_LATENCY_DESCRIPTION = "milliseconds between a message being dispatched from this queue to a consumer and its acknowledgement";
+
    /**
     * {@return the name of this queue}
     */
@@ -666,6 +669,29 @@ public interface QueueControl {
                           @Parameter(name = "pageSize", desc = "Page size") int pageSize,
                           @Parameter(name = "filter", desc = "filter") String filter) throws Exception;
 
+   /**
+    * Browses the messages of this queue matching the given filter a page at a time, in memory and paged ones.
+    * <p>
+    * Using {@code null} or an empty cursor opens a new cursor on the queue and returns its first page, any other cursor
+    * resumes after the last message returned with it (the filter is then ignored). The result is a JSON object with
+    * the {@code messages} of the page and the {@code cursor} to read the next page with, which is {@code null} once
+    * the end of the queue has been reached. The page size is bounded by the {@code management-browse-page-size} of the
+    * queue. A cursor that is no longer read should be closed with {@link #browseClose(String)}, otherwise it is closed
+    * once idle for a minute.
+    */
+   @Operation(desc = "Browse Messages a page at a time using a cursor and returns them using JSON", impact = MBeanOperationInfo.ACTION)
+   String browseAsJSON(@Parameter(name = "cursor", desc = "The cursor returned with the previous page (empty to open a new one)") String cursor,
+                       @Parameter(name = "pageSize", desc = "Page size") int pageSize,
+                       @Parameter(name = "filter", desc = "A message filter (can be empty)") String filter) throws Exception;
+
+   /**
+    * Closes a cursor opened with {@link #browseAsJSON(String, int, String)} before the end of the queue was reached.
+    *
+    * @return {@code true} if the cursor was open
+    */
+   @Operation(desc = "Close a browse cursor", impact = MBeanOperationInfo.ACTION)
+   boolean browseClose(@Parameter(name = "cursor", desc = "The cursor to close") String cursor) throws Exception;
+
    /**
     * Resets the MessagesAdded property
     */
@@ -251,6 +251,12 @@ public interface ActiveMQClientLogger {
    @LogMessage(id = 212076, value = "Epoll is not available, please add to the classpath or configure useEpoll=false to remove this warning", level = LogMessage.Level.WARN)
    void unableToCheckEpollAvailabilitynoClass();
 
+   @LogMessage(id = 212081, value = "Unable to check io_uring availability ", level = LogMessage.Level.WARN)
+   void unableToCheckIoUringAvailability(Throwable e);
+
+   @LogMessage(id = 212082, value = "io_uring is not available, please add to the classpath or configure useIoUring=false to remove this warning", level = LogMessage.Level.WARN)
+   void unableToCheckIoUringAvailabilityNoClass();
+
    @LogMessage(id = 212077, value = "Timed out waiting to receive initial broadcast from cluster. Retry {} of {}", level = LogMessage.Level.WARN)
    void broadcastTimeout(int retry, int maxretry);
 
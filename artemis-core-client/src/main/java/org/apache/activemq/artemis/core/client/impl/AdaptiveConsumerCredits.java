@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+/**
+ * Sizes the credits a consumer grants to the broker between its consumer window size and its maximum window size, from
+ * whether it waits on the broker or the messages wait on it.
+ * <p>
+ * A consumer finding its buffer empty once it took a message would have consumed more if the broker had sent it: the
+ * window grows additively, by the size of that message. A consumer that consumed a whole window with messages always
+ * waiting in its buffer holds more than it needs: the window is halved, down to the consumer window size. The change
+ * is applied to the credits granted for the consumed message, so the broker sees the window grow or shrink as the
+ * consumer acknowledges, without any other packet.
+ * <p>
+ * This is only used by the thread consuming the messages of the consumer.
+ */
+final class AdaptiveConsumerCredits {
+
+   private final int minWindowSize;
+
+   private final int maxWindowSize;
+
+   private int windowSize;
+
+   // the bytes consumed since the buffer was last found empty
+   private long consumedSinceDrained;
+
+   AdaptiveConsumerCredits(int minWindowSize, int maxWindowSize) {
+      this.minWindowSize = minWindowSize;
+      this.maxWindowSize = maxWindowSize;
+      this.windowSize = minWindowSize;
+   }
+
+   /**
+    * @param drained whether the buffer of the consumer was empty once it took the message
+    * @return the credits to grant for consuming a message of {@code messageBytes}, which may be negative to take back
+    * credits granted before
+    */
+   int consumed(int messageBytes, boolean drained) {
+      if (drained) {
+         consumedSinceDrained = 0;
+         final int increase = Math.min(messageBytes, maxWindowSize - windowSize);
+         windowSize += increase;
+         return messageBytes + increase;
+      }
+      consumedSinceDrained += messageBytes;
+      if (consumedSinceDrained >= windowSize && windowSize > minWindowSize) {
+         consumedSinceDrained = 0;
+         final int decrease = windowSize - Math.max(minWindowSize, windowSize / 2);
+         windowSize -= decrease;
+         return messageBytes - decrease;
+      }
+      return messageBytes;
+   }
+
+   /**
+    * Goes back to the consumer window size, e.g. as the consumer is created again on failover.
+    */
+   void reset() {
+      windowSize = minWindowSize;
+      consumedSinceDrained = 0;
+   }
+
+   int getWindowSize() {
+      return windowSize;
+   }
+}
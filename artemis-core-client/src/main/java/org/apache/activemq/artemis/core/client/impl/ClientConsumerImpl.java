@@ -31,6 +31,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
 import org.apache.activemq.artemis.api.core.client.ClientConsumer;
 import org.apache.activemq.artemis.api.core.client.ClientMessage;
 import org.apache.activemq.artemis.api.core.client.ClientSession;
@@ -90,6 +91,9 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private final int clientWindowSize;
 
+   // grows the window between initialWindow and the consumerMaxWindowSize of the locator, or null if it's fixed
+   private final AdaptiveConsumerCredits adaptiveCredits;
+
    private final int ackBatchSize;
 
    private final PriorityLinkedList<ClientMessageInternal> buffer = new PriorityLinkedListImpl<>(ClientConsumerImpl.NUM_PRIORITIES);
@@ -153,6 +157,26 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
                              final ClientSession.QueueQuery queueInfo,
                              final ClassLoader contextClassLoader,
                              final int onMessageCloseTimeout) {
+      this(session, consumerContext, queueName, filterString, priority, browseOnly, initialWindow, clientWindowSize, ackBatchSize, rateLimiter, executor, flowControlExecutor, sessionContext, queueInfo, contextClassLoader, onMessageCloseTimeout, ActiveMQClient.DEFAULT_CONSUMER_MAX_WINDOW_SIZE);
+   }
+
+   public ClientConsumerImpl(final ClientSessionInternal session,
+                             final ConsumerContext consumerContext,
+                             final SimpleString queueName,
+                             final SimpleString filterString,
+                             final int priority,
+                             final boolean browseOnly,
+                             final int initialWindow,
+                             final int clientWindowSize,
+                             final int ackBatchSize,
+                             final TokenBucketLimiter rateLimiter,
+                             final Executor executor,
+                             final Executor flowControlExecutor,
+                             final SessionContext sessionContext,
+                             final ClientSession.QueueQuery queueInfo,
+                             final ClassLoader contextClassLoader,
+                             final int onMessageCloseTimeout,
+                             final int maxWindowSize) {
       this.consumerContext = consumerContext;
 
       this.queueName = queueName;
@@ -175,6 +199,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       this.clientWindowSize = clientWindowSize;
 
+      this.adaptiveCredits = initialWindow > 1 && maxWindowSize > initialWindow ? new AdaptiveConsumerCredits(initialWindow, maxWindowSize) : null;
+
       this.ackBatchSize = ackBatchSize;
 
       this.queueInfo = queueInfo;
@@ -247,6 +273,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
          while (true) {
             ClientMessageInternal m = null;
 
+            boolean drained;
+
             synchronized (this) {
                while ((stopped || (m = buffer.poll()) == null) && !closed && toWait > 0) {
                   if (start == -1) {
@@ -281,6 +309,8 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
                   start = now;
                }
+
+               drained = buffer.isEmpty();
             }
 
             if (failedOver) {
@@ -334,7 +364,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
                // if we have already pre acked we can't expire
                boolean expired = m.isExpired();
 
-               flowControlBeforeConsumption(m);
+               flowControlBeforeConsumption(m, drained);
 
                if (expired) {
                   m.discardBody();
@@ -516,6 +546,10 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       creditsToSend = 0;
 
+      if (adaptiveCredits != null) {
+         adaptiveCredits.reset();
+      }
+
       failedOver = true;
 
       ackIndividually = false;
@@ -959,8 +993,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
          failedOver = false;
 
+         final boolean drained;
+
          synchronized (this) {
             message = buffer.poll();
+            drained = buffer.isEmpty();
          }
 
          if (message != null) {
@@ -971,7 +1008,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
             boolean expired = message.isExpired();
 
-            flowControlBeforeConsumption(message);
+            flowControlBeforeConsumption(message, drained);
 
             if (!expired) {
                logger.trace("{}::Calling handler.onMessage", this);
@@ -1062,6 +1099,17 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       }
    }
 
+   /**
+    * @param drained whether the buffer was empty once the message was taken from it, to adapt the window
+    */
+   private void flowControlBeforeConsumption(final ClientMessageInternal message, final boolean drained) throws ActiveMQException {
+      if (adaptiveCredits == null || manualFlowManagement || message.isLargeMessage() || message.getFlowControlSize() == 0) {
+         flowControlBeforeConsumption(message);
+      } else {
+         flowControl(adaptiveCredits.consumed(message.getFlowControlSize(), drained), true);
+      }
+   }
+
    private void doCleanUp(final boolean sendCloseMessage) throws ActiveMQException {
       try {
          if (closed) {
@@ -976,6 +976,18 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public int getConsumerMaxWindowSize() {
+      return config.consumerMaxWindowSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setConsumerMaxWindowSize(final int consumerMaxWindowSize) {
+      checkWrite();
+      this.config.consumerMaxWindowSize = consumerMaxWindowSize;
+      return this;
+   }
+
    @Override
    public int getConsumerMaxRate() {
       return config.consumerMaxRate;
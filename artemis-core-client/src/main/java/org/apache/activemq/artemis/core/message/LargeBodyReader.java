@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.message;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -63,4 +64,14 @@ public interface LargeBodyReader extends AutoCloseable {
     * This method must not be called directly by ActiveMQ Artemis clients.
     */
    long getSize() throws ActiveMQException;
+
+   /**
+    * This method must not be called directly by ActiveMQ Artemis clients.
+    * <p>
+    * {@return the file holding the body from its beginning, once opened, or {@code null} if the body isn't read from a
+    * file}
+    */
+   default File getFile() {
+      return null;
+   }
 }
@@ -195,7 +195,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public RoutingType getRoutingType() {
-      final Byte maybeByte = getProperties().getByteProperty(Message.HDR_ROUTING_TYPE, () -> null);
+      final Byte maybeByte = TypedProperties.toByte(Message.HDR_ROUTING_TYPE, readProperty(Message.HDR_ROUTING_TYPE), () -> null);
       if (maybeByte == null) {
          return null;
       }
@@ -383,7 +383,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getScheduledDeliveryTime() {
-      Object property = getProperties().getProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
+      Object property = readProperty(Message.HDR_SCHEDULED_DELIVERY_TIME);
 
       if (property != null && property instanceof Number number) {
          return number.longValue();
@@ -449,6 +449,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       if (validBuffer) {
          validBuffer = false;
       }
+      clearConversions();
    }
 
    protected CoreMessage(CoreMessage other) {
@@ -648,6 +649,31 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       }
    }
 
+   /**
+    * Reads the value of a single property: if the properties are not decoded yet, it's searched in the encoded buffer,
+    * without decoding the others. The properties are fully decoded only when any of them is modified or all of them
+    * are required.
+    */
+   private Object readProperty(final SimpleString key) {
+      final TypedProperties properties = this.properties;
+      if (properties != null) {
+         return properties.getProperty(key);
+      }
+      synchronized (this) {
+         // acquiring the lock here prevents a racing thread to decode the properties and modify the buffer
+         final ByteBuf buffer = this.buffer;
+         final int propertiesLocation = this.propertiesLocation;
+         if (this.properties == null && buffer != null && propertiesLocation >= 0) {
+            try {
+               return TypedProperties.readProperty(key, buffer, propertiesLocation, coreMessageObjectPools == null ? null : coreMessageObjectPools.getPropertiesDecoderPools());
+            } catch (Throwable e) {
+               throw onCheckPropertiesError(e);
+            }
+         }
+      }
+      return getProperties().getProperty(key);
+   }
+
    private RuntimeException onCheckPropertiesError(Throwable e) {
       // This is not an expected error, hence no specific logger created
       logger.warn("Could not decode properties for CoreMessage[messageID={},durable={},userID={},priority={}, timestamp={},expiration={},address={}, propertiesLocation={}",
@@ -919,7 +945,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Boolean getBooleanProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getBooleanProperty(key);
+      return TypedProperties.toBoolean(key, readProperty(key));
    }
 
    @Override
@@ -941,7 +967,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Byte getByteProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getByteProperty(key);
+      return TypedProperties.toByte(key, readProperty(key), () -> Byte.valueOf(null));
    }
 
    @Override
@@ -963,7 +989,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public byte[] getBytesProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getBytesProperty(key);
+      return TypedProperties.toBytes(key, readProperty(key));
    }
 
    @Override
@@ -1009,7 +1035,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Integer getIntProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getIntProperty(key);
+      return TypedProperties.toInteger(key, readProperty(key));
    }
 
    @Override
@@ -1031,7 +1057,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Long getLongProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getLongProperty(key);
+      return TypedProperties.toLong(key, readProperty(key));
    }
 
    @Override
@@ -1065,7 +1091,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Double getDoubleProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getDoubleProperty(key);
+      return TypedProperties.toDouble(key, readProperty(key));
    }
 
    @Override
@@ -1105,7 +1131,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Object getObjectProperty(final SimpleString key) {
-      return getProperties().getProperty(key);
+      return readProperty(key);
    }
 
    @Override
@@ -1115,7 +1141,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Short getShortProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getShortProperty(key);
+      return TypedProperties.toShort(key, readProperty(key));
    }
 
    @Override
@@ -1125,7 +1151,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public Float getFloatProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getFloatProperty(key);
+      return TypedProperties.toFloat(key, readProperty(key));
    }
 
    @Override
@@ -1151,7 +1177,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getSimpleStringProperty(final SimpleString key) throws ActiveMQPropertyConversionException {
-      return getProperties().getSimpleStringProperty(key);
+      return TypedProperties.toSimpleString(key, readProperty(key));
    }
 
    @Override
@@ -1179,9 +1205,8 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
    }
 
    /**
-    * Differently from {@link #containsProperty(SimpleString)}, this method can save decoding the message, performing a
-    * search of the {@code key} property and falling back to {@link #containsProperty(SimpleString)} if not possible or
-    * if already decoded.
+    * Like {@link #containsProperty(SimpleString)}, this method can save decoding the message, performing a search of
+    * the {@code key} property, but it fails if the message has no encoded properties to search into.
     */
    public boolean searchProperty(SimpleString key) {
       Objects.requireNonNull(key, "key cannot be null");
@@ -1206,6 +1231,21 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public boolean containsProperty(final SimpleString key) {
+      final TypedProperties properties = this.properties;
+      if (properties != null) {
+         return properties.containsProperty(key);
+      }
+      synchronized (this) {
+         final ByteBuf buffer = this.buffer;
+         final int propertiesLocation = this.propertiesLocation;
+         if (this.properties == null && buffer != null && propertiesLocation >= 0) {
+            try {
+               return TypedProperties.searchProperty(key, buffer, propertiesLocation);
+            } catch (Throwable e) {
+               throw onCheckPropertiesError(e);
+            }
+         }
+      }
       return getProperties().containsProperty(key);
    }
 
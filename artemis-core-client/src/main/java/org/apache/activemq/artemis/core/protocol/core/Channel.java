@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core;
 
 import java.util.concurrent.locks.Lock;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 
 /**
@@ -107,6 +108,29 @@ public interface Channel {
     */
    boolean send(Packet packet, boolean flushConnection);
 
+   /**
+    * {@return whether {@link #send(Packet, int, FileRegion)} can send packets along with a file region}
+    * <p>
+    * It can't if the packets could have to be resent or intercepted, or if the connection doesn't support it.
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * Sends a packet on this channel, with the file region written on the wire right after the first
+    * {@code regionOffset} bytes of the encoded packet, without being copied.
+    *
+    * @param packet       the packet to send, which encoding accounts for the size of the region
+    * @param regionOffset the number of bytes of the encoded packet to write before the region
+    * @param region       the file region to write, released once written
+    * @return false if the packet was rejected by an outgoing interceptor; {@code true} if the send was successful
+    * @throws UnsupportedOperationException if {@link #isFileRegionSupported()} is {@code false}
+    */
+   default boolean send(Packet packet, int regionOffset, FileRegion region) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * Sends a packet on this channel and then blocks until it has been written to the connection.
     *
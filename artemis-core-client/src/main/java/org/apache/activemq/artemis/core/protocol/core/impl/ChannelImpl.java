@@ -27,6 +27,7 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -51,6 +52,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ADD
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_18_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_29_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_37_0_VERSION;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_41_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V4;
@@ -60,6 +62,8 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.DIS
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.DISCONNECT_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.EXCEPTION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.PACKETS_CONFIRMED;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_RESPONSE_V3;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.REPLICATION_STRIPES;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V4;
@@ -197,6 +201,7 @@ public final class ChannelImpl implements Channel {
          case SESS_QUEUEQUERY_RESP_V3, SESS_BINDINGQUERY_RESP_V4 -> version >= ADDRESSING_CHANGE_VERSION;
          case CLUSTER_TOPOLOGY_V4, CREATESESSION_V2, DISCONNECT_V3 -> version >= ARTEMIS_2_18_0_VERSION;
          case SESS_BINDINGQUERY_RESP_V5 -> version >= ARTEMIS_2_29_0_VERSION;
+         case REPLICATION_STRIPES, REPLICATION_RESPONSE_V3 -> version >= ARTEMIS_2_41_0_VERSION;
          default -> true;
       };
    }
@@ -326,6 +331,55 @@ public final class ChannelImpl implements Channel {
       }
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      // the region is written once: it couldn't be resent nor looked at by the interceptors
+      return resendCache == null && (interceptors == null || interceptors.isEmpty()) && connection.getTransportConnection().isFileRegionSupported();
+   }
+
+   @Override
+   public boolean send(final Packet packet, final int regionOffset, final FileRegion region) {
+      if (invokeInterceptors(packet, interceptors, connection) != null) {
+         region.release();
+         return false;
+      }
+
+      synchronized (sendLock) {
+         packet.setChannelID(id);
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("RemotingConnectionID={} Sending packet with a file region {} on channelID={}", connection.getID(), packet, id);
+         }
+
+         final ActiveMQBuffer buffer;
+
+         try {
+            buffer = packet.encode(connection);
+
+            lock.lock();
+
+            try {
+               if (failingOver) {
+                  waitForFailOver("RemotingConnectionID=" + connection.getID() + " timed-out waiting for fail-over condition on non-blocking send");
+               }
+
+               // Sanity check
+               if (transferring) {
+                  throw ActiveMQClientMessageBundle.BUNDLE.cannotSendPacketDuringFailover();
+               }
+            } finally {
+               lock.unlock();
+            }
+         } catch (Throwable t) {
+            region.release();
+            throw t;
+         }
+
+         connection.getTransportConnection().write(buffer, regionOffset, region);
+         return true;
+      }
+   }
+
    @Override
    public boolean sendAndFlush(final Packet packet) {
       return send(packet, -1, true, false);
@@ -56,6 +56,9 @@ public class PacketImpl implements Packet {
    // 2.37.0
    public static final int ARTEMIS_2_37_0_VERSION = 136;
 
+   // 2.41.0
+   public static final int ARTEMIS_2_41_0_VERSION = 137;
+
    public static final SimpleString OLD_QUEUE_PREFIX = SimpleString.of("jms.queue.");
    public static final SimpleString OLD_TEMP_QUEUE_PREFIX = SimpleString.of("jms.tempqueue.");
    public static final SimpleString OLD_TOPIC_PREFIX = SimpleString.of("jms.topic.");
@@ -308,6 +311,10 @@ public class PacketImpl implements Packet {
 
    public static final byte SESS_BINDINGQUERY_RESP_V5 = -22;
 
+   public static final byte REPLICATION_STRIPES = -23;
+
+   public static final byte REPLICATION_RESPONSE_V3 = -24;
+
    public PacketImpl(final byte type) {
       this.type = type;
    }
@@ -27,6 +27,11 @@ public abstract class SessionContinuationMessage extends PacketImpl {
    public static final int SESSION_CONTINUATION_BASE_SIZE = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT +
       DataConstants.SIZE_BOOLEAN;
 
+   /**
+    * The offset of the body in the encoded packet.
+    */
+   public static final int BODY_OFFSET = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT;
+
    protected byte[] body;
 
    protected boolean continues;
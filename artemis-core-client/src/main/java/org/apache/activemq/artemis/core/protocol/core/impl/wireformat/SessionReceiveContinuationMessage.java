@@ -27,6 +27,12 @@ public class SessionReceiveContinuationMessage extends SessionContinuationMessag
 
    private long consumerID;
 
+   /**
+    * The size of a body not held by this packet, which the channel writes on the wire at {@link #BODY_OFFSET} of its
+    * encoding, e.g. from a file region, or {@code -1}.
+    */
+   private int externalBodySize = -1;
+
 
    public SessionReceiveContinuationMessage() {
       super(SESS_RECEIVE_CONTINUATION);
@@ -49,6 +55,18 @@ public class SessionReceiveContinuationMessage extends SessionContinuationMessag
       this.size = packetSize;
    }
 
+   /**
+    * Creates a packet which body of {@code externalBodySize} bytes isn't encoded with it, but written on the wire by
+    * the channel sending it, e.g. from a file region.
+    */
+   public SessionReceiveContinuationMessage(final long consumerID,
+                                            final int externalBodySize,
+                                            final boolean continues) {
+      super(SESS_RECEIVE_CONTINUATION, null, continues);
+      this.consumerID = consumerID;
+      this.externalBodySize = externalBodySize;
+   }
+
    public long getConsumerID() {
       return consumerID;
    }
@@ -60,10 +78,24 @@ public class SessionReceiveContinuationMessage extends SessionContinuationMessag
 
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
-      super.encodeRest(buffer);
+      if (externalBodySize >= 0) {
+         buffer.writeInt(externalBodySize);
+         buffer.writeBoolean(continues);
+      } else {
+         super.encodeRest(buffer);
+      }
       buffer.writeLong(consumerID);
    }
 
+   @Override
+   protected void encodeSize(ActiveMQBuffer buffer) {
+      super.encodeSize(buffer);
+      if (externalBodySize > 0) {
+         size += externalBodySize;
+         buffer.setInt(0, size - DataConstants.SIZE_INT);
+      }
+   }
+
    @Override
    public int getPacketSize() {
       if (size == -1) {
@@ -19,11 +19,12 @@ package org.apache.activemq.artemis.core.remoting.impl.netty;
 
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.kqueue.KQueue;
+import io.netty.incubator.channel.uring.IOUring;
 import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
 import org.apache.activemq.artemis.utils.Env;
 
 /**
- * This class will check for Epoll or KQueue is available, and return false in case of NoClassDefFoundError it could be
+ * This class will check for Epoll, KQueue or io_uring is available, and return false in case of NoClassDefFoundError it could be
  * improved to check for other cases eventually.
  */
 public class CheckDependencies {
@@ -51,4 +52,16 @@ public class CheckDependencies {
          return false;
       }
    }
+
+   public static final boolean isIoUringAvailable() {
+      try {
+         return Env.isLinuxOs() && IOUring.isAvailable();
+      } catch (NoClassDefFoundError noClassDefFoundError) {
+         ActiveMQClientLogger.LOGGER.unableToCheckIoUringAvailabilityNoClass();
+         return false;
+      } catch (Throwable e) {
+         ActiveMQClientLogger.LOGGER.unableToCheckIoUringAvailability(e);
+         return false;
+      }
+   }
 }
@@ -27,9 +27,13 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.util.concurrent.FastThreadLocal;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -381,6 +385,51 @@ public class NettyConnection implements Connection {
       }
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      // other channels, e.g. the local ones, hand the messages over as they are
+      if (!(channel instanceof SocketChannel)) {
+         return false;
+      }
+      for (Map.Entry<String, ChannelHandler> entry : channel.pipeline()) {
+         final ChannelHandler handler = entry.getValue();
+         // any other outbound handler, e.g. for TLS, HTTP or websockets, expects to encode buffers
+         if (handler instanceof ChannelOutboundHandler && !(handler instanceof ActiveMQChannelHandler)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public final void write(ActiveMQBuffer buffer, int regionOffset, FileRegion region) {
+      final Channel channel = this.channel;
+      final ByteBuf bytes = buffer.byteBuf();
+      final ByteBuf header = bytes.retainedSlice(bytes.readerIndex(), regionOffset);
+      final ByteBuf trailer = bytes.slice(bytes.readerIndex() + regionOffset, bytes.readableBytes() - regionOffset);
+      final EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         write(channel, header, region, trailer);
+      } else {
+         // the writes of other threads could end up in between the ones of the region and its buffers otherwise: the
+         // single task is executed after the writes this thread submitted before
+         try {
+            eventLoop.execute(() -> write(channel, header, region, trailer));
+         } catch (Throwable t) {
+            header.release();
+            region.release();
+            trailer.release();
+            throw t;
+         }
+      }
+   }
+
+   private static void write(final Channel channel, final ByteBuf header, final FileRegion region, final ByteBuf trailer) {
+      channel.write(header, channel.voidPromise());
+      channel.write(region, channel.voidPromise());
+      channel.writeAndFlush(trailer, channel.voidPromise());
+   }
+
    private static void flushAndWait(final Channel channel, final ChannelPromise promise) {
       if (!channel.eventLoop().inEventLoop()) {
          waitFor(promise, DEFAULT_WAIT_MILLIS);
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * A file opened once to be written in several {@link FileRegion}s, e.g. the chunks of a large message body.
+ * <p>
+ * Each region holds a reference to the file, so it's closed only once its owner and every region written from it
+ * released it.
+ */
+public final class SharedFileChannel extends AbstractReferenceCounted {
+
+   private final File file;
+
+   private FileChannel channel;
+
+   public SharedFileChannel(File file) {
+      this.file = file;
+   }
+
+   public File getFile() {
+      return file;
+   }
+
+   /**
+    * {@return a region of {@code count} bytes of the file from {@code position}, to be released once written}
+    *
+    * @throws IOException if the file can't be opened or is shorter than the region
+    */
+   public synchronized FileRegion region(long position, long count) throws IOException {
+      if (channel == null) {
+         channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      }
+      // the region would fail once written otherwise, breaking the connection it's written to
+      final long size = channel.size();
+      if (position + count > size) {
+         throw new IOException("The region [" + position + ", " + (position + count) + "] is beyond the size " + size + " of " + file);
+      }
+      retain();
+      return new Region(channel, position, count);
+   }
+
+   @Override
+   protected synchronized void deallocate() {
+      if (channel != null) {
+         try {
+            channel.close();
+         } catch (IOException ignored) {
+         }
+         channel = null;
+      }
+   }
+
+   @Override
+   public ReferenceCounted touch(Object hint) {
+      return this;
+   }
+
+   @Override
+   public String toString() {
+      return "SharedFileChannel[file=" + file + ", refCnt=" + refCnt() + "]";
+   }
+
+   /**
+    * The region is still a {@link DefaultFileRegion} for the transports to use sendfile with it.
+    */
+   private final class Region extends DefaultFileRegion {
+
+      Region(FileChannel channel, long position, long count) {
+         super(channel, position, count);
+      }
+
+      @Override
+      protected void deallocate() {
+         SharedFileChannel.this.release();
+      }
+   }
+}
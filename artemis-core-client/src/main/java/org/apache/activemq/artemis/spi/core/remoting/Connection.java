@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
@@ -119,6 +120,27 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * {@return whether {@link #write(ActiveMQBuffer, int, FileRegion)} can write file regions to the wire without copying
+    * them, e.g. it can't if the connection is encrypted}
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * writes the first {@code regionOffset} bytes of the buffer, then the file region, then the rest of the buffer to the
+    * connection, with no other write in between, and request to flush them into the wire.
+    *
+    * @param buffer       the buffer to write around the region
+    * @param regionOffset the number of bytes of the buffer to write before the region
+    * @param region       the file region to write, released once written
+    * @throws UnsupportedOperationException if {@link #isFileRegionSupported()} is {@code false}
+    */
+   default void write(ActiveMQBuffer buffer, int regionOffset, FileRegion region) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * This should close the internal channel without calling any listeners. This is to avoid a situation where the
     * broker is busy writing on an internal thread. This should close the socket releasing any pending threads.
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConsumerCreditsTest {
+
+   private static final int MESSAGE_SIZE = 1000;
+
+   @Test
+   public void testFastConsumerGrowsToMax() {
+      final AdaptiveConsumerCredits credits = new AdaptiveConsumerCredits(10 * MESSAGE_SIZE, 15 * MESSAGE_SIZE);
+
+      // the consumer always finds its buffer empty: each message grants its credits plus one more message
+      int granted = 0;
+      for (int i = 0; i < 10; i++) {
+         granted += credits.consumed(MESSAGE_SIZE, true);
+      }
+      assertEquals(15 * MESSAGE_SIZE, credits.getWindowSize());
+      assertEquals(15 * MESSAGE_SIZE, granted);
+   }
+
+   @Test
+   public void testSlowConsumerShrinksToMin() {
+      final AdaptiveConsumerCredits credits = new AdaptiveConsumerCredits(10 * MESSAGE_SIZE, 100 * MESSAGE_SIZE);
+      for (int i = 0; i < 70; i++) {
+         credits.consumed(MESSAGE_SIZE, true);
+      }
+      assertEquals(80 * MESSAGE_SIZE, credits.getWindowSize());
+
+      // messages keep waiting in the buffer: the window is halved once a whole window was consumed
+      int granted = 0;
+      for (int i = 0; i < 79; i++) {
+         granted += credits.consumed(MESSAGE_SIZE, false);
+      }
+      assertEquals(80 * MESSAGE_SIZE, credits.getWindowSize());
+      granted += credits.consumed(MESSAGE_SIZE, false);
+      assertEquals(40 * MESSAGE_SIZE, credits.getWindowSize());
+      // the credits of the halved window are taken back
+      assertEquals(40 * MESSAGE_SIZE, granted);
+
+      for (int i = 0; i < 1000; i++) {
+         credits.consumed(MESSAGE_SIZE, false);
+      }
+      assertEquals(10 * MESSAGE_SIZE, credits.getWindowSize());
+   }
+
+   @Test
+   public void testReset() {
+      final AdaptiveConsumerCredits credits = new AdaptiveConsumerCredits(10 * MESSAGE_SIZE, 100 * MESSAGE_SIZE);
+      credits.consumed(MESSAGE_SIZE, true);
+      assertEquals(11 * MESSAGE_SIZE, credits.getWindowSize());
+
+      credits.reset();
+      assertEquals(10 * MESSAGE_SIZE, credits.getWindowSize());
+      assertEquals(MESSAGE_SIZE, credits.consumed(MESSAGE_SIZE, false));
+   }
+}
@@ -16,20 +16,29 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.FileRegion;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
 import org.apache.activemq.artemis.core.protocol.core.CommandConfirmationHandler;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.PacketsConfirmedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionContinuationMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class ChannelImplTest {
@@ -97,4 +106,53 @@ public class ChannelImplTest {
 
       assertEquals(0, channel.getCache().size());
    }
+
+   @Test
+   public void testFileRegionNotSupportedWithResendCache() {
+      CoreRemotingConnection coreRC = Mockito.mock(CoreRemotingConnection.class);
+      Connection connection = Mockito.mock(Connection.class);
+      Mockito.when(connection.isFileRegionSupported()).thenReturn(true);
+      Mockito.when(coreRC.getTransportConnection()).thenReturn(connection);
+
+      assertFalse(new ChannelImpl(coreRC, 1, 4000, null).isFileRegionSupported());
+      assertTrue(new ChannelImpl(coreRC, 1, -1, null).isFileRegionSupported());
+   }
+
+   @Test
+   public void testSendFileRegion() {
+      CoreRemotingConnection coreRC = Mockito.mock(CoreRemotingConnection.class);
+      Mockito.when(coreRC.createTransportBuffer(Mockito.anyInt())).thenAnswer(invocation -> new ChannelBufferWrapper(Unpooled.buffer(invocation.getArgument(0))));
+      Connection connection = Mockito.mock(Connection.class);
+      Mockito.when(connection.isFileRegionSupported()).thenReturn(true);
+      Mockito.when(coreRC.getTransportConnection()).thenReturn(connection);
+      ChannelImpl channel = new ChannelImpl(coreRC, 1, -1, null);
+
+      final byte[] body = new byte[]{1, 2, 3, 4, 5};
+      FileRegion region = Mockito.mock(FileRegion.class);
+      SessionReceiveContinuationMessage packet = new SessionReceiveContinuationMessage(7, body.length, true);
+
+      assertTrue(channel.send(packet, SessionContinuationMessage.BODY_OFFSET, region));
+
+      ArgumentCaptor<ActiveMQBuffer> buffer = ArgumentCaptor.forClass(ActiveMQBuffer.class);
+      Mockito.verify(connection).write(buffer.capture(), Mockito.eq(SessionContinuationMessage.BODY_OFFSET), Mockito.same(region));
+
+      // what the other end receives once the region is written
+      ByteBuf encoded = buffer.getValue().byteBuf();
+      ByteBuf wire = Unpooled.buffer();
+      wire.writeBytes(encoded, encoded.readerIndex(), SessionContinuationMessage.BODY_OFFSET);
+      wire.writeBytes(body);
+      wire.writeBytes(encoded, encoded.readerIndex() + SessionContinuationMessage.BODY_OFFSET, encoded.readableBytes() - SessionContinuationMessage.BODY_OFFSET);
+
+      assertEquals(packet.getPacketSize(), wire.readableBytes());
+      assertEquals(wire.readableBytes() - Integer.BYTES, wire.readInt());
+      assertEquals(PacketImpl.SESS_RECEIVE_CONTINUATION, wire.readByte());
+
+      SessionReceiveContinuationMessage received = new SessionReceiveContinuationMessage();
+      received.decode(new ChannelBufferWrapper(wire));
+
+      assertEquals(1, received.getChannelID());
+      assertEquals(7, received.getConsumerID());
+      assertArrayEquals(body, received.getBody());
+      assertTrue(received.isContinues());
+   }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SharedFileChannelTest {
+
+   @TempDir
+   public File temporaryFolder;
+
+   private File createFile(int size) throws IOException {
+      final byte[] bytes = new byte[size];
+      for (int i = 0; i < size; i++) {
+         bytes[i] = (byte) i;
+      }
+      final File file = new File(temporaryFolder, "body.msg");
+      Files.write(file.toPath(), bytes);
+      return file;
+   }
+
+   private static byte[] transfer(FileRegion region) throws IOException {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (WritableByteChannel target = Channels.newChannel(out)) {
+         while (region.transferred() < region.count()) {
+            region.transferTo(target, region.transferred());
+         }
+      }
+      return out.toByteArray();
+   }
+
+   @Test
+   public void testRegionsKeepTheFileOpen() throws IOException {
+      final File file = createFile(100);
+      final byte[] bytes = Files.readAllBytes(file.toPath());
+      final SharedFileChannel shared = new SharedFileChannel(file);
+
+      final FileRegion first = shared.region(0, 60);
+      final FileRegion second = shared.region(60, 40);
+      // the transports use sendfile only with default file regions
+      assertEquals(DefaultFileRegion.class, first.getClass().getSuperclass());
+      assertEquals(3, shared.refCnt());
+
+      // e.g. the delivery is over while the regions are still queued to be written
+      shared.release();
+      assertEquals(2, shared.refCnt());
+
+      assertArrayEquals(Arrays.copyOfRange(bytes, 0, 60), transfer(first));
+      first.release();
+      assertEquals(1, shared.refCnt());
+
+      assertArrayEquals(Arrays.copyOfRange(bytes, 60, 100), transfer(second));
+      second.release();
+      assertEquals(0, shared.refCnt());
+   }
+
+   @Test
+   public void testRegionBeyondTheFile() throws IOException {
+      final SharedFileChannel shared = new SharedFileChannel(createFile(100));
+
+      assertThrows(IOException.class, () -> shared.region(60, 41));
+      assertEquals(1, shared.refCnt());
+
+      shared.region(60, 40).release();
+      assertEquals(1, shared.refCnt());
+
+      shared.release();
+      assertEquals(0, shared.refCnt());
+   }
+
+   @Test
+   public void testMissingFile() {
+      final SharedFileChannel shared = new SharedFileChannel(new File(temporaryFolder, "missing.msg"));
+
+      assertThrows(IOException.class, () -> shared.region(0, 1));
+      assertEquals(1, shared.refCnt());
+
+      shared.release();
+   }
+}
@@ -18,7 +18,9 @@ package org.apache.activemq.artemis.message;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -224,6 +226,32 @@ public class CoreMessageTest {
       }
    }
 
+   @Test
+   public void testConversionDroppedOnChange() {
+      final CoreMessage message = new CoreMessage().initBuffer(100);
+      final Object first = new Object();
+      final Object second = new Object();
+      assertNull(message.getConversion(first));
+
+      message.setConversion(first, "first", 10);
+      message.setConversion(second, "second", 20);
+      assertEquals("first", message.getConversion(first));
+      assertEquals("second", message.getConversion(second));
+      message.setConversion(first, "first again", 30);
+      assertEquals("first again", message.getConversion(first));
+      assertNull(message.copy().getConversion(first));
+
+      message.putStringProperty(PROP1_NAME, PROP1_VALUE);
+      assertNull(message.getConversion(first));
+      assertNull(message.getConversion(second));
+
+      // the dropped conversions stay accounted until released
+      message.setConversion(first, "first", 40);
+      assertEquals(100, message.releaseConversions());
+      assertNull(message.getConversion(first));
+      assertEquals(0, message.releaseConversions());
+   }
+
    @Test
    public void testToMapLimit() throws Exception {
 
@@ -401,6 +429,32 @@ public class CoreMessageTest {
       assertEquals(copy.getEncodeSize(), copy.getBuffer().capacity());
    }
 
+   @Test
+   public void testReadPropertiesWithoutDecoding() {
+      final LazyPropertiesCoreMessage coreMessage = new LazyPropertiesCoreMessage();
+      coreMessage.receiveBuffer(Unpooled.wrappedBuffer(BYTE_ENCODE.array()));
+      assertEquals(PROP1_VALUE, coreMessage.getSimpleStringProperty(PROP1_NAME));
+      assertEquals(PROP1_VALUE.toString(), coreMessage.getStringProperty(PROP1_NAME));
+      assertEquals(PROP1_VALUE, coreMessage.getObjectProperty(PROP1_NAME));
+      assertTrue(coreMessage.containsProperty(PROP1_NAME));
+      assertFalse(coreMessage.containsProperty(Message.HDR_DUPLICATE_DETECTION_ID));
+      assertNull(coreMessage.getDuplicateProperty());
+      assertNull(coreMessage.getRoutingType());
+      assertEquals(0L, coreMessage.getScheduledDeliveryTime());
+      assertFalse(coreMessage.isPropertiesDecoded());
+      coreMessage.putLongProperty(Message.HDR_SCHEDULED_DELIVERY_TIME, 1L);
+      assertTrue(coreMessage.isPropertiesDecoded());
+      assertEquals(PROP1_VALUE, coreMessage.getSimpleStringProperty(PROP1_NAME));
+      assertEquals(1L, coreMessage.getScheduledDeliveryTime());
+   }
+
+   private static final class LazyPropertiesCoreMessage extends CoreMessage {
+
+      boolean isPropertiesDecoded() {
+         return properties != null;
+      }
+   }
+
    private void printVariable(String body, String encode) {
       System.out.println("// body = \"" + body + "\";");
       System.out.println("private final String STRING_ENCODE = \"" + encode + "\";");
@@ -607,6 +607,15 @@ public class ActiveMQConnectionFactory extends JNDIStorable implements Connectio
       serverLocator.setConsumerWindowSize(consumerWindowSize);
    }
 
+   public synchronized int getConsumerMaxWindowSize() {
+      return serverLocator.getConsumerMaxWindowSize();
+   }
+
+   public synchronized void setConsumerMaxWindowSize(final int consumerMaxWindowSize) {
+      checkWrite();
+      serverLocator.setConsumerMaxWindowSize(consumerMaxWindowSize);
+   }
+
    public synchronized int getConsumerMaxRate() {
       return serverLocator.getConsumerMaxRate();
    }
@@ -117,6 +117,24 @@ public abstract class AbstractSequentialFileFactory implements SequentialFileFac
       return bufferSize;
    }
 
+   @Override
+   public SequentialFileFactory setBufferAdaptiveTimeout(int minTimeout, int maxTimeout) {
+      if (timedBuffer != null) {
+         timedBuffer.setAdaptiveTimeout(minTimeout, maxTimeout);
+      }
+      return this;
+   }
+
+   @Override
+   public long getCurrentBufferTimeout() {
+      return timedBuffer == null ? -1 : timedBuffer.getCurrentTimeout();
+   }
+
+   @Override
+   public long getAverageBufferSyncLatency() {
+      return timedBuffer == null ? -1 : timedBuffer.getAverageSyncLatency();
+   }
+
    @Override
    public int getAlignment() {
       if (alignment < 0) {
@@ -144,6 +144,29 @@ public interface SequentialFileFactory {
 
    long getBufferSize();
 
+   /**
+    * Lets the timeout of the buffer batching writes adapt to the device latency, within the given bounds in
+    * nanoseconds. It has no effect if writes are not buffered.
+    */
+   default SequentialFileFactory setBufferAdaptiveTimeout(int minTimeout, int maxTimeout) {
+      return this;
+   }
+
+   /**
+    * {@return the timeout, in nanoseconds, currently used by the buffer batching writes or -1 if writes are not
+    * buffered}
+    */
+   default long getCurrentBufferTimeout() {
+      return -1;
+   }
+
+   /**
+    * {@return the average time, in nanoseconds, taken to complete a synced buffer flush or -1 if not measured}
+    */
+   default long getAverageBufferSyncLatency() {
+      return -1;
+   }
+
    /**
     * Only JDBC supports individual context. Meaning for Files we need to use the Sync scheduler. for JDBC we need to
     * use a callback from the JDBC completion thread to complete the IOContexts.
@@ -58,6 +58,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
    // The number of tries on sleep before switching to spin
    private static final int MAX_CHECKS_ON_SLEEP = 20;
 
+   // Weight of the newest sample on the adaptive timeout averages, as used for TCP's smoothed RTT
+   private static final double ADAPTIVE_SAMPLE_WEIGHT = 0.125;
+
 
    // If the TimedBuffer is idle - i.e. no records are being added, then it's pointless the timer flush thread
    // in spinning and checking the time - and using up CPU in the process - this semaphore is used to
@@ -66,6 +69,9 @@ public final class TimedBuffer extends CriticalComponentImpl {
    private final int bufferSize;
    private final ActiveMQBuffer buffer;
    private final int timeout;
+   // the timeout currently used by the timer thread, it only differs from timeout when adapting
+   private volatile long currentTimeout;
+   private volatile AdaptiveTimeout adaptiveTimeout;
    private final boolean logRates;
    private final AtomicLong bytesFlushed = new AtomicLong(0);
    private final AtomicLong flushesDone = new AtomicLong(0);
@@ -115,6 +121,43 @@ public final class TimedBuffer extends CriticalComponentImpl {
       callbacks = new ArrayList<>();
 
       this.timeout = timeout;
+
+      this.currentTimeout = timeout;
+   }
+
+   /**
+    * Lets the timeout adapt, within {@code minTimeout} and {@code maxTimeout} nanoseconds, to the observed write
+    * latency of the device and to the rate records are being added. Without it the buffer always waits for the timeout
+    * given at construction.
+    * <p>
+    * The batching window follows the average time the device takes to complete a synced write: waiting any longer
+    * doesn't allow more syncs per second, and waiting less only issues syncs the device will queue anyway. When records
+    * arrive so slowly that not even one more is expected within that window, the minimum timeout is used instead as
+    * there is nothing to batch.
+    */
+   public synchronized void setAdaptiveTimeout(final int minTimeout, final int maxTimeout) {
+      if (minTimeout < 0 || maxTimeout < minTimeout) {
+         throw new IllegalArgumentException("Invalid adaptive timeout bounds [" + minTimeout + ", " + maxTimeout + "]");
+      }
+      adaptiveTimeout = new AdaptiveTimeout(minTimeout, maxTimeout);
+      // start from the configured timeout, within the bounds, until the first measures come in
+      currentTimeout = Math.max(minTimeout, Math.min(maxTimeout, timeout));
+   }
+
+   /**
+    * {@return the timeout, in nanoseconds, currently used to batch writes}
+    */
+   public long getCurrentTimeout() {
+      return currentTimeout;
+   }
+
+   /**
+    * {@return the average time, in nanoseconds, taken to complete a synced flush or -1 if the timeout is not adaptive
+    * or nothing has been measured yet}
+    */
+   public long getAverageSyncLatency() {
+      final AdaptiveTimeout adaptiveTimeout = this.adaptiveTimeout;
+      return adaptiveTimeout == null ? -1 : adaptiveTimeout.getAverageSyncLatency();
    }
 
    public void start() {
@@ -326,6 +369,13 @@ public final class TimedBuffer extends CriticalComponentImpl {
                   bytesFlushed.addAndGet(pos);
                }
 
+               if (adaptiveTimeout != null) {
+                  adaptiveTimeout.onFlush(callbacks.size(), System.nanoTime());
+                  if (pendingSync) {
+                     callbacks.add(adaptiveTimeout.new SyncLatencyCallback(System.nanoTime()));
+                  }
+               }
+
                if (bufferObserver.supportSync()) {
                   // performing the sync away from the lock
                   // so other writes can be performed while that flush is happening
@@ -438,6 +488,79 @@ public final class TimedBuffer extends CriticalComponentImpl {
       }
    }
 
+   /**
+    * Averages the synced flush latency and the records added per nanosecond, and derives the timeout from them. Flushes
+    * happen under the {@link TimedBuffer} lock but the sync completions are reported by the IO threads, hence the
+    * synchronization.
+    */
+   private final class AdaptiveTimeout {
+
+      private final long minTimeout;
+
+      private final long maxTimeout;
+
+      private double averageSyncLatency = -1;
+
+      private double averageArrivalRate = -1;
+
+      private long lastFlushTime = -1;
+
+      AdaptiveTimeout(final long minTimeout, final long maxTimeout) {
+         this.minTimeout = minTimeout;
+         this.maxTimeout = maxTimeout;
+      }
+
+      synchronized long getAverageSyncLatency() {
+         return (long) averageSyncLatency;
+      }
+
+      synchronized void onFlush(final int records, final long now) {
+         if (lastFlushTime != -1 && now > lastFlushTime) {
+            averageArrivalRate = average(averageArrivalRate, (double) records / (now - lastFlushTime));
+            updateTimeout();
+         }
+         lastFlushTime = now;
+      }
+
+      synchronized void onSyncDone(final long latency) {
+         averageSyncLatency = average(averageSyncLatency, latency);
+         updateTimeout();
+      }
+
+      private double average(final double average, final double sample) {
+         return average < 0 ? sample : average + ADAPTIVE_SAMPLE_WEIGHT * (sample - average);
+      }
+
+      private void updateTimeout() {
+         if (averageSyncLatency < 0 || averageArrivalRate < 0) {
+            return;
+         }
+         long window = (long) averageSyncLatency;
+         if (averageArrivalRate * window < 1) {
+            window = minTimeout;
+         }
+         currentTimeout = Math.max(minTimeout, Math.min(maxTimeout, window));
+      }
+
+      private final class SyncLatencyCallback implements IOCallback {
+
+         private final long flushTime;
+
+         SyncLatencyCallback(final long flushTime) {
+            this.flushTime = flushTime;
+         }
+
+         @Override
+         public void done() {
+            onSyncDone(System.nanoTime() - flushTime);
+         }
+
+         @Override
+         public void onError(final int errorCode, final String errorMessage) {
+         }
+      }
+   }
+
    private class CheckTimer implements Runnable {
 
       int checks = 0;
@@ -455,6 +578,7 @@ public final class TimedBuffer extends CriticalComponentImpl {
             // Effectively flushing "resets" the timer
             // On the timeout verification, notice that we ignore the timeout check if we are using sleep
 
+            final long timeout = currentTimeout;
             if (pendingSync || System.nanoTime() - lastFlushTime > timeout) {
                if (useSleep) {
                   // if using sleep, we will always flush
@@ -333,6 +333,42 @@ public interface Journal extends ActiveMQComponent {
    default void forceBackup(int timeout, TimeUnit unit) throws Exception {
    }
 
+   /**
+    * {@return how many compactions have completed since this journal was started}
+    */
+   default long getCompletedCompactCount() {
+      return 0;
+   }
+
+   /**
+    * {@return the total number of bytes written into new data files by compacting since this journal was started}
+    */
+   default long getCompactBytesWritten() {
+      return 0;
+   }
+
+   /**
+    * {@return how long, in milliseconds, the last completed compaction took}
+    */
+   default long getLastCompactDuration() {
+      return 0;
+   }
+
+   /**
+    * {@return how long, in nanoseconds, appends were held by the last completed compaction}
+    */
+   default long getLastCompactPauseNanos() {
+      return 0;
+   }
+
+   /**
+    * {@return the longest time, in nanoseconds, appends were held by a single compaction since this journal was
+    * started}
+    */
+   default long getMaxCompactPauseNanos() {
+      return 0;
+   }
+
    /**
     * {@return array with all {@link JournalFile}s in use}
     */
@@ -54,6 +54,8 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
 
    private ActiveMQBuffer writingChannel;
 
+   private long bytesWritten;
+
    private ByteBuffer bufferWrite;
 
    private final ConcurrentLongHashSet recordsSnapshot;
@@ -213,6 +215,8 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
                try {
                   sequentialFile.position(0);
 
+                  bytesWritten += writingChannel.writerIndex();
+
                   // To Fix the size of the file
                   writingChannel.writerIndex(writingChannel.capacity());
 
@@ -243,6 +247,13 @@ public abstract class AbstractJournalUpdateTask implements JournalReaderCallback
       flush(true);
    }
 
+   /**
+    * {@return the number of bytes, headers included, flushed into new data files so far}
+    */
+   public long getBytesWritten() {
+      return bytesWritten;
+   }
+
    public boolean containsRecord(final long id) {
       return recordsSnapshot.contains(id);
    }
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import io.netty.util.collection.ByteObjectHashMap;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.utils.ExecutorFactory;
+import org.apache.activemq.artemis.utils.SimpleFutureImpl;
+
+/**
+ * Reads and decodes journal files ahead of the loader, on up to {@code parallelism} executors.
+ * <p>
+ * Decoding a file (reading it into memory, validating and copying out every record) is independent of any other
+ * file, but the records have to be applied in file order for the load to be correct. Each file is therefore decoded
+ * into a list of reader events on its own executor, and {@link #read(JournalFile, JournalReaderCallback)} replays
+ * those events, in the original order, on the loading thread.
+ * <p>
+ * At most {@code parallelism} files are decoded ahead of the one being replayed, which bounds the extra memory used
+ * by the load to roughly {@code parallelism} times the journal file size.
+ */
+final class JournalFileReadAhead {
+
+   private final SequentialFileFactory fileFactory;
+
+   private final ByteObjectHashMap<Boolean> replaceableRecords;
+
+   private final List<JournalFile> files;
+
+   private final Executor[] executors;
+
+   private final List<SimpleFutureImpl<RecordedFile>> pending;
+
+   private int nextToSubmit;
+
+   private int nextToRead;
+
+   JournalFileReadAhead(final SequentialFileFactory fileFactory,
+                        final ExecutorFactory executorFactory,
+                        final List<JournalFile> files,
+                        final int parallelism,
+                        final ByteObjectHashMap<Boolean> replaceableRecords) {
+      this.fileFactory = fileFactory;
+      this.replaceableRecords = replaceableRecords;
+      this.files = files;
+      this.executors = new Executor[parallelism];
+      for (int i = 0; i < parallelism; i++) {
+         executors[i] = executorFactory.getExecutor();
+      }
+      this.pending = new ArrayList<>(files.size());
+   }
+
+   /**
+    * Replays the records of {@code file} into {@code reader}, exactly as
+    * {@link JournalImpl#readJournalFile(SequentialFileFactory, JournalFile, JournalReaderCallback)} would.
+    * Files must be read in the same order they were given to the constructor.
+    *
+    * @return the position after the last valid record on the file, or -1 if the file is damaged
+    */
+   int read(final JournalFile file, final JournalReaderCallback reader) throws Exception {
+      if (nextToRead >= files.size() || files.get(nextToRead) != file) {
+         throw new IllegalStateException("Journal file " + file + " is not the next file to be loaded");
+      }
+
+      submitAhead();
+
+      final SimpleFutureImpl<RecordedFile> future = pending.set(nextToRead, null);
+      nextToRead++;
+
+      final RecordedFile recordedFile;
+      try {
+         recordedFile = future.get();
+      } catch (ExecutionException e) {
+         if (e.getCause() instanceof Exception exception) {
+            throw exception;
+         }
+         throw e;
+      }
+
+      submitAhead();
+
+      return recordedFile.replay(reader);
+   }
+
+   private void submitAhead() {
+      while (nextToSubmit < files.size() && nextToSubmit - nextToRead < executors.length) {
+         final JournalFile file = files.get(nextToSubmit);
+         final SimpleFutureImpl<RecordedFile> future = new SimpleFutureImpl<>();
+         pending.add(future);
+         executors[nextToSubmit % executors.length].execute(() -> {
+            try {
+               final RecordedFile recordedFile = new RecordedFile();
+               recordedFile.lastDataPos = JournalImpl.readJournalFile(fileFactory, file, recordedFile, null, false, replaceableRecords);
+               future.set(recordedFile);
+            } catch (Throwable e) {
+               future.fail(e);
+            }
+         });
+         nextToSubmit++;
+      }
+   }
+
+   /**
+    * Records every callback of a file read so it can be replayed later, on a different thread.
+    */
+   private static final class RecordedFile implements JournalReaderCallback {
+
+      private static final byte EVENT = 0;
+      private static final byte ADD = 1;
+      private static final byte UPDATE = 2;
+      private static final byte DELETE = 3;
+      private static final byte ADD_TX = 4;
+      private static final byte UPDATE_TX = 5;
+      private static final byte DELETE_TX = 6;
+      private static final byte PREPARE = 7;
+      private static final byte COMMIT = 8;
+      private static final byte ROLLBACK = 9;
+      private static final byte MARK_AS_DATA_FILE = 10;
+
+      private final List<Event> events = new ArrayList<>();
+
+      private int lastDataPos;
+
+      private boolean done;
+
+      int replay(final JournalReaderCallback reader) throws Exception {
+         for (Event event : events) {
+            switch (event.type) {
+               case EVENT -> reader.onReadEventRecord(event.info);
+               case ADD -> reader.onReadAddRecord(event.info);
+               case UPDATE -> reader.onReadUpdateRecord(event.info);
+               case DELETE -> reader.onReadDeleteRecord(event.id);
+               case ADD_TX -> reader.onReadAddRecordTX(event.id, event.info);
+               case UPDATE_TX -> reader.onReadUpdateRecordTX(event.id, event.info);
+               case DELETE_TX -> reader.onReadDeleteRecordTX(event.id, event.info);
+               case PREPARE -> reader.onReadPrepareRecord(event.id, event.extraData, event.numberOfRecords);
+               case COMMIT -> reader.onReadCommitRecord(event.id, event.numberOfRecords);
+               case ROLLBACK -> reader.onReadRollbackRecord(event.id);
+               case MARK_AS_DATA_FILE -> reader.markAsDataFile(event.file);
+               default -> throw new IllegalStateException("Invalid event type " + event.type);
+            }
+         }
+         if (done) {
+            reader.done();
+         }
+         return lastDataPos;
+      }
+
+      @Override
+      public void onReadEventRecord(final RecordInfo info) {
+         events.add(new Event(EVENT, 0, info));
+      }
+
+      @Override
+      public void done() {
+         done = true;
+      }
+
+      @Override
+      public void onReadAddRecord(final RecordInfo info) {
+         events.add(new Event(ADD, 0, info));
+      }
+
+      @Override
+      public void onReadUpdateRecord(final RecordInfo info) {
+         events.add(new Event(UPDATE, 0, info));
+      }
+
+      @Override
+      public void onReadDeleteRecord(final long recordID) {
+         events.add(new Event(DELETE, recordID, null));
+      }
+
+      @Override
+      public void onReadAddRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(new Event(ADD_TX, transactionID, info));
+      }
+
+      @Override
+      public void onReadUpdateRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(new Event(UPDATE_TX, transactionID, info));
+      }
+
+      @Override
+      public void onReadDeleteRecordTX(final long transactionID, final RecordInfo info) {
+         events.add(new Event(DELETE_TX, transactionID, info));
+      }
+
+      @Override
+      public void onReadPrepareRecord(final long transactionID, final byte[] extraData, final int numberOfRecords) {
+         final Event event = new Event(PREPARE, transactionID, null);
+         event.extraData = extraData;
+         event.numberOfRecords = numberOfRecords;
+         events.add(event);
+      }
+
+      @Override
+      public void onReadCommitRecord(final long transactionID, final int numberOfRecords) {
+         final Event event = new Event(COMMIT, transactionID, null);
+         event.numberOfRecords = numberOfRecords;
+         events.add(event);
+      }
+
+      @Override
+      public void onReadRollbackRecord(final long transactionID) {
+         events.add(new Event(ROLLBACK, transactionID, null));
+      }
+
+      @Override
+      public void markAsDataFile(final JournalFile file) {
+         final Event event = new Event(MARK_AS_DATA_FILE, 0, null);
+         event.file = file;
+         events.add(event);
+      }
+   }
+
+   private static final class Event {
+
+      final byte type;
+
+      // the record ID for deletes, otherwise the transaction ID
+      final long id;
+
+      final RecordInfo info;
+
+      byte[] extraData;
+
+      int numberOfRecords;
+
+      JournalFile file;
+
+      Event(final byte type, final long id, final RecordInfo info) {
+         this.type = type;
+         this.id = id;
+         this.info = info;
+      }
+   }
+}
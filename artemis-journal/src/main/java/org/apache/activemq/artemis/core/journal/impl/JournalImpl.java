@@ -348,12 +348,52 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    private volatile JournalState state = JournalState.STOPPED;
 
+   private int loadParallelism = 1;
+
    private volatile int compactCount = 0;
 
+   private volatile long compactsCompleted;
+
+   private volatile long compactBytesWritten;
+
+   private volatile long lastCompactDuration;
+
+   private volatile long lastCompactPauseNanos;
+
+   private volatile long maxCompactPauseNanos;
+
+   // time the journal lock has been held by the running compaction, only accessed by the compacting thread
+   private long currentCompactPauseNanos;
+
    public float getCompactPercentage() {
       return compactPercentage;
    }
 
+   @Override
+   public long getCompletedCompactCount() {
+      return compactsCompleted;
+   }
+
+   @Override
+   public long getCompactBytesWritten() {
+      return compactBytesWritten;
+   }
+
+   @Override
+   public long getLastCompactDuration() {
+      return lastCompactDuration;
+   }
+
+   @Override
+   public long getLastCompactPauseNanos() {
+      return lastCompactPauseNanos;
+   }
+
+   @Override
+   public long getMaxCompactPauseNanos() {
+      return maxCompactPauseNanos;
+   }
+
    public int getCompactMinFiles() {
       return compactMinFiles;
    }
@@ -502,6 +542,23 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       return this;
    }
 
+   /**
+    * How many journal files may be read and decoded concurrently while loading. Records are always applied in file
+    * order, so this only changes how far ahead of the loader the files are decoded. {@code 1} reads every file
+    * sequentially on the loading thread.
+    */
+   public JournalImpl setLoadParallelism(int loadParallelism) {
+      if (loadParallelism < 1) {
+         throw new IllegalArgumentException("loadParallelism must be at least 1, was " + loadParallelism);
+      }
+      this.loadParallelism = loadParallelism;
+      return this;
+   }
+
+   public int getLoadParallelism() {
+      return loadParallelism;
+   }
+
    @Override
    public ConcurrentLongHashMap<JournalRecord> getRecords() {
       return records;
@@ -1760,6 +1817,9 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
          boolean previousReclaimValue = isAutoReclaim();
 
+         final long compactStart = System.nanoTime();
+         currentCompactPauseNanos = 0;
+
          try {
             logger.debug("Starting compacting operation on journal {}", this);
 
@@ -1810,6 +1870,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
             SequentialFile controlFile = createControlFile(dataFilesToProcess, compactor.getNewDataFiles(), null);
 
             journalLock.writeLock().lock();
+            final long pauseStart = System.nanoTime();
             try {
                // Need to clear the compactor here, or the replay commands will send commands back (infinite loop)
                compactor = null;
@@ -1858,6 +1919,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                fileFactory.onIOError(e, e.getMessage());
                return;
             } finally {
+               currentCompactPauseNanos += System.nanoTime() - pauseStart;
                journalLock.writeLock().unlock();
             }
 
@@ -1869,6 +1931,8 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
             setAutoReclaim(previousReclaimValue);
 
+            compactCompleted(localCompactor.getBytesWritten(), System.nanoTime() - compactStart);
+
             logger.debug("Finished compacting on journal {}", this);
 
          } catch (Throwable e) {
@@ -1882,6 +1946,19 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
 
    }
 
+   private void compactCompleted(long bytesWritten, long durationNanos) {
+      final long pauseNanos = currentCompactPauseNanos;
+      compactBytesWritten += bytesWritten;
+      lastCompactDuration = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+      lastCompactPauseNanos = pauseNanos;
+      if (pauseNanos > maxCompactPauseNanos) {
+         maxCompactPauseNanos = pauseNanos;
+      }
+      compactsCompleted++;
+
+      logger.debug("Compacted journal {} in {} ms, writing {} bytes, with appends held for {} us", this, lastCompactDuration, bytesWritten, TimeUnit.NANOSECONDS.toMicros(pauseNanos));
+   }
+
    /**
     * this private method will return a list of data files that need to be cleaned up. It will get the list, and replace
     * it on the journal structure, while a separate thread would be able to read it, and append to a new list that will
@@ -1892,6 +1969,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // We need to guarantee that the journal is frozen for this short time
       // We don't freeze the journal as we compact, only for the short time where we replace records
       journalLock.writeLock().lock();
+      final long pauseStart = System.nanoTime();
       try {
          if (state != JournalState.LOADED) {
             return null;
@@ -1930,6 +2008,7 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
          // after compacting
          records.clear();
       } finally {
+         currentCompactPauseNanos += System.nanoTime() - pauseStart;
          journalLock.writeLock().unlock();
       }
 
@@ -2008,12 +2087,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
       // AtomicLong is used only as a reference, not as an Atomic value
       final AtomicLong maxID = new AtomicLong(-1);
 
+      final JournalFileReadAhead readAhead = loadParallelism > 1 && orderedFiles.size() > 1 ? new JournalFileReadAhead(fileFactory, ioExecutorFactory, orderedFiles, loadParallelism, replaceableRecords) : null;
+
       for (final JournalFile file : orderedFiles) {
          logger.trace("Loading file {}", file.getFile().getFileName());
 
          final AtomicBoolean hasData = new AtomicBoolean(false);
 
-         int resultLastPost = JournalImpl.readJournalFile(fileFactory, file, new JournalReaderCallback() {
+         final JournalReaderCallback reader = new JournalReaderCallback() {
 
             private void checkID(final long id) {
                if (id > maxID.longValue()) {
@@ -2235,7 +2316,14 @@ public class JournalImpl extends JournalBase implements TestableJournal, Journal
                hasData.lazySet(true);
             }
 
-         }, wholeFileBufferRef, false, this.replaceableRecords);
+         };
+
+         final int resultLastPost;
+         if (readAhead != null) {
+            resultLastPost = readAhead.read(file, reader);
+         } else {
+            resultLastPost = JournalImpl.readJournalFile(fileFactory, file, reader, wholeFileBufferRef, false, this.replaceableRecords);
+         }
 
          if (hasData.get()) {
             lastDataPos = resultLastPost;
@@ -34,6 +34,15 @@ public class JournalRecord {
    // use this singleton to save using a separated boolean field to mark the "deleted" state
    // that would enlarge JournalRecord of several bytes
    private static final ObjIntIntArrayList<JournalFile> DELETED = new ObjIntIntArrayList<>(0);
+
+   // Most records are only ever updated on a single file (e.g. a message and its ADD_REF written together), so the
+   // first updated file is kept inline: allocating an ObjIntIntArrayList (and its 2 arrays) for it would cost
+   // several times the size of the JournalRecord itself.
+   private JournalFile firstUpdateFile;
+   private int firstUpdateBytes;
+   private int firstUpdatePosCount;
+
+   // any other updated file, after firstUpdateFile
    private ObjIntIntArrayList<JournalFile> fileUpdates;
 
    public JournalRecord(final JournalFile addFile, final int size) {
@@ -55,7 +64,21 @@ public class JournalRecord {
       if (bytes == 0) {
          return;
       }
+      if (firstUpdateFile == null) {
+         firstUpdateFile = updateFile;
+         firstUpdateBytes = bytes;
+         firstUpdatePosCount = 1;
+         updateFile.incPosCount();
+         updateFile.addSize(bytes);
+         if (replaceableUpdate) {
+            updateFile.incReplaceableCount();
+         }
+         return;
+      }
       if (fileUpdates == null) {
+         if (addToFirstUpdateIfMatch(updateFile, bytes)) {
+            return;
+         }
          fileUpdates = new ObjIntIntArrayList<>(INITIAL_FILES_CAPACITY);
       }
       final int files = fileUpdates.size();
@@ -75,12 +98,32 @@ public class JournalRecord {
       }
    }
 
+   private boolean addToFirstUpdateIfMatch(final JournalFile updateFile, final int bytes) {
+      if (firstUpdateFile != updateFile) {
+         return false;
+      }
+      final long newBytes = (long) firstUpdateBytes + bytes;
+      // on overflow a new entry is used, the same way ObjIntIntArrayList::addToIntsIfMatch does
+      if (newBytes > Integer.MAX_VALUE || firstUpdatePosCount == Integer.MAX_VALUE) {
+         return false;
+      }
+      firstUpdateBytes = (int) newBytes;
+      firstUpdatePosCount++;
+      updateFile.incPosCount();
+      updateFile.addSize(bytes);
+      return true;
+   }
+
    void delete(final JournalFile file) {
       checkNotDeleted();
       final ObjIntIntArrayList<JournalFile> fileUpdates = this.fileUpdates;
       try {
          file.incNegCount(addFile);
          addFile.decSize(size);
+         if (firstUpdateFile != null) {
+            file.incNegCount(firstUpdateFile, firstUpdatePosCount);
+            firstUpdateFile.decSize(firstUpdateBytes);
+         }
          if (fileUpdates != null) {
             // not-capturing lambda to save allocation
             fileUpdates.forEach((updFile, bytes, posCount, f) -> {
@@ -91,6 +134,9 @@ public class JournalRecord {
       } finally {
          if (fileUpdates != null) {
             fileUpdates.clear();
+         }
+         if (firstUpdateFile != null) {
+            firstUpdateFile = null;
             this.fileUpdates = DELETED;
          }
       }
@@ -102,6 +148,9 @@ public class JournalRecord {
       buffer.append("JournalRecord(add=" + addFile.getFile().getFileName());
 
       final ObjIntIntArrayList<JournalFile> fileUpdates = this.fileUpdates;
+      if (firstUpdateFile != null) {
+         buffer.append(", update=").append(firstUpdateFile.getFile().getFileName());
+      }
       if (fileUpdates != null) {
          if (fileUpdates == DELETED) {
             buffer.append(", deleted");
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.io.buffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.core.io.DummyCallback;
+import org.apache.activemq.artemis.core.io.IOCallback;
+import org.junit.jupiter.api.Test;
+
+public class TimedBufferAdaptiveTimeoutTest {
+
+   private static final int INITIAL_TIMEOUT = (int) TimeUnit.SECONDS.toNanos(1);
+
+   private static final int MIN_TIMEOUT = (int) TimeUnit.MICROSECONDS.toNanos(100);
+
+   private static final int MAX_TIMEOUT = (int) TimeUnit.MILLISECONDS.toNanos(50);
+
+   private static final long SYNC_LATENCY = TimeUnit.MILLISECONDS.toNanos(2);
+
+   /**
+    * Completes synced flushes only after {@link #SYNC_LATENCY}, like a slow device would.
+    */
+   private static final class SlowSyncObserver implements TimedBufferObserver {
+
+      @Override
+      public void flushBuffer(final ByteBuf buffer, final boolean syncRequested, final List<IOCallback> callbacks) {
+         if (syncRequested) {
+            final long deadline = System.nanoTime() + SYNC_LATENCY;
+            while (System.nanoTime() < deadline) {
+               LockSupport.parkNanos(SYNC_LATENCY / 10);
+            }
+         }
+         callbacks.forEach(IOCallback::done);
+      }
+
+      @Override
+      public int getRemainingBytes() {
+         return Integer.MAX_VALUE;
+      }
+   }
+
+   @Test
+   public void testTimeoutFollowsSyncLatency() {
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100 * 1024, INITIAL_TIMEOUT, false);
+      timedBuffer.setAdaptiveTimeout(MIN_TIMEOUT, MAX_TIMEOUT);
+      timedBuffer.start();
+      try {
+         timedBuffer.setObserver(new SlowSyncObserver());
+
+         // the initial timeout is above the bounds
+         assertEquals(MAX_TIMEOUT, timedBuffer.getCurrentTimeout());
+         assertEquals(-1, timedBuffer.getAverageSyncLatency());
+
+         // many records on each batch: the timeout should be the time the device needs to sync
+         for (int i = 0; i < 20; i++) {
+            for (int r = 0; r < 50; r++) {
+               addRecord(timedBuffer, r == 49);
+            }
+            timedBuffer.flush();
+         }
+
+         assertTrue(timedBuffer.getAverageSyncLatency() >= SYNC_LATENCY, "average sync latency " + timedBuffer.getAverageSyncLatency());
+         assertTrue(timedBuffer.getCurrentTimeout() >= SYNC_LATENCY, "timeout " + timedBuffer.getCurrentTimeout());
+         assertTrue(timedBuffer.getCurrentTimeout() <= MAX_TIMEOUT, "timeout " + timedBuffer.getCurrentTimeout());
+
+         // a record every few milliseconds: there is nothing to batch, the timeout should drop to the minimum
+         for (int i = 0; i < 200 && timedBuffer.getCurrentTimeout() != MIN_TIMEOUT; i++) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            addRecord(timedBuffer, true);
+            timedBuffer.flush();
+         }
+
+         assertEquals(MIN_TIMEOUT, timedBuffer.getCurrentTimeout());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testFixedTimeoutByDefault() {
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100 * 1024, INITIAL_TIMEOUT, false);
+      timedBuffer.start();
+      try {
+         timedBuffer.setObserver(new SlowSyncObserver());
+
+         for (int i = 0; i < 5; i++) {
+            addRecord(timedBuffer, true);
+            timedBuffer.flush();
+         }
+
+         assertEquals(INITIAL_TIMEOUT, timedBuffer.getCurrentTimeout());
+         assertEquals(-1, timedBuffer.getAverageSyncLatency());
+      } finally {
+         timedBuffer.stop();
+      }
+   }
+
+   @Test
+   public void testInitialTimeoutClampedToBounds() {
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100 * 1024, MIN_TIMEOUT / 2, false);
+      timedBuffer.setAdaptiveTimeout(MIN_TIMEOUT, MAX_TIMEOUT);
+      assertEquals(MIN_TIMEOUT, timedBuffer.getCurrentTimeout());
+
+      timedBuffer = new TimedBuffer(null, 100 * 1024, MAX_TIMEOUT / 2, false);
+      timedBuffer.setAdaptiveTimeout(MIN_TIMEOUT, MAX_TIMEOUT);
+      assertEquals(MAX_TIMEOUT / 2, timedBuffer.getCurrentTimeout());
+   }
+
+   @Test
+   public void testInvalidBounds() {
+      TimedBuffer timedBuffer = new TimedBuffer(null, 100 * 1024, INITIAL_TIMEOUT, false);
+      assertThrows(IllegalArgumentException.class, () -> timedBuffer.setAdaptiveTimeout(-1, MAX_TIMEOUT));
+      assertThrows(IllegalArgumentException.class, () -> timedBuffer.setAdaptiveTimeout(MAX_TIMEOUT, MIN_TIMEOUT));
+   }
+
+   private static void addRecord(final TimedBuffer timedBuffer, final boolean sync) {
+      timedBuffer.checkSize(10);
+      timedBuffer.addBytes(ActiveMQBuffers.wrappedBuffer(new byte[10]), sync, DummyCallback.getInstance());
+   }
+}
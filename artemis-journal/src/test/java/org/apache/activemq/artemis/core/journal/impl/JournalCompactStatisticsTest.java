@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.tests.extensions.TargetTempDirFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalCompactStatisticsTest {
+
+   private static final int FILE_SIZE = 10 * 1024;
+
+   // Temp folder at ./target/tmp/<TestClassName>/<generated>
+   @TempDir(factory = TargetTempDirFactory.class)
+   public File temporaryFolder;
+
+   @Test
+   public void testCompactStatistics() throws Exception {
+      JournalImpl journal = new JournalImpl(FILE_SIZE, 2, 2, 0, 0, new NIOSequentialFileFactory(temporaryFolder, 1), "amq", "amq", 1);
+      journal.start();
+      try {
+         journal.loadInternalOnly();
+
+         assertEquals(0, journal.getCompletedCompactCount());
+         assertEquals(0, journal.getCompactBytesWritten());
+         assertEquals(0, journal.getMaxCompactPauseNanos());
+
+         for (int i = 0; i < 500; i++) {
+            journal.appendAddRecord(i, (byte) 1, new byte[100], false);
+         }
+         for (int i = 0; i < 500; i += 2) {
+            journal.appendDeleteRecord(i, false);
+         }
+         journal.flush();
+
+         journal.compact();
+
+         assertEquals(1, journal.getCompletedCompactCount());
+         // 250 live records with a 100 bytes body can't fit in less than 25000 bytes
+         assertTrue(journal.getCompactBytesWritten() > 25_000, "bytes written " + journal.getCompactBytesWritten());
+         assertTrue(journal.getLastCompactPauseNanos() > 0);
+         assertEquals(journal.getLastCompactPauseNanos(), journal.getMaxCompactPauseNanos());
+
+         final long firstCompactBytes = journal.getCompactBytesWritten();
+
+         journal.compact();
+
+         assertEquals(2, journal.getCompletedCompactCount());
+         assertTrue(journal.getCompactBytesWritten() > firstCompactBytes);
+         assertTrue(journal.getMaxCompactPauseNanos() >= journal.getLastCompactPauseNanos());
+         assertEquals(250, journal.getRecords().size());
+      } finally {
+         journal.stop();
+      }
+   }
+}
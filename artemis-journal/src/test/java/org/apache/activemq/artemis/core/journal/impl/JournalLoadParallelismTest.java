@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.JournalLoadInformation;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.tests.extensions.TargetTempDirFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalLoadParallelismTest {
+
+   private static final int FILE_SIZE = 10 * 1024;
+
+   private static final byte RECORD_TYPE = 1;
+
+   // Temp folder at ./target/tmp/<TestClassName>/<generated>
+   @TempDir(factory = TargetTempDirFactory.class)
+   public File temporaryFolder;
+
+   @Test
+   public void testParallelLoadMatchesSequentialLoad() throws Exception {
+      JournalImpl journal = createJournal(1);
+      journal.start();
+      journal.loadInternalOnly();
+
+      long txID = 100_000;
+      for (int i = 0; i < 1000; i++) {
+         journal.appendAddRecord(i, RECORD_TYPE, recordData(i, 0), false);
+         if (i % 3 == 0) {
+            journal.appendUpdateRecord(i, RECORD_TYPE, recordData(i, 1), false);
+         }
+         if (i % 5 == 0) {
+            journal.appendDeleteRecord(i, false);
+         }
+         if (i % 50 == 0) {
+            txID++;
+            journal.appendAddRecordTransactional(txID, 10_000 + i, RECORD_TYPE, recordData(i, 2));
+            journal.appendUpdateRecordTransactional(txID, i + 1, RECORD_TYPE, recordData(i, 3));
+            if (i % 100 == 0) {
+               journal.appendCommitRecord(txID, false);
+            } else {
+               journal.appendPrepareRecord(txID, new byte[] {(byte) i}, false);
+            }
+         }
+      }
+      journal.flush();
+      journal.stop();
+
+      List<RecordInfo> sequentialRecords = new ArrayList<>();
+      List<PreparedTransactionInfo> sequentialPrepared = new ArrayList<>();
+      JournalLoadInformation sequentialInfo = load(1, sequentialRecords, sequentialPrepared);
+
+      List<RecordInfo> parallelRecords = new ArrayList<>();
+      List<PreparedTransactionInfo> parallelPrepared = new ArrayList<>();
+      JournalLoadInformation parallelInfo = load(4, parallelRecords, parallelPrepared);
+
+      assertEquals(sequentialInfo.getNumberOfRecords(), parallelInfo.getNumberOfRecords());
+      assertEquals(sequentialInfo.getMaxID(), parallelInfo.getMaxID());
+      assertTrue(sequentialRecords.size() > 0);
+      assertEquals(sequentialRecords.size(), parallelRecords.size());
+      for (int i = 0; i < sequentialRecords.size(); i++) {
+         RecordInfo expected = sequentialRecords.get(i);
+         RecordInfo actual = parallelRecords.get(i);
+         assertEquals(expected.id, actual.id);
+         assertEquals(expected.isUpdate, actual.isUpdate);
+         assertArrayEquals(expected.data, actual.data);
+      }
+
+      assertEquals(10, sequentialPrepared.size());
+      assertEquals(sequentialPrepared.size(), parallelPrepared.size());
+      for (int i = 0; i < sequentialPrepared.size(); i++) {
+         assertEquals(sequentialPrepared.get(i).getId(), parallelPrepared.get(i).getId());
+         assertEquals(sequentialPrepared.get(i).getRecords().size(), parallelPrepared.get(i).getRecords().size());
+      }
+   }
+
+   private JournalLoadInformation load(int parallelism,
+                                       List<RecordInfo> records,
+                                       List<PreparedTransactionInfo> preparedTransactions) throws Exception {
+      JournalImpl journal = createJournal(parallelism);
+      journal.start();
+      try {
+         JournalLoadInformation info = journal.load(records, preparedTransactions, null, false);
+         assertTrue(journal.getDataFilesCount() > parallelism);
+         return info;
+      } finally {
+         journal.stop();
+      }
+   }
+
+   private JournalImpl createJournal(int parallelism) {
+      NIOSequentialFileFactory factory = new NIOSequentialFileFactory(temporaryFolder, 1);
+      return new JournalImpl(FILE_SIZE, 2, 2, 0, 0, factory, "amq", "amq", 1).setLoadParallelism(parallelism);
+   }
+
+   private static byte[] recordData(int id, int version) {
+      byte[] data = new byte[100];
+      data[0] = (byte) id;
+      data[1] = (byte) (id >> 8);
+      data[2] = (byte) version;
+      return data;
+   }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.journal.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class JournalRecordTest {
+
+   private static JournalFile newFile(long fileID) {
+      return new JournalFileImpl(Mockito.mock(SequentialFile.class), fileID, 2);
+   }
+
+   @Test
+   public void testUpdatesOnSingleFile() {
+      JournalFile addFile = newFile(1);
+      JournalFile deleteFile = newFile(2);
+
+      JournalRecord record = new JournalRecord(addFile, 10);
+      record.addUpdateFile(addFile, 5, false);
+      record.addUpdateFile(addFile, 7, true);
+
+      assertEquals(3, addFile.getPosCount());
+      assertEquals(22, addFile.getLiveSize());
+      assertEquals(0, addFile.getReplaceableCount());
+
+      record.delete(deleteFile);
+
+      assertEquals(3, deleteFile.getNegCount(addFile));
+      assertEquals(0, addFile.getLiveSize());
+      assertThrows(IllegalStateException.class, () -> record.addUpdateFile(addFile, 1, false));
+   }
+
+   @Test
+   public void testUpdatesOnManyFiles() {
+      JournalFile addFile = newFile(1);
+      JournalFile updateFile1 = newFile(2);
+      JournalFile updateFile2 = newFile(3);
+      JournalFile deleteFile = newFile(4);
+
+      JournalRecord record = new JournalRecord(addFile, 10);
+      record.addUpdateFile(updateFile1, 5, true);
+      record.addUpdateFile(updateFile1, 5, true);
+      record.addUpdateFile(updateFile2, 3, true);
+      // going back to a previous file is a new entry, but it has to be accounted the same way
+      record.addUpdateFile(updateFile1, 1, false);
+      record.addUpdateFile(updateFile2, 0, false);
+
+      assertEquals(1, addFile.getPosCount());
+      assertEquals(3, updateFile1.getPosCount());
+      assertEquals(11, updateFile1.getLiveSize());
+      assertEquals(1, updateFile1.getReplaceableCount());
+      assertEquals(1, updateFile2.getPosCount());
+      assertEquals(3, updateFile2.getLiveSize());
+      assertEquals(1, updateFile2.getReplaceableCount());
+
+      record.delete(deleteFile);
+
+      assertEquals(1, deleteFile.getNegCount(addFile));
+      assertEquals(3, deleteFile.getNegCount(updateFile1));
+      assertEquals(1, deleteFile.getNegCount(updateFile2));
+      assertEquals(0, addFile.getLiveSize());
+      assertEquals(0, updateFile1.getLiveSize());
+      assertEquals(0, updateFile2.getLiveSize());
+      assertThrows(IllegalStateException.class, () -> record.delete(deleteFile));
+   }
+
+   @Test
+   public void testDeleteWithoutUpdates() {
+      JournalFile addFile = newFile(1);
+      JournalFile deleteFile = newFile(2);
+
+      JournalRecord record = new JournalRecord(addFile, 10);
+      record.delete(deleteFile);
+
+      assertEquals(1, deleteFile.getNegCount(addFile));
+      assertEquals(0, addFile.getLiveSize());
+   }
+
+   @Test
+   public void testUpdatesOnAddFileAllocateNothing() {
+      final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+      assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+      final long thread = Thread.currentThread().getId();
+
+      JournalFile addFile = newFile(1);
+      JournalFile updateFile = newFile(2);
+      final int count = 10_000;
+      final JournalRecord[] records = new JournalRecord[count];
+      for (int i = 0; i < count; i++) {
+         records[i] = new JournalRecord(addFile, 64);
+      }
+
+      // the bytes allocated by this thread are exact, unlike the used heap
+      final long beforeUpdates = threads.getThreadAllocatedBytes(thread);
+      for (JournalRecord record : records) {
+         record.addUpdateFile(addFile, 8, false);
+         record.addUpdateFile(addFile, 8, false);
+      }
+      final long afterUpdates = threads.getThreadAllocatedBytes(thread);
+      for (JournalRecord record : records) {
+         record.addUpdateFile(updateFile, 8, false);
+      }
+      final long afterOtherFileUpdates = threads.getThreadAllocatedBytes(thread);
+
+      assertTrue(afterUpdates - beforeUpdates < count, (afterUpdates - beforeUpdates) + " bytes allocated by " + count + " records updated in their add file");
+      // the list of updated files: it was allocated by the first update of every record before
+      assertTrue(afterOtherFileUpdates - afterUpdates >= 64L * count, (afterOtherFileUpdates - afterUpdates) + " bytes allocated by " + count + " records updated in another file");
+      assertEquals(3 * count, addFile.getPosCount());
+   }
+}
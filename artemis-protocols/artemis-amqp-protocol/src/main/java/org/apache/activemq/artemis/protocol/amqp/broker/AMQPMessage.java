@@ -861,6 +861,7 @@ public abstract class AMQPMessage extends RefCountMessage implements org.apache.
    @Override
    public void messageChanged() {
       modified = true;
+      clearConversions();
    }
 
    @Override
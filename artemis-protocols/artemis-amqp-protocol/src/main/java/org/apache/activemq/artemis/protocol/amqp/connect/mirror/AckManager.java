@@ -26,10 +26,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.LongSupplier;
 
+import io.netty.util.collection.IntObjectHashMap;
 import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -39,7 +42,9 @@ import org.apache.activemq.artemis.core.io.IOCriticalErrorListener;
 import org.apache.activemq.artemis.core.journal.RecordInfo;
 import org.apache.activemq.artemis.core.journal.collections.JournalHashMap;
 import org.apache.activemq.artemis.core.journal.collections.JournalHashMapProvider;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
 import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
 import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.paging.cursor.PagedReference;
 import org.apache.activemq.artemis.core.paging.impl.Page;
@@ -77,6 +82,8 @@ public class AckManager implements ActiveMQComponent {
    final ReferenceIDSupplier referenceIDSupplier;
    final IOCriticalErrorListener ioCriticalErrorListener;
    volatile MultiStepProgress progress;
+   // the page indexes of the addresses with retries, each one only used from the executor of its paging store
+   final Map<SimpleString, MirrorPageIndex> pageIndexes = new ConcurrentHashMap<>();
    ActiveMQScheduledComponent scheduledComponent;
 
    final MirrorRegistry mirrorRegistry;
@@ -109,6 +116,7 @@ public class AckManager implements ActiveMQComponent {
          scheduledComponent = null;
       }
       AckManagerProvider.remove(this.server);
+      pageIndexes.clear();
       logger.debug("Stopping ackmanager on server {}", server);
    }
 
@@ -264,29 +272,22 @@ public class AckManager implements ActiveMQComponent {
 
          if (checkRetriesAndPaging(acksToRetry)) {
             logger.trace("scanning paging for {}", address);
-            AckRetry key = new AckRetry();
-
             PagingStore store = server.getPagingManager().getPageStore(address);
-            for (long pageId = store.getFirstPage(); pageId <= store.getCurrentWritingPage(); pageId++) {
-               if (isEmpty(acksToRetry)) {
-                  logger.trace("Retry stopped while reading page {} on address {} as the outcome is now empty, server={}", pageId, address, server);
-                  break;
-               }
-               Page page = openPage(store, pageId);
-               if (page == null) {
-                  continue;
-               }
-               try {
-                  retryPage(acksToRetry, address, page, key);
-               } finally {
-                  page.usageDown();
-               }
-            }
+            MirrorPageIndex pageIndex = pageIndexes.computeIfAbsent(address, a -> new MirrorPageIndex(referenceIDSupplier));
+            retryPagedAcks(acksToRetry, address, store, pageIndex);
             validateExpiredSet(address, acksToRetry);
          } else {
             logger.trace("Page Scan not required for address {}", address);
          }
 
+         if (isEmpty(acksToRetry)) {
+            PagingStore store = server.getPagingManager().getPageStore(address);
+            if (store == null || !store.isPaging()) {
+               // nothing left to resolve on paging, the index is built again if the address pages again
+               pageIndexes.remove(address);
+            }
+         }
+
          checkFlowControlMirrorTargets();
 
       } catch (Throwable e) {
@@ -296,17 +297,6 @@ public class AckManager implements ActiveMQComponent {
       }
    }
 
-   private Page openPage(PagingStore store, long pageID) throws Throwable {
-      Page page = store.newPageObject(pageID);
-      if (page.getFile().exists()) {
-         page.getMessages();
-         return page;
-      } else {
-         return null;
-      }
-
-   }
-
    private void validateExpiredSet(SimpleString address, LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>> queuesToRetry) {
       queuesToRetry.forEach((q, r) -> this.validateExpireSet(address, q, r));
    }
@@ -335,57 +325,128 @@ public class AckManager implements ActiveMQComponent {
       }
    }
 
-   private void retryPage(LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>> queuesToRetry,
-                          SimpleString address,
+   private static final class PagedAck {
+
+      final AckRetry retry;
+
+      final JournalHashMap<AckRetry, AckRetry, Queue> retries;
+
+      final long queueID;
+
+      // once acked on one of the positions its message was paged at
+      boolean done;
+
+      PagedAck(AckRetry retry, JournalHashMap<AckRetry, AckRetry, Queue> retries, long queueID) {
+         this.retry = retry;
+         this.retries = retries;
+         this.queueID = queueID;
+      }
+   }
+
+   /*
+    * The retries ready for paging are resolved through the index to the positions of their message,
+    * so only the pages holding them are read, each one once.
+    */
+   private void retryPagedAcks(LongObjectHashMap<JournalHashMap<AckRetry, AckRetry, Queue>> queuesToRetry,
+                               SimpleString address,
+                               PagingStore store,
+                               MirrorPageIndex pageIndex) throws Throwable {
+      List<PagedAck> pagedAcks = new ArrayList<>();
+      queuesToRetry.forEach((queueID, retries) -> {
+         for (AckRetry ackRetry : retries.valuesCopy()) {
+            // we first retry messages in the queue first.
+            // this is to avoid messages that are in transit from being depaged into the queue
+            if (ackRetry.getQueueAttempts() > configuration.getMirrorAckManagerQueueAttempts()) {
+               pagedAcks.add(new PagedAck(ackRetry, retries, queueID));
+            }
+         }
+      });
+
+      if (pagedAcks.isEmpty()) {
+         return;
+      }
+
+      pageIndex.update(store);
+
+      TreeMap<Long, IntObjectHashMap<List<PagedAck>>> acksByPage = new TreeMap<>();
+      Map<AckRetry, List<PagedAck>> unresolved = new HashMap<>();
+      for (PagedAck pagedAck : pagedAcks) {
+         List<PagePosition> positions = pageIndex.get(pagedAck.retry.getNodeID(), pagedAck.retry.getMessageID());
+         if (positions.isEmpty()) {
+            unresolved.computeIfAbsent(pagedAck.retry, r -> new ArrayList<>(1)).add(pagedAck);
+         }
+         for (PagePosition position : positions) {
+            addPagedAck(acksByPage, position, pagedAck);
+         }
+      }
+
+      if (!unresolved.isEmpty() && pageIndex.hasEvictedPages(store)) {
+         // the index only holds the most recent pages, the oldest ones are read for the retries it can't resolve
+         pageIndex.searchEvicted(store, unresolved.keySet(), (retry, position) -> unresolved.get(retry).forEach(pagedAck -> addPagedAck(acksByPage, position, pagedAck)));
+      }
+
+      for (Map.Entry<Long, IntObjectHashMap<List<PagedAck>>> pageAcks : acksByPage.entrySet()) {
+         Page page = store.usePage(pageAcks.getKey(), true, false);
+         if (page == null) {
+            continue;
+         }
+         try {
+            retryPage(address, page, pageAcks.getValue(), pageIndex);
+         } finally {
+            page.usageDown();
+         }
+      }
+   }
+
+   private static void addPagedAck(TreeMap<Long, IntObjectHashMap<List<PagedAck>>> acksByPage, PagePosition position, PagedAck pagedAck) {
+      acksByPage.computeIfAbsent(position.getPageNr(), p -> new IntObjectHashMap<>())
+         .computeIfAbsent(position.getMessageNr(), m -> new ArrayList<>())
+         .add(pagedAck);
+   }
+
+   private void retryPage(SimpleString address,
                           Page page,
-                          AckRetry key) throws Exception {
-      logger.debug("scanning for acks on page {} on address {}", page.getPageId(), address);
+                          IntObjectHashMap<List<PagedAck>> acksByMessage,
+                          MirrorPageIndex pageIndex) throws Exception {
+      logger.debug("retrying {} acks on page {} on address {}", acksByMessage.size(), page.getPageId(), address);
       TransactionImpl transaction = new TransactionImpl(server.getStorageManager()).setAsync(true);
-      // scan each page for acks
       page.getMessages().forEach(pagedMessage -> {
-         for (int i = 0; i < pagedMessage.getQueueIDs().length; i++) {
-            long queueID = pagedMessage.getQueueIDs()[i];
-            JournalHashMap<AckRetry, AckRetry, Queue> retries = queuesToRetry.get(queueID);
-            if (retries != null) {
-               String serverID = referenceIDSupplier.getServerID(pagedMessage.getMessage());
-               if (serverID == null) {
-                  serverID = referenceIDSupplier.getDefaultNodeID();
-               }
-               long id = referenceIDSupplier.getID(pagedMessage.getMessage());
-
-               logger.trace("Looking for retry on serverID={}, id={} on server={}", serverID, id, server);
-               key.setNodeID(serverID).setMessageID(id);
-
-               AckRetry ackRetry = retries.get(key);
-
-               // we first retry messages in the queue first.
-               // this is to avoid messages that are in transit from being depaged into the queue
-               if (ackRetry != null && ackRetry.getQueueAttempts() > configuration.getMirrorAckManagerQueueAttempts()) {
-                  Queue queue = retries.getContext();
-
-                  if (queue != null) {
-                     PageSubscription subscription = queue.getPageSubscription();
-                     if (!subscription.isAcked(pagedMessage)) {
-                        PagedReference reference = retries.getContext().getPagingStore().getCursorProvider().newReference(pagedMessage, subscription);
-                        try {
-                           subscription.ackTx(transaction, reference, false);
-                           subscription.getQueue().postAcknowledge(reference, ackRetry.getReason(), false);
-                        } catch (Exception e) {
-                           logger.warn(e.getMessage(), e);
-                           if (ioCriticalErrorListener != null) {
-                              ioCriticalErrorListener.onIOException(e, e.getMessage(), null);
-                           }
-                        }
-                     }
-                     if (retries.remove(ackRetry, transaction.getID()) != null) {
-                        mirrorRegistry.decrementMirrorAckSize();
+         List<PagedAck> pagedAcks = acksByMessage.get(pagedMessage.getMessageNumber());
+         if (pagedAcks == null) {
+            return;
+         }
+         for (PagedAck pagedAck : pagedAcks) {
+            AckRetry ackRetry = pagedAck.retry;
+            JournalHashMap<AckRetry, AckRetry, Queue> retries = pagedAck.retries;
+            if (pagedAck.done) {
+               continue;
+            }
+            if (!pageIndex.matches(pagedMessage, ackRetry.getNodeID(), ackRetry.getMessageID()) || !isRoutedTo(pagedMessage, pagedAck.queueID)) {
+               logger.trace("Retry {} does not match message {} on server={}", ackRetry, pagedMessage, server);
+               continue;
+            }
+            Queue queue = retries.getContext();
+
+            if (queue != null) {
+               PageSubscription subscription = queue.getPageSubscription();
+               if (!subscription.isAcked(pagedMessage)) {
+                  PagedReference reference = queue.getPagingStore().getCursorProvider().newReference(pagedMessage, subscription);
+                  try {
+                     subscription.ackTx(transaction, reference, false);
+                     subscription.getQueue().postAcknowledge(reference, ackRetry.getReason(), false);
+                  } catch (Exception e) {
+                     logger.warn(e.getMessage(), e);
+                     if (ioCriticalErrorListener != null) {
+                        ioCriticalErrorListener.onIOException(e, e.getMessage(), null);
                      }
-                     transaction.setContainsPersistent();
-                     logger.trace("retry performed ok, ackRetry={} for message={} on queue", ackRetry, pagedMessage);
                   }
                }
-            } else {
-               logger.trace("Retry key={} not found server={}", key, server);
+               if (retries.remove(ackRetry, transaction.getID()) != null) {
+                  mirrorRegistry.decrementMirrorAckSize();
+               }
+               pagedAck.done = true;
+               transaction.setContainsPersistent();
+               logger.trace("retry performed ok, ackRetry={} for message={} on queue", ackRetry, pagedMessage);
             }
          }
       });
@@ -400,6 +461,15 @@ public class AckManager implements ActiveMQComponent {
       }
    }
 
+   private static boolean isRoutedTo(PagedMessage pagedMessage, long queueID) {
+      for (long routedQueueID : pagedMessage.getQueueIDs()) {
+         if (routedQueueID == queueID) {
+            return true;
+         }
+      }
+      return false;
+   }
+
    /**
     * {@return {@code true} if there are retries ready to be scanned on paging}
     */
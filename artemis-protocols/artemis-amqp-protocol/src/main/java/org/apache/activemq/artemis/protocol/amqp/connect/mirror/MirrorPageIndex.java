@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.impl.PagePositionImpl;
+import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.AckRetry;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+
+/**
+ * The page positions of the messages paged on an address, by the node ID and message ID they were mirrored with. This
+ * lets the {@link AckManager} resolve the retries of paged messages with a lookup instead of reading every page of the
+ * address on each retry.
+ * <p>
+ * Pages are append only, so each message is read once: an {@link #update(PagingStore) update} only reads the messages
+ * paged since the previous one, and drops the pages that have since been removed. A message ID can be paged more than
+ * once (e.g. sent again to other queues), so every position it was paged at is kept.
+ * <p>
+ * The index is bounded by {@code maxSize} positions: past it, the oldest pages are evicted from the index and only read
+ * again to {@link #searchEvicted search} the retries the index can't resolve.
+ * <p>
+ * This is only used from the executor of the paging store of the address.
+ */
+final class MirrorPageIndex {
+
+   static final int DEFAULT_MAX_SIZE = 256 * 1024;
+
+   /**
+    * The messages indexed on a page, to remove their positions once the page is removed or evicted.
+    */
+   private static final class IndexedPage {
+
+      final long pageNr;
+
+      LongObjectHashMap<long[]>[] ids;
+
+      long[] messageIDs;
+
+      int size;
+
+      @SuppressWarnings("unchecked")
+      IndexedPage(long pageNr) {
+         this.pageNr = pageNr;
+         this.ids = new LongObjectHashMap[16];
+         this.messageIDs = new long[16];
+      }
+
+      void add(LongObjectHashMap<long[]> nodeIDs, long messageID) {
+         if (size == messageIDs.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            messageIDs = Arrays.copyOf(messageIDs, size * 2);
+         }
+         ids[size] = nodeIDs;
+         messageIDs[size] = messageID;
+         size++;
+      }
+   }
+
+   private final ReferenceIDSupplier referenceIDSupplier;
+
+   private final int maxSize;
+
+   // the page number and message number pairs of every indexed message, by node ID and message ID
+   private final Map<String, LongObjectHashMap<long[]>> positions = new HashMap<>();
+
+   private final ArrayDeque<IndexedPage> indexedPages = new ArrayDeque<>();
+
+   private int size;
+
+   // the pages before it were evicted, if still on the store
+   private long firstIndexedPage = -1;
+
+   // the first page with messages not indexed yet
+   private long nextPage = -1;
+
+   // the first message of nextPage not indexed yet
+   private int nextMessage = 0;
+
+   MirrorPageIndex(ReferenceIDSupplier referenceIDSupplier) {
+      this(referenceIDSupplier, DEFAULT_MAX_SIZE);
+   }
+
+   MirrorPageIndex(ReferenceIDSupplier referenceIDSupplier, int maxSize) {
+      this.referenceIDSupplier = referenceIDSupplier;
+      this.maxSize = maxSize;
+   }
+
+   /**
+    * Indexes the messages paged since the last update, dropping the pages removed meanwhile.
+    */
+   void update(PagingStore store) {
+      final long firstPage = store.getFirstPage();
+      while (!indexedPages.isEmpty() && indexedPages.peekFirst().pageNr < firstPage) {
+         remove(indexedPages.pollFirst());
+      }
+      if (nextPage < firstPage) {
+         nextPage = firstPage;
+         nextMessage = 0;
+      }
+
+      final long currentPage = store.getCurrentWritingPage();
+      for (long pageNr = nextPage; pageNr <= currentPage; pageNr++) {
+         final int fromMessage = pageNr == nextPage ? nextMessage : 0;
+         final int toMessage = index(store, pageNr, fromMessage);
+         if (pageNr == currentPage) {
+            // the page being written may still get more messages
+            nextPage = currentPage;
+            nextMessage = toMessage;
+         }
+      }
+
+      while (size > maxSize && !indexedPages.isEmpty()) {
+         final IndexedPage evicted = indexedPages.pollFirst();
+         remove(evicted);
+         firstIndexedPage = evicted.pageNr + 1;
+      }
+   }
+
+   /**
+    * Indexes the messages of page {@code pageNr} from {@code fromMessage}.
+    *
+    * @return the number of messages of the page, or {@code fromMessage} if it can't be read
+    */
+   private int index(PagingStore store, long pageNr, int fromMessage) {
+      final Page page = store.usePage(pageNr, true, false);
+      if (page == null) {
+         return fromMessage;
+      }
+      try {
+         IndexedPage indexedPage = indexedPages.peekLast();
+         if (indexedPage == null || indexedPage.pageNr != pageNr) {
+            indexedPage = new IndexedPage(pageNr);
+         }
+         final LinkedList<PagedMessage> messages = page.getMessages();
+         for (PagedMessage pagedMessage : messages) {
+            final int messageNr = pagedMessage.getMessageNumber();
+            if (messageNr >= fromMessage) {
+               add(indexedPage, pagedMessage, pageNr, messageNr);
+            }
+         }
+         if (indexedPage.size > 0 && indexedPage != indexedPages.peekLast()) {
+            indexedPages.addLast(indexedPage);
+         }
+         return Math.max(fromMessage, messages.size());
+      } finally {
+         page.usageDown();
+      }
+   }
+
+   private void add(IndexedPage indexedPage, PagedMessage pagedMessage, long pageNr, int messageNr) {
+      final String nodeID = nodeIDOf(referenceIDSupplier.getServerID(pagedMessage.getMessage()));
+      final long messageID = referenceIDSupplier.getID(pagedMessage.getMessage());
+      final LongObjectHashMap<long[]> ids = positions.computeIfAbsent(nodeID, n -> new LongObjectHashMap<>());
+      final long[] messagePositions = ids.get(messageID);
+      if (messagePositions == null) {
+         ids.put(messageID, new long[] {pageNr, messageNr});
+      } else {
+         final long[] morePositions = Arrays.copyOf(messagePositions, messagePositions.length + 2);
+         morePositions[messagePositions.length] = pageNr;
+         morePositions[messagePositions.length + 1] = messageNr;
+         ids.put(messageID, morePositions);
+      }
+      indexedPage.add(ids, messageID);
+      size++;
+   }
+
+   private void remove(IndexedPage indexedPage) {
+      for (int i = 0; i < indexedPage.size; i++) {
+         final LongObjectHashMap<long[]> ids = indexedPage.ids[i];
+         final long messageID = indexedPage.messageIDs[i];
+         final long[] messagePositions = ids.get(messageID);
+         if (messagePositions == null) {
+            continue;
+         }
+         int kept = 0;
+         for (int p = 0; p < messagePositions.length; p += 2) {
+            if (messagePositions[p] != indexedPage.pageNr) {
+               messagePositions[kept++] = messagePositions[p];
+               messagePositions[kept++] = messagePositions[p + 1];
+            } else {
+               size--;
+            }
+         }
+         if (kept == 0) {
+            ids.remove(messageID);
+         } else if (kept < messagePositions.length) {
+            ids.put(messageID, Arrays.copyOf(messagePositions, kept));
+         }
+      }
+   }
+
+   /**
+    * {@return the positions the message mirrored with {@code nodeID} and {@code messageID} was paged at as of the last
+    * update, empty if it isn't paged or only on evicted pages}
+    */
+   List<PagePosition> get(String nodeID, long messageID) {
+      final LongObjectHashMap<long[]> ids = positions.get(nodeIDOf(nodeID));
+      final long[] messagePositions = ids != null ? ids.get(messageID) : null;
+      if (messagePositions == null) {
+         return Collections.emptyList();
+      }
+      final List<PagePosition> pagePositions = new ArrayList<>(messagePositions.length / 2);
+      for (int p = 0; p < messagePositions.length; p += 2) {
+         pagePositions.add(new PagePositionImpl(messagePositions[p], (int) messagePositions[p + 1]));
+      }
+      return pagePositions;
+   }
+
+   /**
+    * {@return whether some pages of {@code store} were evicted from the index}
+    */
+   boolean hasEvictedPages(PagingStore store) {
+      return firstIndexedPage > store.getFirstPage();
+   }
+
+   /**
+    * Reads the pages evicted from the index for the messages of {@code retries}, passing every position they were
+    * paged at to {@code found}.
+    */
+   void searchEvicted(PagingStore store, Collection<AckRetry> retries, BiConsumer<AckRetry, PagePosition> found) {
+      final Map<String, LongObjectHashMap<List<AckRetry>>> wanted = new HashMap<>();
+      for (AckRetry retry : retries) {
+         wanted.computeIfAbsent(nodeIDOf(retry.getNodeID()), n -> new LongObjectHashMap<>())
+            .computeIfAbsent(retry.getMessageID(), m -> new ArrayList<>(1))
+            .add(retry);
+      }
+      for (long pageNr = store.getFirstPage(); pageNr < firstIndexedPage; pageNr++) {
+         final Page page = store.usePage(pageNr, true, false);
+         if (page == null) {
+            continue;
+         }
+         try {
+            for (PagedMessage pagedMessage : page.getMessages()) {
+               final LongObjectHashMap<List<AckRetry>> ids = wanted.get(nodeIDOf(referenceIDSupplier.getServerID(pagedMessage.getMessage())));
+               final List<AckRetry> matches = ids != null ? ids.get(referenceIDSupplier.getID(pagedMessage.getMessage())) : null;
+               if (matches != null) {
+                  final PagePosition position = new PagePositionImpl(pageNr, pagedMessage.getMessageNumber());
+                  matches.forEach(retry -> found.accept(retry, position));
+               }
+            }
+         } finally {
+            page.usageDown();
+         }
+      }
+   }
+
+   /**
+    * {@return whether {@code pagedMessage} is the message paged with {@code nodeID} and {@code messageID}}
+    */
+   boolean matches(PagedMessage pagedMessage, String nodeID, long messageID) {
+      return referenceIDSupplier.getID(pagedMessage.getMessage()) == messageID && nodeIDOf(referenceIDSupplier.getServerID(pagedMessage.getMessage())).equals(nodeIDOf(nodeID));
+   }
+
+   private String nodeIDOf(String nodeID) {
+      return nodeID != null ? nodeID : referenceIDSupplier.getDefaultNodeID();
+   }
+
+   /**
+    * {@return the number of positions indexed}
+    */
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+}
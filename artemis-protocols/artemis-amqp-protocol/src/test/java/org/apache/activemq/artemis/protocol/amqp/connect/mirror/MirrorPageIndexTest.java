@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.protocol.amqp.connect.mirror;
+
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_BROKER_ID_EXTRA_PROPERTY;
+import static org.apache.activemq.artemis.protocol.amqp.connect.mirror.AMQPMirrorControllerSource.INTERNAL_ID_EXTRA_PROPERTY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.cursor.PagePosition;
+import org.apache.activemq.artemis.core.paging.cursor.impl.PagePositionImpl;
+import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.paging.impl.PagedMessageImpl;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.AckRetry;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MirrorPageIndexTest {
+
+   private static final String LOCAL_NODE = "local";
+
+   private static final String REMOTE_NODE = "remote";
+
+   private final PagingStore store = mock(PagingStore.class);
+
+   private final Map<Long, LinkedList<PagedMessage>> pages = new HashMap<>();
+
+   private ReferenceIDSupplier referenceIDSupplier;
+
+   private MirrorPageIndex index;
+
+   @BeforeEach
+   public void setUp() throws Exception {
+      ActiveMQServer server = mock(ActiveMQServer.class);
+      when(server.getNodeID()).thenReturn(SimpleString.of(LOCAL_NODE));
+      referenceIDSupplier = new ReferenceIDSupplier(server);
+      index = new MirrorPageIndex(referenceIDSupplier);
+      when(store.usePage(anyLong(), eq(true), eq(false))).thenAnswer(invocation -> usePage(invocation.getArgument(0)));
+   }
+
+   private Page usePage(long pageNr) {
+      if (!pages.containsKey(pageNr)) {
+         return null;
+      }
+      Page page = mock(Page.class);
+      when(page.getMessages()).thenReturn(pages.get(pageNr));
+      return page;
+   }
+
+   private void setPages(long firstPage, long currentPage) {
+      when(store.getFirstPage()).thenReturn(firstPage);
+      when(store.getCurrentWritingPage()).thenReturn(currentPage);
+      pages.keySet().removeIf(pageNr -> pageNr < firstPage);
+   }
+
+   private void page(long pageNr, String nodeID, long messageID, long... queueIDs) {
+      CoreMessage message = new CoreMessage().initBuffer(50);
+      message.setMessageID(1000 + messageID);
+      message.setBrokerProperty(INTERNAL_ID_EXTRA_PROPERTY, messageID);
+      if (nodeID != null) {
+         message.setBrokerProperty(INTERNAL_BROKER_ID_EXTRA_PROPERTY, nodeID);
+      }
+      LinkedList<PagedMessage> messages = pages.computeIfAbsent(pageNr, nr -> new LinkedListImpl<>());
+      messages.addTail(new PagedMessageImpl(message, queueIDs).setMessageNumber(messages.size()).setPageNumber(pageNr));
+   }
+
+   private static AckRetry retry(String nodeID, long messageID) {
+      return new AckRetry(nodeID, messageID, AckReason.NORMAL);
+   }
+
+   @Test
+   public void testPagedMessagesAreIndexed() throws Exception {
+      for (long i = 0; i < 10; i++) {
+         page(1, REMOTE_NODE, i, 1);
+         page(2, null, i, 1);
+      }
+      setPages(1, 2);
+
+      index.update(store);
+
+      assertEquals(20, index.size());
+      assertEquals(List.of(new PagePositionImpl(1, 3)), index.get(REMOTE_NODE, 3));
+      assertEquals(List.of(new PagePositionImpl(2, 7)), index.get(null, 7));
+      assertEquals(List.of(new PagePositionImpl(2, 7)), index.get(LOCAL_NODE, 7));
+      assertTrue(index.get(REMOTE_NODE, 100).isEmpty());
+      assertTrue(index.get("other", 4).isEmpty());
+   }
+
+   @Test
+   public void testMessagePagedMoreThanOnce() throws Exception {
+      page(1, REMOTE_NODE, 1, 1);
+      page(1, REMOTE_NODE, 2, 1);
+      page(2, REMOTE_NODE, 1, 2);
+      setPages(1, 2);
+
+      index.update(store);
+
+      assertEquals(List.of(new PagePositionImpl(1, 0), new PagePositionImpl(2, 0)), index.get(REMOTE_NODE, 1));
+   }
+
+   @Test
+   public void testEachPageReadOnce() throws Exception {
+      page(1, REMOTE_NODE, 1, 1);
+      page(2, REMOTE_NODE, 2, 1);
+      setPages(1, 2);
+
+      index.update(store);
+      assertEquals(2, index.size());
+
+      // more messages on the page being written, and a new page
+      page(2, REMOTE_NODE, 3, 1);
+      page(3, REMOTE_NODE, 4, 1);
+      setPages(1, 3);
+
+      index.update(store);
+      index.update(store);
+
+      assertEquals(4, index.size());
+      assertEquals(List.of(new PagePositionImpl(2, 0)), index.get(REMOTE_NODE, 2));
+      assertEquals(List.of(new PagePositionImpl(2, 1)), index.get(REMOTE_NODE, 3));
+      assertEquals(List.of(new PagePositionImpl(3, 0)), index.get(REMOTE_NODE, 4));
+      // the completed pages are only read once, the page being written on each update
+      verify(store, times(1)).usePage(1, true, false);
+      verify(store, times(2)).usePage(2, true, false);
+      verify(store, times(2)).usePage(3, true, false);
+   }
+
+   @Test
+   public void testRemovedPagesPruned() throws Exception {
+      page(1, REMOTE_NODE, 1, 1);
+      page(2, REMOTE_NODE, 1, 2);
+      page(2, REMOTE_NODE, 2, 1);
+      setPages(1, 2);
+
+      index.update(store);
+      assertEquals(3, index.size());
+
+      setPages(2, 2);
+      index.update(store);
+
+      assertEquals(2, index.size());
+      assertEquals(List.of(new PagePositionImpl(2, 0)), index.get(REMOTE_NODE, 1));
+      assertEquals(List.of(new PagePositionImpl(2, 1)), index.get(REMOTE_NODE, 2));
+
+      setPages(3, 3);
+      index.update(store);
+
+      assertTrue(index.isEmpty());
+   }
+
+   @Test
+   public void testIndexBoundedAndEvictedPagesSearched() throws Exception {
+      index = new MirrorPageIndex(referenceIDSupplier, 6);
+      for (long pageNr = 1; pageNr <= 4; pageNr++) {
+         page(pageNr, REMOTE_NODE, pageNr * 10, 1);
+         page(pageNr, REMOTE_NODE, pageNr * 10 + 1, 1);
+         page(pageNr, REMOTE_NODE, 1, 1);
+      }
+      setPages(1, 4);
+
+      index.update(store);
+
+      // the two oldest pages are evicted
+      assertEquals(6, index.size());
+      assertTrue(index.hasEvictedPages(store));
+      assertTrue(index.get(REMOTE_NODE, 10).isEmpty());
+      assertEquals(List.of(new PagePositionImpl(4, 0)), index.get(REMOTE_NODE, 40));
+      assertEquals(List.of(new PagePositionImpl(3, 2), new PagePositionImpl(4, 2)), index.get(REMOTE_NODE, 1));
+
+      List<PagePosition> found = new ArrayList<>();
+      index.searchEvicted(store, List.of(retry(REMOTE_NODE, 21), retry(REMOTE_NODE, 1), retry(REMOTE_NODE, 99)), (retry, position) -> found.add(position));
+      assertEquals(List.of(new PagePositionImpl(1, 2), new PagePositionImpl(2, 1), new PagePositionImpl(2, 2)), found);
+      // only the evicted pages are read again
+      verify(store, times(2)).usePage(2, true, false);
+      verify(store, times(1)).usePage(3, true, false);
+
+      // once the evicted pages are removed there is nothing left to search
+      setPages(3, 4);
+      index.update(store);
+      assertFalse(index.hasEvictedPages(store));
+   }
+
+   @Test
+   public void testMatches() throws Throwable {
+      page(1, REMOTE_NODE, 1, 1);
+      page(1, null, 2, 1);
+      PagedMessage remote = pages.get(1L).get(0);
+      PagedMessage local = pages.get(1L).get(1);
+
+      assertTrue(index.matches(remote, REMOTE_NODE, 1));
+      assertFalse(index.matches(remote, LOCAL_NODE, 1));
+      assertFalse(index.matches(remote, REMOTE_NODE, 2));
+      assertTrue(index.matches(local, null, 2));
+      assertTrue(index.matches(local, LOCAL_NODE, 2));
+   }
+}
@@ -76,4 +76,7 @@ public interface MQTTLogger {
 
    @LogMessage(id = 834013, value = "Invalid MQTT session state message. Will not load this state into memory.", level = LogMessage.Level.WARN)
    void errorDeserializingStateMessage(Exception e);
+
+   @LogMessage(id = 834014, value = "Unable to move the retained message of queue {} to the MQTT retained message store.", level = LogMessage.Level.WARN)
+   void unableToMoveRetainedMessage(String queueName, Exception e);
 }
@@ -16,17 +16,14 @@
  */
 package org.apache.activemq.artemis.core.protocol.mqtt;
 
+import java.util.List;
+
 import org.apache.activemq.artemis.api.core.Message;
-import org.apache.activemq.artemis.api.core.QueueConfiguration;
-import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.impl.journal.LargeServerMessageImpl;
-import org.apache.activemq.artemis.core.server.BindingQueryResult;
-import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
 import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
 import org.apache.activemq.artemis.core.transaction.Transaction;
-import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 
 import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY;
 
@@ -39,54 +36,33 @@ public class MQTTRetainMessageManager {
    }
 
    /**
-    * FIXME
-    * Retained messages should be handled in the core API.  There is currently no support for retained messages
-    * at the time of writing.  Instead we handle retained messages here.  This method will create a new queue for
-    * every address that is used to store retained messages.  THere should only ever be one message in the retained
-    * message queue.  When a new subscription is created the queue should be browsed and the message copied onto
-    * the subscription queue for the consumer.  When a new retained message is received the message will be sent to
-    * the retained queue and the previous retain message consumed to remove it from the queue.
+    * Retains a copy of {@code messageParameter} for the MQTT topic {@code address}, or clears the message retained for
+    * it if {@code reset}, in the broker's {@link MQTTRetainedMessageStore}.
     */
    void handleRetainedMessage(Message messageParameter, String address, boolean reset, Transaction tx) throws Exception {
-      String retainAddress = MQTTUtil.getCoreRetainAddressFromMqttTopic(address, session.getWildcardConfiguration());
-
-      Queue queue = session.getServer().locateQueue(retainAddress);
-      if (queue == null) {
-         queue = session.getServer().createQueue(QueueConfiguration.of(retainAddress).setAutoCreated(true));
-      }
-
-      queue.deleteAllReferences();
-
-      if (!reset) {
+      final MQTTRetainedMessageStore store = session.getStateManager().getRetainedMessageStore();
+      if (reset) {
+         store.reset(address, tx);
+      } else {
          Message message = LargeServerMessageImpl.checkLargeMessage(messageParameter, session.getServer().getStorageManager());
-         sendToQueue(message.copy(session.getServer().getStorageManager().generateID()), queue, tx);
+         store.retain(address, message.copy(session.getServer().getStorageManager().generateID()), tx);
       }
    }
 
    void addRetainedMessagesToQueue(Queue queue, String address) throws Exception {
-      // The address filter that matches all retained message queues.
-      String retainAddress = MQTTUtil.getCoreRetainAddressFromMqttTopic(address, session.getWildcardConfiguration());
-      BindingQueryResult bindingQueryResult = session.getServerSession().executeBindingQuery(SimpleString.of(retainAddress));
+      // The messages retained for every topic matching the topic filter
+      List<Message> retainedMessages = session.getStateManager().getRetainedMessageStore().getMatchingMessages(address);
+      if (retainedMessages.isEmpty()) {
+         return;
+      }
 
-      // Iterate over all matching retain queues and add the queue
       Transaction tx = session.getServerSession().newTransaction();
       try {
-         for (SimpleString retainedQueueName : bindingQueryResult.getQueueNames()) {
-            Queue retainedQueue = session.getServer().locateQueue(retainedQueueName);
-            try (LinkedListIterator<MessageReference> i = retainedQueue.iterator()) {
-               if (i.hasNext()) {
-                  MessageReference ref = i.next();
-                  while (i.hasNext()) {
-                     ref = i.next();
-                     if (i.hasNext()) {
-                        i.remove();
-                     }
-                  }
-                  Message message = ref.getMessage().copy(session.getServer().getStorageManager().generateID());
-                  message.putStringProperty(MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY, (String) null);
-                  sendToQueue(message, queue, tx);
-               }
-            }
+         for (Message retainedMessage : retainedMessages) {
+            Message message = retainedMessage.copy(session.getServer().getStorageManager().generateID());
+            message.removeProperty(Message.HDR_LAST_VALUE_NAME);
+            message.putStringProperty(MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY, (String) null);
+            sendToQueue(message, queue, tx);
          }
       } catch (Exception t) {
          tx.rollback();
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.WildcardConfiguration;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.postoffice.QueueBinding;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.LastValueQueue;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
+import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil.MQTT_MESSAGE_RETAIN_RESET_KEY;
+
+/**
+ * The retained messages of every MQTT topic of a broker.
+ * <p>
+ * They are all stored in a single last-value queue, {@link MQTTUtil#MQTT_RETAIN_STORE}, keyed by topic: a new retained
+ * message replaces the previous one of its topic, and clearing the retained message of a topic stores a small
+ * "reset" message in its place. Once applied, reset messages are removed from the queue, so that it only holds the
+ * topics with a retained message. The topics are also kept in a {@link MQTTRetainedTopicTrie trie}, so that a
+ * subscription only visits the topics its topic filter matches, and their messages are read from the queue. Topics
+ * whose message expired or was cleared are pruned from the trie when a subscription finds them.
+ * <p>
+ * Retained messages used to be stored in a queue per topic, named with {@link MQTTUtil#MQTT_RETAIN_ADDRESS_PREFIX}.
+ * These queues are moved to the store when it is created.
+ */
+public class MQTTRetainedMessageStore {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final class ResetFilter implements Filter {
+
+      private static final ResetFilter INSTANCE = new ResetFilter();
+
+      @Override
+      public boolean match(Message message) {
+         return isReset(message);
+      }
+
+      @Override
+      public boolean match(Map<String, String> map) {
+         return map.containsKey(MQTT_MESSAGE_RETAIN_RESET_KEY.toString());
+      }
+
+      @Override
+      public boolean match(Filterable filterable) {
+         return filterable.getProperty(MQTT_MESSAGE_RETAIN_RESET_KEY) != null;
+      }
+
+      @Override
+      public SimpleString getFilterString() {
+         return MQTT_MESSAGE_RETAIN_RESET_KEY;
+      }
+   }
+
+   private final ActiveMQServer server;
+
+   private final Queue store;
+
+   // the messages of the store still in memory, by topic
+   private final LastValueQueue lastValues;
+
+   private final MQTTRetainedTopicTrie topics = new MQTTRetainedTopicTrie();
+
+   // the trie is read by subscriptions, and only written when a transaction retaining or clearing a message commits
+   private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+   // whether a removal of the applied resets is already scheduled on the store executor
+   private final AtomicBoolean removingResets = new AtomicBoolean();
+
+   MQTTRetainedMessageStore(ActiveMQServer server) throws Exception {
+      this.server = server;
+      this.store = server.createQueue(QueueConfiguration.of(MQTTUtil.MQTT_RETAIN_STORE).setRoutingType(RoutingType.ANYCAST).setLastValue(true).setDurable(true).setInternal(true).setAutoCreateAddress(true), true);
+      this.lastValues = store instanceof LastValueQueue lastValueQueue ? lastValueQueue : null;
+      load();
+      moveRetainQueues();
+   }
+
+   private static boolean isReset(Message message) {
+      return message.containsProperty(MQTT_MESSAGE_RETAIN_RESET_KEY);
+   }
+
+   private void load() throws Exception {
+      int resets = 0;
+      try (LinkedListIterator<MessageReference> iterator = store.browserIterator()) {
+         while (iterator.hasNext()) {
+            final Message message = iterator.next().getMessage();
+            final String topic = message.getStringProperty(Message.HDR_LAST_VALUE_NAME);
+            if (topic == null) {
+               continue;
+            }
+            if (isReset(message)) {
+               resets++;
+            } else {
+               topics.put(topic, message.getMessageID());
+            }
+         }
+      } catch (NoSuchElementException ignored) {
+         // this could happen through paging browsing
+      }
+      if (resets > 0) {
+         // nothing is retained for these topics anymore
+         store.deleteMatchingReferences(ResetFilter.INSTANCE);
+      }
+      logger.debug("Loaded {} retained messages, removed {} cleared ones", topics.size(), resets);
+   }
+
+   private void moveRetainQueues() {
+      final WildcardConfiguration wildcardConfiguration = server.getConfiguration().getWildcardConfiguration();
+      final SimpleString prefix = SimpleString.of(MQTTUtil.MQTT_RETAIN_ADDRESS_PREFIX);
+      final List<Queue> retainQueues = server.getPostOffice().getAllBindings()
+         .filter(binding -> binding instanceof QueueBinding && binding.getUniqueName().startsWith(prefix))
+         .map(Binding::getBindable)
+         .map(Queue.class::cast)
+         .collect(Collectors.toList());
+      for (Queue queue : retainQueues) {
+         try {
+            Message last = null;
+            try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
+               while (iterator.hasNext()) {
+                  last = iterator.next().getMessage();
+               }
+            }
+            if (last != null) {
+               final String topic = MQTTUtil.getMqttTopicFromCoreAddress(queue.getName().toString(), wildcardConfiguration);
+               final Transaction tx = new TransactionImpl(server.getStorageManager());
+               retain(topic, last.copy(server.getStorageManager().generateID()), tx);
+               tx.commit();
+            }
+            server.destroyQueue(queue.getName(), null, false, true, true);
+            logger.debug("Moved the retained message of {} to {}", queue.getName(), store.getName());
+         } catch (Exception e) {
+            MQTTLogger.LOGGER.unableToMoveRetainedMessage(queue.getName().toString(), e);
+         }
+      }
+   }
+
+   /**
+    * Retains {@code message} for {@code topic}, replacing the one retained so far once {@code tx} commits.
+    */
+   void retain(String topic, Message message, Transaction tx) throws Exception {
+      message.putStringProperty(Message.HDR_LAST_VALUE_NAME, topic);
+      route(message, tx);
+      tx.addOperation(new TransactionOperationAbstract() {
+         @Override
+         public void afterCommit(Transaction tx) {
+            update(topic, message);
+         }
+      });
+   }
+
+   /**
+    * Clears the message retained for {@code topic}, if any, once {@code tx} commits.
+    * <p>
+    * The reset is stored even if nothing is retained for {@code topic} yet, as a message may be retained for it by a
+    * transaction that didn't commit yet.
+    */
+   void reset(String topic, Transaction tx) throws Exception {
+      final CoreMessage reset = new CoreMessage().initBuffer(50).setMessageID(server.getStorageManager().generateID());
+      reset.setAddress(MQTTUtil.MQTT_RETAIN_STORE);
+      reset.setDurable(true);
+      reset.putStringProperty(Message.HDR_LAST_VALUE_NAME, topic);
+      reset.putBooleanProperty(MQTT_MESSAGE_RETAIN_RESET_KEY, true);
+      route(reset, tx);
+      tx.addOperation(new TransactionOperationAbstract() {
+         @Override
+         public void afterCommit(Transaction tx) {
+            update(topic, reset);
+         }
+      });
+   }
+
+   private void route(Message message, Transaction tx) throws Exception {
+      final RoutingContext context = new RoutingContextImpl(tx);
+      store.route(message, context);
+      server.getPostOffice().processRoute(message, context, false);
+   }
+
+   /*
+    * The committed message was added to the store before this is called, but concurrent commits on the same topic may
+    * call this in another order than their messages were added: the last value in the store is the one kept.
+    */
+   private void update(String topic, Message committed) {
+      lock.writeLock().lock();
+      try {
+         final MessageReference lastValue = lastValues != null ? lastValues.getLastValue(SimpleString.of(topic)) : null;
+         final Message message = lastValue != null ? lastValue.getMessage() : committed;
+         if (isReset(message)) {
+            topics.remove(topic);
+         } else {
+            topics.put(topic, message.getMessageID());
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+      if (isReset(committed) && removingResets.compareAndSet(false, true)) {
+         store.getExecutor().execute(this::removeResets);
+      }
+   }
+
+   /*
+    * A reset already replaced the message retained for its topic, it would otherwise be kept as the last value of the
+    * topic until the broker restarts. The resets committed meanwhile are removed by the same pass over the store.
+    */
+   private void removeResets() {
+      removingResets.set(false);
+      try {
+         final int removed = store.deleteMatchingReferences(ResetFilter.INSTANCE);
+         logger.debug("Removed {} applied resets from {}", removed, store.getName());
+      } catch (Exception e) {
+         logger.warn("Unable to remove the cleared retained messages from {}", store.getName(), e);
+      }
+   }
+
+   /**
+    * {@return the messages retained for the topics matching {@code topicFilter}, which may contain wildcards}
+    */
+   public List<Message> getMatchingMessages(String topicFilter) {
+      final List<MQTTRetainedTopicTrie.Entry> entries = new ArrayList<>();
+      lock.readLock().lock();
+      try {
+         topics.collect(topicFilter, entries);
+      } finally {
+         lock.readLock().unlock();
+      }
+      if (entries.isEmpty()) {
+         return Collections.emptyList();
+      }
+
+      final List<Message> messages = new ArrayList<>(entries.size());
+      final List<MQTTRetainedTopicTrie.Entry> stale = new ArrayList<>();
+      Map<SimpleString, MQTTRetainedTopicTrie.Entry> notInMemory = null;
+      for (MQTTRetainedTopicTrie.Entry entry : entries) {
+         final MessageReference lastValue = lastValues != null ? lastValues.getLastValue(entry.topic()) : null;
+         if (lastValue != null) {
+            addRetained(lastValue.getMessage(), entry, messages, stale);
+         } else {
+            if (notInMemory == null) {
+               notInMemory = new HashMap<>();
+            }
+            notInMemory.put(entry.topic(), entry);
+         }
+      }
+      if (notInMemory != null) {
+         browse(notInMemory, messages, stale);
+      }
+      if (!stale.isEmpty()) {
+         prune(stale);
+      }
+      return messages;
+   }
+
+   private static void addRetained(Message message, MQTTRetainedTopicTrie.Entry entry, List<Message> messages, List<MQTTRetainedTopicTrie.Entry> stale) {
+      if (isReset(message) || message.isExpired()) {
+         stale.add(entry);
+      } else {
+         messages.add(message);
+      }
+   }
+
+   // the messages of the store can be paged, these are only found by browsing it
+   private void browse(Map<SimpleString, MQTTRetainedTopicTrie.Entry> entries, List<Message> messages, List<MQTTRetainedTopicTrie.Entry> stale) {
+      final Map<SimpleString, Message> found = new HashMap<>();
+      try (LinkedListIterator<MessageReference> iterator = store.browserIterator()) {
+         while (iterator.hasNext()) {
+            final Message message = iterator.next().getMessage();
+            final SimpleString topic = message.getLastValueProperty();
+            if (topic != null && entries.containsKey(topic)) {
+               found.put(topic, message);
+            }
+         }
+      } catch (NoSuchElementException ignored) {
+         // this could happen through paging browsing
+      }
+      entries.forEach((topic, entry) -> {
+         final Message message = found.get(topic);
+         if (message != null) {
+            addRetained(message, entry, messages, stale);
+         } else {
+            // consumed from the store, e.g. expired
+            stale.add(entry);
+         }
+      });
+   }
+
+   private void prune(List<MQTTRetainedTopicTrie.Entry> stale) {
+      lock.writeLock().lock();
+      try {
+         for (MQTTRetainedTopicTrie.Entry entry : stale) {
+            // unless a message was retained for the topic meanwhile
+            topics.remove(entry.topic().toString(), entry.messageID());
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+      logger.debug("Pruned {} topics without a retained message", stale.size());
+   }
+
+   public int size() {
+      lock.readLock().lock();
+      try {
+         return topics.size();
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * The topics with a retained message, in a trie of topic levels, so that a topic filter only visits the topics it
+ * matches. Only the topic, which is the last-value key of the message in {@link MQTTUtil#MQTT_RETAIN_STORE}, and the ID
+ * of the message are kept: the message itself is read from the store.
+ * <p>
+ * This is not thread safe.
+ */
+final class MQTTRetainedTopicTrie {
+
+   private static final String LEVEL_SEPARATOR = String.valueOf(MQTTUtil.SLASH);
+
+   private static final String SINGLE_LEVEL_WILDCARD = String.valueOf(MQTTUtil.PLUS);
+
+   private static final String MULTI_LEVEL_WILDCARD = String.valueOf(MQTTUtil.HASH);
+
+   private static final char SYSTEM_TOPIC_PREFIX = MQTTUtil.DOLLAR;
+
+   /**
+    * A topic with a retained message.
+    */
+   record Entry(SimpleString topic, long messageID) {
+   }
+
+   private static final class Node {
+
+      private Map<String, Node> children;
+
+      private Entry entry;
+
+      private boolean isEmpty() {
+         return entry == null && (children == null || children.isEmpty());
+      }
+   }
+
+   private final Node root = new Node();
+
+   private int size;
+
+   /**
+    * Sets the message retained for {@code topic}.
+    */
+   void put(String topic, long messageID) {
+      Node node = root;
+      for (String level : topic.split(LEVEL_SEPARATOR, -1)) {
+         if (node.children == null) {
+            node.children = new HashMap<>(2);
+         }
+         node = node.children.computeIfAbsent(level, ignored -> new Node());
+      }
+      if (node.entry == null) {
+         size++;
+      }
+      node.entry = new Entry(SimpleString.of(topic), messageID);
+   }
+
+   /**
+    * {@return the ID of the message retained for {@code topic} or {@code -1} if there is none}
+    */
+   long get(String topic) {
+      final Node node = find(topic.split(LEVEL_SEPARATOR, -1), null);
+      return node != null && node.entry != null ? node.entry.messageID() : -1;
+   }
+
+   /**
+    * Removes the message retained for {@code topic}, if any.
+    */
+   void remove(String topic) {
+      remove(topic, -1);
+   }
+
+   /**
+    * Removes the message retained for {@code topic} only if it is still {@code messageID}, or any message if
+    * {@code messageID} is {@code -1}.
+    *
+    * @return whether a message was removed
+    */
+   boolean remove(String topic, long messageID) {
+      final String[] levels = topic.split(LEVEL_SEPARATOR, -1);
+      final Node[] path = new Node[levels.length + 1];
+      final Node node = find(levels, path);
+      if (node == null || node.entry == null || messageID != -1 && node.entry.messageID() != messageID) {
+         return false;
+      }
+      node.entry = null;
+      size--;
+      // drop the levels nothing is retained under anymore
+      for (int i = levels.length; i > 0 && path[i].isEmpty(); i--) {
+         path[i - 1].children.remove(levels[i - 1]);
+      }
+      return true;
+   }
+
+   private Node find(String[] levels, Node[] path) {
+      Node node = root;
+      if (path != null) {
+         path[0] = root;
+      }
+      for (int i = 0; i < levels.length; i++) {
+         node = node.children == null ? null : node.children.get(levels[i]);
+         if (node == null) {
+            return null;
+         }
+         if (path != null) {
+            path[i + 1] = node;
+         }
+      }
+      return node;
+   }
+
+   /**
+    * Adds the topics matching {@code topicFilter} to {@code entries}. As required by MQTT, a topic filter starting with
+    * a wildcard doesn't match the topics starting with {@code $}.
+    */
+   void collect(String topicFilter, List<Entry> entries) {
+      collect(root, topicFilter.split(LEVEL_SEPARATOR, -1), 0, entries);
+   }
+
+   int size() {
+      return size;
+   }
+
+   /**
+    * {@return whether the trie has no level left, i.e. the levels of the removed topics were pruned too}
+    */
+   boolean isEmpty() {
+      return root.isEmpty();
+   }
+
+   private static void collect(Node node, String[] levels, int index, List<Entry> entries) {
+      if (index == levels.length) {
+         if (node.entry != null) {
+            entries.add(node.entry);
+         }
+         return;
+      }
+      final String level = levels[index];
+      if (MULTI_LEVEL_WILDCARD.equals(level)) {
+         // the parent level too, e.g. a/# matches a
+         if (node.entry != null) {
+            entries.add(node.entry);
+         }
+         if (node.children != null) {
+            node.children.forEach((childLevel, child) -> {
+               if (index > 0 || !isSystemTopic(childLevel)) {
+                  collectAll(child, entries);
+               }
+            });
+         }
+         return;
+      }
+      if (node.children == null) {
+         return;
+      }
+      if (SINGLE_LEVEL_WILDCARD.equals(level)) {
+         node.children.forEach((childLevel, child) -> {
+            if (index > 0 || !isSystemTopic(childLevel)) {
+               collect(child, levels, index + 1, entries);
+            }
+         });
+      } else {
+         final Node child = node.children.get(level);
+         if (child != null) {
+            collect(child, levels, index + 1, entries);
+         }
+      }
+   }
+
+   private static boolean isSystemTopic(String firstLevel) {
+      return !firstLevel.isEmpty() && firstLevel.charAt(0) == SYSTEM_TOPIC_PREFIX;
+   }
+
+   private static void collectAll(Node node, List<Entry> entries) {
+      if (node.entry != null) {
+         entries.add(node.entry);
+      }
+      if (node.children != null) {
+         for (Node child : node.children.values()) {
+            collectAll(child, entries);
+         }
+      }
+   }
+}
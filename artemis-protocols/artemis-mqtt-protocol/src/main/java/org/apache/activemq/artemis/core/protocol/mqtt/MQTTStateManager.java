@@ -53,6 +53,7 @@ public class MQTTStateManager {
    private ActiveMQServer server;
    private final Map<String, MQTTSessionState> sessionStates = new ConcurrentHashMap<>();
    private final Queue sessionStore;
+   private final MQTTRetainedMessageStore retainedMessageStore;
    private static Map<Integer, MQTTStateManager> INSTANCES = new HashMap<>();
    private final Map<String, MQTTConnection> connectedClients  = new ConcurrentHashMap<>();
    private final long timeout;
@@ -106,6 +107,12 @@ public class MQTTStateManager {
       } catch (NoSuchElementException ignored) {
          // this could happen through paging browsing
       }
+
+      this.retainedMessageStore = new MQTTRetainedMessageStore(server);
+   }
+
+   public MQTTRetainedMessageStore getRetainedMessageStore() {
+      return retainedMessageStore;
    }
 
    public void scanSessions() {
@@ -90,6 +90,12 @@ public class MQTTUtil {
 
    public static final String MQTT_SESSION_STORE = DOLLAR + "sys.mqtt.sessions";
 
+   public static final String MQTT_RETAIN_STORE = DOLLAR + "sys.mqtt.retain";
+
+   /**
+    * The prefix of the queues retained messages used to be stored in, one per topic, before the
+    * {@link #MQTT_RETAIN_STORE}.
+    */
    public static final String MQTT_RETAIN_ADDRESS_PREFIX = DOLLAR + "sys.mqtt.retain.";
 
    public static final SimpleString MQTT_QOS_LEVEL_KEY = SimpleString.of("mqtt.qos.level");
@@ -102,6 +108,8 @@ public class MQTTUtil {
 
    public static final SimpleString MQTT_MESSAGE_RETAIN_INITIAL_DISTRIBUTION_KEY = SimpleString.of("mqtt.message.retain.initial.distribution");
 
+   public static final SimpleString MQTT_MESSAGE_RETAIN_RESET_KEY = SimpleString.of("mqtt.message.retain.reset");
+
    public static final SimpleString MQTT_PAYLOAD_FORMAT_INDICATOR_KEY = SimpleString.of("mqtt.payload.format.indicator");
 
    public static final SimpleString MQTT_RESPONSE_TOPIC_KEY = SimpleString.of("mqtt.response.topic");
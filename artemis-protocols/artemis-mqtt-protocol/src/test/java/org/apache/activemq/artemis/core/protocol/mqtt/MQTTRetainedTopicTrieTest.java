@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.mqtt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MQTTRetainedTopicTrieTest {
+
+   private MQTTRetainedTopicTrie trie;
+
+   @BeforeEach
+   public void setUp() {
+      trie = new MQTTRetainedTopicTrie();
+      long id = 0;
+      for (String topic : List.of("a", "a/b", "a/b/c", "a/c", "b", "/a", "$SYS/broker", "$SYS", "a/$x")) {
+         trie.put(topic, id++);
+      }
+   }
+
+   private Set<String> collect(String topicFilter) {
+      final List<MQTTRetainedTopicTrie.Entry> entries = new ArrayList<>();
+      trie.collect(topicFilter, entries);
+      return entries.stream().map(entry -> entry.topic().toString()).collect(Collectors.toSet());
+   }
+
+   @Test
+   public void testExactTopic() {
+      assertEquals(Set.of("a/b"), collect("a/b"));
+      assertEquals(Set.of("/a"), collect("/a"));
+      assertEquals(Set.of(), collect("a/b/c/d"));
+      assertEquals(Set.of(), collect("c"));
+   }
+
+   @Test
+   public void testSingleLevelWildcard() {
+      assertEquals(Set.of("a/b", "a/c", "a/$x"), collect("a/+"));
+      assertEquals(Set.of("a/b/c"), collect("+/+/c"));
+      assertEquals(Set.of("/a"), collect("+/a"));
+      // not the topics starting with $
+      assertEquals(Set.of("a", "b"), collect("+"));
+      assertEquals(Set.of("$SYS/broker"), collect("$SYS/+"));
+   }
+
+   @Test
+   public void testMultiLevelWildcard() {
+      // the parent level too
+      assertEquals(Set.of("a", "a/b", "a/b/c", "a/c", "a/$x"), collect("a/#"));
+      assertEquals(Set.of("a/b", "a/b/c"), collect("a/b/#"));
+      assertEquals(Set.of("a/b", "a/b/c"), collect("+/b/#"));
+      // not the topics starting with $
+      assertEquals(Set.of("a", "a/b", "a/b/c", "a/c", "b", "/a", "a/$x"), collect("#"));
+      assertEquals(Set.of("$SYS", "$SYS/broker"), collect("$SYS/#"));
+   }
+
+   @Test
+   public void testPutReplaces() {
+      trie.put("a/b", 100);
+
+      assertEquals(100, trie.get("a/b"));
+      assertEquals(9, trie.size());
+   }
+
+   @Test
+   public void testConditionalRemove() {
+      assertFalse(trie.remove("a/b", 100));
+      assertEquals(1, trie.get("a/b"));
+
+      assertTrue(trie.remove("a/b", 1));
+      assertEquals(-1, trie.get("a/b"));
+      assertFalse(trie.remove("a/b", 1));
+      assertEquals(8, trie.size());
+      // the levels below are still there
+      assertEquals(Set.of("a/b/c"), collect("a/b/#"));
+   }
+
+   @Test
+   public void testEmptyLevelsPruned() {
+      trie.remove("a/b/c");
+      trie.remove("a/b");
+      assertEquals(Set.of(), collect("a/b/#"));
+
+      for (String topic : collect("#")) {
+         trie.remove(topic);
+      }
+      trie.remove("$SYS/broker");
+      assertFalse(trie.isEmpty());
+      trie.remove("$SYS");
+
+      assertEquals(0, trie.size());
+      assertTrue(trie.isEmpty());
+   }
+}
@@ -48,6 +48,7 @@ import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.ManagementHelper;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.openwire.amq.AMQConsumer;
 import org.apache.activemq.artemis.core.protocol.openwire.util.OpenWireUtil;
@@ -89,6 +90,16 @@ public final class OpenWireMessageConverter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * The default memory estimate of the biggest message whose conversion is cached for the other OpenWire consumers it
+    * is delivered to, e.g. by the subscriptions of a topic.
+    */
+   public static final int DEFAULT_CONVERSION_CACHE_MAX_SIZE = 64 * 1024;
+
+   private static final SimpleString JMSX_DELIVERY_COUNT = SimpleString.of(MessageUtil.JMSXDELIVERYCOUNT);
+
+   private static final SimpleString JMS_REDELIVERED = SimpleString.of("JMSRedelivered");
+
    public OpenWireMessageConverter() {
 
    }
@@ -479,7 +490,47 @@ public final class OpenWireMessageConverter {
                                                        AMQConsumer consumer,
                                                        UUID serverNodeUUID,
                                                        long consumerDeliverySequenceId) throws IOException {
-      ActiveMQMessage amqMessage = toAMQMessage(reference, message, marshaller, consumer, serverNodeUUID);
+      return createMessageDispatch(reference, message, marshaller, consumer, serverNodeUUID, consumerDeliverySequenceId, false);
+   }
+
+   /**
+    * Creates the dispatch of {@code message} to {@code consumer}, without the connection id of its producer if
+    * {@code removeConnectionID} (e.g. for a no-local connection). The connection id is only removed from the dispatched
+    * message, so {@code message} and its cached conversion are left as the other consumers receive them.
+    */
+   public static MessageDispatch createMessageDispatch(MessageReference reference,
+                                                       ICoreMessage message,
+                                                       WireFormat marshaller,
+                                                       AMQConsumer consumer,
+                                                       UUID serverNodeUUID,
+                                                       long consumerDeliverySequenceId,
+                                                       boolean removeConnectionID) throws IOException {
+      return createMessageDispatch(reference, message, marshaller, consumer, serverNodeUUID, consumerDeliverySequenceId, removeConnectionID, DEFAULT_CONVERSION_CACHE_MAX_SIZE);
+   }
+
+   /**
+    * Creates the dispatch of {@code message} to {@code consumer} as
+    * {@link #createMessageDispatch(MessageReference, ICoreMessage, WireFormat, AMQConsumer, UUID, long, boolean)} does,
+    * only caching the conversions of the messages whose memory estimate is up to {@code conversionCacheMaxSize}. The
+    * conversions aren't cached if it is not positive.
+    */
+   public static MessageDispatch createMessageDispatch(MessageReference reference,
+                                                       ICoreMessage message,
+                                                       WireFormat marshaller,
+                                                       AMQConsumer consumer,
+                                                       UUID serverNodeUUID,
+                                                       long consumerDeliverySequenceId,
+                                                       boolean removeConnectionID,
+                                                       int conversionCacheMaxSize) throws IOException {
+      final ActiveMQMessage amqMessage;
+      if (isConversionCacheable(reference.getMessage(), message, conversionCacheMaxSize)) {
+         amqMessage = copyConversion(reference, message, marshaller, consumer, serverNodeUUID);
+      } else {
+         amqMessage = toAMQMessage(message, marshaller, consumer.getOpenwireDestination(), reference.getDeliveryCount() - 1, serverNodeUUID);
+      }
+      if (removeConnectionID) {
+         amqMessage.removeProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME_STRING);
+      }
 
       amqMessage.getMessageId().setBrokerSequenceId(consumerDeliverySequenceId);
       MessageDispatch md = new MessageDispatch();
@@ -493,6 +544,50 @@ public final class OpenWireMessageConverter {
       return md;
    }
 
+   /**
+    * {@return whether the conversion of {@code message}, delivered as {@code coreMessage}, can be shared by the OpenWire
+    * consumers it is delivered to}
+    * <p>
+    * It is worth it for the messages delivered to more than one queue, and only if the conversion doesn't depend on
+    * the delivery: the redelivery counter can be set by the JMS properties.
+    */
+   private static boolean isConversionCacheable(org.apache.activemq.artemis.api.core.Message message, ICoreMessage coreMessage, int conversionCacheMaxSize) {
+      if (message.getConversion(OpenWireMessageConverter.class) == null && (message.getRefCount() <= 1 || message.isLargeMessage() || message.getMemoryEstimate() > conversionCacheMaxSize)) {
+         return false;
+      }
+      return !coreMessage.containsProperty(JMSX_DELIVERY_COUNT) && !coreMessage.containsProperty(JMS_REDELIVERED);
+   }
+
+   /**
+    * Converts {@code coreMessage} as {@link #toAMQMessage} does, copying the conversion cached for the
+    * {@link MessageReference#getMessage() message} it was delivered as, or caching it, instead of converting it again
+    * for every consumer. The copy only differs from the conversion by the fields depending on the delivery.
+    */
+   private static ActiveMQMessage copyConversion(MessageReference reference,
+                                                 ICoreMessage coreMessage,
+                                                 WireFormat marshaller,
+                                                 AMQConsumer consumer,
+                                                 UUID serverNodeUUID) throws IOException {
+      final org.apache.activemq.artemis.api.core.Message message = reference.getMessage();
+      ActiveMQMessage conversion = (ActiveMQMessage) message.getConversion(OpenWireMessageConverter.class);
+      if (conversion == null) {
+         conversion = toAMQMessage(coreMessage, marshaller, null, 0, serverNodeUUID);
+         // store the content and marshal the properties once, so that the copies just share them
+         conversion.beforeMarshall(marshaller);
+         final int memoryEstimate = conversion.getSize();
+         message.setConversion(OpenWireMessageConverter.class, conversion, memoryEstimate);
+         // released by the queue with the message estimate once the message is no longer referenced
+         if (message.getOwner() instanceof PagingStore owner) {
+            owner.addSize(memoryEstimate, false);
+         }
+      }
+      final ActiveMQMessage amqMsg = (ActiveMQMessage) conversion.copy();
+      amqMsg.setMessageId(conversion.getMessageId().copy());
+      amqMsg.setDestination(OpenWireUtil.toAMQAddress(coreMessage, consumer.getOpenwireDestination()));
+      amqMsg.setRedeliveryCounter(reference.getDeliveryCount() - 1);
+      return amqMsg;
+   }
+
    private static final class EagerActiveMQBytesMessage extends ActiveMQBytesMessage {
 
       EagerActiveMQBytesMessage(int size) {
@@ -502,10 +597,14 @@ public final class OpenWireMessageConverter {
       }
    }
 
-   private static ActiveMQMessage toAMQMessage(MessageReference reference,
-                                               ICoreMessage coreMessage,
+   /**
+    * Converts {@code coreMessage} for a consumer of {@code actualDestination}, or for none if {@code null}.
+    */
+   private static ActiveMQMessage toAMQMessage(ICoreMessage coreMessage,
                                                WireFormat marshaller,
-                                               AMQConsumer consumer, UUID serverNodeUUID) throws IOException {
+                                               ActiveMQDestination actualDestination,
+                                               int redeliveryCounter,
+                                               UUID serverNodeUUID) throws IOException {
       final ActiveMQMessage amqMsg;
       final byte coreType = coreMessage.getType();
       final Boolean compressProp = getObjectProperty(coreMessage, Boolean.class, OpenWireConstants.AMQ_MSG_COMPRESSED);
@@ -598,8 +697,9 @@ public final class OpenWireMessageConverter {
       if (dsBytes != null) {
          setAMQMsgDataStructure(amqMsg, marshaller, dsBytes);
       }
-      final ActiveMQDestination actualDestination = consumer.getOpenwireDestination();
-      amqMsg.setDestination(OpenWireUtil.toAMQAddress(coreMessage, actualDestination));
+      if (actualDestination != null) {
+         amqMsg.setDestination(OpenWireUtil.toAMQAddress(coreMessage, actualDestination));
+      }
 
       final Object value = coreMessage.getGroupID();
       if (value != null) {
@@ -641,7 +741,7 @@ public final class OpenWireMessageConverter {
          amqMsg.setProducerId(producerId);
       }
 
-      amqMsg.setRedeliveryCounter(reference.getDeliveryCount() - 1);
+      amqMsg.setRedeliveryCounter(redeliveryCounter);
 
       final Object replyToValue = getObjectProperty(coreMessage, Object.class, OpenWireConstants.AMQ_MSG_REPLY_TO);
       if (replyToValue instanceof SimpleString) {
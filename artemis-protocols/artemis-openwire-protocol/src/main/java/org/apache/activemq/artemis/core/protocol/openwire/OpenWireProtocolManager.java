@@ -146,6 +146,8 @@ public class OpenWireProtocolManager  extends AbstractProtocolManager<Command, O
 
    private int openWireDestinationCacheSize = 16;
 
+   private int openWireConversionCacheMaxSize = OpenWireMessageConverter.DEFAULT_CONVERSION_CACHE_MAX_SIZE;
+
    /**
     * If defined, LargeMessages will be sent in chunks to the network. Notice that the system will still load the entire
     * file in memory before sending on the stream. This should avoid just a big buffer allocated.
@@ -742,6 +744,14 @@ public class OpenWireProtocolManager  extends AbstractProtocolManager<Command, O
       this.openWireDestinationCacheSize = openWireDestinationCacheSize;
    }
 
+   public int getOpenWireConversionCacheMaxSize() {
+      return openWireConversionCacheMaxSize;
+   }
+
+   public void setOpenWireConversionCacheMaxSize(int openWireConversionCacheMaxSize) {
+      this.openWireConversionCacheMaxSize = openWireConversionCacheMaxSize;
+   }
+
    public void setVirtualTopicConsumerWildcards(String virtualTopicConsumerWildcards) {
       for (String filter : virtualTopicConsumerWildcards.split(",")) {
          String[] configuration = filter.split(";");
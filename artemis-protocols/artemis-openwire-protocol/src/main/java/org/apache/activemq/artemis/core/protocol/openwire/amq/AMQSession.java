@@ -543,6 +543,10 @@ public class AMQSession implements SessionCallback {
       return this.coreSession;
    }
 
+   public int getOpenWireConversionCacheMaxSize() {
+      return protocolManager.getOpenWireConversionCacheMaxSize();
+   }
+
    public ActiveMQServer getCoreServer() {
       return this.server;
    }
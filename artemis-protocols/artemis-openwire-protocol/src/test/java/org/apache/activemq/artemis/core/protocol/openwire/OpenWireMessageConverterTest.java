@@ -16,9 +16,12 @@
  */
 package org.apache.activemq.artemis.core.protocol.openwire;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -30,6 +33,7 @@ import org.apache.activemq.artemis.api.core.ICoreMessage;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.PagingStore;
 import org.apache.activemq.artemis.core.protocol.openwire.amq.AMQConsumer;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.Queue;
@@ -50,6 +54,7 @@ import org.apache.activemq.openwire.OpenWireFormatFactory;
 import org.apache.activemq.util.ByteSequence;
 import org.apache.activemq.wireformat.WireFormat;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class OpenWireMessageConverterTest {
@@ -333,4 +338,127 @@ public class OpenWireMessageConverterTest {
       assertNull(messageDispatch.getMessage().getProperty(hdrDroppable));
       assertNull(messageDispatch.getMessage().getProperty(""));
    }
+
+   @Test
+   public void testConversionSharedByConsumers() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      coreMessage.putStringProperty("region", "EU");
+      // delivered to two queues, e.g. two topic subscriptions
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      MessageReference firstReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+      firstReference.incrementDeliveryCount();
+      AMQConsumer firstConsumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(firstConsumer.getOpenwireDestination()).thenReturn(destination);
+      MessageDispatch first = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, firstConsumer, nodeUUID, 5);
+      assertNotNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+
+      MessageReference secondReference = new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class));
+      secondReference.incrementDeliveryCount();
+      secondReference.incrementDeliveryCount();
+      AMQConsumer secondConsumer = Mockito.mock(AMQConsumer.class);
+      ActiveMQDestination secondDestination = new ActiveMQQueue("Q2");
+      Mockito.when(secondConsumer.getOpenwireDestination()).thenReturn(secondDestination);
+      MessageDispatch second = OpenWireMessageConverter.createMessageDispatch(secondReference, coreMessage, openWireFormat, secondConsumer, nodeUUID, 7);
+
+      assertNotSame(first.getMessage(), second.getMessage());
+      assertEquals(first.getMessage().getMessageId(), second.getMessage().getMessageId());
+      assertEquals(5, first.getMessage().getMessageId().getBrokerSequenceId());
+      assertEquals(7, second.getMessage().getMessageId().getBrokerSequenceId());
+      assertEquals(destination, first.getMessage().getDestination());
+      assertEquals(new ActiveMQQueue(address), second.getMessage().getDestination());
+      assertEquals(0, first.getMessage().getRedeliveryCounter());
+      assertEquals(1, second.getMessage().getRedeliveryCounter());
+
+      for (MessageDispatch dispatch : new MessageDispatch[] {first, second}) {
+         MessageDispatch marshalled = (MessageDispatch) openWireFormat.unmarshal(openWireFormat.marshal(dispatch));
+         assertEquals("EU", marshalled.getMessage().getProperty("region"));
+         ByteSequence marshalledContent = marshalled.getMessage().getContent();
+         marshalledContent.compact();
+         assertArrayEquals(content, marshalledContent.getData());
+      }
+
+      // a change of the message drops its conversion
+      coreMessage.putStringProperty("region", "US");
+      assertNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+      MessageDispatch third = OpenWireMessageConverter.createMessageDispatch(firstReference, coreMessage, openWireFormat, firstConsumer, nodeUUID, 6);
+      assertEquals("US", third.getMessage().getProperty("region"));
+   }
+
+   @Test
+   public void testConnectionIDRemovedFromSharedConversionOfNoLocalDelivery() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      // as every OpenWire producer sends it
+      coreMessage.putStringProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME, "producer-connection");
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      AMQConsumer consumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(consumer.getOpenwireDestination()).thenReturn(destination);
+
+      MessageDispatch noLocal = OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, 1, true);
+      assertNotNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+      MessageDispatch local = OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, 2, false);
+
+      assertNull(noLocal.getMessage().getProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME_STRING));
+      assertEquals("producer-connection", local.getMessage().getProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME_STRING));
+      MessageDispatch marshalled = (MessageDispatch) openWireFormat.unmarshal(openWireFormat.marshal(noLocal));
+      assertNull(marshalled.getMessage().getProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME_STRING));
+      // the message delivered to the other consumers keeps it
+      assertTrue(coreMessage.containsProperty(MessageUtil.CONNECTION_ID_PROPERTY_NAME));
+   }
+
+   @Test
+   public void testSharedConversionAccountedToOwner() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      PagingStore owner = Mockito.mock(PagingStore.class);
+      coreMessage.setOwner(owner);
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      AMQConsumer consumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(consumer.getOpenwireDestination()).thenReturn(destination);
+      for (int i = 0; i < 2; i++) {
+         OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, i);
+      }
+
+      ArgumentCaptor<Integer> size = ArgumentCaptor.forClass(Integer.class);
+      // only the conversion shared by both deliveries is accounted
+      Mockito.verify(owner, Mockito.times(1)).addSize(size.capture(), Mockito.eq(false));
+      assertTrue(size.getValue() > 0);
+      assertEquals(size.getValue(), coreMessage.releaseConversions());
+   }
+
+   @Test
+   public void testConversionCacheMaxSize() throws Exception {
+      ICoreMessage coreMessage = new CoreMessage().initBuffer(100);
+      coreMessage.setMessageID(1);
+      coreMessage.getBodyBuffer().writeBytes(content);
+      coreMessage.setAddress(address);
+      coreMessage.refUp();
+      coreMessage.refUp();
+
+      AMQConsumer consumer = Mockito.mock(AMQConsumer.class);
+      Mockito.when(consumer.getOpenwireDestination()).thenReturn(destination);
+
+      // disabled
+      OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, 1, false, 0);
+      assertNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+      // smaller than the message
+      OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, 2, false, coreMessage.getMemoryEstimate() - 1);
+      assertNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+
+      OpenWireMessageConverter.createMessageDispatch(new MessageReferenceImpl(coreMessage, Mockito.mock(Queue.class)), coreMessage, openWireFormat, consumer, nodeUUID, 3, false, coreMessage.getMemoryEstimate());
+      assertNotNull(coreMessage.getConversion(OpenWireMessageConverter.class));
+   }
 }
@@ -71,8 +71,14 @@ public abstract class ComparisonExpression extends BinaryExpression implements B
 
       Pattern likePattern;
 
+      final String like;
+
+      final int escape;
+
       LikeExpression(Expression right, String like, int escape) {
          super(right);
+         this.like = like;
+         this.escape = escape;
 
          StringBuilder regexp = new StringBuilder(like.length() * 2);
          regexp.append("\\A"); // The beginning of the input
@@ -0,0 +1,738 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+
+/**
+ * Turns a parsed selector into a tree of specialized expressions, evaluated with the same results as the parsed one:
+ * <ul>
+ * <li>comparisons of a property with a numeric constant compare primitives, the constant being converted once;
+ * <li>arithmetic on constants is folded;
+ * <li>{@code LIKE} patterns that are a prefix, a suffix or a fragment of the value don't use a regular expression;
+ * <li>every node returns a primitive three-valued result instead of a {@link Boolean};
+ * <li>{@code AND} and {@code OR} operands are flattened and, when none of them may throw, the cheapest ones are
+ * evaluated first.
+ * </ul>
+ * Any other expression, or any value these specializations don't cover (e.g. a {@code String} property compared to a
+ * number with {@code convert_string_expressions}), is evaluated by the parsed expression itself.
+ */
+public final class SelectorCompiler {
+
+   private static final int FALSE = 0;
+   private static final int TRUE = 1;
+   private static final int UNKNOWN = 2;
+
+   private static final int LT = 0;
+   private static final int LE = 1;
+   private static final int GT = 2;
+   private static final int GE = 3;
+   private static final int EQ = 4;
+
+   private SelectorCompiler() {
+   }
+
+   /**
+    * The values of a property a selector can match: it never matches a message whose {@code property} is null or a
+    * {@code String} not among {@code values}.
+    *
+    * @param exact whether the selector matches every message whose {@code property} is a {@code String} among
+    *              {@code values}, so it only has to be evaluated for non-{@code String} values
+    */
+   public record PropertyValues(SimpleString property, Set<String> values, boolean exact) {
+   }
+
+   /**
+    * {@return the values of a property a compiled {@code expression} can match, if it is an equality with a
+    * {@code String} literal, an {@code IN} list or an {@code AND} of them with other expressions, otherwise
+    * {@code null}}
+    */
+   public static PropertyValues propertyValues(BooleanExpression expression) {
+      if (expression instanceof StringEquals equals) {
+         return new PropertyValues(equals.name, Set.of(equals.constant), true);
+      }
+      if (expression instanceof In in && !in.not) {
+         final Set<String> values = new HashSet<>();
+         for (Object value : in.values) {
+            if (!(value instanceof String string)) {
+               return null;
+            }
+            values.add(string);
+         }
+         return new PropertyValues(in.name, values, true);
+      }
+      if (expression instanceof Logic logic && logic.and) {
+         PropertyValues narrowest = null;
+         for (Compiled operand : logic.operands) {
+            final PropertyValues values = propertyValues(operand);
+            if (values != null && (narrowest == null || values.values().size() < narrowest.values().size())) {
+               narrowest = values;
+            }
+         }
+         return narrowest == null ? null : new PropertyValues(narrowest.property(), narrowest.values(), false);
+      }
+      return null;
+   }
+
+   /**
+    * {@return an expression evaluating {@code expression} faster; it is thread-safe if {@code expression} is}
+    */
+   public static BooleanExpression compile(BooleanExpression expression) {
+      return compileBoolean(expression);
+   }
+
+   private static Compiled compileBoolean(BooleanExpression expression) {
+      if (expression instanceof Compiled compiled) {
+         return compiled;
+      }
+      if (expression instanceof LogicExpression logic) {
+         return compileLogic(logic);
+      }
+      if (expression instanceof ConstantExpression.BooleanConstantExpression constant) {
+         return new Constant(constant, toResult(constant.getValue()));
+      }
+      if (expression instanceof ComparisonExpression.LikeExpression like) {
+         return compileLike(like);
+      }
+      if (expression instanceof UnaryExpression.InExpression in && in.getRight() instanceof PropertyExpression property) {
+         return new In(in, property, new HashSet<>(in.inList), in.not);
+      }
+      if (expression instanceof UnaryExpression.BooleanUnaryExpression unary) {
+         if ("NOT".equals(unary.getExpressionSymbol()) && unary.getRight() instanceof BooleanExpression operand) {
+            return new Not(unary, compileBoolean(operand));
+         }
+         if ("".equals(unary.getExpressionSymbol()) && unary.getRight() instanceof PropertyExpression property) {
+            return new BooleanProperty(unary, property);
+         }
+      }
+      if (expression instanceof ComparisonExpression comparison) {
+         final Compiled compiled = compileComparison(comparison);
+         if (compiled != null) {
+            return compiled;
+         }
+      }
+      return new Interpreted(expression);
+   }
+
+   private static Compiled compileLogic(LogicExpression logic) {
+      final boolean and = "AND".equals(logic.getExpressionSymbol());
+      final List<Compiled> operands = new ArrayList<>(logic.expressions.size());
+      boolean safe = true;
+      for (BooleanExpression expression : logic.expressions) {
+         final Compiled operand = compileBoolean(expression);
+         if (operand instanceof Logic nested && nested.and == and) {
+            // (a AND b) AND c is a AND b AND c
+            operands.addAll(Arrays.asList(nested.operands));
+         } else {
+            operands.add(operand);
+         }
+         safe &= operand.isSafe();
+      }
+      if (safe) {
+         // the result doesn't depend on the order of the operands, and the first false (or true) one ends the evaluation
+         operands.sort(Comparator.comparingInt(Compiled::cost));
+      }
+      return new Logic(logic, and, operands.toArray(new Compiled[0]), safe);
+   }
+
+   private static Compiled compileLike(ComparisonExpression.LikeExpression like) {
+      if (!(like.getRight() instanceof PropertyExpression property)) {
+         return new Interpreted(like);
+      }
+      final String pattern = like.like;
+      if (like.escape == -1 && pattern.indexOf('_') < 0) {
+         final boolean prefix = pattern.endsWith("%");
+         final boolean suffix = pattern.length() > (prefix ? 1 : 0) && pattern.startsWith("%");
+         final String fragment = pattern.substring(suffix ? 1 : 0, pattern.length() - (prefix ? 1 : 0));
+         if (fragment.indexOf('%') < 0) {
+            return new Like(like, property, fragment, prefix, suffix, null);
+         }
+      }
+      return new Like(like, property, null, false, false, like.likePattern);
+   }
+
+   private static Compiled compileComparison(ComparisonExpression comparison) {
+      final int op = operator(comparison.getExpressionSymbol());
+      if (op < 0) {
+         return null;
+      }
+      final Expression left = comparison.getLeft();
+      final Expression right = comparison.getRight();
+      final boolean propertyOnLeft;
+      final PropertyExpression property;
+      final Object constant;
+      if (left instanceof PropertyExpression leftProperty && isConstant(right)) {
+         propertyOnLeft = true;
+         property = leftProperty;
+         constant = constantValue(right);
+      } else if (right instanceof PropertyExpression rightProperty && isConstant(left)) {
+         propertyOnLeft = false;
+         property = rightProperty;
+         constant = constantValue(left);
+      } else {
+         return null;
+      }
+      if (constant == null) {
+         // IS NULL
+         return op == EQ && propertyOnLeft ? new IsNull(comparison, property) : null;
+      }
+      // for = the parsed expression evaluates NULL when the left value is NULL, but FALSE when only the right one is
+      final int whenNull = op == EQ && !propertyOnLeft ? FALSE : UNKNOWN;
+      if (constant instanceof String string && op == EQ) {
+         return new StringEquals(comparison, property, string, whenNull);
+      }
+      if (constant instanceof Integer || constant instanceof Long) {
+         return new IntegralComparison(comparison, property, propertyOnLeft ? op : flip(op), ((Number) constant).longValue(), propertyOnLeft, whenNull);
+      }
+      if (constant instanceof Double d) {
+         return new DecimalComparison(comparison, property, propertyOnLeft ? op : flip(op), d, propertyOnLeft, whenNull);
+      }
+      return null;
+   }
+
+   private static int operator(String symbol) {
+      return switch (symbol) {
+         case "<" -> LT;
+         case "<=" -> LE;
+         case ">" -> GT;
+         case ">=" -> GE;
+         case "=" -> EQ;
+         default -> -1;
+      };
+   }
+
+   // the same comparison with its operands swapped
+   private static int flip(int op) {
+      return switch (op) {
+         case LT -> GT;
+         case LE -> GE;
+         case GT -> LT;
+         case GE -> LE;
+         default -> op;
+      };
+   }
+
+   private static boolean isConstant(Expression expression) {
+      if (expression instanceof ConstantExpression) {
+         return true;
+      }
+      if (expression instanceof BooleanExpression) {
+         return false;
+      }
+      if (expression instanceof UnaryExpression unary) {
+         return isConstant(unary.getRight()) && isFoldable(expression);
+      }
+      if (expression instanceof BinaryExpression binary) {
+         return isConstant(binary.getLeft()) && isConstant(binary.getRight()) && isFoldable(expression);
+      }
+      return false;
+   }
+
+   private static boolean isFoldable(Expression expression) {
+      try {
+         expression.evaluate(null);
+         return true;
+      } catch (Exception e) {
+         return false;
+      }
+   }
+
+   private static Object constantValue(Expression expression) {
+      try {
+         // a constant expression doesn't look at the message
+         return expression.evaluate(null);
+      } catch (FilterException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static int toResult(Object value) {
+      if (value == null) {
+         return UNKNOWN;
+      }
+      return value == Boolean.TRUE ? TRUE : FALSE;
+   }
+
+   private static Boolean toBoolean(int result) {
+      return switch (result) {
+         case TRUE -> Boolean.TRUE;
+         case FALSE -> Boolean.FALSE;
+         default -> null;
+      };
+   }
+
+   private static int compareResult(int op, int compare) {
+      final boolean result = switch (op) {
+         case LT -> compare < 0;
+         case LE -> compare <= 0;
+         case GT -> compare > 0;
+         case GE -> compare >= 0;
+         default -> compare == 0;
+      };
+      return result ? TRUE : FALSE;
+   }
+
+   private abstract static class Compiled implements BooleanExpression {
+
+      final BooleanExpression source;
+
+      Compiled(BooleanExpression source) {
+         this.source = source;
+      }
+
+      /**
+       * {@return {@link #TRUE}, {@link #FALSE} or {@link #UNKNOWN}, as {@link #evaluate} would}
+       */
+      abstract int test(Filterable message) throws FilterException;
+
+      /**
+       * {@return a rough relative cost of {@link #test}, to evaluate cheap operands first}
+       */
+      abstract int cost();
+
+      /**
+       * {@return whether evaluating this expression never throws, so it can be moved before other operands}
+       */
+      boolean isSafe() {
+         return true;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return toBoolean(test(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return test(message) == TRUE;
+      }
+
+      @Override
+      public String toString() {
+         return source.toString();
+      }
+   }
+
+   private static final class Interpreted extends Compiled {
+
+      Interpreted(BooleanExpression source) {
+         super(source);
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         return toResult(source.evaluate(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return source.matches(message);
+      }
+
+      @Override
+      int cost() {
+         return 16;
+      }
+
+      @Override
+      boolean isSafe() {
+         return false;
+      }
+   }
+
+   private static final class Constant extends Compiled {
+
+      private final int result;
+
+      Constant(BooleanExpression source, int result) {
+         super(source);
+         this.result = result;
+      }
+
+      @Override
+      int test(Filterable message) {
+         return result;
+      }
+
+      @Override
+      int cost() {
+         return 0;
+      }
+   }
+
+   private static final class Logic extends Compiled {
+
+      private final boolean and;
+
+      private final Compiled[] operands;
+
+      private final boolean safe;
+
+      private final int cost;
+
+      Logic(BooleanExpression source, boolean and, Compiled[] operands, boolean safe) {
+         super(source);
+         this.and = and;
+         this.operands = operands;
+         this.safe = safe;
+         int cost = 0;
+         for (Compiled operand : operands) {
+            cost += operand.cost();
+         }
+         this.cost = cost;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         // FALSE ends an AND, TRUE ends an OR
+         final int last = and ? FALSE : TRUE;
+         boolean unknown = false;
+         for (Compiled operand : operands) {
+            final int result = operand.test(message);
+            if (result == last) {
+               return last;
+            }
+            unknown |= result == UNKNOWN;
+         }
+         return unknown ? UNKNOWN : and ? TRUE : FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (Compiled operand : operands) {
+            if (operand.matches(message) != and) {
+               return !and;
+            }
+         }
+         return and;
+      }
+
+      @Override
+      int cost() {
+         return cost;
+      }
+
+      @Override
+      boolean isSafe() {
+         return safe;
+      }
+   }
+
+   private static final class Not extends Compiled {
+
+      private final Compiled operand;
+
+      Not(BooleanExpression source, Compiled operand) {
+         super(source);
+         this.operand = operand;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final int result = operand.test(message);
+         return result == UNKNOWN ? UNKNOWN : result ^ 1;
+      }
+
+      @Override
+      int cost() {
+         return operand.cost();
+      }
+
+      @Override
+      boolean isSafe() {
+         return operand.isSafe();
+      }
+   }
+
+   private abstract static class PropertyTest extends Compiled {
+
+      final SimpleString name;
+
+      PropertyTest(BooleanExpression source, PropertyExpression property) {
+         super(source);
+         this.name = SimpleString.of(property.getName());
+      }
+   }
+
+   private static final class IsNull extends PropertyTest {
+
+      IsNull(BooleanExpression source, PropertyExpression property) {
+         super(source, property);
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         return message.getProperty(name) == null ? TRUE : FALSE;
+      }
+
+      @Override
+      int cost() {
+         return 1;
+      }
+   }
+
+   private static final class BooleanProperty extends PropertyTest {
+
+      BooleanProperty(BooleanExpression source, PropertyExpression property) {
+         super(source, property);
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return UNKNOWN;
+         }
+         return value == Boolean.TRUE || Boolean.TRUE.equals(value) ? TRUE : FALSE;
+      }
+
+      @Override
+      int cost() {
+         return 1;
+      }
+   }
+
+   private static final class StringEquals extends PropertyTest {
+
+      private final String constant;
+
+      private final int whenNull;
+
+      StringEquals(BooleanExpression source, PropertyExpression property, String constant, int whenNull) {
+         super(source, property);
+         this.constant = constant;
+         this.whenNull = whenNull;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return whenNull;
+         }
+         if (value.getClass() == String.class) {
+            return constant.equals(value) ? TRUE : FALSE;
+         }
+         return toResult(source.evaluate(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return false;
+         }
+         if (value.getClass() == String.class) {
+            return constant.equals(value);
+         }
+         return source.matches(message);
+      }
+
+      @Override
+      int cost() {
+         return 2;
+      }
+   }
+
+   private static final class IntegralComparison extends PropertyTest {
+
+      private final int op;
+
+      private final long constant;
+
+      private final boolean propertyOnLeft;
+
+      private final int whenNull;
+
+      IntegralComparison(BooleanExpression source, PropertyExpression property, int op, long constant, boolean propertyOnLeft, int whenNull) {
+         super(source, property);
+         this.op = op;
+         this.constant = constant;
+         this.propertyOnLeft = propertyOnLeft;
+         this.whenNull = whenNull;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return whenNull;
+         }
+         final Class<?> type = value.getClass();
+         if (type == Integer.class || type == Long.class || propertyOnLeft && (type == Short.class || type == Byte.class)) {
+            return compareResult(op, Long.compare(((Number) value).longValue(), constant));
+         }
+         if (type == Double.class) {
+            return compareResult(op, Double.compare((Double) value, constant));
+         }
+         // e.g. a Float is compared as a float
+         return toResult(source.evaluate(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         if (op == EQ) {
+            // it isn't just evaluate() == TRUE
+            final Object value = message.getProperty(name);
+            if (value == null || value.getClass() != Integer.class && value.getClass() != Long.class && value.getClass() != Double.class) {
+               return source.matches(message);
+            }
+         }
+         return test(message) == TRUE;
+      }
+
+      @Override
+      int cost() {
+         return 2;
+      }
+   }
+
+   private static final class DecimalComparison extends PropertyTest {
+
+      private final int op;
+
+      private final double constant;
+
+      private final boolean propertyOnLeft;
+
+      private final int whenNull;
+
+      DecimalComparison(BooleanExpression source, PropertyExpression property, int op, double constant, boolean propertyOnLeft, int whenNull) {
+         super(source, property);
+         this.op = op;
+         this.constant = constant;
+         this.propertyOnLeft = propertyOnLeft;
+         this.whenNull = whenNull;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return whenNull;
+         }
+         final Class<?> type = value.getClass();
+         if (type == Double.class || type == Integer.class || type == Long.class || type == Float.class || propertyOnLeft && (type == Short.class || type == Byte.class)) {
+            return compareResult(op, Double.compare(((Number) value).doubleValue(), constant));
+         }
+         return toResult(source.evaluate(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         if (op == EQ) {
+            final Object value = message.getProperty(name);
+            if (value == null || value.getClass() != Integer.class && value.getClass() != Long.class && value.getClass() != Double.class && value.getClass() != Float.class) {
+               return source.matches(message);
+            }
+         }
+         return test(message) == TRUE;
+      }
+
+      @Override
+      int cost() {
+         return 2;
+      }
+   }
+
+   private static final class In extends PropertyTest {
+
+      private final Set<Object> values;
+
+      private final boolean not;
+
+      In(BooleanExpression source, PropertyExpression property, Set<Object> values, boolean not) {
+         super(source, property);
+         this.values = values;
+         this.not = not;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null || value.getClass() != String.class) {
+            return UNKNOWN;
+         }
+         return values.contains(value) ^ not ? TRUE : FALSE;
+      }
+
+      @Override
+      int cost() {
+         return 3;
+      }
+   }
+
+   private static final class Like extends PropertyTest {
+
+      private final String fragment;
+
+      private final boolean prefix;
+
+      private final boolean suffix;
+
+      private final Pattern pattern;
+
+      /**
+       * With a {@code pattern} the value is matched against it, otherwise the value has to start with {@code fragment}
+       * if {@code prefix}, end with it if {@code suffix}, contain it if both, or be equal to it.
+       */
+      Like(BooleanExpression source, PropertyExpression property, String fragment, boolean prefix, boolean suffix, Pattern pattern) {
+         super(source, property);
+         this.fragment = fragment;
+         this.prefix = prefix;
+         this.suffix = suffix;
+         this.pattern = pattern;
+      }
+
+      @Override
+      int test(Filterable message) throws FilterException {
+         final Object value = message.getProperty(name);
+         if (value == null) {
+            return UNKNOWN;
+         }
+         if (!(value instanceof String string)) {
+            return FALSE;
+         }
+         final boolean matches;
+         if (pattern != null) {
+            matches = pattern.matcher(string).matches();
+         } else if (prefix && suffix) {
+            matches = string.contains(fragment);
+         } else if (prefix) {
+            matches = string.startsWith(fragment);
+         } else if (suffix) {
+            matches = string.endsWith(fragment);
+         } else {
+            matches = string.equals(fragment);
+         }
+         return matches ? TRUE : FALSE;
+      }
+
+      @Override
+      int cost() {
+         return pattern != null ? 8 : 3;
+      }
+   }
+}
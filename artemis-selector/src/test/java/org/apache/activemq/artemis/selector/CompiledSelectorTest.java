@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs {@link SelectorTest} on compiled selectors, and checks compiled selectors evaluate like parsed ones.
+ */
+public class CompiledSelectorTest extends SelectorTest {
+
+   private static final SimpleString PROP = SimpleString.of("prop");
+
+   private static final List<Object> VALUES = Arrays.asList(null, (byte) 5, (short) 5, 5, 5L, 6L, 3_000_000_000L, 5.0f, 5.5f, 5.0d, 4.9d, Double.NaN, "5", "abc", "xabcx", "a\nbc", true, false);
+
+   @Override
+   protected void assertSelector(MockMessage message, String text, boolean expected) throws FilterException {
+      assertCompiledSelector(message, text, expected);
+   }
+
+   static void assertCompiledSelector(MockMessage message, String text, boolean expected) throws FilterException {
+      BooleanExpression compiled = SelectorCompiler.compile(SelectorParser.parse(text));
+      assertNotNull(compiled, "Created a valid selector");
+      assertEquals(expected, compiled.matches(message), "Selector for: " + text);
+      assertSameEvaluation(message, text);
+   }
+
+   private static void assertSameEvaluation(MockMessage message, String text) throws FilterException {
+      final BooleanExpression parsed;
+      try {
+         parsed = SelectorParser.parse(text);
+      } catch (FilterException e) {
+         // not a valid selector, e.g. a string compared with <
+         return;
+      }
+      final BooleanExpression compiled = SelectorCompiler.compile(SelectorParser.parse(text));
+      assertEquals(outcome(() -> parsed.matches(message)), outcome(() -> compiled.matches(message)), "matches " + text + " with " + message.getProperty(PROP));
+      assertEquals(outcome(() -> parsed.evaluate(message)), outcome(() -> compiled.evaluate(message)), "evaluate " + text + " with " + message.getProperty(PROP));
+   }
+
+   private interface Evaluation {
+      Object get() throws FilterException;
+   }
+
+   private static Object outcome(Evaluation evaluation) throws FilterException {
+      try {
+         return evaluation.get();
+      } catch (RuntimeException e) {
+         return e.getClass();
+      }
+   }
+
+   @Test
+   public void testSameEvaluationAsParsed() throws Exception {
+      List<String> constants = Arrays.asList("5", "-5", "2 + 3", "3000000000", "5.0", "4.95", "'5'", "'abc'", "TRUE");
+      List<String> operators = Arrays.asList("=", "<>", "<", "<=", ">", ">=");
+      for (Object value : VALUES) {
+         MockMessage message = new MockMessage();
+         message.setObjectProperty("prop", value);
+         for (String constant : constants) {
+            for (String operator : operators) {
+               for (String prefix : Arrays.asList("", "convert_string_expressions:")) {
+                  assertComparison(message, prefix, "prop " + operator + " " + constant);
+                  assertComparison(message, prefix, constant + " " + operator + " prop");
+               }
+            }
+         }
+         for (String selector : Arrays.asList("prop IS NULL", "prop IS NOT NULL", "prop", "prop IN ('abc', '5')", "prop NOT IN ('a', 'b', 'c', 'd', 'e', 'abc')",
+                                              "prop LIKE 'abc'", "prop LIKE 'ab%'", "prop LIKE '%bc'", "prop LIKE '%b%'", "prop LIKE '%'", "prop LIKE '%%'", "prop LIKE 'a%c'",
+                                              "prop LIKE 'a_c'", "prop LIKE 'a\\%c' ESCAPE '\\'", "prop NOT LIKE 'ab%'", "prop BETWEEN 4 AND 6", "prop NOT BETWEEN 4.5 AND 6",
+                                              "prop > 4 AND prop LIKE '%' OR prop IS NULL", "(prop = 5 OR prop = 'abc') AND NOT (prop IS NULL)", "prop = 5 AND (prop < 6 AND prop <> 7)",
+                                              "prop > 1 + 2 * 3", "prop = -(-5)", "prop / 1 = 5", "unknown = 5 OR prop = 5", "unknown = 5 AND prop = 5")) {
+            assertComparison(message, "", selector);
+         }
+      }
+   }
+
+   private static void assertComparison(MockMessage message, String prefix, String selector) throws FilterException {
+      assertSameEvaluation(message, prefix + selector);
+      assertSameEvaluation(message, prefix + "NOT (" + selector + ")");
+   }
+}
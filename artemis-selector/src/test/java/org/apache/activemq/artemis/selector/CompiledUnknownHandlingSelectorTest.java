@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector;
+
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Runs {@link UnknownHandlingSelectorTest} on compiled selectors.
+ */
+public class CompiledUnknownHandlingSelectorTest extends UnknownHandlingSelectorTest {
+
+   private MockMessage message;
+
+   @BeforeEach
+   @Override
+   public void setUp() throws Exception {
+      message = new MockMessage();
+      message.setDestination("FOO.BAR");
+      message.setJMSType("selector-test");
+      message.setJMSMessageID("connection:1:1:1:1");
+      message.setBooleanProperty("trueProp", true);
+      message.setBooleanProperty("falseProp", false);
+      message.setObjectProperty("nullProp", null);
+   }
+
+   @Override
+   protected void assertSelector(String text, boolean expected) throws FilterException {
+      CompiledSelectorTest.assertCompiledSelector(message, text, expected);
+   }
+}
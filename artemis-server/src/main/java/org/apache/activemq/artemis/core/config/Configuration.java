@@ -917,6 +917,65 @@ public interface Configuration {
     */
    Configuration setJournalMaxAtticFiles(int maxAtticFiles);
 
+   /**
+    * {@return how many message journal files may be read and decoded concurrently while the broker is loading; default
+    * value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_LOAD_PARALLELISM}}
+    */
+   int getJournalLoadParallelism();
+
+   /**
+    * Sets how many message journal files may be read and decoded concurrently while the broker is loading.
+    */
+   Configuration setJournalLoadParallelism(int journalLoadParallelism);
+
+   /**
+    * {@return the lower bound, in nanoseconds, of the adaptive journal buffer timeout; default value is {@link
+    * ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_BUFFER_TIMEOUT_MIN}}
+    */
+   int getJournalBufferTimeoutMin();
+
+   /**
+    * Sets the lower bound, in nanoseconds, of the adaptive journal buffer timeout.
+    */
+   Configuration setJournalBufferTimeoutMin(int journalBufferTimeoutMin);
+
+   /**
+    * {@return the upper bound, in nanoseconds, of the adaptive journal buffer timeout or -1 if the timeout is fixed;
+    * default value is {@link ActiveMQDefaultConfiguration#DEFAULT_JOURNAL_BUFFER_TIMEOUT_MAX}}
+    */
+   int getJournalBufferTimeoutMax();
+
+   /**
+    * Sets the upper bound, in nanoseconds, of the adaptive journal buffer timeout. A positive value lets the journal
+    * buffer timeout follow the device sync latency instead of using {@code journal-buffer-timeout}.
+    */
+   Configuration setJournalBufferTimeoutMax(int journalBufferTimeoutMax);
+
+   /**
+    * {@return the estimated heap size in bytes of the pages kept in memory once no cursor uses them or -1 if they are
+    * released;
+    * default value is {@link ActiveMQDefaultConfiguration#DEFAULT_PAGE_CACHE_MAX_SIZE}}
+    */
+   long getPageCacheMaxSize();
+
+   /**
+    * Sets the estimated heap size in bytes of the pages kept in memory, across all addresses, once no cursor uses them.
+    */
+   Configuration setPageCacheMaxSize(long pageCacheMaxSize);
+
+   /**
+    * {@return the number of filtered queues bound to an address, which can be looked up by a property value, from which
+    * they are indexed or 0 if they are never indexed; default value is
+    * {@link ActiveMQDefaultConfiguration#DEFAULT_ROUTING_FILTER_INDEX_MIN_BINDINGS}}
+    */
+   int getRoutingFilterIndexMinBindings();
+
+   /**
+    * Sets the number of filtered queues bound to an address from which messages are routed to them by looking up the
+    * value of the property their filters test for equality.
+    */
+   Configuration setRoutingFilterIndexMinBindings(int routingFilterIndexMinBindings);
+
    /**
     * {@return whether the bindings directory is created on this server startup; default is {@link
     * ActiveMQDefaultConfiguration#DEFAULT_CREATE_BINDINGS_DIR}}
@@ -77,7 +77,9 @@ public final class ConfigurationUtils {
          }
          case REPLICATION_PRIMARY_QUORUM_VOTING: {
             ReplicatedPolicyConfiguration pc = (ReplicatedPolicyConfiguration) conf;
-            return new ReplicatedPolicy(pc.isCheckForActiveServer(), pc.getGroupName(), pc.getClusterName(), pc.getMaxSavedReplicatedJournalsSize(), pc.getInitialReplicationSyncTimeout(), server.getNetworkHealthCheck(), pc.getVoteOnReplicationFailure(), pc.getQuorumSize(), pc.getVoteRetries(), pc.getVoteRetryWait(), pc.getQuorumVoteWait(), pc.getRetryReplicationWait());
+            ReplicatedPolicy replicatedPolicy = new ReplicatedPolicy(pc.isCheckForActiveServer(), pc.getGroupName(), pc.getClusterName(), pc.getMaxSavedReplicatedJournalsSize(), pc.getInitialReplicationSyncTimeout(), server.getNetworkHealthCheck(), pc.getVoteOnReplicationFailure(), pc.getQuorumSize(), pc.getVoteRetries(), pc.getVoteRetryWait(), pc.getQuorumVoteWait(), pc.getRetryReplicationWait());
+            replicatedPolicy.setReplicationStripes(pc.getReplicationStripes());
+            return replicatedPolicy;
          }
          case REPLICATION_BACKUP_QUORUM_VOTING: {
             ReplicaPolicyConfiguration pc = (ReplicaPolicyConfiguration) conf;
@@ -32,6 +32,7 @@ public class MetricsConfiguration implements Serializable {
    private boolean uptime = ActiveMQDefaultConfiguration.getDefaultUptimeMetrics();
    private boolean logging = ActiveMQDefaultConfiguration.getDefaultLoggingMetrics();
    private boolean securityCaches = ActiveMQDefaultConfiguration.getDefaultSecurityCacheMetrics();
+   private boolean latencyHistograms = ActiveMQDefaultConfiguration.getDefaultLatencyHistogramMetrics();
    private ActiveMQMetricsPlugin plugin;
 
    public boolean isJvmMemory() {
@@ -123,4 +124,13 @@ public class MetricsConfiguration implements Serializable {
       this.securityCaches = securityCaches;
       return this;
    }
+
+   public boolean isLatencyHistograms() {
+      return latencyHistograms;
+   }
+
+   public MetricsConfiguration setLatencyHistograms(boolean latencyHistograms) {
+      this.latencyHistograms = latencyHistograms;
+      return this;
+   }
 }
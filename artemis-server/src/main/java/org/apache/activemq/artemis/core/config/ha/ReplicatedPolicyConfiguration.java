@@ -31,6 +31,8 @@ public class ReplicatedPolicyConfiguration implements HAPolicyConfiguration {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationStripes = ActiveMQDefaultConfiguration.getDefaultReplicationStripes();
+
    private boolean voteOnReplicationFailure = ActiveMQDefaultConfiguration.getDefaultVoteOnReplicationFailure();
 
    private int quorumSize = ActiveMQDefaultConfiguration.getDefaultQuorumSize();
@@ -97,6 +99,15 @@ public class ReplicatedPolicyConfiguration implements HAPolicyConfiguration {
       return this;
    }
 
+   public int getReplicationStripes() {
+      return replicationStripes;
+   }
+
+   public ReplicatedPolicyConfiguration setReplicationStripes(int replicationStripes) {
+      this.replicationStripes = replicationStripes;
+      return this;
+   }
+
    public boolean getVoteOnReplicationFailure() {
       return voteOnReplicationFailure;
    }
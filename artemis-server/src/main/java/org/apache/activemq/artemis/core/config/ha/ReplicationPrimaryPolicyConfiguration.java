@@ -27,6 +27,8 @@ public class ReplicationPrimaryPolicyConfiguration implements HAPolicyConfigurat
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationStripes = ActiveMQDefaultConfiguration.getDefaultReplicationStripes();
+
    private Long retryReplicationWait = ActiveMQDefaultConfiguration.getDefaultRetryReplicationWait();
 
    private DistributedLockManagerConfiguration distributedManagerConfiguration = null;
@@ -74,6 +76,15 @@ public class ReplicationPrimaryPolicyConfiguration implements HAPolicyConfigurat
       return this;
    }
 
+   public int getReplicationStripes() {
+      return replicationStripes;
+   }
+
+   public ReplicationPrimaryPolicyConfiguration setReplicationStripes(int replicationStripes) {
+      this.replicationStripes = replicationStripes;
+      return this;
+   }
+
    public void setRetryReplicationWait(Long retryReplicationWait) {
       this.retryReplicationWait = retryReplicationWait;
    }
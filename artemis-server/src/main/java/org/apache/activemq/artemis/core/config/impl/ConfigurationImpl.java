@@ -297,6 +297,16 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    protected int journalMaxAtticFilesFiles = ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles();
 
+   protected int journalLoadParallelism = ActiveMQDefaultConfiguration.getDefaultJournalLoadParallelism();
+
+   protected int journalBufferTimeoutMin = ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutMin();
+
+   protected int journalBufferTimeoutMax = ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutMax();
+
+   protected long pageCacheMaxSize = ActiveMQDefaultConfiguration.getDefaultPageCacheMaxSize();
+
+   protected int routingFilterIndexMinBindings = ActiveMQDefaultConfiguration.getDefaultRoutingFilterIndexMinBindings();
+
    // AIO and NIO need different values for these attributes
 
    protected int journalMaxIO_AIO = ActiveMQDefaultConfiguration.getDefaultJournalMaxIoAio();
@@ -3472,6 +3482,61 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public int getJournalLoadParallelism() {
+      return journalLoadParallelism;
+   }
+
+   @Override
+   public Configuration setJournalLoadParallelism(int journalLoadParallelism) {
+      this.journalLoadParallelism = journalLoadParallelism;
+      return this;
+   }
+
+   @Override
+   public int getJournalBufferTimeoutMin() {
+      return journalBufferTimeoutMin;
+   }
+
+   @Override
+   public Configuration setJournalBufferTimeoutMin(int journalBufferTimeoutMin) {
+      this.journalBufferTimeoutMin = journalBufferTimeoutMin;
+      return this;
+   }
+
+   @Override
+   public int getJournalBufferTimeoutMax() {
+      return journalBufferTimeoutMax;
+   }
+
+   @Override
+   public Configuration setJournalBufferTimeoutMax(int journalBufferTimeoutMax) {
+      this.journalBufferTimeoutMax = journalBufferTimeoutMax;
+      return this;
+   }
+
+   @Override
+   public long getPageCacheMaxSize() {
+      return pageCacheMaxSize;
+   }
+
+   @Override
+   public Configuration setPageCacheMaxSize(long pageCacheMaxSize) {
+      this.pageCacheMaxSize = pageCacheMaxSize;
+      return this;
+   }
+
+   @Override
+   public int getRoutingFilterIndexMinBindings() {
+      return routingFilterIndexMinBindings;
+   }
+
+   @Override
+   public Configuration setRoutingFilterIndexMinBindings(int routingFilterIndexMinBindings) {
+      this.routingFilterIndexMinBindings = routingFilterIndexMinBindings;
+      return this;
+   }
+
    @Override
    public long getMqttSessionScanInterval() {
       return mqttSessionScanInterval;
@@ -363,6 +363,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String GLOBAL_MAX_MESSAGES = "global-max-messages";
 
+   private static final String PAGE_CACHE_MAX_SIZE = "page-cache-max-size";
+
+   private static final String ROUTING_FILTER_INDEX_MIN_BINDINGS = "routing-filter-index-min-bindings";
+
    public static final String MAX_DISK_USAGE = "max-disk-usage";
 
    public static final String MIN_DISK_FREE = "min-disk-free";
@@ -396,6 +400,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String PARTITION_BY_GROUP_ID = "partition-by-group-id";
+
+   private static final String ADAPTIVE_CONSUMER_WINDOW_LATENCY = "adaptive-consumer-window-latency";
+
+   private static final String INDEXED_PROPERTIES = "indexed-properties";
+
    private boolean validateAIO = false;
 
    private boolean printPageMaxSizeUsed = false;
@@ -521,6 +531,10 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setGlobalMaxMessages(globalMaxMessages);
 
+      config.setPageCacheMaxSize(getTextBytesAsLongBytes(e, PAGE_CACHE_MAX_SIZE, config.getPageCacheMaxSize(), MINUS_ONE_OR_GT_ZERO));
+
+      config.setRoutingFilterIndexMinBindings(getInteger(e, ROUTING_FILTER_INDEX_MIN_BINDINGS, config.getRoutingFilterIndexMinBindings(), GE_ZERO));
+
       config.setMinDiskFree(getTextBytesAsLongBytes(e, MIN_DISK_FREE, config.getMinDiskFree(), MINUS_ONE_OR_GT_ZERO));
 
       config.setMaxDiskUsage(getInteger(e, MAX_DISK_USAGE, config.getMaxDiskUsage(), PERCENTAGE_OR_MINUS_ONE));
@@ -775,6 +789,16 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalMaxAtticFiles(getInteger(e, "journal-max-attic-files", config.getJournalMaxAtticFiles(), NO_CHECK));
 
+      config.setJournalLoadParallelism(getInteger(e, "journal-load-parallelism", config.getJournalLoadParallelism(), GT_ZERO));
+
+      config.setJournalBufferTimeoutMin(getInteger(e, "journal-buffer-timeout-min", config.getJournalBufferTimeoutMin(), MINUS_ONE_OR_GE_ZERO));
+
+      config.setJournalBufferTimeoutMax(getInteger(e, "journal-buffer-timeout-max", config.getJournalBufferTimeoutMax(), MINUS_ONE_OR_GT_ZERO));
+
+      if (config.getJournalBufferTimeoutMax() > 0 && config.getJournalBufferTimeoutMin() > config.getJournalBufferTimeoutMax()) {
+         throw new IllegalArgumentException("journal-buffer-timeout-min=" + config.getJournalBufferTimeoutMin() + " must not be greater than journal-buffer-timeout-max=" + config.getJournalBufferTimeoutMax());
+      }
+
       int journalBufferTimeout = getInteger(e, "journal-buffer-timeout", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_TIMEOUT_NIO, GE_ZERO);
 
       int journalBufferSize = getTextBytesAsIntBytes(e, "journal-buffer-size", config.getJournalType() == JournalType.ASYNCIO ? ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_AIO : ArtemisConstants.DEFAULT_JOURNAL_BUFFER_SIZE_NIO, POSITIVE_INT);
@@ -1033,6 +1057,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
                metricsConfiguration.setLogging(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("security-caches")) {
                metricsConfiguration.setSecurityCaches(XMLUtil.parseBoolean(child));
+            } else if (child.getNodeName().equals("latency-histograms")) {
+               metricsConfiguration.setLatencyHistograms(XMLUtil.parseBoolean(child));
             } else if (child.getNodeName().equals("plugin")) {
                metricsConfiguration.setPlugin(parseMetricsPlugin(child, config));
             }
@@ -1454,6 +1480,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (PARTITION_BY_GROUP_ID.equalsIgnoreCase(name)) {
+            addressSettings.setPartitionByGroupId(XMLUtil.parseBoolean(child));
+         } else if (ADAPTIVE_CONSUMER_WINDOW_LATENCY.equalsIgnoreCase(name)) {
+            addressSettings.setAdaptiveConsumerWindowLatency(XMLUtil.parseLong(child));
+         } else if (INDEXED_PROPERTIES.equalsIgnoreCase(name)) {
+            addressSettings.setIndexedProperties(SimpleString.of(getTrimmedTextContent(child)));
          }
       }
       return setting;
@@ -1788,6 +1820,7 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
       configuration.setClusterName(getString(policyNode, "cluster-name", configuration.getClusterName(), NO_CHECK));
       configuration.setMaxSavedReplicatedJournalsSize(getInteger(policyNode, "max-saved-replicated-journals-size", configuration.getMaxSavedReplicatedJournalsSize(), MINUS_ONE_OR_GE_ZERO));
       configuration.setInitialReplicationSyncTimeout(getLong(policyNode, "initial-replication-sync-timeout", configuration.getInitialReplicationSyncTimeout(), GT_ZERO));
+      configuration.setReplicationStripes(getInteger(policyNode, "replication-stripes", configuration.getReplicationStripes(), GE_ZERO));
       configuration.setVoteOnReplicationFailure(getBoolean(policyNode, "vote-on-replication-failure", configuration.getVoteOnReplicationFailure()));
       configuration.setVoteRetries(getInteger(policyNode, "vote-retries", configuration.getVoteRetries(), MINUS_ONE_OR_GE_ZERO));
       configuration.setVoteRetryWait(getLong(policyNode, "vote-retry-wait", configuration.getVoteRetryWait(), GT_ZERO));
@@ -1819,6 +1852,7 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
       configuration.setGroupName(getString(policyNode, "group-name", configuration.getGroupName(), NO_CHECK));
       configuration.setClusterName(getString(policyNode, "cluster-name", configuration.getClusterName(), NO_CHECK));
       configuration.setInitialReplicationSyncTimeout(getLong(policyNode, "initial-replication-sync-timeout", configuration.getInitialReplicationSyncTimeout(), GT_ZERO));
+      configuration.setReplicationStripes(getInteger(policyNode, "replication-stripes", configuration.getReplicationStripes(), GE_ZERO));
       configuration.setRetryReplicationWait(getLong(policyNode, "retry-replication-wait", configuration.getRetryReplicationWait(), GT_ZERO));
       configuration.setDistributedManagerConfiguration(createDistributedLockManagerConfiguration(policyNode));
       configuration.setCoordinationId(getString(policyNode, "coordination-id", configuration.getCoordinationId(), NOT_NULL_OR_EMPTY));
@@ -20,6 +20,7 @@ import java.util.Map;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
 
 public interface Filter {
 
@@ -40,6 +41,14 @@ public interface Filter {
 
    SimpleString getFilterString();
 
+   /**
+    * {@return the values of a property this filter can match, so it can be looked up in an index instead of being
+    * matched against every message, or {@code null} if it can't be indexed}
+    */
+   default SelectorCompiler.PropertyValues getPropertyValues() {
+      return null;
+   }
+
    static SimpleString toFilterString(Filter filter) {
       return filter == null ? null : filter.getFilterString();
    }
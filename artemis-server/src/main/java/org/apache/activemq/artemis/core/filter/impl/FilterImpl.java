@@ -29,6 +29,7 @@ import org.apache.activemq.artemis.core.server.federation.address.FederatedAddre
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.slf4j.Logger;
@@ -58,10 +59,15 @@ public class FilterImpl implements Filter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // set to false to evaluate filters as they are parsed, without specializing them with SelectorCompiler
+   private static final boolean COMPILE_SELECTORS = Boolean.parseBoolean(System.getProperty("artemis.selector.compile", "true"));
+
    private final SimpleString sfilterString;
 
    private final BooleanExpression booleanExpression;
 
+   private final SelectorCompiler.PropertyValues propertyValues;
+
    /**
     * {@return null if {@code filterStr} is null or an empty String and a valid filter else}
     * @throws ActiveMQException if the string does not correspond to a valid filter
@@ -87,12 +93,20 @@ public class FilterImpl implements Filter {
          logger.debug("Invalid filter", e);
          throw ActiveMQMessageBundle.BUNDLE.invalidFilter(filterStr, e);
       }
+      if (COMPILE_SELECTORS) {
+         try {
+            booleanExpression = SelectorCompiler.compile(booleanExpression);
+         } catch (RuntimeException e) {
+            logger.debug("Could not compile filter {}, it will be interpreted", filterStr, e);
+         }
+      }
       return new FilterImpl(filterStr, booleanExpression);
    }
 
    private FilterImpl(final SimpleString str, final BooleanExpression expression) {
       sfilterString = str;
       this.booleanExpression = expression;
+      this.propertyValues = SelectorCompiler.propertyValues(expression);
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -102,6 +116,11 @@ public class FilterImpl implements Filter {
       return sfilterString;
    }
 
+   @Override
+   public SelectorCompiler.PropertyValues getPropertyValues() {
+      return propertyValues;
+   }
+
    @Override
    public boolean match(final Message message) {
       return match(new FilterableServerMessage(message));
@@ -114,7 +133,7 @@ public class FilterImpl implements Filter {
 
 
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -154,6 +173,13 @@ public class FilterImpl implements Filter {
       return "FilterImpl [sfilterString=" + sfilterString + "]";
    }
 
+   /**
+    * {@return {@code message} as filters see it, to match it against many filters}
+    */
+   public static Filterable toFilterable(final Message message) {
+      return new FilterableServerMessage(message);
+   }
+
    private static Object getHeaderFieldValue(final Message msg, final SimpleString fieldName) {
       if (FilterConstants.ACTIVEMQ_USERID.equals(fieldName)) {
          if (msg.getUserID() == null) {
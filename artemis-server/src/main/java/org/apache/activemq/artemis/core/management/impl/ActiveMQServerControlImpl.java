@@ -2833,6 +2833,7 @@ public class ActiveMQServerControlImpl extends AbstractControl implements Active
             .add(ConsumerField.MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT.getName(), consumer.getMessagesAcknowledgedAwaitingCommit())
             .add(ConsumerField.LAST_DELIVERED_TIME.getName(), consumer.getLastDeliveredTime())
             .add(ConsumerField.LAST_ACKNOWLEDGED_TIME.getName(), consumer.getLastAcknowledgedTime())
+            .add(ConsumerField.ADAPTIVE_WINDOW_SIZE.getName(), consumer.getAdaptiveWindowSize())
             .add(ConsumerField.STATUS.getName(), ConsumerView.checkConsumerStatus(consumer, server));
       if (consumer.getFilter() != null) {
          obj.add("filter", consumer.getFilter().getFilterString().toString());
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.management.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+
+/**
+ * The browse cursors open on a queue through {@link QueueControlImpl#browseAsJSON(String, int, String)}. A cursor keeps
+ * the browser iterator of the queue open between calls, so each page resumes where the previous one stopped, over the
+ * references in memory and then the paged ones, instead of iterating the queue again from its head.
+ * <p>
+ * What a cursor holds doesn't grow with the pages read, and the number of cursors is bounded: once
+ * {@link #MAX_CURSORS} are open the least recently used one is closed, and a cursor not used for
+ * {@link #IDLE_TIMEOUT_MILLIS} is closed by the scheduled pool of the server.
+ */
+final class BrowseCursors {
+
+   static final int MAX_CURSORS = 16;
+
+   static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+   static final class Cursor {
+
+      private final String id;
+
+      private final Filter filter;
+
+      private final LinkedListIterator<MessageReference> iterator;
+
+      private volatile long lastAccess;
+
+      // guarded by this
+      private boolean closed;
+
+      private Cursor(String id, Filter filter, LinkedListIterator<MessageReference> iterator, long now) {
+         this.id = id;
+         this.filter = filter;
+         this.iterator = iterator;
+         this.lastAccess = now;
+      }
+
+      String getID() {
+         return id;
+      }
+
+      /**
+       * Gives {@code consumer} up to {@code max} references matching the filter of the cursor, resuming after the last
+       * one read.
+       *
+       * @return {@code true} if the queue has been browsed to its end, closing the cursor
+       */
+      synchronized boolean read(int max, Consumer<MessageReference> consumer) {
+         if (closed) {
+            return true;
+         }
+         int count = 0;
+         try {
+            while (count < max && iterator.hasNext()) {
+               final MessageReference ref = iterator.next();
+               if (filter == null || filter.match(ref.getMessage())) {
+                  consumer.accept(ref);
+                  count++;
+               }
+            }
+            if (iterator.hasNext()) {
+               return false;
+            }
+         } catch (NoSuchElementException ignored) {
+            // this could happen through paging browsing
+         }
+         close();
+         return true;
+      }
+
+      synchronized void close() {
+         if (!closed) {
+            closed = true;
+            iterator.close();
+         }
+      }
+   }
+
+   private final Supplier<ScheduledExecutorService> scheduledPool;
+
+   private final LongSupplier clock;
+
+   // access ordered, so the eldest entry is the least recently used cursor; guarded by this
+   private final Map<String, Cursor> cursors = new LinkedHashMap<>(MAX_CURSORS, 0.75f, true);
+
+   // guarded by this
+   private ScheduledFuture<?> expiry;
+
+   BrowseCursors(Supplier<ScheduledExecutorService> scheduledPool) {
+      this(scheduledPool, System::currentTimeMillis);
+   }
+
+   BrowseCursors(Supplier<ScheduledExecutorService> scheduledPool, LongSupplier clock) {
+      this.scheduledPool = scheduledPool;
+      this.clock = clock;
+   }
+
+   Cursor open(Filter filter, LinkedListIterator<MessageReference> iterator) {
+      final Cursor cursor = new Cursor(UUID.randomUUID().toString(), filter, iterator, clock.getAsLong());
+      final List<Cursor> closing = new ArrayList<>();
+      synchronized (this) {
+         removeIdle(closing);
+         final Iterator<Cursor> eldest = cursors.values().iterator();
+         while (cursors.size() >= MAX_CURSORS) {
+            closing.add(eldest.next());
+            eldest.remove();
+         }
+         cursors.put(cursor.getID(), cursor);
+         scheduleExpiry();
+      }
+      closing.forEach(Cursor::close);
+      return cursor;
+   }
+
+   /**
+    * {@return the open cursor with the given ID or {@code null} if it has been closed or has expired}
+    */
+   Cursor get(String id) {
+      final Cursor cursor;
+      synchronized (this) {
+         cursor = cursors.get(id);
+      }
+      if (cursor != null) {
+         cursor.lastAccess = clock.getAsLong();
+      }
+      return cursor;
+   }
+
+   boolean close(String id) {
+      final Cursor cursor;
+      synchronized (this) {
+         cursor = cursors.remove(id);
+      }
+      if (cursor == null) {
+         return false;
+      }
+      cursor.close();
+      return true;
+   }
+
+   synchronized int size() {
+      return cursors.size();
+   }
+
+   void expire() {
+      final List<Cursor> closing = new ArrayList<>();
+      synchronized (this) {
+         expiry = null;
+         removeIdle(closing);
+         scheduleExpiry();
+      }
+      closing.forEach(Cursor::close);
+   }
+
+   private void removeIdle(List<Cursor> closing) {
+      final long now = clock.getAsLong();
+      final Iterator<Cursor> iterator = cursors.values().iterator();
+      while (iterator.hasNext()) {
+         final Cursor cursor = iterator.next();
+         if (now - cursor.lastAccess >= IDLE_TIMEOUT_MILLIS) {
+            closing.add(cursor);
+            iterator.remove();
+         }
+      }
+   }
+
+   private void scheduleExpiry() {
+      if (expiry != null || cursors.isEmpty()) {
+         return;
+      }
+      final ScheduledExecutorService pool = scheduledPool.get();
+      if (pool != null) {
+         expiry = pool.schedule(this::expire, IDLE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      }
+   }
+}
@@ -41,6 +41,7 @@ import org.apache.activemq.artemis.core.management.impl.view.ConsumerField;
 import org.apache.activemq.artemis.core.management.impl.view.ConsumerView;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterHelper;
+import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.security.SecurityStore;
@@ -87,6 +88,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
 
    private MessageCounter counter;
 
+   private final BrowseCursors browseCursors;
 
    private static String toJSON(final Map<String, Object>[] messages) {
       JsonArray array = toJSONMsgArray(messages);
@@ -126,6 +128,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       this.storageManager = storageManager;
       this.securityStore = securityStore;
       this.addressSettingsRepository = addressSettingsRepository;
+      this.browseCursors = new BrowseCursors(server::getScheduledPool);
    }
 
 
@@ -844,6 +847,13 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
          final int attributeSizeLimit = addressSettings.getManagementMessageAttributeSizeLimit();
          final int limit = addressSettings.getManagementBrowsePageSize();
          int count = 0;
+         final List<MessageReference> indexed = getIndexedReferences(filter, limit);
+         if (indexed != null) {
+            for (MessageReference ref : indexed) {
+               messages.add(ref.getMessage().toMap(attributeSizeLimit));
+            }
+            return messages.toArray(new Map[messages.size()]);
+         }
          try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
             try {
                while (iterator.hasNext() && count++ < limit) {
@@ -1093,6 +1103,13 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
             } else {
                final int limit = addressSettingsRepository.getMatch(address).getManagementBrowsePageSize();
                int count = 0;
+               final List<MessageReference> indexed = getIndexedReferences(filter, limit);
+               if (indexed != null) {
+                  for (MessageReference ref : indexed) {
+                     internalComputeMessage(result, null, groupByProperty, ref.getMessage());
+                  }
+                  return result;
+               }
                try (LinkedListIterator<MessageReference> iterator = queue.browserIterator()) {
                   try {
                      while (iterator.hasNext() && count++ < limit) {
@@ -1154,6 +1171,19 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   /**
+    * {@return up to {@code limit} messages matching {@code filter} found through the property indexes of the queue, or
+    * {@code null} if they have to be browsed}
+    */
+   private List<MessageReference> getIndexedReferences(Filter filter, int limit) {
+      final PageSubscription pageSubscription = queue.getPageSubscription();
+      if (pageSubscription != null && pageSubscription.isPaging()) {
+         // the indexes only hold the messages in memory
+         return null;
+      }
+      return queue.getIndexedReferences(filter, limit);
+   }
+
    private void internalComputeMessage(Map<String, Long> result, Filter filter, SimpleString groupByProperty, Message message) {
       if (filter == null || filter.match(message)) {
          if (groupByProperty == null) {
@@ -1851,6 +1881,83 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public String browseAsJSON(String cursor, int pageSize, String filter) throws Exception {
+      // this is a critical task, we need to prevent parallel tasks running
+      try (AutoCloseable lock = server.managementLock()) {
+         if (AuditLogger.isBaseLoggingEnabled()) {
+            AuditLogger.browse(queue, cursor, pageSize, filter);
+         }
+         checkStarted();
+
+         clearIO();
+         try {
+            final AddressSettings addressSettings = addressSettingsRepository.getMatch(address);
+            final int attributeSizeLimit = addressSettings.getManagementMessageAttributeSizeLimit();
+            final int limit = pageSize > 0 ? Math.min(pageSize, addressSettings.getManagementBrowsePageSize()) : addressSettings.getManagementBrowsePageSize();
+
+            final BrowseCursors.Cursor browseCursor;
+            if (cursor == null || cursor.isEmpty()) {
+               browseCursor = browseCursors.open(FilterImpl.createFilter(filter), queue.browserIterator());
+            } else {
+               browseCursor = browseCursors.get(cursor);
+               if (browseCursor == null) {
+                  throw new IllegalArgumentException("Unknown or expired browse cursor " + cursor);
+               }
+            }
+
+            // each message is encoded as soon as it's read, only the JSON of the page is kept
+            final StringBuilder json = new StringBuilder("{\"messages\":[");
+            final int[] count = new int[1];
+            final boolean exhausted = browseCursor.read(limit, ref -> {
+               if (count[0]++ > 0) {
+                  json.append(',');
+               }
+               json.append(JsonUtil.toJsonObject(ref.getMessage().toMap(attributeSizeLimit)));
+            });
+            json.append("],\"cursor\":");
+            if (exhausted) {
+               browseCursors.close(browseCursor.getID());
+               json.append("null");
+            } else {
+               json.append('"').append(browseCursor.getID()).append('"');
+            }
+            json.append('}');
+
+            if (AuditLogger.isResourceLoggingEnabled()) {
+               AuditLogger.browseMessagesSuccess(queue.getName().toString(), count[0]);
+            }
+            return json.toString();
+         } catch (Exception e) {
+            if (!(e instanceof ActiveMQInvalidFilterExpressionException) && !(e instanceof IllegalArgumentException)) {
+               // only log when not caused by user input
+               logger.warn(e.getMessage(), e);
+            }
+            if (AuditLogger.isResourceLoggingEnabled()) {
+               AuditLogger.browseMessagesFailure(queue.getName().toString());
+            }
+            throw new IllegalStateException(e.getMessage());
+         } finally {
+            blockOnIO();
+         }
+      }
+   }
+
+   @Override
+   public boolean browseClose(String cursor) throws Exception {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.browse(queue, cursor);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return cursor != null && browseCursors.close(cursor);
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public void flushExecutor() {
       if (AuditLogger.isBaseLoggingEnabled()) {
@@ -1990,6 +2097,7 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
                        .add(ConsumerField.MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT.getName(), serverConsumer.getMessagesAcknowledgedAwaitingCommit())
                        .add(ConsumerField.LAST_DELIVERED_TIME.getName(), serverConsumer.getLastDeliveredTime())
                        .add(ConsumerField.LAST_ACKNOWLEDGED_TIME.getName(), serverConsumer.getLastAcknowledgedTime())
+                       .add(ConsumerField.ADAPTIVE_WINDOW_SIZE.getName(), serverConsumer.getAdaptiveWindowSize())
                        .add(ConsumerField.STATUS.getName(), ConsumerView.checkConsumerStatus(serverConsumer, server));
 
                jsonArray.add(obj);
@@ -44,6 +44,7 @@ public enum ConsumerField {
    MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT("messagesAcknowledgedAwaitingCommit"),
    LAST_DELIVERED_TIME("lastDeliveredTime"),
    LAST_ACKNOWLEDGED_TIME("lastAcknowledgedTime"),
+   ADAPTIVE_WINDOW_SIZE("adaptiveWindowSize"),
    STATUS("status");
 
 
@@ -78,6 +78,7 @@ public class ConsumerView extends ActiveMQAbstractView<ServerConsumer> {
          .add(ConsumerField.MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT.getName(), toString(consumer.getMessagesAcknowledgedAwaitingCommit()))
          .add(ConsumerField.LAST_DELIVERED_TIME.getName(), consumer.getLastDeliveredTime())
          .add(ConsumerField.LAST_ACKNOWLEDGED_TIME.getName(), consumer.getLastAcknowledgedTime())
+         .add(ConsumerField.ADAPTIVE_WINDOW_SIZE.getName(), toString(consumer.getAdaptiveWindowSize()))
          .add(ConsumerField.STATUS.getName(), ConsumerView.checkConsumerStatus(consumer, server));
 
       return obj;
@@ -115,6 +116,7 @@ public class ConsumerView extends ActiveMQAbstractView<ServerConsumer> {
          case MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT -> consumer.getMessagesAcknowledgedAwaitingCommit();
          case LAST_DELIVERED_TIME -> consumer.getLastDeliveredTime();
          case LAST_ACKNOWLEDGED_TIME -> consumer.getLastAcknowledgedTime();
+         case ADAPTIVE_WINDOW_SIZE -> consumer.getAdaptiveWindowSize();
          case STATUS -> checkConsumerStatus(consumer, server);
          default -> throw new IllegalArgumentException("Unsupported field, " + fieldName);
       };
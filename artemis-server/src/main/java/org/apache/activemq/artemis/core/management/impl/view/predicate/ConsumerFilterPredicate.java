@@ -58,6 +58,7 @@ public class ConsumerFilterPredicate extends ActiveMQFilterPredicate<ServerConsu
          case MESSAGES_DELIVERED_SIZE -> matches(consumer.getMessagesDeliveredSize());
          case MESSAGES_ACKNOWLEDGED -> matches(consumer.getMessagesAcknowledged());
          case MESSAGES_ACKNOWLEDGED_AWAITING_COMMIT -> matches(consumer.getMessagesAcknowledgedAwaitingCommit());
+         case ADAPTIVE_WINDOW_SIZE -> matches(consumer.getAdaptiveWindowSize());
          default -> true;
       };
    }
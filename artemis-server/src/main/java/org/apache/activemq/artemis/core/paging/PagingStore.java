@@ -237,6 +237,12 @@ public interface PagingStore extends ActiveMQComponent, RefCountMessageListener
 
    void execute(Runnable runnable);
 
+   /**
+    * Asynchronously reads a page into memory before a cursor reaches it, if the broker keeps released pages in memory.
+    */
+   default void readAhead(long pageId) {
+   }
+
    ArtemisExecutor getExecutor();
 
    /**
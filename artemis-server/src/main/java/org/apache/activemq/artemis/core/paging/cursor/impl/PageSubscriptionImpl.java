@@ -1023,6 +1023,14 @@ public final class PageSubscriptionImpl implements PageSubscription {
          checkDone();
       }
 
+      synchronized int getAckCount() {
+         return acks == null ? 0 : acks.size();
+      }
+
+      synchronized int getRemovedCount() {
+         return removedReferences == null ? 0 : removedReferences.size();
+      }
+
       public synchronized boolean isRemoved(final int messageNr) {
          // removed references = null means everything is acked and done, so we just return true here
          return completePage != null || removedReferences == null || removedReferences.get(messageNr) != null;
@@ -1183,7 +1191,13 @@ public final class PageSubscriptionImpl implements PageSubscription {
                }
                currentPageIterator.close();
             }
-            currentPage = pageStore.usePage(page);
+            currentPage = pageStore.usePage(page, false);
+            if (currentPage == null && readUndelivered(page)) {
+               return;
+            }
+            if (currentPage == null) {
+               currentPage = pageStore.usePage(page);
+            }
             if (logger.isTraceEnabled()) {
                logger.trace("CursorIterator: getting page {} which will contain {}", page, currentPage.getNumberOfMessages());
             }
@@ -1194,10 +1208,50 @@ public final class PageSubscriptionImpl implements PageSubscription {
          }
       }
 
+      /**
+       * When most of a page that is not in use was already consumed by this subscription, reads from its file only the
+       * messages this iterator would not skip, instead of loading and decoding the whole page for every subscription.
+       * The messages skipped are exactly the ones {@link #moveNext()} would skip.
+       *
+       * @return {@code true} if the page was read this way
+       */
+      private boolean readUndelivered(long pageNr) throws Exception {
+         final PageCursorInfo info = locatePageInfo(pageNr);
+         if (info == null) {
+            return false;
+         }
+         final int consumed = browsing ? info.getAckCount() : info.getRemovedCount();
+         if (consumed == 0) {
+            return false;
+         }
+
+         // PageCursorInfo::getNumberOfMessages would load the whole page, the page object counts it from its index
+         final Page page = pageStore.newPageObject(pageNr);
+         if (consumed * 2L < page.readNumberOfMessages() || !page.open(false)) {
+            return false;
+         }
+         final org.apache.activemq.artemis.utils.collections.LinkedList<PagedMessage> messages;
+         try {
+            messages = page.read(store, browsing ? info::isAck : info::isRemoved);
+         } finally {
+            page.close(false, false);
+         }
+         if (logger.isDebugEnabled()) {
+            logger.debug("CursorIterator: read {} undelivered messages out of page {} on subscription {}", messages.size(), pageNr, cursorId);
+         }
+         page.usageUp();
+         currentPage = page;
+         currentPageIterator = messages.iterator();
+         return true;
+      }
+
       private PagedReference currentDelivery = null;
 
       private volatile PagedReference lastDelivery = null;
 
+      // the page whose successor was already read ahead
+      private long readAheadPage = -1;
+
       private final boolean browsing;
 
       // We only store the position for redeliveries. They will be read from the SoftCache again during delivery.
@@ -1368,6 +1422,7 @@ public final class PageSubscriptionImpl implements PageSubscription {
             PagedMessage message = currentPageIterator.hasNext() ? currentPageIterator.next() : null;
             logger.trace("CursorIterator::internalGetNext:: new reference {}", message);
             if (message != null) {
+               readAhead(message);
                return cursorProvider.newReference(message, PageSubscriptionImpl.this);
             }
 
@@ -1389,6 +1444,21 @@ public final class PageSubscriptionImpl implements PageSubscription {
          }
       }
 
+      /**
+       * Once half of the current page was read, asks the store to load the next one so it's ready when we get there.
+       */
+      private void readAhead(PagedMessage message) {
+         final long pageNr = message.getPageNumber();
+         if (readAheadPage == pageNr || message.getMessageNumber() * 2 < currentPage.getNumberOfMessages()) {
+            return;
+         }
+         readAheadPage = pageNr;
+         final long nextPage = getNextPage();
+         if (nextPage >= 0) {
+            pageStore.readAhead(nextPage);
+         }
+      }
+
       private long getNextPage() {
          long page = currentPage.getPageId() + 1;
 
@@ -19,8 +19,10 @@ package org.apache.activemq.artemis.core.paging.impl;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.io.IOCallback;
@@ -58,10 +60,23 @@ public final class Page  {
       return referenceCounter.increment();
    }
 
+   /**
+    * Increases the usage of a page that is already in use, without going through the lock of its {@link PageCache}.
+    *
+    * @return {@code false} if the page isn't used anymore, as it may be concurrently released
+    */
+   public boolean tryUsageUp() {
+      return referenceCounter.incrementIfPositive();
+   }
+
    public int usageDown() {
       return referenceCounter.decrement();
    }
 
+   public int getUsage() {
+      return referenceCounter.getCount();
+   }
+
    /**
     * to be called when the page is supposed to be released
     */
@@ -73,6 +88,8 @@ public final class Page  {
 
    private boolean suspiciousRecords = false;
 
+   private volatile boolean deleted;
+
    private volatile int numberOfMessages;
 
    private final SequentialFile file;
@@ -89,16 +106,37 @@ public final class Page  {
 
    private ByteBuffer readFileBuffer;
 
+   // the layout of the page file, when all of it is known: because it was read or written from its beginning
+   private PageIndex index;
+
+   private boolean indexStored;
+
+   // where the index of a completed page is stored, away from the lock of its paging store
+   private final Executor indexExecutor;
+
    public Page(final SimpleString storeName,
                final StorageManager storageManager,
                final SequentialFileFactory factory,
                final SequentialFile file,
                final long pageId) throws Exception {
+      this(storeName, storageManager, factory, file, pageId, null);
+   }
+
+   /**
+    * @param indexExecutor stores the index of the page once it is completed, or {@code null} to store it while closing
+    */
+   public Page(final SimpleString storeName,
+               final StorageManager storageManager,
+               final SequentialFileFactory factory,
+               final SequentialFile file,
+               final long pageId,
+               final Executor indexExecutor) throws Exception {
       this.pageId = pageId;
       this.file = file;
       fileFactory = factory;
       this.storageManager = storageManager;
       this.storeName = storeName;
+      this.indexExecutor = indexExecutor;
    }
 
    public long getPageId() {
@@ -121,6 +159,8 @@ public final class Page  {
          }
          messages = read(storageManager);
          if (!wasOpen) {
+            // the page is not being written, its layout won't change anymore
+            storeIndex();
             file.close();
          }
       }
@@ -164,11 +204,100 @@ public final class Page  {
 
       final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
 
-      numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize);
+      final PageIndex readIndex = isIndexSupported() ? new PageIndex() : null;
+
+      numberOfMessages = PageReadWriter.readFromSequentialFile(storage, storeName, fileFactory, file, this.pageId, messages::addTail, onlyLargeMessages ? PageReadWriter.ONLY_LARGE : PageReadWriter.NO_SKIP, this::markFileAsSuspect, this::setSize, readIndex);
+
+      if (readIndex != null && readIndex.getFileSize() == size) {
+         index = readIndex;
+      }
+
+      return messages;
+   }
+
+   /**
+    * Reads only the messages of this page not accepted by {@code skipMessage}, by their message number. The page file
+    * has to be open and no longer written.
+    * <p>
+    * When the layout of the page is known, from a previous read or from its stored index, the skipped messages are not
+    * even read from the file. Otherwise the whole page is read, and its index stored for the next time.
+    */
+   public synchronized LinkedList<PagedMessage> read(StorageManager storage, IntPredicate skipMessage) throws Exception {
+      if (!file.isOpen()) {
+         if (!file.exists()) {
+            return EmptyList.getEmptyList();
+         }
+         throw ActiveMQMessageBundle.BUNDLE.invalidPageIO();
+      }
+
+      final PageIndex pageIndex = loadIndex();
+      if (pageIndex != null) {
+         logger.debug("reading indexed page {} on address = {}", pageId, storeName);
+
+         final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
+         if (PageReadWriter.readIndexed(storage, storeName, fileFactory, file, pageId, pageIndex, skipMessage, messages::addTail)) {
+            numberOfMessages = pageIndex.size();
+            return messages;
+         }
+         // the index doesn't match the file, it will be rebuilt by reading the whole page
+         index = null;
+         indexStored = false;
+      }
+
+      final LinkedList<PagedMessage> allMessages = read(storage);
+      storeIndex();
 
+      final LinkedList<PagedMessage> messages = new LinkedListImpl<>();
+      try (LinkedListIterator<PagedMessage> iter = allMessages.iterator()) {
+         while (iter.hasNext()) {
+            PagedMessage message = iter.next();
+            if (!skipMessage.test(message.getMessageNumber())) {
+               messages.addTail(message);
+            }
+         }
+      }
       return messages;
    }
 
+   private boolean isIndexSupported() {
+      // paging on a database has no directory to store the index into
+      return fileFactory.getDirectory() != null;
+   }
+
+   private synchronized PageIndex loadIndex() throws Exception {
+      if (index == null && isIndexSupported()) {
+         try {
+            index = PageIndex.load(fileFactory, file.getFileName(), file.size());
+         } catch (Exception e) {
+            // the page is scanned instead, and its index stored again
+            logger.debug("Could not load the index of page {} on address {}", pageId, storeName, e);
+            index = null;
+         }
+         indexStored = index != null;
+      }
+      return index;
+   }
+
+   private synchronized void storeIndex() {
+      final PageIndex pageIndex = index;
+      if (pageIndex == null || indexStored || suspiciousRecords || deleted || pageIndex.getFileSize() != size) {
+         return;
+      }
+      try {
+         pageIndex.store(fileFactory, file.getFileName());
+         indexStored = true;
+      } catch (Exception e) {
+         // the index is just an optimization, the page will be scanned instead
+         logger.debug("Could not store the index of page {} on address {}", pageId, storeName, e);
+      }
+   }
+
+   private synchronized void deleteIndex() throws Exception {
+      // under the lock of the page, so a pending store can't write it back
+      indexStored = false;
+      PageIndex.delete(fileFactory, file.getFileName());
+   }
+
    public String debugMessages() throws Exception {
       StringBuilder sb = new StringBuilder();
       LinkedListIterator<PagedMessage> iter = getMessages().iterator();
@@ -194,8 +323,12 @@ public final class Page  {
          throw ActiveMQMessageBundle.BUNDLE.cannotWriteToClosedFile(file);
       }
       addMessage(message);
+      final long position = this.size;
       this.size += PageReadWriter.writeMessage(message, fileFactory, file);
       numberOfMessages++;
+      if (index != null) {
+         index.add((int) position, message.getEncodeSize());
+      }
    }
 
    public void sync() throws Exception {
@@ -231,6 +364,10 @@ public final class Page  {
          isOpen = true;
          size = file.size();
          file.position(0);
+         if (size == 0 && index == null && isIndexSupported()) {
+            // a new page, its layout is known from the writes
+            index = new PageIndex();
+         }
       }
       return isOpen;
    }
@@ -252,10 +389,20 @@ public final class Page  {
       if (sendReplicaClose && storageManager != null) {
          storageManager.pageClosed(storeName, pageId);
       }
+      if (sendReplicaClose) {
+         // the page was completed
+         if (indexExecutor != null) {
+            indexExecutor.execute(this::storeIndex);
+         } else {
+            storeIndex();
+         }
+      }
       file.close(waitSync, waitSync);
    }
 
    public boolean delete(final LinkedList<PagedMessage> messages) throws Exception {
+      deleted = true;
+
       if (storageManager != null) {
          storageManager.pageDeleted(storeName, pageId);
       }
@@ -288,6 +435,9 @@ public final class Page  {
                } else {
                   file.delete();
                }
+               if (isIndexSupported()) {
+                  deleteIndex();
+               }
                referenceCounter.exhaust();
             } catch (Exception e) {
                ActiveMQServerLogger.LOGGER.pageDeleteError(e);
@@ -313,6 +463,12 @@ public final class Page  {
       }
 
       try {
+         final PageIndex storedIndex = loadIndex();
+         if (storedIndex != null) {
+            return storedIndex.size();
+         }
+
+         final PageIndex readIndex = isIndexSupported() ? new PageIndex() : null;
          int numberOfMessages = PageReadWriter.readFromSequentialFile(this.storageManager,
                                                                       this.storeName,
                                                                       this.fileFactory,
@@ -321,7 +477,13 @@ public final class Page  {
                                                                       null,
                                                                       PageReadWriter.SKIP_ALL,
                                                                       null,
-                                                                      null);
+                                                                      null,
+                                                                      readIndex);
+         if (!wasOpen && readIndex != null && readIndex.getFileSize() == file.size()) {
+            index = readIndex;
+            size = file.size();
+            storeIndex();
+         }
          if (logger.isDebugEnabled()) {
             logger.debug(">>> Reading numberOfMessages page {}, returning {}", this.pageId, numberOfMessages);
          }
@@ -333,6 +495,10 @@ public final class Page  {
       }
    }
 
+   public boolean isDeleted() {
+      return deleted;
+   }
+
    public int getNumberOfMessages() {
       return numberOfMessages;
    }
@@ -341,6 +507,23 @@ public final class Page  {
       return size;
    }
 
+   /**
+    * {@return the estimate of the heap used by the messages read from this page, or the size of its file if they were
+    * not read}
+    */
+   public synchronized long getMemoryEstimate() {
+      if (messages == null) {
+         return size;
+      }
+      long memoryEstimate = 0;
+      try (LinkedListIterator<PagedMessage> iterator = messages.iterator()) {
+         while (iterator.hasNext()) {
+            memoryEstimate += iterator.next().getMessage().getMemoryEstimate();
+         }
+      }
+      return memoryEstimate;
+   }
+
    private void setSize(long size) {
       this.size = size;
    }
@@ -18,40 +18,193 @@ package org.apache.activemq.artemis.core.paging.impl;
 
 import java.util.function.Consumer;
 
-import io.netty.util.collection.LongObjectHashMap;
 import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.utils.collections.ConcurrentLongHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
 /**
- * This is a simple cache where we keep Page objects only while they are being used.
+ * This is a simple cache where we keep Page objects while they are being used.
+ * <p>
+ * Looking up a page in use doesn't lock: many cursors over the same address can share its pages concurrently. Only
+ * loading a page, and releasing it once its usage drops to 0, lock on one of a few stripes, chosen by page id, so that
+ * a page is never loaded twice nor released while being used again.
+ * <p>
+ * Once released, pages may still be kept in memory by the broker wide {@link SharedPageCache}, from where they are
+ * taken back on their next use.
  */
 public class PageCache {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // must be a power of 2
+   private static final int STRIPES = 16;
+
+   /**
+    * Reads a page that is not in use.
+    */
+   @FunctionalInterface
+   public interface PageLoader {
+
+      /**
+       * {@return the page read from its file, or {@code null} if there is no such page}
+       */
+      Page load(long pageID) throws Exception;
+   }
+
    private final PagingStore owner;
 
+   private final SharedPageCache sharedCache;
+
+   private final ConcurrentLongHashMap<Page> usedPages = new ConcurrentLongHashMap<>();
+
+   private final Object[] locks = new Object[STRIPES];
+
    public PageCache(PagingStore owner) {
+      this(owner, null);
+   }
+
+   public PageCache(PagingStore owner, SharedPageCache sharedCache) {
       this.owner = owner;
+      this.sharedCache = sharedCache != null && sharedCache.isEnabled() ? sharedCache : null;
+      for (int i = 0; i < STRIPES; i++) {
+         locks[i] = new Object();
+      }
    }
 
-   private final LongObjectHashMap<Page> usedPages = new LongObjectHashMap<>();
+   private Object lock(long pageID) {
+      // consecutive pages, the ones cursors go through together, never share a lock
+      return locks[(int) (pageID & (STRIPES - 1))];
+   }
 
-   public synchronized Page get(long pageID) {
-      return usedPages.get(pageID);
+   /**
+    * {@return the page with its usage increased, after reading it with {@code loader} if it is neither in use nor
+    * retained; {@code null} if {@code loader} is {@code null} or doesn't find the page}
+    */
+   public Page use(long pageID, PageLoader loader) throws Exception {
+      Page page = usedPages.get(pageID);
+      if (page != null && page.tryUsageUp()) {
+         return page;
+      }
+      synchronized (lock(pageID)) {
+         page = lookup(pageID);
+         if (page == null && loader != null) {
+            page = loader.load(pageID);
+            if (page != null) {
+               inject(page);
+            }
+         }
+         if (page != null) {
+            page.usageUp();
+         }
+         return page;
+      }
+   }
+
+   /**
+    * {@return the page if it is in use, or if it was retained after being used; in this case it is back in use, and
+    * the caller has to increase its usage}
+    */
+   public Page get(long pageID) {
+      final Page page = usedPages.get(pageID);
+      if (page != null || sharedCache == null) {
+         return page;
+      }
+      synchronized (lock(pageID)) {
+         return lookup(pageID);
+      }
    }
 
-   public synchronized void forEachUsedPage(Consumer<Page> consumerPage) {
-      usedPages.values().forEach(consumerPage);
+   // to be called holding the lock of pageID
+   private Page lookup(long pageID) {
+      Page page = usedPages.get(pageID);
+      if (page == null && sharedCache != null) {
+         page = sharedCache.take(this, pageID);
+         if (page != null) {
+            sharedCache.hit();
+            usedPages.put(pageID, page);
+            if (logger.isDebugEnabled()) {
+               logger.debug("+++ Reusing retained page {} on UsedPages for destination {}", pageID, owner.getAddress());
+            }
+         }
+      }
+      return page;
+   }
+
+   /**
+    * To be called when a page had to be read from its file.
+    */
+   public void onMiss() {
+      if (sharedCache != null) {
+         sharedCache.miss();
+      }
+   }
+
+   public boolean isReadAheadEnabled() {
+      return sharedCache != null;
+   }
+
+   /**
+    * {@return whether the page is in use or retained, i.e. there is no need to read it ahead}
+    */
+   public boolean contains(long pageID) {
+      return usedPages.containsKey(pageID) || sharedCache != null && sharedCache.contains(this, pageID);
+   }
+
+   /**
+    * Retains a page that was just read ahead of the cursors, before any of them uses it.
+    */
+   public void injectReadAhead(Page page) {
+      if (sharedCache == null) {
+         return;
+      }
+      synchronized (lock(page.getPageId())) {
+         if (contains(page.getPageId())) {
+            return;
+         }
+         page.releaseTask(this::removePage);
+         sharedCache.readAhead();
+         sharedCache.retain(this, page);
+      }
+   }
+
+   /**
+    * Drops a page from the cache, used or retained, as it is about to be deleted.
+    */
+   public void discard(Page page) {
+      synchronized (lock(page.getPageId())) {
+         usedPages.remove(page.getPageId());
+         if (sharedCache != null) {
+            sharedCache.take(this, page.getPageId());
+         }
+      }
+   }
+
+   /**
+    * Drops all the retained pages, as the paging store is stopping.
+    */
+   public void discardRetained() {
+      if (sharedCache != null) {
+         sharedCache.discard(this);
+      }
+   }
+
+   public void forEachUsedPage(Consumer<Page> consumerPage) {
+      usedPages.forEach((pageID, page) -> consumerPage.accept(page));
    }
 
    public int size() {
       return usedPages.size();
    }
 
-   public synchronized void injectPage(Page page) {
+   public void injectPage(Page page) {
+      synchronized (lock(page.getPageId())) {
+         inject(page);
+      }
+   }
+
+   private void inject(Page page) {
       if (logger.isDebugEnabled()) {
          logger.debug("+++ Injecting page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
       }
@@ -59,14 +212,29 @@ public class PageCache {
       usedPages.put(page.getPageId(), page);
    }
 
-
-   public synchronized void removePage(Page page) {
-      if (usedPages.remove(page.getPageId()) != null) {
-         if (logger.isDebugEnabled()) {
-            logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
+   public void removePage(Page page) {
+      synchronized (lock(page.getPageId())) {
+         if (page.getUsage() > 0 && !page.isDeleted()) {
+            // used again since its usage dropped to 0
+            return;
+         }
+         // Page::equals compares page ids: this page may have been released already and loaded again
+         if (usedPages.get(page.getPageId()) == page) {
+            usedPages.remove(page.getPageId());
+            if (logger.isDebugEnabled()) {
+               logger.debug("--- Releasing page {} on UsedPages for destination {}", page.getPageId(), owner.getAddress());
+            }
+            if (sharedCache != null && !page.isDeleted()) {
+               sharedCache.retain(this, page);
+            }
          }
       }
    }
 
+   @Override
+   public String toString() {
+      return "PageCache(address=" + owner.getAddress() + ")";
+   }
+
 
 }
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.activemq.artemis.core.io.SequentialFile;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * The position and encoded size of every message on a page file. Once the page is no longer written the index is
+ * stored next to it, as {@code <page file name>.idx}, so the page can be counted without being scanned and a cursor can
+ * read only the messages it still has to deliver.
+ * <p>
+ * The index is only a cache of the page layout: it is never replicated nor synced, and it is ignored (and the page
+ * scanned again) whenever it doesn't cover the exact size of the page file or its records don't follow each other.
+ */
+final class PageIndex {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   static final String EXTENSION = ".idx";
+
+   private static final byte VERSION = 1;
+
+   // version + size of the page file + number of messages
+   private static final int HEADER_SIZE = DataConstants.SIZE_BYTE + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
+
+   // position + encoded size
+   private static final int ENTRY_SIZE = DataConstants.SIZE_INT + DataConstants.SIZE_INT;
+
+   private int[] positions;
+
+   private int[] encodedSizes;
+
+   private int count;
+
+   // the number of bytes of the page file described by this index
+   private long fileSize;
+
+   PageIndex() {
+      this(16);
+   }
+
+   private PageIndex(int capacity) {
+      positions = new int[capacity];
+      encodedSizes = new int[capacity];
+   }
+
+   /**
+    * Adds the message written at {@code position}, right after the previous one.
+    */
+   void add(int position, int encodedSize) {
+      if (count == positions.length) {
+         positions = Arrays.copyOf(positions, count * 2);
+         encodedSizes = Arrays.copyOf(encodedSizes, count * 2);
+      }
+      positions[count] = position;
+      encodedSizes[count] = encodedSize;
+      count++;
+      fileSize = position + encodedSize + PageReadWriter.SIZE_RECORD;
+   }
+
+   int size() {
+      return count;
+   }
+
+   int getPosition(int messageNumber) {
+      return positions[messageNumber];
+   }
+
+   int getEncodedSize(int messageNumber) {
+      return encodedSizes[messageNumber];
+   }
+
+   long getFileSize() {
+      return fileSize;
+   }
+
+   static String indexFileName(String pageFileName) {
+      return pageFileName + EXTENSION;
+   }
+
+   void store(SequentialFileFactory fileFactory, String pageFileName) throws Exception {
+      final int bufferSize = HEADER_SIZE + count * ENTRY_SIZE;
+      final ByteBuffer buffer = fileFactory.newBuffer(bufferSize);
+      try {
+         buffer.clear();
+         buffer.put(VERSION);
+         buffer.putLong(fileSize);
+         buffer.putInt(count);
+         for (int i = 0; i < count; i++) {
+            buffer.putInt(positions[i]);
+            buffer.putInt(encodedSizes[i]);
+         }
+         buffer.flip();
+
+         final SequentialFile file = fileFactory.createSequentialFile(indexFileName(pageFileName));
+         if (file.exists()) {
+            // a previous index of the page, which only had fewer messages
+            file.delete();
+         }
+         file.open();
+         try {
+            file.position(0);
+            // a partial write is detected when loading, no need to sync
+            file.writeDirect(buffer, false);
+         } finally {
+            file.close();
+         }
+      } finally {
+         fileFactory.releaseBuffer(buffer);
+      }
+   }
+
+   /**
+    * {@return the stored index of {@code pageFileName} if it describes exactly {@code pageFileSize} bytes, otherwise
+    * {@code null}}
+    */
+   static PageIndex load(SequentialFileFactory fileFactory, String pageFileName, long pageFileSize) throws Exception {
+      final SequentialFile file = fileFactory.createSequentialFile(indexFileName(pageFileName));
+      if (!file.exists()) {
+         return null;
+      }
+      file.open();
+      try {
+         final long indexFileSize = file.size();
+         if (indexFileSize < HEADER_SIZE || (indexFileSize - HEADER_SIZE) % ENTRY_SIZE != 0) {
+            logger.debug("Ignoring index {} with an invalid size of {} bytes", file.getFileName(), indexFileSize);
+            return null;
+         }
+         final ByteBuffer buffer = fileFactory.newBuffer((int) indexFileSize);
+         try {
+            buffer.clear();
+            buffer.limit((int) indexFileSize);
+            file.position(0);
+            file.read(buffer);
+
+            final byte version = buffer.get();
+            final long fileSize = buffer.getLong();
+            final int count = buffer.getInt();
+            if (version != VERSION || fileSize != pageFileSize || count != (indexFileSize - HEADER_SIZE) / ENTRY_SIZE) {
+               logger.debug("Ignoring index {} describing {} bytes of page {} with {} bytes", file.getFileName(), fileSize, pageFileName, pageFileSize);
+               return null;
+            }
+
+            final PageIndex index = new PageIndex(Math.max(1, count));
+            for (int i = 0; i < count; i++) {
+               final int position = buffer.getInt();
+               final int encodedSize = buffer.getInt();
+               // the records of a page are written one after the other from its beginning
+               if (position != index.fileSize || encodedSize <= 0) {
+                  logger.debug("Ignoring index {} with message {} at {} and {} bytes, expected at {}", file.getFileName(), i, position, encodedSize, index.fileSize);
+                  return null;
+               }
+               index.add(position, encodedSize);
+            }
+            if (index.fileSize != fileSize) {
+               return null;
+            }
+            return index;
+         } finally {
+            fileFactory.releaseBuffer(buffer);
+         }
+      } finally {
+         file.close();
+      }
+   }
+
+   static void delete(SequentialFileFactory fileFactory, String pageFileName) throws Exception {
+      final SequentialFile file = fileFactory.createSequentialFile(indexFileName(pageFileName));
+      if (file.exists()) {
+         file.delete();
+      }
+   }
+}
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.paging.impl;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -126,6 +127,24 @@ public class PageReadWriter {
                                              PageRecordFilter skipRecord,
                                              SuspectFileCallback suspectFileCallback,
                                              ReadCallback readCallback) throws Exception {
+      return readFromSequentialFile(storage, storeName, fileFactory, file, pageId, messages, skipRecord, suspectFileCallback, readCallback, null);
+   }
+
+   /**
+    * Same as {@link #readFromSequentialFile(StorageManager, SimpleString, SequentialFileFactory, SequentialFile, long,
+    * Consumer, PageRecordFilter, SuspectFileCallback, ReadCallback)}, also adding every valid record, skipped or not,
+    * to {@code index} when it is not {@code null}.
+    */
+   static int readFromSequentialFile(StorageManager storage,
+                                     SimpleString storeName,
+                                     SequentialFileFactory fileFactory,
+                                     SequentialFile file,
+                                     long pageId,
+                                     Consumer<PagedMessage> messages,
+                                     PageRecordFilter skipRecord,
+                                     SuspectFileCallback suspectFileCallback,
+                                     ReadCallback readCallback,
+                                     PageIndex index) throws Exception {
       final int fileSize = (int) file.size();
       file.position(0);
       int processedBytes = 0;
@@ -200,6 +219,10 @@ public class PageReadWriter {
                            msg.setPageNumber(pageId).setMessageNumber(totalMessageCount);
                         }
 
+                        if (index != null) {
+                           index.add(processedBytes, encodedSize);
+                        }
+
                         totalMessageCount++;
                         fileBuffer.position(endPosition + 1);
                         processedBytes = nextPosition;
@@ -255,6 +278,71 @@ public class PageReadWriter {
       }
    }
 
+   /**
+    * Reads and decodes only the messages of the page not accepted by {@code skipMessage}, seeking to each one through
+    * {@code index}.
+    *
+    * @return {@code false} if a record didn't match the index, in which case the page has to be scanned instead
+    */
+   static boolean readIndexed(StorageManager storage,
+                              SimpleString storeName,
+                              SequentialFileFactory fileFactory,
+                              SequentialFile file,
+                              long pageId,
+                              PageIndex index,
+                              IntPredicate skipMessage,
+                              Consumer<PagedMessage> messages) throws Exception {
+      int maxRecordSize = 0;
+      for (int i = 0; i < index.size(); i++) {
+         if (!skipMessage.test(i)) {
+            maxRecordSize = Math.max(maxRecordSize, index.getEncodedSize(i) + SIZE_RECORD);
+         }
+      }
+      if (maxRecordSize == 0) {
+         return true;
+      }
+
+      final ByteBuffer fileBuffer = fileFactory.newBuffer(maxRecordSize);
+      try {
+         final ChannelBufferWrapper fileBufferWrapper = wrapWhole(fileBuffer);
+         for (int i = 0; i < index.size(); i++) {
+            if (skipMessage.test(i)) {
+               continue;
+            }
+            final int encodedSize = index.getEncodedSize(i);
+            final int recordSize = encodedSize + SIZE_RECORD;
+
+            fileBuffer.clear();
+            fileBuffer.limit(recordSize);
+            file.position(index.getPosition(i));
+            file.read(fileBuffer);
+
+            if (fileBuffer.remaining() < recordSize || fileBuffer.get(0) != START_BYTE || fileBuffer.getInt(1) != encodedSize || fileBuffer.get(recordSize - 1) != END_BYTE) {
+               logger.debug("Message {} on {} doesn't match its index, ignoring the index", i, file.getFileName());
+               return false;
+            }
+
+            fileBufferWrapper.setIndex(DataConstants.SIZE_BYTE + DataConstants.SIZE_INT, recordSize - 1);
+
+            final PagedMessageImpl msg = new PagedMessageImpl(encodedSize, storage);
+            msg.decode(fileBufferWrapper);
+            msg.initMessage(storage);
+
+            assert validateLargeMessageStorageManager(msg);
+
+            if (logger.isTraceEnabled()) {
+               logger.trace("Reading indexed message {} on pageId={} for address={}", msg, pageId, storeName);
+            }
+
+            msg.setPageNumber(pageId).setMessageNumber(i);
+            messages.accept(msg);
+         }
+         return true;
+      } finally {
+         fileFactory.releaseBuffer(fileBuffer);
+      }
+   }
+
    private static ByteBuffer readIntoFileBufferIfNecessary(SequentialFileFactory fileFactory, SequentialFile file, ByteBuffer fileBuffer, int requiredBytes, boolean direct) throws Exception {
 
       final int remaining = fileBuffer.remaining();
@@ -119,6 +119,8 @@ public final class PagingManagerImpl implements PagingManager {
 
    private final SimpleString managementAddress;
 
+   private final SharedPageCache sharedPageCache;
+
    // for tests.. not part of the API
    public void replacePageStoreFactory(PagingStoreFactory factory) {
       this.pagingStoreFactory = factory;
@@ -135,6 +137,16 @@ public final class PagingManagerImpl implements PagingManager {
                             final long maxMessages,
                             final SimpleString managementAddress,
                             final ActiveMQServer server) {
+      this(pagingSPI, addressSettingsRepository, maxSize, maxMessages, managementAddress, server, -1);
+   }
+
+   public PagingManagerImpl(final PagingStoreFactory pagingSPI,
+                            final HierarchicalRepository<AddressSettings> addressSettingsRepository,
+                            final long maxSize,
+                            final long maxMessages,
+                            final SimpleString managementAddress,
+                            final ActiveMQServer server,
+                            final long pageCacheMaxSize) {
       pagingStoreFactory = pagingSPI;
       this.addressSettingsRepository = addressSettingsRepository;
       addressSettingsRepository.registerListener(this);
@@ -146,6 +158,7 @@ public final class PagingManagerImpl implements PagingManager {
       this.managerExecutor = pagingSPI.newExecutor();
       this.managementAddress = managementAddress;
       this.server = server;
+      this.sharedPageCache = pageCacheMaxSize > 0 ? new SharedPageCache(pageCacheMaxSize) : null;
    }
 
    SizeAwareMetric getSizeAwareMetric() {
@@ -171,6 +184,11 @@ public final class PagingManagerImpl implements PagingManager {
       return maxMessages;
    }
 
+   @Override
+   public SharedPageCache getSharedPageCache() {
+      return sharedPageCache;
+   }
+
    public PagingManagerImpl(final PagingStoreFactory pagingSPI,
                             final HierarchicalRepository<AddressSettings> addressSettingsRepository) {
       this(pagingSPI, addressSettingsRepository, -1, -1, null, null);
@@ -84,7 +84,7 @@ public class PagingStoreImpl implements PagingStore {
 
    private final DecimalFormat format = new DecimalFormat("000000000");
 
-   private final PageCache usedPages = new PageCache(this);
+   private final PageCache usedPages;
 
    // This is updated and read by the Page's executor thread
    private long currentPageSize = 0;
@@ -204,6 +204,8 @@ public class PagingStoreImpl implements PagingStore {
 
       this.pagingManager = pagingManager;
 
+      this.usedPages = new PageCache(this, pagingManager.getSharedPageCache());
+
       this.fileFactory = fileFactory;
 
       this.storeFactory = storeFactory;
@@ -655,6 +657,8 @@ public class PagingStoreImpl implements PagingStore {
          page.close(true);
          currentPage = null;
       }
+
+      usedPages.discardRetained();
    }
 
    @Override
@@ -667,6 +671,28 @@ public class PagingStoreImpl implements PagingStore {
       executor.execute(run);
    }
 
+   @Override
+   public void readAhead(final long pageId) {
+      if (!usedPages.isReadAheadEnabled() || pageId >= currentPageId || usedPages.contains(pageId)) {
+         return;
+      }
+      executor.execute(() -> {
+         try {
+            if (!running || usedPages.contains(pageId)) {
+               return;
+            }
+            final Page page = newPageObject(pageId);
+            if (page.getFile().exists()) {
+               page.getMessages();
+               usedPages.injectReadAhead(page);
+            }
+         } catch (Exception e) {
+            // the page will just be read when a cursor reaches it
+            logger.debug("Could not read ahead page {} on address {}", pageId, address, e);
+         }
+      });
+   }
+
    @Override
    public void flushExecutors() {
       FutureLatch future = new FutureLatch();
@@ -905,7 +931,7 @@ public class PagingStoreImpl implements PagingStore {
 
       SequentialFile file = factory.createSequentialFile(fileName);
 
-      Page page = new Page(storeName, storageManager, factory, file, pageNumber);
+      Page page = new Page(storeName, storageManager, factory, file, pageNumber, executor);
 
       return page;
    }
@@ -922,35 +948,33 @@ public class PagingStoreImpl implements PagingStore {
 
    @Override
    public Page usePage(final long pageId, final boolean createEntry, final boolean createFile) {
-      synchronized (usedPages) {
-         try {
-            Page page = usedPages.get(pageId);
-            if (createEntry && page == null) {
-               page = newPageObject(pageId);
-               if (page.getFile().exists()) {
-                  page.getMessages();
-                  injectPage(page);
-               } else {
-                  if (!createFile) {
-                     page = null;
-                  }
-               }
-            }
-            if (page != null) {
-               page.usageUp();
-            }
-            return page;
-         } catch (Exception e) {
-            logger.warn(e.getMessage(), e);
-            if (fileFactory != null) {
-               SequentialFile file = fileFactory.createSequentialFile(createFileName(pageId));
-               fileFactory.onIOError(e, e.getMessage(), file);
-            }
-            // in most cases this exception will not happen since the onIOError should halt the VM
-            // it could eventually happen in tests though
-            throw new RuntimeException(e.getMessage(), e);
+      try {
+         Page page = usedPages.use(pageId, createEntry ? this::readPage : null);
+         if (page == null && createEntry && createFile) {
+            page = newPageObject(pageId);
+            page.usageUp();
+         }
+         return page;
+      } catch (Exception e) {
+         logger.warn(e.getMessage(), e);
+         if (fileFactory != null) {
+            SequentialFile file = fileFactory.createSequentialFile(createFileName(pageId));
+            fileFactory.onIOError(e, e.getMessage(), file);
          }
+         // in most cases this exception will not happen since the onIOError should halt the VM
+         // it could eventually happen in tests though
+         throw new RuntimeException(e.getMessage(), e);
+      }
+   }
+
+   private Page readPage(final long pageId) throws Exception {
+      final Page page = newPageObject(pageId);
+      if (!page.getFile().exists()) {
+         return null;
       }
+      usedPages.onMiss();
+      page.getMessages();
+      return page;
    }
 
 
@@ -1027,6 +1051,8 @@ public class PagingStoreImpl implements PagingStore {
 
          if (page != null && page.getFile().exists()) {
             page.usageDown();
+            // the page is about to be deleted, it can't be retained after its last use
+            usedPages.discard(page);
             // we only decrement numberOfPages if the file existed
             // it could have been removed by a previous delete
             // on this case we just need to ignore this and move on
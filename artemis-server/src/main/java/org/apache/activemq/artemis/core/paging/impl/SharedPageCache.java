@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Keeps the pages no cursor is using anymore in memory, across every paging store of the broker, up to a total of
+ * {@code maxSize} bytes of the estimated heap used by their decoded messages. When the budget is exceeded the least
+ * recently used pages are dropped.
+ * <p>
+ * The pages are spread by store and page ID over segments, each with its own lock, least recently used order and an
+ * equal share of the budget, so the paging stores of the broker don't contend on a single lock.
+ * <p>
+ * A page is retained when the last cursor releases it, or when it is read ahead of a cursor, and it's taken back by
+ * the {@link PageCache} of its store on the next use. This instance never calls back into a {@link PageCache}, so it
+ * can always be called while holding the lock of one.
+ */
+public final class SharedPageCache {
+
+   private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+   private static final int MAX_SEGMENTS = 16;
+
+   // a segment isn't made smaller than this, so the budget of a small cache isn't split below the size of a page
+   private static final long MIN_SEGMENT_SIZE = 10L * 1024 * 1024;
+
+   private record Key(PageCache cache, long pageId) {
+   }
+
+   private record Retained(Page page, long memoryEstimate) {
+   }
+
+   private final class Segment {
+
+      private final long maxSize;
+
+      // in access order, the eldest entry is the least recently used page
+      private final LinkedHashMap<Key, Retained> pages = new LinkedHashMap<>(16, 0.75f, true);
+
+      private long size;
+
+      private Segment(long maxSize) {
+         this.maxSize = maxSize;
+      }
+
+      synchronized void retain(Key key, Retained retained) {
+         final Retained previous = pages.put(key, retained);
+         if (previous != null) {
+            size -= previous.memoryEstimate();
+         }
+         size += retained.memoryEstimate();
+
+         final Iterator<Map.Entry<Key, Retained>> eldest = pages.entrySet().iterator();
+         while (size > maxSize && eldest.hasNext()) {
+            final Map.Entry<Key, Retained> entry = eldest.next();
+            eldest.remove();
+            size -= entry.getValue().memoryEstimate();
+            evictions.increment();
+            if (logger.isDebugEnabled()) {
+               logger.debug("Evicting page {} of {} from the shared page cache", entry.getKey().pageId(), entry.getKey().cache());
+            }
+         }
+      }
+
+      synchronized Page take(Key key) {
+         if (pages.isEmpty()) {
+            return null;
+         }
+         final Retained retained = pages.remove(key);
+         if (retained == null) {
+            return null;
+         }
+         size -= retained.memoryEstimate();
+         return retained.page();
+      }
+
+      synchronized boolean contains(Key key) {
+         return pages.containsKey(key);
+      }
+
+      synchronized void discard(PageCache cache) {
+         pages.entrySet().removeIf(entry -> {
+            if (entry.getKey().cache() == cache) {
+               size -= entry.getValue().memoryEstimate();
+               return true;
+            }
+            return false;
+         });
+      }
+
+      synchronized long getSize() {
+         return size;
+      }
+
+      synchronized int getPageCount() {
+         return pages.size();
+      }
+   }
+
+   private final long maxSize;
+
+   private final Segment[] segments;
+
+   private final LongAdder hits = new LongAdder();
+
+   private final LongAdder misses = new LongAdder();
+
+   private final LongAdder evictions = new LongAdder();
+
+   private final LongAdder readAheads = new LongAdder();
+
+   public SharedPageCache(long maxSize) {
+      this(maxSize, defaultSegments(maxSize));
+   }
+
+   /**
+    * @param segments the number of segments, a power of 2
+    */
+   SharedPageCache(long maxSize, int segments) {
+      if (Integer.bitCount(segments) != 1) {
+         throw new IllegalArgumentException("segments must be a power of 2: " + segments);
+      }
+      this.maxSize = maxSize;
+      this.segments = new Segment[segments];
+      for (int i = 0; i < segments; i++) {
+         this.segments[i] = new Segment(maxSize / segments);
+      }
+   }
+
+   private static int defaultSegments(long maxSize) {
+      final int processors = Runtime.getRuntime().availableProcessors();
+      int segments = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, processors)));
+      while (segments > 1 && maxSize / segments < MIN_SEGMENT_SIZE) {
+         segments >>= 1;
+      }
+      return segments;
+   }
+
+   public boolean isEnabled() {
+      return maxSize > 0;
+   }
+
+   public long getMaxSize() {
+      return maxSize;
+   }
+
+   private Segment segment(Key key) {
+      final int hash = key.hashCode();
+      return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+   }
+
+   /**
+    * Retains a page no longer used by any cursor, evicting the least recently used pages of its segment if needed.
+    */
+   void retain(PageCache cache, Page page) {
+      if (!isEnabled()) {
+         return;
+      }
+      final Key key = new Key(cache, page.getPageId());
+      final Segment segment = segment(key);
+      // estimated before taking the lock of the segment, as it goes through the messages of the page
+      final long memoryEstimate = page.getMemoryEstimate();
+      if (memoryEstimate > segment.maxSize) {
+         return;
+      }
+      segment.retain(key, new Retained(page, memoryEstimate));
+   }
+
+   /**
+    * {@return the retained page, which isn't retained anymore, or {@code null} if it wasn't retained}
+    */
+   Page take(PageCache cache, long pageId) {
+      final Key key = new Key(cache, pageId);
+      return segment(key).take(key);
+   }
+
+   boolean contains(PageCache cache, long pageId) {
+      final Key key = new Key(cache, pageId);
+      return segment(key).contains(key);
+   }
+
+   /**
+    * Drops every page retained for {@code cache}.
+    */
+   void discard(PageCache cache) {
+      for (Segment segment : segments) {
+         segment.discard(cache);
+      }
+   }
+
+   void hit() {
+      hits.increment();
+   }
+
+   void miss() {
+      misses.increment();
+   }
+
+   void readAhead() {
+      readAheads.increment();
+   }
+
+   public long getSize() {
+      long size = 0;
+      for (Segment segment : segments) {
+         size += segment.getSize();
+      }
+      return size;
+   }
+
+   public int getPageCount() {
+      int pageCount = 0;
+      for (Segment segment : segments) {
+         pageCount += segment.getPageCount();
+      }
+      return pageCount;
+   }
+
+   public long getHits() {
+      return hits.sum();
+   }
+
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   public long getEvictions() {
+      return evictions.sum();
+   }
+
+   public long getReadAheads() {
+      return readAheads.sum();
+   }
+}
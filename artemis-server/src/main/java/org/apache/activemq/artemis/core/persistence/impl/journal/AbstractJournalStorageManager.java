@@ -1035,8 +1035,10 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
       Map<Long, Message> messages = new HashMap<>();
       try (ArtemisCloseable lock = closeableReadLock()) {
+         final long loadStart = System.nanoTime();
          messageJournal.setRemoveExtraFilesOnLoad(true);
          JournalLoadInformation info = messageJournal.load(records, preparedTransactions, new LargeMessageTXFailureCallback(this));
+         final long journalRead = System.nanoTime();
 
          List<LargeServerMessage> largeMessages = new ArrayList<>();
 
@@ -1388,10 +1390,16 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
          // Release the memory as soon as not needed any longer
          records = null;
 
+         final long recordsDecoded = System.nanoTime();
+
          journalLoader.handleAddMessage(queueMap);
 
+         final long queuesRebuilt = System.nanoTime();
+
          loadPreparedTransactions(postOffice, pagingManager, resourceManager, queueInfos, preparedTransactions, this::failedToPrepareException, pageSubscriptions, pendingLargeMessages, storedLargeMessages, journalLoader);
 
+         final long transactionsLoaded = System.nanoTime();
+
          for (PageSubscription sub : pageSubscriptions.values()) {
             sub.getCounter().processReload();
          }
@@ -1421,6 +1429,14 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
          checkInvalidPageTransactions(pagingManager, invalidPageTransactions);
 
+         final long loadEnd = System.nanoTime();
+         ActiveMQServerLogger.LOGGER.messageJournalLoaded(totalSize, TimeUnit.NANOSECONDS.toMillis(loadEnd - loadStart),
+                                                          TimeUnit.NANOSECONDS.toMillis(journalRead - loadStart),
+                                                          TimeUnit.NANOSECONDS.toMillis(recordsDecoded - journalRead),
+                                                          TimeUnit.NANOSECONDS.toMillis(queuesRebuilt - recordsDecoded),
+                                                          TimeUnit.NANOSECONDS.toMillis(transactionsLoaded - queuesRebuilt),
+                                                          TimeUnit.NANOSECONDS.toMillis(loadEnd - transactionsLoaded));
+
          journalLoaded = true;
          return info;
       }
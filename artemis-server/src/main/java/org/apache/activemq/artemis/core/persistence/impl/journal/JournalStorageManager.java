@@ -169,6 +169,10 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
 
       journalFF.setDatasync(config.isJournalDatasync());
 
+      if (config.getJournalBufferTimeoutMax() > 0) {
+         journalFF.setBufferAdaptiveTimeout(Math.max(0, config.getJournalBufferTimeoutMin()), config.getJournalBufferTimeoutMax());
+      }
+
 
       int fileSize = fixJournalFileSize(config.getJournalFileSize(), journalFF.getAlignment());
       Journal localMessage = createMessageJournal(config, criticalErrorListener, fileSize);
@@ -211,7 +215,7 @@ public class JournalStorageManager extends AbstractJournalStorageManager {
    protected Journal createMessageJournal(Configuration config,
                                         IOCriticalErrorListener criticalErrorListener,
                                         int fileSize) {
-      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFF, ACTIVEMQ_DATA, "amq", journalFF.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles());
+      return new JournalImpl(ioExecutorFactory, fileSize, config.getJournalMinFiles(), config.getJournalPoolFiles(), config.getJournalCompactMinFiles(), config.getJournalCompactPercentage(), config.getJournalFileOpenTimeout(), journalFF, ACTIVEMQ_DATA, "amq", journalFF.getMaxIO(), 0, criticalErrorListener, config.getJournalMaxAtticFiles()).setLoadParallelism(config.getJournalLoadParallelism());
    }
 
    // Life Cycle Handlers
@@ -178,6 +178,20 @@ public interface PostOffice extends ActiveMQComponent {
                        boolean rejectDuplicates,
                        Binding binding) throws Exception;
 
+   /**
+    * Routes {@code messages} in order, as {@link #route(Message, RoutingContext, boolean)} would do with each of them,
+    * but adding the routed references to their queues only once the whole batch is routed. Without a transaction on
+    * {@code context} a single journal sync covers all the durable references of the batch.
+    * <p>
+    * If routing any message fails the ones routed before it are still delivered.
+    *
+    * @return the routing status of each message, in the same order of {@code messages}
+    */
+   RoutingStatus[] route(List<? extends Message> messages,
+                         RoutingContext context,
+                         boolean direct,
+                         boolean rejectDuplicates) throws Exception;
+
    /**
     * This method was renamed as reload, use the new method instead
     */
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+
+/**
+ * Groups the filtered queues bound to an address by the property their filter tests for equality (e.g.
+ * {@code region = 'EU'} or {@code symbol IN ('IBM', 'ORCL')}), so a message is routed to them with a lookup of its
+ * property value instead of being matched against every filter.
+ * <p>
+ * Only the routing names with a single local queue are indexed, as that queue receives every matching message
+ * regardless of the load balancing. The other ones are kept to be routed as usual. An index is a snapshot of the
+ * bindings of a given version, and a new one has to be built whenever they change.
+ */
+final class BindingsFilterIndex {
+
+   private static final class PropertyIndex {
+
+      private final SimpleString property;
+
+      // the bindings whose filter may match each value
+      private final Map<String, List<Binding>> bindingsByValue = new HashMap<>();
+
+      // the bindings whose filter has to be evaluated too when the value is one of theirs
+      private final Set<Binding> inexact = new HashSet<>();
+
+      private final List<Binding> bindings = new ArrayList<>();
+
+      private PropertyIndex(SimpleString property) {
+         this.property = property;
+      }
+
+      private void add(Binding binding, SelectorCompiler.PropertyValues values) {
+         for (String value : values.values()) {
+            bindingsByValue.computeIfAbsent(value, ignored -> new ArrayList<>()).add(binding);
+         }
+         if (!values.exact()) {
+            inexact.add(binding);
+         }
+         bindings.add(binding);
+      }
+
+      private void route(Filterable filterable, Message message, RoutingContext context) throws Exception {
+         final Object value = filterable.getProperty(property);
+         if (value == null) {
+            return;
+         }
+         if (value instanceof String string) {
+            final List<Binding> candidates = bindingsByValue.get(string);
+            if (candidates != null) {
+               for (Binding binding : candidates) {
+                  if (inexact.isEmpty() || !inexact.contains(binding) || binding.getFilter().match(filterable)) {
+                     binding.route(message, context);
+                  }
+               }
+            }
+         } else {
+            // e.g. a number, that only the filters can compare to their literals
+            for (Binding binding : bindings) {
+               if (binding.getFilter().match(filterable)) {
+                  binding.route(message, context);
+               }
+            }
+         }
+      }
+   }
+
+   private final int version;
+
+   private final PropertyIndex[] properties;
+
+   private final int indexedCount;
+
+   // the routing names which aren't indexed, with their round-robin position
+   private final Binding[][] otherBindings;
+
+   private final CopyOnWriteBindings.BindingIndex[] otherPositions;
+
+   private BindingsFilterIndex(int version,
+                               PropertyIndex[] properties,
+                               int indexedCount,
+                               Binding[][] otherBindings,
+                               CopyOnWriteBindings.BindingIndex[] otherPositions) {
+      this.version = version;
+      this.properties = properties;
+      this.indexedCount = indexedCount;
+      this.otherBindings = otherBindings;
+      this.otherPositions = otherPositions;
+   }
+
+   /**
+    * Indexes {@code routingNameBindings}, whose version is (at least) {@code version}. The index only groups the
+    * bindings if it would index {@code minIndexed} of them or more, otherwise it is {@link #isEmpty() empty}.
+    */
+   static BindingsFilterIndex build(CopyOnWriteBindings routingNameBindings, int version, int minIndexed) {
+      final Map<SimpleString, PropertyIndex> properties = new LinkedHashMap<>();
+      final List<Binding[]> otherBindings = new ArrayList<>();
+      final List<CopyOnWriteBindings.BindingIndex> otherPositions = new ArrayList<>();
+      final int[] indexedCount = new int[1];
+      routingNameBindings.forEachBindings((bindings, position) -> {
+         final SelectorCompiler.PropertyValues values = indexableValues(bindings);
+         if (values != null) {
+            properties.computeIfAbsent(values.property(), PropertyIndex::new).add(bindings[0], values);
+            indexedCount[0]++;
+         } else {
+            otherBindings.add(bindings);
+            otherPositions.add(position);
+         }
+      });
+      if (indexedCount[0] < minIndexed) {
+         return new BindingsFilterIndex(version, null, 0, null, null);
+      }
+      return new BindingsFilterIndex(version, properties.values().toArray(new PropertyIndex[0]), indexedCount[0],
+                                     otherBindings.toArray(new Binding[0][]),
+                                     otherPositions.toArray(new CopyOnWriteBindings.BindingIndex[0]));
+   }
+
+   private static SelectorCompiler.PropertyValues indexableValues(Binding[] bindings) {
+      if (bindings.length != 1 || !(bindings[0] instanceof LocalQueueBinding)) {
+         return null;
+      }
+      final Filter filter = bindings[0].getFilter();
+      return filter == null ? null : filter.getPropertyValues();
+   }
+
+   int getVersion() {
+      return version;
+   }
+
+   /**
+    * {@return whether no bindings are indexed, and they all have to be routed as usual}
+    */
+   boolean isEmpty() {
+      return properties == null;
+   }
+
+   int getIndexedCount() {
+      return indexedCount;
+   }
+
+   /**
+    * Routes {@code message} to every indexed binding it matches.
+    */
+   void route(Message message, RoutingContext context) throws Exception {
+      final Filterable filterable = FilterImpl.toFilterable(message);
+      for (PropertyIndex property : properties) {
+         property.route(filterable, message, context);
+      }
+   }
+
+   /**
+    * Iterates through the routing names which aren't indexed, as {@link CopyOnWriteBindings#forEachBindings} would.
+    */
+   <T extends Throwable> void forEachOtherBindings(CopyOnWriteBindings.BindingsConsumer<T> bindingsConsumer) throws T {
+      for (int i = 0; i < otherBindings.length; i++) {
+         bindingsConsumer.accept(otherBindings[i], otherPositions[i]);
+      }
+   }
+}
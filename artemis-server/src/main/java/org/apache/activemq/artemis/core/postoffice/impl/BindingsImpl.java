@@ -29,6 +29,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.RoutingType;
@@ -94,10 +95,23 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   private volatile BindingsFilterIndex filterIndex;
+
+   // the number of filtered queues that can be looked up by property value from which the filters are indexed, or 0
+   private final int filterIndexMinBindings;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
+      this(name, groupingHandler, storageManager, ActiveMQDefaultConfiguration.getDefaultRoutingFilterIndexMinBindings());
+   }
+
+   public BindingsImpl(final SimpleString name,
+                       final GroupingHandler groupingHandler,
+                       StorageManager storageManager,
+                       final int filterIndexMinBindings) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
       this.name = name;
+      this.filterIndexMinBindings = filterIndexMinBindings;
    }
 
    @Override
@@ -407,21 +421,60 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
-      routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
-         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
-         if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
-            context.setReusable(true, currentVersion);
-         } else {
-            // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
-            context.setReusable(false, currentVersion);
+      final BindingsFilterIndex filterIndex = getFilterIndex(currentVersion);
+      if (filterIndex == null) {
+         routingNameBindingMap.forEachBindings((bindings, nextPosition) -> routeToBindings(message, context, currentVersion, bindings, nextPosition));
+      } else {
+         // the indexed queues are filtered, so the context can't be reused
+         context.setReusable(false, currentVersion);
+         filterIndex.route(message, context);
+         filterIndex.forEachOtherBindings((bindings, nextPosition) -> routeToBindings(message, context, currentVersion, bindings, nextPosition));
+      }
+   }
+
+   private void routeToBindings(final Message message,
+                                final RoutingContext context,
+                                final int currentVersion,
+                                final Binding[] bindings,
+                                final CopyOnWriteBindings.BindingIndex nextPosition) throws Exception {
+      final Binding nextBinding;
+      if (context.isPartitionByGroupID() && bindings.length > 1 && message.getGroupID() != null) {
+         nextBinding = getPartitionBinding(message, bindings, getMessageLoadBalancingType(context));
+      } else {
+         nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+      }
+      if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
+         context.setReusable(true, currentVersion);
+      } else {
+         // notice that once this is set to false, any calls to setReusable(true) will be moot as the context will ignore it
+         context.setReusable(false, currentVersion);
+      }
+
+      if (nextBinding != null) {
+         if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
+            nextBinding.route(message, context);
          }
+      }
+   }
 
-         if (nextBinding != null) {
-            if (!(context.isDivertDisabled() && nextBinding instanceof DivertBinding)) {
-               nextBinding.route(message, context);
-            }
+   /**
+    * {@return the index of the filtered queues of the {@code currentVersion} bindings, or {@code null} if there are
+    * too few of them to be indexed}
+    */
+   private BindingsFilterIndex getFilterIndex(final int currentVersion) {
+      if (filterIndexMinBindings <= 0) {
+         return null;
+      }
+      BindingsFilterIndex index = filterIndex;
+      if (index == null || index.getVersion() != currentVersion) {
+         // concurrent routing may build it more than once, and only the bindings of the current version are indexed
+         index = BindingsFilterIndex.build(routingNameBindingMap, currentVersion, filterIndexMinBindings);
+         filterIndex = index;
+         if (logger.isDebugEnabled() && !index.isEmpty()) {
+            logger.debug("Indexed the filters of {} queues bound to {}", index.getIndexedCount(), name);
          }
-      });
+      }
+      return index.isEmpty() ? null : index;
    }
 
    @Override
@@ -481,6 +534,41 @@ public final class BindingsImpl implements Bindings {
       return nextBinding;
    }
 
+   /**
+    * Used when the bindings sharing a routing name are partitions of a single logical queue (i.e. anycast queues on
+    * the same address): every message of a group goes to the same binding. The binding is chosen by rendezvous hashing
+    * of the group ID with the unique name of each binding, so adding or removing a binding only moves the groups of
+    * that binding. A group is pinned to the highest scoring binding that matches the message, so a binding rejecting
+    * the message (e.g. with its filter) doesn't scatter the group across the other ones. This will return {@code null}
+    * if no binding matches the message.
+    */
+   private static Binding getPartitionBinding(final Message message,
+                                              final Binding[] bindings,
+                                              final MessageLoadBalancingType loadBalancingType) {
+      final int groupHash = message.getGroupID().hashCode();
+      Binding partition = null;
+      long partitionScore = 0;
+      for (Binding binding : bindings) {
+         final long score = partitionScore(groupHash, binding.getUniqueName().hashCode());
+         if ((partition == null || score > partitionScore) && matchBinding(message, binding, loadBalancingType)) {
+            partition = binding;
+            partitionScore = score;
+         }
+      }
+      return partition;
+   }
+
+   private static long partitionScore(final int groupHash, final int bindingHash) {
+      // the 64 bit finalizer of MurmurHash3, so every bit of both hashes affects the score
+      long score = ((long) groupHash << 32) | (bindingHash & 0xFFFFFFFFL);
+      score ^= score >>> 33;
+      score *= 0xff51afd7ed558ccdL;
+      score ^= score >>> 33;
+      score *= 0xc4ceb9fe1a85ec53L;
+      score ^= score >>> 33;
+      return score;
+   }
+
    private static boolean matchBinding(final Message message,
                                        final Binding binding,
                                        final MessageLoadBalancingType loadBalancingType) {
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -92,6 +93,7 @@ import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
 import org.apache.activemq.artemis.core.server.management.NotificationListener;
+import org.apache.activemq.artemis.core.server.metrics.LatencyHistogram;
 import org.apache.activemq.artemis.core.server.mirror.MirrorController;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
@@ -158,6 +160,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
    private final ActiveMQServer server;
 
+   // whether addresses may carry latency histograms, so routing only reads the clock when they might
+   private final boolean latencyHistograms;
+
    private MirrorController mirrorControllerSource;
 
    public PostOfficeImpl(final ActiveMQServer server,
@@ -196,6 +201,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       this.addressSettingsRepository = addressSettingsRepository;
 
       this.server = server;
+
+      this.latencyHistograms = server.getMetricsManager() != null && server.getMetricsManager().isLatencyHistograms();
    }
 
    // ActiveMQComponent implementation ---------------------------------------
@@ -1145,6 +1152,39 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       return route(message, context, direct, rejectDuplicates, bindingMove, false);
    }
 
+   @Override
+   public RoutingStatus[] route(final List<? extends Message> messages,
+                                final RoutingContext context,
+                                final boolean direct,
+                                final boolean rejectDuplicates) throws Exception {
+      final RoutingStatus[] statuses = new RoutingStatus[messages.size()];
+      final Transaction tx = context.getTransaction();
+      final RoutingBatch batch = new RoutingBatch(tx);
+      try {
+         for (int i = 0; i < statuses.length; i++) {
+            // a duplicate detection check could have started a transaction for the previous message
+            context.setTransaction(tx);
+            statuses[i] = route(messages.get(i), context, direct, rejectDuplicates, null, false, batch);
+            if (!context.isReusable()) {
+               context.clear();
+            }
+         }
+      } finally {
+         context.setTransaction(tx);
+         batch.complete();
+      }
+      return statuses;
+   }
+
+   private RoutingStatus route(final Message message,
+                               final RoutingContext context,
+                               final boolean direct,
+                               final boolean rejectDuplicates,
+                               final Binding bindingMove,
+                               final boolean sendToDLA) throws Exception {
+      return route(message, context, direct, rejectDuplicates, bindingMove, sendToDLA, null);
+   }
+
    /**
     * The route can call itelf sending to DLA. if a DLA still not found, it should then use previous semantics.
     */
@@ -1153,17 +1193,22 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                                final boolean direct,
                                final boolean rejectDuplicates,
                                final Binding bindingMove,
-                               final boolean sendToDLA) throws Exception {
+                               final boolean sendToDLA,
+                               final RoutingBatch batch) throws Exception {
 
       // Sanity check
       if (message.getRefCount() > 0) {
          throw new IllegalStateException("Message cannot be routed more than once");
       }
 
+      // from the session receiving the message if there was one, e.g. not for the copies of diverts
+      final long routeStart = !latencyHistograms ? 0 : context.getReceivedTimestamp() != 0 ? context.getReceivedTimestamp() : System.nanoTime();
+
       final SimpleString address = context.getAddress(message);
       final AddressSettings settings = addressSettingsRepository.getMatch(address.toString());
       if (settings != null) {
          applyExpiryDelay(message, settings);
+         context.setPartitionByGroupID(settings.isPartitionByGroupId());
       }
 
       final boolean startedTX;
@@ -1234,12 +1279,12 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       final RoutingStatus finalStatus;
       try {
          if (status == RoutingStatus.NO_BINDINGS) {
-            finalStatus = maybeSendToDLA(message, context, address, sendToDLA);
+            finalStatus = maybeSendToDLA(message, context, address, sendToDLA, batch);
          } else {
             finalStatus = status;
             try {
                if (context.getQueueCount() > 0) {
-                  processRoute(message, context, direct);
+                  processRoute(message, context, direct, batch, addressInfo != null ? addressInfo.getJournalSyncLatency() : null);
                } else {
                   if (message.isLargeMessage()) {
                      ((LargeServerMessage) message).deleteFile();
@@ -1257,6 +1302,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          if (startedTX) {
             context.getTransaction().commit();
          }
+         if (addressInfo != null && addressInfo.getRouteLatency() != null) {
+            addressInfo.getRouteLatency().recordSince(routeStart);
+         }
          if (server.hasBrokerMessagePlugins()) {
             server.callBrokerMessagePlugins(plugin -> plugin.afterMessageRoute(message, context, direct, rejectDuplicates, finalStatus));
          }
@@ -1313,7 +1361,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    private RoutingStatus maybeSendToDLA(final Message message,
                                         final RoutingContext context,
                                         final SimpleString address,
-                                        final boolean sendToDLAHint) throws Exception {
+                                        final boolean sendToDLAHint,
+                                        final RoutingBatch batch) throws Exception {
       final RoutingStatus status;
       final AddressSettings addressSettings = addressSettingsRepository.getMatch(address.toString());
       final boolean sendToDLA;
@@ -1339,7 +1388,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
             message.reencode();
 
-            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true);
+            route(message, new RoutingContextImpl(context.getTransaction()), false, true, null, true, batch);
             status = RoutingStatus.NO_BINDINGS_DLA;
          }
       } else {
@@ -1654,10 +1703,29 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    public void processRoute(final Message message,
                             final RoutingContext context,
                             final boolean direct) throws Exception {
+      processRoute(message, context, direct, null, null);
+   }
+
+   /**
+    * @param journalSyncLatency records the time until a durable message is synced when it's not part of a transaction
+    *                           or batch, may be {@code null}
+    */
+   private void processRoute(final Message message,
+                             final RoutingContext context,
+                             final boolean direct,
+                             RoutingBatch batch,
+                             final LatencyHistogram journalSyncLatency) throws Exception {
       final ArrayList<MessageReference> refs = new ArrayList<>();
 
       final Transaction tx = context.getTransaction();
 
+      if (batch != null && !batch.isBatching(tx)) {
+         // a transaction has been started just for this message (e.g. to store its duplicate ID):
+         // what's been batched so far must reach the queues first
+         batch.complete();
+         batch = null;
+      }
+
       final Long deliveryTime;
 
       boolean containsDurables = false;
@@ -1699,7 +1767,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
          final List<Queue> durableQueues = entry.getValue().getDurableQueues();
          if (!durableQueues.isEmpty()) {
-            processRouteToDurableQueues(message, context, deliveryTime, tx, durableQueues, refs);
+            processRouteToDurableQueues(message, context, deliveryTime, tx, durableQueues, refs, batch);
             containsDurables = true;
          }
       }
@@ -1710,11 +1778,14 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
 
 
-      if (tx != null) {
+      if (batch != null) {
+         batch.addReferences(refs, containsDurables);
+      } else if (tx != null) {
          tx.addOperation(new AddOperation(refs));
       } else if (!containsDurables) {
          processReferences(refs, direct);
       } else {
+         final long routed = journalSyncLatency != null ? System.nanoTime() : 0;
          // This will use the same thread if there are no pending operations
          // avoiding a context switch on this case
          storageManager.afterCompleteOperations(new IOCallback() {
@@ -1725,6 +1796,9 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
             @Override
             public void done() {
+               if (journalSyncLatency != null) {
+                  journalSyncLatency.recordSince(routed);
+               }
                processReferences(refs, direct);
             }
          });
@@ -1735,6 +1809,20 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       refs.forEach((ref) -> processReference(ref, direct));
    }
 
+   /**
+    * Adds {@code refs} to the tail of their queues, preserving their order on each queue and waking each queue up
+    * once.
+    */
+   static void processReferencesPerQueue(List<MessageReference> refs, boolean skipAlreadyAcked) {
+      final Map<Queue, List<MessageReference>> refsPerQueue = new IdentityHashMap<>();
+      for (MessageReference ref : refs) {
+         if (!skipAlreadyAcked || !ref.isAlreadyAcked()) {
+            refsPerQueue.computeIfAbsent(ref.getQueue(), queue -> new ArrayList<>()).add(ref);
+         }
+      }
+      refsPerQueue.forEach((queue, queueRefs) -> queue.addTail(queueRefs));
+   }
+
    public static void processReference(MessageReference ref, boolean direct) {
       ref.getQueue().addTail(ref, direct);
    }
@@ -1744,7 +1832,8 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                                             final Long deliveryTime,
                                             final Transaction tx,
                                             final List<Queue> durableQueues,
-                                            final ArrayList<MessageReference> refs) throws Exception {
+                                            final ArrayList<MessageReference> refs,
+                                            final RoutingBatch batch) throws Exception {
       final int durableQueuesCount = durableQueues.size();
       refs.ensureCapacity(durableQueuesCount);
       final Iterator<Queue> iter = durableQueues.iterator();
@@ -1763,12 +1852,21 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          refs.add(reference);
          queue.refUp(reference);
          if (message.isDurable()) {
-            storeDurableReference(storageManager, message, tx, queue, durableQueuesCount - 1 == i);
-            if (deliveryTime != null && deliveryTime > 0) {
-               if (tx != null) {
-                  storageManager.updateScheduledDeliveryTimeTransactional(tx.getID(), reference);
-               } else {
-                  storageManager.updateScheduledDeliveryTime(reference);
+            final boolean scheduled = deliveryTime != null && deliveryTime > 0;
+            if (batch != null && tx == null && !scheduled) {
+               batch.storeDurableReference(reference);
+            } else {
+               if (batch != null && tx == null) {
+                  // the scheduled delivery time update below is synced anyway
+                  batch.storePendingDurableReference(false);
+               }
+               storeDurableReference(storageManager, message, tx, queue, durableQueuesCount - 1 == i);
+               if (scheduled) {
+                  if (tx != null) {
+                     storageManager.updateScheduledDeliveryTimeTransactional(tx.getID(), reference);
+                  } else {
+                     storageManager.updateScheduledDeliveryTime(reference);
+                  }
                }
             }
          }
@@ -2092,6 +2190,80 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
          .map(binding -> (Queue) binding.getBindable());
    }
 
+   /**
+    * Holds what {@link #route(List, RoutingContext, boolean, boolean)} defers until a batch of messages is routed: the
+    * references are added to their queues all together and, without a transaction, the last durable reference is the
+    * only one stored with a sync, covering all the journal records appended before it.
+    */
+   private final class RoutingBatch {
+
+      private final Transaction tx;
+
+      private final ArrayList<MessageReference> refs = new ArrayList<>();
+
+      private boolean containsDurables;
+
+      private MessageReference pendingDurableReference;
+
+      private RoutingBatch(Transaction tx) {
+         this.tx = tx;
+      }
+
+      private boolean isBatching(Transaction tx) {
+         return this.tx == tx;
+      }
+
+      private void addReferences(List<MessageReference> refs, boolean containsDurables) {
+         this.refs.addAll(refs);
+         this.containsDurables |= containsDurables;
+      }
+
+      private void storeDurableReference(MessageReference reference) throws Exception {
+         final Message message = reference.getMessage();
+         if (reference.getQueue().durableUp(message) == 1) {
+            storageManager.storeMessage(message);
+         }
+         storePendingDurableReference(false);
+         pendingDurableReference = reference;
+      }
+
+      private void storePendingDurableReference(boolean sync) throws Exception {
+         final MessageReference reference = pendingDurableReference;
+         if (reference != null) {
+            pendingDurableReference = null;
+            storageManager.storeReference(reference.getQueue().getID(), reference.getMessage().getMessageID(), sync);
+         }
+      }
+
+      private void complete() throws Exception {
+         storePendingDurableReference(true);
+         if (refs.isEmpty()) {
+            return;
+         }
+         final List<MessageReference> refs = new ArrayList<>(this.refs);
+         this.refs.clear();
+         final boolean containsDurables = this.containsDurables;
+         this.containsDurables = false;
+         if (tx != null) {
+            tx.addOperation(new AddOperation(refs));
+         } else if (!containsDurables) {
+            processReferencesPerQueue(refs, false);
+         } else {
+            storageManager.afterCompleteOperations(new IOCallback() {
+               @Override
+               public void onError(final int errorCode, final String errorMessage) {
+                  ActiveMQServerLogger.LOGGER.ioErrorAddingReferences(errorCode, errorMessage);
+               }
+
+               @Override
+               public void done() {
+                  processReferencesPerQueue(refs, false);
+               }
+            });
+         }
+      }
+   }
+
    public static final class AddOperation implements TransactionOperation {
 
       private final List<MessageReference> refs;
@@ -2102,10 +2274,13 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
 
       @Override
       public void afterCommit(final Transaction tx) {
-         for (MessageReference ref : refs) {
+         if (refs.size() == 1) {
+            final MessageReference ref = refs.get(0);
             if (!ref.isAlreadyAcked()) {
                ref.getQueue().addTail(ref, false);
             }
+         } else {
+            processReferencesPerQueue(refs, true);
          }
       }
 
@@ -2158,7 +2333,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
    @Override
    public Bindings createBindings(final SimpleString address) {
       GroupingHandler groupingHandler = server.getGroupingHandler();
-      BindingsImpl bindings = new BindingsImpl(CompositeAddress.extractAddressName(address), groupingHandler, storageManager);
+      BindingsImpl bindings = new BindingsImpl(CompositeAddress.extractAddressName(address), groupingHandler, storageManager, server.getConfiguration().getRoutingFilterIndexMinBindings());
       if (groupingHandler != null) {
          groupingHandler.addListener(bindings);
       }
@@ -16,18 +16,22 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import java.io.IOException;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ServerSessionPacketHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.DisconnectConsumerMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage_1X;
+import org.apache.activemq.artemis.core.remoting.impl.netty.SharedFileChannel;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
@@ -111,6 +115,23 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public int sendLargeMessageContinuation(ServerConsumer consumer,
+                                           SharedFileChannel file,
+                                           long position,
+                                           int length,
+                                           boolean continues) throws IOException {
+      if (!channel.isFileRegionSupported()) {
+         return -1;
+      }
+
+      Packet packet = new SessionReceiveContinuationMessage(consumer.getID(), length, continues);
+
+      channel.send(packet, SessionContinuationMessage.BODY_OFFSET, file.region(position, length));
+
+      return packet.getPacketSize();
+   }
+
    @Override
    public int sendMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount)  {
 
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Acknowledges a packet applied on a stripe of the backup: the responses of a stripe are in the order its packets were
+ * sent, but they aren't ordered with the ones of the other stripes.
+ */
+public final class ReplicationResponseMessageV3 extends ReplicationResponseMessage {
+
+   private int stripe;
+
+   public ReplicationResponseMessageV3(final int stripe) {
+      this();
+      this.stripe = stripe;
+   }
+
+   public ReplicationResponseMessageV3() {
+      super(PacketImpl.REPLICATION_RESPONSE_V3);
+   }
+
+   public int getStripe() {
+      return stripe;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE +
+         DataConstants.SIZE_INT; // buffer.writeInt(stripe);
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      super.encodeRest(buffer);
+      buffer.writeInt(stripe);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      super.decodeRest(buffer);
+      stripe = buffer.readInt();
+   }
+
+   @Override
+   protected String getPacketString() {
+      return super.getPacketString() + ", stripe=" + stripe;
+   }
+}
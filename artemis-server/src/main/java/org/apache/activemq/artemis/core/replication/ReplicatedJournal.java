@@ -456,6 +456,31 @@ public class ReplicatedJournal implements Journal {
       return localJournal.getUserVersion();
    }
 
+   @Override
+   public long getCompletedCompactCount() {
+      return localJournal.getCompletedCompactCount();
+   }
+
+   @Override
+   public long getCompactBytesWritten() {
+      return localJournal.getCompactBytesWritten();
+   }
+
+   @Override
+   public long getLastCompactDuration() {
+      return localJournal.getLastCompactDuration();
+   }
+
+   @Override
+   public long getLastCompactPauseNanos() {
+      return localJournal.getLastCompactPauseNanos();
+   }
+
+   @Override
+   public long getMaxCompactPauseNanos() {
+      return localJournal.getMaxCompactPauseNanos();
+   }
+
    @Override
    public void lineUpContext(IOCompletion callback) {
       ((OperationContext) callback).replicationLineUp();
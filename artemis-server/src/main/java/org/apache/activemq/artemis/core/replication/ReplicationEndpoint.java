@@ -33,6 +33,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Interceptor;
@@ -73,8 +74,10 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Replicatio
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPrepareMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage.SyncDataType;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStripesMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationSyncFileMessage;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.replication.ReplicationManager.ADD_OPERATION_TYPE;
@@ -145,6 +148,64 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
 
    private boolean synchronizing = true;
 
+   /**
+    * The stripes the primary asked the journal, page and large message packets to be applied on, if any.
+    */
+   private volatile Stripe[] stripes;
+
+   /**
+    * Applies the packets of the control stripe, off the Netty thread.
+    */
+   private volatile Executor controlExecutor;
+
+   /**
+    * The packets received while a packet of the control stripe waits for the stripes or is applied, in order.
+    */
+   private final Deque<Packet> heldPackets = new ArrayDeque<>();
+
+   // guarded by heldPackets
+   private boolean barrier;
+
+   // assigns the packets to the stripes in the order they are received, as the primary does when sending them
+   // guarded by heldPackets
+   private ReplicationStripes replicationStripes;
+
+   /**
+    * Applies the packets of a stripe in order, and acknowledges each of them with a {@link ReplicationResponseMessageV3}.
+    */
+   private final class Stripe {
+
+      private final int id;
+
+      private final Executor executor;
+
+      // the packets not applied yet, to only flush the responses once the stripe is idle
+      private final AtomicInteger pending = new AtomicInteger();
+
+      private Stripe(int id, Executor executor) {
+         this.id = id;
+         this.executor = executor;
+      }
+
+      private void apply(final Packet packet) {
+         pending.incrementAndGet();
+         executor.execute(() -> {
+            try {
+               final PacketImpl response = applyPacket(packet, new ReplicationResponseMessageV3(id));
+               final boolean flush = pending.decrementAndGet() == 0;
+               if (response != null) {
+                  logger.trace("Returning {}", response);
+                  channel.send(response, flush);
+               } else if (flush) {
+                  channel.flushConnection();
+               }
+            } catch (Exception e) {
+               logger.debug("Unable to acknowledge {} on stripe {}", packet, id, e);
+            }
+         });
+      }
+   }
+
 
    public ReplicationEndpoint(final ActiveMQServerImpl server,
                               boolean wantedFailBack,
@@ -195,14 +256,46 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    public void handlePacket(final Packet packet) {
       logger.trace("handlePacket::handling {}", packet);
 
-      PacketImpl response = new ReplicationResponseMessage();
+      final Stripe[] stripes = this.stripes;
+      if (stripes != null && started) {
+         synchronized (heldPackets) {
+            if (barrier) {
+               heldPackets.add(packet);
+            } else {
+               dispatch(stripes, packet);
+            }
+         }
+         return;
+      }
+
+      final PacketImpl response = applyPacket(packet, new ReplicationResponseMessage());
+
+      if (response != null) {
+         logger.trace("Returning {}", response);
+
+         if (supportResponseBatching) {
+            pendingPackets.add(response);
+         } else {
+            channel.send(response);
+         }
+      } else {
+         logger.trace("Response is null, ignoring response");
+      }
+   }
+
+   /**
+    * Applies {@code packet}.
+    *
+    * @return {@code response}, another response, e.g. for an error, or {@code null} if there isn't any to send
+    */
+   private PacketImpl applyPacket(final Packet packet, PacketImpl response) {
       final byte type = packet.getType();
 
       try {
          if (!started) {
             logger.trace("handlePacket::ignoring {}", packet);
 
-            return;
+            return null;
          }
 
          if (type == PacketImpl.REPLICATION_APPEND) {
@@ -235,6 +328,8 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
             handlePrimaryStopping((ReplicationPrimaryIsStoppingMessage) packet);
          } else if (type == PacketImpl.BACKUP_REGISTRATION_FAILED) {
             handleFatalError((BackupReplicationStartFailedMessage) packet);
+         } else if (type == PacketImpl.REPLICATION_STRIPES) {
+            handleStripes((ReplicationStripesMessage) packet);
          } else {
             ActiveMQServerLogger.LOGGER.invalidPacketForReplication(packet);
          }
@@ -248,17 +343,7 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
          response = new ActiveMQExceptionMessage(ActiveMQMessageBundle.BUNDLE.replicationUnhandledError(e));
       }
 
-      if (response != null) {
-         logger.trace("Returning {}", response);
-
-         if (supportResponseBatching) {
-            pendingPackets.add(response);
-         } else {
-            channel.send(response);
-         }
-      } else {
-         logger.trace("Response is null, ignoring response");
-      }
+      return response;
    }
 
    @Override
@@ -274,6 +359,75 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
       }
    }
 
+   private void handleStripes(ReplicationStripesMessage packet) {
+      logger.debug("Applying the replicated packets on {} stripes", packet.getStripes());
+      if (packet.getStripes() < 2) {
+         return;
+      }
+      final Stripe[] stripes = new Stripe[packet.getStripes()];
+      for (int i = 0; i < stripes.length; i++) {
+         stripes[i] = new Stripe(i + 1, server.getExecutorFactory().getExecutor());
+      }
+      this.controlExecutor = server.getExecutorFactory().getExecutor();
+      synchronized (heldPackets) {
+         this.replicationStripes = new ReplicationStripes(stripes.length);
+      }
+      this.stripes = stripes;
+   }
+
+   // guarded by heldPackets
+   private void dispatch(final Stripe[] stripes, final Packet packet) {
+      final int stripe = replicationStripes.assign(packet);
+      if (stripe != ReplicationStripes.CONTROL_STRIPE) {
+         stripes[stripe - 1].apply(packet);
+         return;
+      }
+      // the packets of the control stripe are applied once the ones received before are applied on every stripe, and
+      // the ones received after are held until then: this never blocks the Netty thread
+      barrier = true;
+      final AtomicInteger arrivals = new AtomicInteger(stripes.length);
+      for (Stripe other : stripes) {
+         other.executor.execute(() -> {
+            if (arrivals.decrementAndGet() == 0) {
+               controlExecutor.execute(() -> applyControlPacket(stripes, packet));
+            }
+         });
+      }
+   }
+
+   private void applyControlPacket(final Stripe[] stripes, final Packet packet) {
+      try {
+         final PacketImpl response = applyPacket(packet, new ReplicationResponseMessage());
+         if (response != null) {
+            logger.trace("Returning {}", response);
+            channel.send(response);
+         }
+      } catch (Exception e) {
+         logger.debug("Unable to acknowledge {} on the control stripe", packet, e);
+      } finally {
+         synchronized (heldPackets) {
+            barrier = false;
+            // unless a new primary asked for other stripes meanwhile
+            if (stripes == this.stripes) {
+               Packet held;
+               while (!barrier && (held = heldPackets.poll()) != null) {
+                  dispatch(stripes, held);
+               }
+            }
+         }
+      }
+   }
+
+   private void flushStripes() {
+      final Stripe[] stripes = this.stripes;
+      if (stripes != null) {
+         for (Stripe stripe : stripes) {
+            OrderedExecutorFactory.flushExecutor(stripe.executor);
+         }
+         OrderedExecutorFactory.flushExecutor(controlExecutor);
+      }
+   }
+
    private void handleFatalError(BackupReplicationStartFailedMessage packet) {
       ActiveMQServerLogger.LOGGER.errorStartingReplication(packet.getRegistrationProblem());
       server.stopTheServer(false);
@@ -327,6 +481,8 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
 
       started = false;
 
+      flushStripes();
+
       OrderedExecutorFactory.flushExecutor(executor);
 
       // Channel may be null if there isn't a connection to a primary server
@@ -377,6 +533,14 @@ public final class ReplicationEndpoint implements ChannelHandler, ActiveMQCompon
    }
 
    public void setChannel(final Channel channel) {
+      // a new primary has to ask for stripes again
+      flushStripes();
+      this.stripes = null;
+      synchronized (heldPackets) {
+         heldPackets.clear();
+         barrier = false;
+         replicationStripes = null;
+      }
       this.channel = channel;
       if (channel == null) {
          supportResponseBatching = false;
@@ -19,17 +19,20 @@ package org.apache.activemq.artemis.core.replication;
 import java.io.FileInputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
@@ -73,7 +76,9 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Replicatio
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPageWriteMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPrepareMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV2;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationResponseMessageV3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStripesMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationSyncFileMessage;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
@@ -143,6 +148,23 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private final Queue<OperationContext> pendingTokens = new ConcurrentLinkedQueue<>();
 
+   /**
+    * The replications waiting for an acknowledgement of each stripe of the backup, if the replication is striped. Its
+    * first queue is the one of the control stripe.
+    */
+   private final Queue<StripedReplication>[] stripedTokens;
+
+   /**
+    * The striped replications of each context, in the order they were sent, which aren't done yet: the replications of
+    * a context are acknowledged out of order by the stripes, but it still expects them to be done in order.
+    */
+   private final Map<OperationContext, Queue<StripedReplication>> contextStripedTokens = new ConcurrentHashMap<>();
+
+   /**
+    * Assigns the packets to the stripes, in the order they are sent, if the replication is striped.
+    */
+   private final ReplicationStripes replicationStripes;
+
    private final ExecutorFactory ioExecutorFactory;
 
    private SessionFailureListener failureListener;
@@ -157,6 +179,26 @@ public final class ReplicationManager implements ActiveMQComponent {
 
    private final ReusableLatch synchronizationIsFinishedAcknowledgement = new ReusableLatch(0);
 
+   private static final class StripedReplication {
+
+      private static final AtomicIntegerFieldUpdater<StripedReplication> DONE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(StripedReplication.class, "done");
+
+      final OperationContext context;
+      boolean acknowledged;
+      private volatile int done;
+
+      StripedReplication(OperationContext context) {
+         this.context = context;
+      }
+
+      // both the event loop and clearReplicationTokens may complete it
+      void done() {
+         if (DONE_UPDATER.compareAndSet(this, 0, 1)) {
+            context.replicationDone();
+         }
+      }
+   }
+
    private static final class ReplicatePacketRequest {
 
       final Packet packet;
@@ -183,10 +225,12 @@ public final class ReplicationManager implements ActiveMQComponent {
    private boolean isFlushing;
    private boolean awaitingResume;
 
+   @SuppressWarnings("unchecked")
    public ReplicationManager(ActiveMQServer server,
                              CoreRemotingConnection remotingConnection,
                              final long timeout,
                              final long initialReplicationSyncTimeout,
+                             final int stripes,
                              final ExecutorFactory ioExecutorFactory) {
       this.server = server;
       this.ioExecutorFactory = ioExecutorFactory;
@@ -210,6 +254,16 @@ public final class ReplicationManager implements ActiveMQComponent {
       this.onResume = this::resume;
       this.isFlushing = false;
       this.checkSlowReplication = false;
+      if (stripes > 1 && replicatingChannel.supports(PacketImpl.REPLICATION_STRIPES)) {
+         this.replicationStripes = new ReplicationStripes(stripes);
+         this.stripedTokens = new Queue[stripes + 1];
+         for (int i = 0; i < stripedTokens.length; i++) {
+            stripedTokens[i] = new ConcurrentLinkedQueue<>();
+         }
+      } else {
+         this.replicationStripes = null;
+         this.stripedTokens = null;
+      }
    }
 
    public void appendUpdateRecord(final byte journalID,
@@ -357,7 +411,19 @@ public final class ReplicationManager implements ActiveMQComponent {
                                                                                periodNanos, TimeUnit.NANOSECONDS);
       }
 
+      if (stripedTokens != null) {
+         // it has to be the first packet sent, as the backup applies the ones following it on the stripes
+         final OperationContext repliToken = OperationContextImpl.getContext(ioExecutorFactory);
+         repliToken.replicationLineUp();
+         replicatePacketRequests.add(new ReplicatePacketRequest(new ReplicationStripesMessage(replicationStripes.getStripes()), repliToken, null));
+         logger.debug("Replicating on {} stripes", replicationStripes.getStripes());
+      }
+
       started = true;
+
+      if (stripedTokens != null) {
+         replicationStream.execute(() -> sendReplicatedPackets(false));
+      }
    }
 
    @Override
@@ -419,6 +485,20 @@ public final class ReplicationManager implements ActiveMQComponent {
             ActiveMQServerLogger.LOGGER.errorCompletingCallbackOnReplicationManager(e);
          }
       }
+      if (stripedTokens != null) {
+         for (Queue<StripedReplication> tokens : stripedTokens) {
+            StripedReplication replication;
+            while ((replication = tokens.poll()) != null) {
+               try {
+                  replication.done();
+               } catch (Throwable e) {
+                  ActiveMQServerLogger.LOGGER.errorCompletingCallbackOnReplicationManager(e);
+               }
+            }
+         }
+         // they are all done, a late acknowledgement mustn't find them
+         contextStripedTokens.clear();
+      }
       logger.trace("clearReplicationTokens finished");
    }
 
@@ -436,6 +516,14 @@ public final class ReplicationManager implements ActiveMQComponent {
          activeContexts.add(ctx);
       }
 
+      if (stripedTokens != null) {
+         for (Queue<StripedReplication> tokens : stripedTokens) {
+            for (StripedReplication replication : tokens) {
+               activeContexts.add(replication.context);
+            }
+         }
+      }
+
       return activeContexts;
 
    }
@@ -542,8 +630,12 @@ public final class ReplicationManager implements ActiveMQComponent {
                // to check writability state to trigger the slow connection check
                return;
             }
-            pendingTokens.add(request.context);
             final Packet pack = request.packet;
+            if (stripedTokens == null) {
+               pendingTokens.add(request.context);
+            } else {
+               addStripedToken(pack, request.context);
+            }
             final ReusableLatch done = request.done;
             if (done != null) {
                done.countDown();
@@ -582,6 +674,12 @@ public final class ReplicationManager implements ActiveMQComponent {
       }
    }
 
+   private void addStripedToken(Packet packet, OperationContext context) {
+      final StripedReplication replication = new StripedReplication(context);
+      stripedTokens[replicationStripes.assign(packet)].add(replication);
+      contextStripedTokens.computeIfAbsent(context, ignored -> new ArrayDeque<>(2)).add(replication);
+   }
+
    private boolean checkEventLoop() {
       if (!(replicationStream instanceof SingleThreadEventLoop eventLoop)) {
          return true;
@@ -605,6 +703,31 @@ public final class ReplicationManager implements ActiveMQComponent {
       ctx.replicationDone();
    }
 
+   private void replicated(int stripe) {
+      assert checkEventLoop();
+      final StripedReplication replication = stripe < stripedTokens.length ? stripedTokens[stripe].poll() : null;
+
+      if (replication == null) {
+         ActiveMQServerLogger.LOGGER.missingReplicationTokenOnQueue();
+         return;
+      }
+      replication.acknowledged = true;
+      final Queue<StripedReplication> contextTokens = contextStripedTokens.get(replication.context);
+      if (contextTokens == null) {
+         // cleared meanwhile
+         replication.done();
+         return;
+      }
+      StripedReplication first;
+      while ((first = contextTokens.peek()) != null && first.acknowledged) {
+         contextTokens.poll();
+         first.done();
+      }
+      if (contextTokens.isEmpty()) {
+         contextStripedTokens.remove(replication.context);
+      }
+   }
+
 
    private final class ReplicatedSessionFailureListener implements SessionFailureListener {
 
@@ -638,8 +761,14 @@ public final class ReplicationManager implements ActiveMQComponent {
 
       @Override
       public void handlePacket(final Packet packet) {
-         if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
-            replicated();
+         if (packet.getType() == PacketImpl.REPLICATION_RESPONSE_V3) {
+            replicated(((ReplicationResponseMessageV3) packet).getStripe());
+         } else if (packet.getType() == PacketImpl.REPLICATION_RESPONSE || packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
+            if (stripedTokens == null) {
+               replicated();
+            } else {
+               replicated(0);
+            }
             if (packet.getType() == PacketImpl.REPLICATION_RESPONSE_V2) {
                ReplicationResponseMessageV2 replicationResponseMessage = (ReplicationResponseMessageV2) packet;
                if (replicationResponseMessage.isSynchronizationIsFinishedAcknowledgement()) {
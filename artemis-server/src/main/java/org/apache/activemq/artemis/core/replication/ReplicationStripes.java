@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.replication;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.persistence.impl.journal.AbstractJournalStorageManager.JournalContent;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageBeginMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageEndMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageWriteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPageWriteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPrepareMessage;
+
+/**
+ * Assigns the replicated packets to the stripes of a striped replication.
+ * <p>
+ * The primary and the backup each feed their own instance with the packets in the order they are sent, so both assign
+ * every packet to the same stripe. The backup applies the packets of a stripe in order, and the ones of the control
+ * stripe {@code 0} as a barrier: only once the packets received before are applied on every stripe, and before the
+ * packets received after.
+ * <ul>
+ * <li>the records of the message journal are on the stripe of their ID, so every operation on a record is applied in
+ * order. A large message shares the stripe of its record, as the ID of its record is the message ID, so its body is
+ * complete once its record is applied.
+ * <li>a transaction is committed, rolled back or prepared on the stripe of its records, or on the control stripe if
+ * they are on many stripes.
+ * <li>the paging records of the message journal, the page writes and the page events are on the paging stripe
+ * {@code 1}, as the records refer to the pages. A record keeps the stripe it was added on until it is deleted, as a
+ * delete doesn't tell the type of the record.
+ * <li>the pending large message records, the page writes of large messages, the records of the bindings journal and
+ * the other packets are on the control stripe.
+ * </ul>
+ * It isn't thread safe: the primary uses it on the replication stream and the backup while holding its packets.
+ */
+final class ReplicationStripes {
+
+   static final int CONTROL_STRIPE = 0;
+
+   static final int PAGING_STRIPE = 1;
+
+   private final int stripes;
+
+   // the records not on the stripe of their ID, until they are deleted
+   private final Map<Long, Integer> pinned = new HashMap<>();
+
+   private final Map<Long, TransactionStripes> transactions = new HashMap<>();
+
+   private static final class TransactionStripes {
+
+      // the stripe of its records so far, or -1 if none
+      int recordsStripe = -1;
+
+      // the records it deletes, to unpin once committed
+      List<Long> deletes;
+
+      // the records it pinned, to unpin once rolled back
+      List<Long> pins;
+
+      void touch(int recordStripe) {
+         if (recordsStripe == -1) {
+            recordsStripe = recordStripe;
+         } else if (recordsStripe != recordStripe) {
+            recordsStripe = CONTROL_STRIPE;
+         }
+      }
+
+      int stripe() {
+         return recordsStripe == -1 ? CONTROL_STRIPE : recordsStripe;
+      }
+   }
+
+   ReplicationStripes(int stripes) {
+      if (stripes < 2) {
+         throw new IllegalArgumentException("stripes must be at least 2: " + stripes);
+      }
+      this.stripes = stripes;
+   }
+
+   int getStripes() {
+      return stripes;
+   }
+
+   /**
+    * {@return the stripe of {@code packet}, between {@code 1} and {@link #getStripes()}, or {@link #CONTROL_STRIPE}}
+    */
+   int assign(Packet packet) {
+      switch (packet.getType()) {
+         case PacketImpl.REPLICATION_APPEND: {
+            final ReplicationAddMessage add = (ReplicationAddMessage) packet;
+            if (!isMessageJournal(add.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            return addRecord(add.getId(), add.getJournalRecordType(), null);
+         }
+         case PacketImpl.REPLICATION_APPEND_TX: {
+            final ReplicationAddTXMessage add = (ReplicationAddTXMessage) packet;
+            if (!isMessageJournal(add.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            final TransactionStripes transaction = transaction(add.getTxId());
+            final int stripe = addRecord(add.getId(), add.getRecordType(), transaction);
+            transaction.touch(stripe);
+            return stripe;
+         }
+         case PacketImpl.REPLICATION_DELETE: {
+            final ReplicationDeleteMessage delete = (ReplicationDeleteMessage) packet;
+            if (!isMessageJournal(delete.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            final Integer stripe = pinned.remove(delete.getId());
+            return stripe != null ? stripe : stripeOf(delete.getId());
+         }
+         case PacketImpl.REPLICATION_DELETE_TX: {
+            final ReplicationDeleteTXMessage delete = (ReplicationDeleteTXMessage) packet;
+            if (!isMessageJournal(delete.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            final TransactionStripes transaction = transaction(delete.getTxId());
+            final int stripe = recordStripe(delete.getId());
+            if (stripe != stripeOf(delete.getId())) {
+               if (transaction.deletes == null) {
+                  transaction.deletes = new ArrayList<>(2);
+               }
+               transaction.deletes.add(delete.getId());
+            }
+            transaction.touch(stripe);
+            return stripe;
+         }
+         case PacketImpl.REPLICATION_PREPARE: {
+            final ReplicationPrepareMessage prepare = (ReplicationPrepareMessage) packet;
+            if (!isMessageJournal(prepare.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            return transaction(prepare.getTxId()).stripe();
+         }
+         case PacketImpl.REPLICATION_COMMIT_ROLLBACK: {
+            final ReplicationCommitMessage commit = (ReplicationCommitMessage) packet;
+            if (!isMessageJournal(commit.getJournalID())) {
+               return CONTROL_STRIPE;
+            }
+            final TransactionStripes transaction = transactions.remove(commit.getTxId());
+            if (transaction == null) {
+               return CONTROL_STRIPE;
+            }
+            final List<Long> unpinned = commit.isRollback() ? transaction.pins : transaction.deletes;
+            if (unpinned != null) {
+               unpinned.forEach(pinned::remove);
+            }
+            return transaction.stripe();
+         }
+         case PacketImpl.REPLICATION_PAGE_WRITE: {
+            // the body of a large message is on the stripe of its record, the page has to wait for it
+            final Message message = ((ReplicationPageWriteMessage) packet).getPagedMessage().getMessage();
+            // the backup decodes the core large messages lazily
+            return message == null || message.isLargeMessage() ? CONTROL_STRIPE : PAGING_STRIPE;
+         }
+         case PacketImpl.REPLICATION_PAGE_EVENT:
+            return PAGING_STRIPE;
+         case PacketImpl.REPLICATION_LARGE_MESSAGE_BEGIN:
+            return stripeOf(((ReplicationLargeMessageBeginMessage) packet).getMessageId());
+         case PacketImpl.REPLICATION_LARGE_MESSAGE_WRITE:
+            return stripeOf(((ReplicationLargeMessageWriteMessage) packet).getMessageId());
+         case PacketImpl.REPLICATION_LARGE_MESSAGE_END:
+            return stripeOf(((ReplicationLargeMessageEndMessage) packet).getMessageId());
+         default:
+            return CONTROL_STRIPE;
+      }
+   }
+
+   private int addRecord(long id, byte recordType, TransactionStripes transaction) {
+      final Integer stripe = pinned.get(id);
+      if (stripe != null) {
+         return stripe;
+      }
+      final int typeStripe = stripeOfType(recordType);
+      if (typeStripe == -1 || typeStripe == stripeOf(id)) {
+         return stripeOf(id);
+      }
+      pinned.put(id, typeStripe);
+      if (transaction != null) {
+         if (transaction.pins == null) {
+            transaction.pins = new ArrayList<>(2);
+         }
+         transaction.pins.add(id);
+      }
+      return typeStripe;
+   }
+
+   private int recordStripe(long id) {
+      final Integer stripe = pinned.get(id);
+      return stripe != null ? stripe : stripeOf(id);
+   }
+
+   private TransactionStripes transaction(long txId) {
+      return transactions.computeIfAbsent(txId, ignored -> new TransactionStripes());
+   }
+
+   private int stripeOf(long id) {
+      return 1 + (int) Long.remainderUnsigned(id, stripes);
+   }
+
+   /**
+    * {@return the stripe the records of {@code recordType} have to be on, or {@code -1} if any}
+    */
+   private static int stripeOfType(byte recordType) {
+      switch (recordType) {
+         case JournalRecordIds.PAGE_TRANSACTION:
+         case JournalRecordIds.ACKNOWLEDGE_CURSOR:
+         case JournalRecordIds.PAGE_CURSOR_COUNTER_VALUE:
+         case JournalRecordIds.PAGE_CURSOR_COUNTER_INC:
+         case JournalRecordIds.PAGE_CURSOR_COMPLETE:
+         case JournalRecordIds.PAGE_CURSOR_PENDING_COUNTER:
+            return PAGING_STRIPE;
+         case JournalRecordIds.ADD_LARGE_MESSAGE_PENDING:
+            // deleted once the large message is complete, which is on the stripe of another record
+            return CONTROL_STRIPE;
+         default:
+            return -1;
+      }
+   }
+
+   private static boolean isMessageJournal(byte journalID) {
+      return journalID == JournalContent.MESSAGES.typeByte;
+   }
+}
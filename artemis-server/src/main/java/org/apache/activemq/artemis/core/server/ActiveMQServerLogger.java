@@ -324,6 +324,9 @@ public interface ActiveMQServerLogger {
    @LogMessage(id = 221086, value = "Cannot route {}", level = LogMessage.Level.INFO)
    void cannotRouteClientConnection(Connection connection);
 
+   @LogMessage(id = 221087, value = "Message journal with {} records loaded in {} ms (journal read: {} ms, records decoded: {} ms, queues rebuilt: {} ms, prepared transactions: {} ms, post load: {} ms)", level = LogMessage.Level.INFO)
+   void messageJournalLoaded(long records, long totalMillis, long readMillis, long decodeMillis, long queuesMillis, long transactionsMillis, long postLoadMillis);
+
    @LogMessage(id = 222000, value = "ActiveMQServer is being finalized and has not been stopped. Please remember to stop the server before letting it go out of scope", level = LogMessage.Level.WARN)
    void serverFinalisedWIthoutBeingSTopped();
 
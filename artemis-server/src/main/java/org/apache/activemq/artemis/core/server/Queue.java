@@ -33,6 +33,7 @@ import org.apache.activemq.artemis.core.paging.cursor.PageSubscription;
 import org.apache.activemq.artemis.core.persistence.OperationContext;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.server.impl.AckReason;
+import org.apache.activemq.artemis.core.server.metrics.LatencyHistogram;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.utils.ReferenceCounter;
 import org.apache.activemq.artemis.utils.collections.NodeStore;
@@ -190,6 +191,13 @@ public interface Queue extends Bindable, CriticalComponent {
    default void setMirrorController(boolean mirrorController) {
    }
 
+   /**
+    * Sets the histograms recording the time from a message being added to its first dispatch and from a dispatch to its
+    * acknowledgement. Either may be {@code null} to not record it.
+    */
+   default void setLatencyHistograms(LatencyHistogram dispatchLatency, LatencyHistogram acknowledgeLatency) {
+   }
+
    /**
     * This will hold a reference counter for every consumer present on the queue. The ReferenceCounter will know what to
     * do when the counter became zeroed. This is used to control what to do with temporary queues, especially on shared
@@ -213,6 +221,13 @@ public interface Queue extends Bindable, CriticalComponent {
 
    void addTail(MessageReference ref, boolean direct);
 
+   /**
+    * Adds {@code refs} to the tail of the queue, scheduling a single delivery for all of them.
+    */
+   default void addTail(List<MessageReference> refs) {
+      refs.forEach(this::addTail);
+   }
+
    void addHead(MessageReference ref, boolean scheduling);
 
    /**
@@ -439,6 +454,16 @@ public interface Queue extends Bindable, CriticalComponent {
 
    LinkedListIterator<MessageReference> browserIterator();
 
+   /**
+    * {@return up to {@code max} references in memory matching {@code filter}, in queue order, found through the
+    * property indexes of the queue (see
+    * {@link org.apache.activemq.artemis.core.settings.impl.AddressSettings#getIndexedProperties()}), or {@code null}
+    * if {@code filter} doesn't test an indexed property and the references have to be iterated}
+    */
+   default List<MessageReference> getIndexedReferences(Filter filter, int max) {
+      return null;
+   }
+
    SimpleString getExpiryAddress();
 
    SimpleString getDeadLetterAddress();
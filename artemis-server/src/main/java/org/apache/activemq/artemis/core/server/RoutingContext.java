@@ -110,10 +110,29 @@ public interface RoutingContext {
 
    RoutingContext setDuplicateDetection(boolean value);
 
+   /**
+    * {@return the {@link System#nanoTime()} at which the session received the message being routed, or {@code 0} if
+    * it wasn't recorded}
+    */
+   long getReceivedTimestamp();
+
+   /**
+    * Records when the session received the message being routed, for the route latency to cover its whole handling.
+    */
+   RoutingContext setReceivedTimestamp(long nanoTime);
+
    RoutingContext setLoadBalancingType(MessageLoadBalancingType messageLoadBalancingType);
 
    MessageLoadBalancingType getLoadBalancingType();
 
+   /**
+    * When set, grouped messages are routed to the binding selected by the hash of their group ID instead of
+    * round-robin. See {@link org.apache.activemq.artemis.core.settings.impl.AddressSettings#isPartitionByGroupId()}.
+    */
+   RoutingContext setPartitionByGroupID(boolean partitionByGroupID);
+
+   boolean isPartitionByGroupID();
+
    RoutingContext setServerSession(ServerSession session);
 
    ServerSession getServerSession();
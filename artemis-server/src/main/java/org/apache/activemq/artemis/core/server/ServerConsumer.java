@@ -110,6 +110,14 @@ public interface ServerConsumer extends Consumer, ConsumerInfo {
     */
    void metricsAcknowledge(MessageReference ref, Transaction transaction);
 
+   /**
+    * {@return the number of bytes this consumer is currently allowed to hold un-acknowledged as computed from its
+    * acknowledgement throughput, or {@code -1} if no adaptive consumer window is configured for its address}
+    */
+   default int getAdaptiveWindowSize() {
+      return -1;
+   }
+
    /**
     * Adds the given attachment to the {@link ServerConsumer} which will overwrite any previously
     * assigned value with the same key.
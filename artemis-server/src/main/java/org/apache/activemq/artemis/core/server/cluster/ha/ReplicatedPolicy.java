@@ -37,6 +37,8 @@ public class ReplicatedPolicy implements HAPolicy<PrimaryActivation> {
 
    private long initialReplicationSyncTimeout = ActiveMQDefaultConfiguration.getDefaultInitialReplicationSyncTimeout();
 
+   private int replicationStripes = ActiveMQDefaultConfiguration.getDefaultReplicationStripes();
+
    /*
     * these are only set by the ReplicaPolicy after failover to decide if the primary server can failback, these should
     * not be exposed in configuration.
@@ -147,6 +149,14 @@ public class ReplicatedPolicy implements HAPolicy<PrimaryActivation> {
       this.initialReplicationSyncTimeout = initialReplicationSyncTimeout;
    }
 
+   public int getReplicationStripes() {
+      return replicationStripes;
+   }
+
+   public void setReplicationStripes(int replicationStripes) {
+      this.replicationStripes = replicationStripes;
+   }
+
    public String getClusterName() {
       return clusterName;
    }
@@ -32,6 +32,7 @@ public class ReplicationPrimaryPolicy implements HAPolicy<ReplicationPrimaryActi
    private final String clusterName;
    private final String groupName;
    private final long initialReplicationSyncTimeout;
+   private final int replicationStripes;
    private final DistributedLockManagerConfiguration distributedManagerConfiguration;
    private final boolean allowAutoFailBack;
    private final String coordinationId;
@@ -43,6 +44,7 @@ public class ReplicationPrimaryPolicy implements HAPolicy<ReplicationPrimaryActi
       clusterName = configuration.getClusterName();
       groupName = configuration.getGroupName();
       initialReplicationSyncTimeout = configuration.getInitialReplicationSyncTimeout();
+      replicationStripes = configuration.getReplicationStripes();
       distributedManagerConfiguration = configuration.getDistributedManagerConfiguration();
       coordinationId = configuration.getCoordinationId();
       this.allowAutoFailBack = allowAutoFailBack;
@@ -54,6 +56,7 @@ public class ReplicationPrimaryPolicy implements HAPolicy<ReplicationPrimaryActi
       groupName = config.getGroupName();
       coordinationId = config.getCoordinationId();
       initialReplicationSyncTimeout = config.getInitialReplicationSyncTimeout();
+      replicationStripes = config.getReplicationStripes();
       distributedManagerConfiguration = config.getDistributedManagerConfiguration();
       this.allowAutoFailBack = false;
       backupPolicy = ReplicationBackupPolicy.failback(config.getRetryReplicationWait(), config.getMaxSavedReplicatedJournalsSize(), config.getClusterName(),
@@ -140,6 +143,10 @@ public class ReplicationPrimaryPolicy implements HAPolicy<ReplicationPrimaryActi
       return initialReplicationSyncTimeout;
    }
 
+   public int getReplicationStripes() {
+      return replicationStripes;
+   }
+
    public String getGroupName() {
       return groupName;
    }
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Sizes the amount of bytes a consumer may hold un-acknowledged from the rate at which it acknowledges them, so the
+ * window covers {@code targetLatency} milliseconds of the consumer's own throughput. Fast consumers get a larger window
+ * and don't wait for messages, while slow consumers only hold what they can process within the target latency and leave
+ * the rest of the queue to their peers.
+ * <p>
+ * The throughput is sampled every {@link #SAMPLE_PERIOD_MILLIS} of busy time (i.e. while the consumer has messages in
+ * transit) and smoothed with an exponentially weighted moving average. The first sample sets the window, then it is
+ * adjusted additively increasing, multiplicatively decreasing: a window that blocked delivery while the consumer kept
+ * up with the target latency grows by one message, probing for more throughput than the window let it show, and a
+ * window holding more than the consumer processes within the target latency is halved, down to that amount.
+ * <p>
+ * The window starts empty, never goes below the average size of one message once measured, and never exceeds
+ * {@code maxSize}. A consumer with nothing in transit is always allowed one more message so a window smaller than a
+ * single message never stalls delivery.
+ */
+final class AdaptiveConsumerWindow {
+
+   static final long SAMPLE_PERIOD_MILLIS = 100;
+
+   private static final double SMOOTHING = 0.25;
+
+   private final long targetLatencyMillis;
+
+   private final int maxSize;
+
+   private final LongSupplier inTransitSize;
+
+   // guarded by this
+   private long sampleStart;
+
+   // guarded by this
+   private long sampleAckedBytes;
+
+   // guarded by this, -1 while the consumer has messages in transit
+   private long idleSince = -1;
+
+   // guarded by this
+   private long sampleAckedMessages;
+
+   // bytes per millisecond, guarded by this
+   private double ackRate = -1;
+
+   // bytes, guarded by this
+   private double messageSize = -1;
+
+   // whether the window blocked delivery since the last sample
+   private volatile boolean limited = false;
+
+   private volatile int windowSize = 0;
+
+   private volatile boolean blocked = false;
+
+   /**
+    * @param inTransitSize supplies the bytes currently out for delivery to the consumer and not yet acknowledged
+    */
+   AdaptiveConsumerWindow(long targetLatencyMillis, int maxSize, LongSupplier inTransitSize, long now) {
+      this.targetLatencyMillis = targetLatencyMillis;
+      this.maxSize = maxSize;
+      this.inTransitSize = inTransitSize;
+      this.sampleStart = now;
+   }
+
+   /**
+    * {@return {@code true} if another message can be delivered to the consumer; otherwise the window is marked as
+    * blocked until the next acknowledgement}
+    */
+   boolean allowsDelivery(long now) {
+      if (fits(inTransitSize.getAsLong(), now)) {
+         return true;
+      }
+      blocked = true;
+      limited = true;
+      // an acknowledgement may have freed the window before it could see the blocked flag
+      return fits(inTransitSize.getAsLong(), now);
+   }
+
+   private boolean fits(long inTransitSize, long now) {
+      if (inTransitSize <= 0) {
+         // the time the consumer spent without messages doesn't count towards its throughput
+         synchronized (this) {
+            if (idleSince >= 0) {
+               sampleStart += now - idleSince;
+               idleSince = -1;
+            }
+         }
+         return true;
+      }
+      return inTransitSize < windowSize;
+   }
+
+   /**
+    * Records {@code ackedBytes} leaving the window, either acknowledged or cancelled back to the queue, once they are no
+    * longer counted as in transit. Cancelled messages should be recorded with {@code consumed = false} so they free the
+    * window without counting as throughput.
+    *
+    * @return {@code true} if the window had blocked delivery and the consumer should be prompted again
+    */
+   boolean acknowledged(int ackedBytes, boolean consumed, long now) {
+      synchronized (this) {
+         if (idleSince < 0 && inTransitSize.getAsLong() <= 0) {
+            idleSince = now;
+         }
+         if (consumed) {
+            sampleAckedBytes += ackedBytes;
+            sampleAckedMessages++;
+            final long elapsed = now - sampleStart;
+            if (elapsed >= SAMPLE_PERIOD_MILLIS) {
+               sample(elapsed);
+               sampleStart = now;
+               sampleAckedBytes = 0;
+               sampleAckedMessages = 0;
+            }
+         }
+      }
+      if (blocked) {
+         blocked = false;
+         return true;
+      }
+      return false;
+   }
+
+   // guarded by this
+   private void sample(long elapsed) {
+      final double rate = (double) sampleAckedBytes / elapsed;
+      final double size = (double) sampleAckedBytes / sampleAckedMessages;
+      final boolean first = ackRate < 0;
+      ackRate = first ? rate : ackRate + SMOOTHING * (rate - ackRate);
+      messageSize = first ? size : messageSize + SMOOTHING * (size - messageSize);
+
+      final long target = (long) (ackRate * targetLatencyMillis);
+      final long current = windowSize;
+      final long next;
+      if (first) {
+         next = target;
+      } else if (target < current) {
+         next = Math.max(target, current / 2);
+      } else if (limited) {
+         next = Math.max(target, current + (long) messageSize);
+      } else {
+         next = current;
+      }
+      limited = false;
+      windowSize = (int) Math.min(maxSize, Math.max(next, (long) Math.ceil(messageSize)));
+   }
+
+   /**
+    * {@return the number of bytes the consumer is currently allowed to hold un-acknowledged}
+    */
+   int getWindowSize() {
+      return windowSize;
+   }
+}
@@ -37,6 +37,7 @@ import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
+import org.apache.activemq.artemis.core.server.metrics.LatencyHistogram;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
 import org.apache.activemq.artemis.utils.CompositeAddress;
 import org.apache.activemq.artemis.utils.JsonLoader;
@@ -87,6 +88,10 @@ public class AddressInfo {
    private HierarchicalRepositoryChangeListener repositoryChangeListener;
    private long createdTimestamp = -1;
 
+   // null unless latency histograms are enabled for this address
+   private volatile LatencyHistogram routeLatency;
+   private volatile LatencyHistogram journalSyncLatency;
+
    public boolean isSwept() {
       return swept;
    }
@@ -362,6 +367,28 @@ public class AddressInfo {
       return unRoutedMessageCountUpdater.get(this);
    }
 
+   /**
+    * {@return the histogram of the time from a session receiving messages sent to this address until they're routed
+    * or {@code null} if it's not tracked}
+    */
+   public LatencyHistogram getRouteLatency() {
+      return routeLatency;
+   }
+
+   /**
+    * {@return the histogram of the time between durable messages being routed and their storage being synced or
+    * {@code null} if it's not tracked}
+    */
+   public LatencyHistogram getJournalSyncLatency() {
+      return journalSyncLatency;
+   }
+
+   public AddressInfo setLatencyHistograms(LatencyHistogram routeLatency, LatencyHistogram journalSyncLatency) {
+      this.routeLatency = routeLatency;
+      this.journalSyncLatency = journalSyncLatency;
+      return this;
+   }
+
    public HierarchicalRepositoryChangeListener getRepositoryChangeListener() {
       return repositoryChangeListener;
    }
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+
+/**
+ * Indexes the references that carry an expiration into buckets of {@link #BUCKET_MILLIS} by deadline. The expiry
+ * scanner then only visits the buckets whose deadline has passed instead of iterating the whole queue, and removes the
+ * due references with
+ * {@link org.apache.activemq.artemis.utils.collections.PriorityLinkedList#removeWithID(String, long)} using
+ * {@link #LIST_ID}. Any other list ID is resolved by the delegate.
+ */
+final class ExpiryNodeStore implements NodeStore<MessageReference> {
+
+   static final String LIST_ID = "expiry-index";
+
+   static final long BUCKET_MILLIS = 1000;
+
+   private static final class Entry {
+
+      final MessageReference reference;
+
+      final LinkedListImpl.Node<MessageReference> node;
+
+      final long expiration;
+
+      final long deadline;
+
+      Entry(MessageReference reference, LinkedListImpl.Node<MessageReference> node, long expiration) {
+         this.reference = reference;
+         this.node = node;
+         this.expiration = expiration;
+         this.deadline = deadlineOf(expiration);
+      }
+   }
+
+   private final LongObjectHashMap<Entry> entries = new LongObjectHashMap<>();
+
+   private final TreeMap<Long, LongHashSet> buckets = new TreeMap<>();
+
+   private NodeStore<MessageReference> delegate;
+
+   private String name;
+
+   ExpiryNodeStore setDelegate(NodeStore<MessageReference> delegate) {
+      this.delegate = delegate;
+      return this;
+   }
+
+   /**
+    * {@return the end of the bucket holding {@code expiration}, always after it so every reference in a bucket has
+    * expired once its deadline is reached}
+    */
+   static long deadlineOf(long expiration) {
+      return (expiration / BUCKET_MILLIS + 1) * BUCKET_MILLIS;
+   }
+
+   @Override
+   public void storeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      final long expiration = element.getMessage().getExpiration();
+      if (expiration > 0) {
+         index(element.getMessageID(), new Entry(element, node, expiration));
+      }
+      if (delegate != null) {
+         delegate.storeNode(element, node);
+      }
+   }
+
+   private void index(long id, Entry entry) {
+      final Entry previous = entries.put(id, entry);
+      if (previous != null) {
+         unbucket(id, previous.deadline);
+      }
+      buckets.computeIfAbsent(entry.deadline, deadline -> new LongHashSet()).add(id);
+   }
+
+   private void unbucket(long id, long deadline) {
+      final LongHashSet bucket = buckets.get(deadline);
+      if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+         buckets.remove(deadline);
+      }
+   }
+
+   @Override
+   public void removeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      if (!entries.isEmpty()) {
+         final long id = element.getMessageID();
+         final Entry entry = entries.get(id);
+         if (entry != null && entry.node == node) {
+            entries.remove(id);
+            unbucket(id, entry.deadline);
+         }
+      }
+      if (delegate != null) {
+         delegate.removeNode(element, node);
+      }
+   }
+
+   @Override
+   public LinkedListImpl.Node<MessageReference> getNode(String listID, long id) {
+      if (LIST_ID.equals(listID)) {
+         final Entry entry = entries.get(id);
+         return entry != null ? entry.node : null;
+      }
+      return delegate != null ? delegate.getNode(listID, id) : null;
+   }
+
+   /**
+    * Adds to {@code due} the references whose bucket deadline is not after {@code now}, oldest first, until {@code due}
+    * holds {@code max} references. The references stay indexed until they are removed from the list.
+    *
+    * @return {@code true} if there are more due references than could be added
+    */
+   boolean collectDue(long now, int max, List<MessageReference> due) {
+      List<long[]> outdated = null;
+      try {
+         for (Map.Entry<Long, LongHashSet> bucket : buckets.headMap(now, true).entrySet()) {
+            final LongHashSet.LongIterator ids = bucket.getValue().iterator();
+            while (ids.hasNext()) {
+               if (due.size() >= max) {
+                  return true;
+               }
+               final long id = ids.nextValue();
+               final Entry entry = entries.get(id);
+               if (entry != null && entry.reference.getMessageID() == id && entry.reference.getMessage().getExpiration() == entry.expiration) {
+                  due.add(entry.reference);
+               } else {
+                  // stale: the message was indexed again with another expiration, or its expiration changed
+                  if (outdated == null) {
+                     outdated = new ArrayList<>();
+                  }
+                  outdated.add(new long[] {bucket.getKey(), id});
+               }
+            }
+         }
+         return false;
+      } finally {
+         if (outdated != null) {
+            outdated.forEach(bucketAndID -> reindex(bucketAndID[0], bucketAndID[1]));
+         }
+      }
+   }
+
+   private void reindex(long deadline, long id) {
+      unbucket(id, deadline);
+      final Entry entry = entries.get(id);
+      if (entry == null || entry.deadline != deadline) {
+         return;
+      }
+      entries.remove(id);
+      // only a reference still holding the indexed message can be trusted to leave the index along with its node
+      final long expiration = entry.reference.getMessage().getExpiration();
+      if (entry.reference.getMessageID() == id && expiration > 0) {
+         index(id, new Entry(entry.reference, entry.node, expiration));
+      }
+   }
+
+   @Override
+   public NodeStore<MessageReference> setName(String name) {
+      this.name = name;
+      return this;
+   }
+
+   @Override
+   public String getName() {
+      return name;
+   }
+
+   @Override
+   public void clear() {
+      entries.clear();
+      buckets.clear();
+      if (delegate != null) {
+         delegate.clear();
+      }
+   }
+
+   @Override
+   public int size() {
+      return entries.size() + (delegate != null ? delegate.size() : 0);
+   }
+}
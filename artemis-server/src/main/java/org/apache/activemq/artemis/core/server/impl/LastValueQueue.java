@@ -16,7 +16,9 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -75,6 +77,21 @@ public class LastValueQueue extends QueueImpl {
       }
    }
 
+   @Override
+   public synchronized void addTail(final List<MessageReference> refs) {
+      // the references are tracked in the order of the batch, the latest value of a key replacing the former ones
+      final List<MessageReference> tracked = new ArrayList<>(refs.size());
+      for (MessageReference ref : refs) {
+         if (!scheduleIfPossible(ref)) {
+            trackLastValue(ref);
+            tracked.add(ref);
+         }
+      }
+      if (!tracked.isEmpty()) {
+         super.addTail(tracked);
+      }
+   }
+
    @Override
    public void addHead(final MessageReference ref, boolean scheduling) {
       if (scheduling) {
@@ -211,6 +228,14 @@ public class LastValueQueue extends QueueImpl {
       return Collections.unmodifiableSet(map.keySet());
    }
 
+   /**
+    * {@return the reference to the last value of {@code key}, or {@code null} if there is none or it isn't in memory,
+    * e.g. because it is paged}
+    */
+   public MessageReference getLastValue(SimpleString key) {
+      return map.get(key);
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
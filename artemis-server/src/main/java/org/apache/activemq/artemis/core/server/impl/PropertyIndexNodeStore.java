@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.util.collection.LongObjectHashMap;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.LongHashSet;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+
+/**
+ * Indexes the references by the values of the properties configured with
+ * {@link org.apache.activemq.artemis.core.settings.impl.AddressSettings#setIndexedProperties(SimpleString)}. A filter
+ * testing one of them for equality with {@code String} literals (see {@link Filter#getPropertyValues()}) is then only
+ * matched against the references holding one of those values instead of against the whole queue. The references found
+ * can be removed with
+ * {@link org.apache.activemq.artemis.utils.collections.PriorityLinkedList#removeWithID(String, long)} using
+ * {@link #LIST_ID}.
+ * <p>
+ * The values are read as filters see them, so a {@code String} value is indexed by value while any other one (e.g. a
+ * number, that only the filter can compare to its literals) is kept aside to be matched every time.
+ * <p>
+ * Any other list ID is resolved by the delegate.
+ */
+final class PropertyIndexNodeStore implements NodeStore<MessageReference> {
+
+   static final String LIST_ID = "property-index";
+
+   static final SimpleString[] NO_PROPERTIES = new SimpleString[0];
+
+   private static final class Entry {
+
+      final MessageReference reference;
+
+      final LinkedListImpl.Node<MessageReference> node;
+
+      final Object[] values;
+
+      Entry(MessageReference reference, LinkedListImpl.Node<MessageReference> node, Object[] values) {
+         this.reference = reference;
+         this.node = node;
+         this.values = values;
+      }
+   }
+
+   private SimpleString[] properties = NO_PROPERTIES;
+
+   private final LongObjectHashMap<Entry> entries = new LongObjectHashMap<>();
+
+   // for each property, the IDs of the references by String value
+   private List<Map<String, LongHashSet>> stringValues = new ArrayList<>();
+
+   // for each property, the IDs of the references with a value that isn't a String
+   private List<LongHashSet> otherValues = new ArrayList<>();
+
+   private boolean rebuilding;
+
+   private NodeStore<MessageReference> delegate;
+
+   private String name;
+
+   PropertyIndexNodeStore setDelegate(NodeStore<MessageReference> delegate) {
+      this.delegate = delegate;
+      return this;
+   }
+
+   /**
+    * {@return the distinct property names of a comma separated list, e.g. an
+    * {@link org.apache.activemq.artemis.core.settings.impl.AddressSettings#getIndexedProperties() indexed-properties}
+    * setting}
+    */
+   static SimpleString[] parseProperties(SimpleString indexedProperties) {
+      if (indexedProperties == null) {
+         return NO_PROPERTIES;
+      }
+      final Set<SimpleString> properties = new LinkedHashSet<>();
+      for (String property : indexedProperties.toString().split(",")) {
+         if (!property.isBlank()) {
+            properties.add(SimpleString.of(property.trim()));
+         }
+      }
+      return properties.toArray(NO_PROPERTIES);
+   }
+
+   /**
+    * Indexes {@code properties} instead of the properties indexed so far, dropping the current index. Until
+    * {@link #rebuilt()} is called the nodes stored are only indexed and not given to the delegate, so the list can
+    * store again the nodes it holds to build the new index.
+    */
+   void setProperties(SimpleString[] properties) {
+      this.properties = properties;
+      entries.clear();
+      stringValues = new ArrayList<>(properties.length);
+      otherValues = new ArrayList<>(properties.length);
+      for (int i = 0; i < properties.length; i++) {
+         stringValues.add(new HashMap<>());
+         otherValues.add(new LongHashSet());
+      }
+      rebuilding = true;
+   }
+
+   void rebuilt() {
+      rebuilding = false;
+   }
+
+   boolean isIndexed(SimpleString property) {
+      return indexOf(property) >= 0;
+   }
+
+   private int indexOf(SimpleString property) {
+      for (int i = 0; i < properties.length; i++) {
+         if (properties[i].equals(property)) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   @Override
+   public void storeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      if (properties.length > 0) {
+         index(element, node);
+      }
+      if (delegate != null && !rebuilding) {
+         delegate.storeNode(element, node);
+      }
+   }
+
+   private void index(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      final Filterable filterable = FilterImpl.toFilterable(element.getMessage());
+      Object[] values = null;
+      for (int i = 0; i < properties.length; i++) {
+         final Object value = filterable.getProperty(properties[i]);
+         if (value != null) {
+            if (values == null) {
+               values = new Object[properties.length];
+            }
+            values[i] = value;
+         }
+      }
+      if (values == null) {
+         // a filter testing an indexed property never matches a reference without it
+         return;
+      }
+      final long id = element.getMessageID();
+      final Entry previous = entries.put(id, new Entry(element, node, values));
+      if (previous != null) {
+         unindex(id, previous.values);
+      }
+      for (int i = 0; i < values.length; i++) {
+         if (values[i] instanceof String string) {
+            stringValues.get(i).computeIfAbsent(string, value -> new LongHashSet()).add(id);
+         } else if (values[i] != null) {
+            otherValues.get(i).add(id);
+         }
+      }
+   }
+
+   private void unindex(long id, Object[] values) {
+      for (int i = 0; i < values.length; i++) {
+         if (values[i] instanceof String string) {
+            final Map<String, LongHashSet> ids = stringValues.get(i);
+            final LongHashSet valueIDs = ids.get(string);
+            if (valueIDs != null && valueIDs.remove(id) && valueIDs.isEmpty()) {
+               ids.remove(string);
+            }
+         } else if (values[i] != null) {
+            otherValues.get(i).remove(id);
+         }
+      }
+   }
+
+   @Override
+   public void removeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+      if (!entries.isEmpty()) {
+         final long id = element.getMessageID();
+         final Entry entry = entries.get(id);
+         if (entry != null && entry.node == node) {
+            entries.remove(id);
+            unindex(id, entry.values);
+         }
+      }
+      if (delegate != null) {
+         delegate.removeNode(element, node);
+      }
+   }
+
+   @Override
+   public LinkedListImpl.Node<MessageReference> getNode(String listID, long id) {
+      if (LIST_ID.equals(listID)) {
+         final Entry entry = entries.get(id);
+         return entry != null ? entry.node : null;
+      }
+      return delegate != null ? delegate.getNode(listID, id) : null;
+   }
+
+   /**
+    * Adds to {@code matches} the references matching {@code filter}, whose {@code values} are on an indexed property,
+    * in queue order.
+    */
+   void collect(SelectorCompiler.PropertyValues values, Filter filter, List<MessageReference> matches) {
+      final int property = indexOf(values.property());
+      if (property < 0) {
+         return;
+      }
+      final int first = matches.size();
+      for (String value : values.values()) {
+         final LongHashSet ids = stringValues.get(property).get(value);
+         if (ids != null) {
+            collect(ids, values.exact() ? null : filter, matches);
+         }
+      }
+      collect(otherValues.get(property), filter, matches);
+      // the sequence comparator puts the latest reference first
+      matches.subList(first, matches.size()).sort(MessageReferenceImpl.getSequenceComparator().reversed());
+   }
+
+   private void collect(LongHashSet ids, Filter filter, List<MessageReference> matches) {
+      final LongHashSet.LongIterator iterator = ids.iterator();
+      while (iterator.hasNext()) {
+         final Entry entry = entries.get(iterator.nextValue());
+         if (entry != null && (filter == null || filter.match(entry.reference.getMessage()))) {
+            matches.add(entry.reference);
+         }
+      }
+   }
+
+   @Override
+   public NodeStore<MessageReference> setName(String name) {
+      this.name = name;
+      return this;
+   }
+
+   @Override
+   public String getName() {
+      return name;
+   }
+
+   @Override
+   public void clear() {
+      entries.clear();
+      stringValues.forEach(Map::clear);
+      otherValues.forEach(LongHashSet::clear);
+      if (delegate != null) {
+         delegate.clear();
+      }
+   }
+
+   @Override
+   public int size() {
+      return entries.size() + (delegate != null ? delegate.size() : 0);
+   }
+}
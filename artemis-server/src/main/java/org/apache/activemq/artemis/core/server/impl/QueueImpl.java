@@ -22,6 +22,8 @@ import java.io.StringWriter;
 import java.lang.invoke.MethodHandles;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -94,6 +96,7 @@ import org.apache.activemq.artemis.core.server.cluster.RemoteQueueBinding;
 import org.apache.activemq.artemis.core.server.cluster.impl.Redistributor;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.core.server.metrics.LatencyHistogram;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepository;
 import org.apache.activemq.artemis.core.settings.HierarchicalRepositoryChangeListener;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
@@ -105,6 +108,7 @@ import org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes;
 import org.apache.activemq.artemis.core.transaction.impl.BindingsTransactionImpl;
 import org.apache.activemq.artemis.core.transaction.impl.TransactionImpl;
 import org.apache.activemq.artemis.logs.AuditLogger;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.utils.ArtemisCloseable;
 import org.apache.activemq.artemis.utils.BooleanUtil;
@@ -206,15 +210,44 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    // This is where messages are stored
    protected final PriorityLinkedList<MessageReference> messageReferences = new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
 
+   // Indexes the references carrying an expiration on each priority level of messageReferences
+   private final List<ExpiryNodeStore> expiryNodeStores = new ArrayList<>(NUM_PRIORITIES);
+
+   // Indexes the references by the indexed-properties on each priority level of messageReferences, behind the expiry index
+   private final List<PropertyIndexNodeStore> propertyIndexNodeStores = new ArrayList<>(NUM_PRIORITIES);
+
+   private SimpleString[] indexedProperties = PropertyIndexNodeStore.NO_PROPERTIES;
+
    private NodeStoreFactory<MessageReference> nodeStoreFactory;
 
    private void checkIDSupplier(NodeStoreFactory<MessageReference> nodeStoreFactory) {
       if (this.nodeStoreFactory == null) {
          this.nodeStoreFactory = nodeStoreFactory;
-         messageReferences.setNodeStore(() -> nodeStoreFactory.newNodeStore().setName(String.valueOf(queueConfiguration.getName())));
+         // the priority levels ask for their store in the same order they were given the expiry and property indexes
+         final Iterator<ExpiryNodeStore> levels = expiryNodeStores.iterator();
+         final Iterator<PropertyIndexNodeStore> propertyIndexes = propertyIndexNodeStores.iterator();
+         messageReferences.setNodeStore(() -> {
+            propertyIndexes.next().setDelegate(nodeStoreFactory.newNodeStore().setName(String.valueOf(queueConfiguration.getName())));
+            return levels.next();
+         });
       }
    }
 
+   private synchronized void configurePropertyIndexes() {
+      final SimpleString[] properties = PropertyIndexNodeStore.parseProperties(cachedAddressSettings.getIndexedProperties());
+      if (Arrays.equals(properties, indexedProperties)) {
+         return;
+      }
+      indexedProperties = properties;
+      propertyIndexNodeStores.forEach(propertyIndex -> propertyIndex.setProperties(properties));
+      if (properties.length > 0 && !messageReferences.isEmpty()) {
+         // the expiry indexes take the references they hold again as they are, so this only builds the property indexes
+         final Iterator<ExpiryNodeStore> levels = expiryNodeStores.iterator();
+         messageReferences.setNodeStore(levels::next);
+      }
+      propertyIndexNodeStores.forEach(PropertyIndexNodeStore::rebuilt);
+   }
+
    // The quantity of pagedReferences on messageReferences priority list
    private final AtomicInteger pagedReferences = new AtomicInteger(0);
 
@@ -294,6 +327,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final ReusableLatch deliveriesInTransit = new ReusableLatch(0);
 
+   // null unless latency histograms are enabled for this queue
+   private volatile LatencyHistogram dispatchLatency;
+   private volatile LatencyHistogram acknowledgeLatency;
+
    private final AtomicLong queueRateCheckTime = new AtomicLong(System.currentTimeMillis());
 
    private final AtomicLong messagesAddedSnapshot = new AtomicLong(0);
@@ -412,6 +449,18 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       this.server = server;
 
+      // Each priority level of messageReferences stores its nodes in a chain of NodeStores: the ExpiryNodeStore, then
+      // the PropertyIndexNodeStore, then the store a mirror target sets through checkIDSupplier. Each one resolves its
+      // own list ID and hands any other one to the next. Like every other change to messageReferences, the stores are
+      // only called while holding the queue lock.
+      messageReferences.setNodeStore(() -> {
+         final PropertyIndexNodeStore propertyIndexNodeStore = new PropertyIndexNodeStore();
+         propertyIndexNodeStores.add(propertyIndexNodeStore);
+         final ExpiryNodeStore expiryNodeStore = new ExpiryNodeStore().setDelegate(propertyIndexNodeStore);
+         expiryNodeStores.add(expiryNodeStore);
+         return expiryNodeStore.setName(String.valueOf(this.queueConfiguration.getName()));
+      });
+
       scheduledDeliveryHandler = new ScheduledDeliveryHandlerImpl(scheduledExecutor, this);
 
       if (addressSettingsRepository != null) {
@@ -441,6 +490,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          ? ActiveMQDefaultConfiguration.INITIAL_QUEUE_BUFFER_SIZE
          : this.cachedAddressSettings.getInitialQueueBufferSize();
       this.intermediateMessageReferences = new MpscUnboundedArrayQueue<>(initialQueueBufferSize);
+
+      configurePropertyIndexes();
    }
 
    // Bindable implementation -------------------------------------------------------------------------------------
@@ -752,7 +803,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       int count = messageReference.getMessage().refDown();
       PagingStore owner = (PagingStore) messageReference.getMessage().getOwner();
       if (count == 0 && owner != null) {
-         owner.addSize(-messageReference.getMessageMemoryEstimate(), false);
+         // the conversions cached for the message were accounted to its owner when they were cached
+         owner.addSize(-messageReference.getMessageMemoryEstimate() - messageReference.getMessage().releaseConversions(), false);
       }
       if (pagingStore != null) {
          if (owner != null && pagingStore != owner) {
@@ -973,6 +1025,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          if (scheduleIfPossible(ref)) {
             return;
          }
+         if (dispatchLatency != null) {
+            setLatencyTimestamp(ref, System.nanoTime());
+         }
          if (RefCountMessage.isRefTraceEnabled()) {
             RefCountMessage.deferredDebug(ref.getMessage(), "add tail queue {}", this.getName());
          }
@@ -1019,6 +1074,31 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   @Override
+   public void addTail(final List<MessageReference> refs) {
+      try (ArtemisCloseable metric = measureCritical(CRITICAL_PATH_ADD_TAIL)) {
+         for (MessageReference ref : refs) {
+            if (scheduleIfPossible(ref)) {
+               continue;
+            }
+            if (dispatchLatency != null) {
+               setLatencyTimestamp(ref, System.nanoTime());
+            }
+            if (RefCountMessage.isRefTraceEnabled()) {
+               RefCountMessage.deferredDebug(ref.getMessage(), "add tail queue {}", this.getName());
+            }
+
+            queueMemorySize.addSize(ref.getMessageMemoryEstimate());
+
+            intermediateMessageReferences.add(ref);
+         }
+
+         directDeliver = false;
+
+         deliverAsync();
+      }
+   }
+
    protected boolean scheduleIfPossible(MessageReference ref) {
       if (scheduledDeliveryHandler.checkAndSchedule(ref, true)) {
          synchronized (this) {
@@ -1443,6 +1523,22 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return new QueueBrowserIterator();
    }
 
+   @Override
+   public synchronized List<MessageReference> getIndexedReferences(Filter filter, int max) {
+      final SelectorCompiler.PropertyValues values = filter == null ? null : filter.getPropertyValues();
+      if (values == null || propertyIndexNodeStores.isEmpty() || !propertyIndexNodeStores.get(0).isIndexed(values.property())) {
+         return null;
+      }
+      // ensure all messages are moved from intermediateMessageReferences so that they can be found
+      doInternalPoll();
+      final List<MessageReference> matches = new ArrayList<>();
+      // from the highest priority, as messageReferences is iterated
+      for (int level = propertyIndexNodeStores.size() - 1; level >= 0 && matches.size() < max; level--) {
+         propertyIndexNodeStores.get(level).collect(values, filter, matches);
+      }
+      return matches.size() > max ? matches.subList(0, max) : matches;
+   }
+
    @Override
    public MessageReference peekFirstMessage() {
       synchronized (this) {
@@ -2019,48 +2115,62 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             // ensure all messages are moved from intermediateMessageReferences so that they can be seen by the iterator
             doInternalPoll();
 
-            try (LinkedListIterator<MessageReference> iter = iterator()) {
-
-               while (iter.hasNext() && !messageAction.expectedHitsReached(count)) {
-                  MessageReference ref = iter.next();
-
-                  if (filter1 == null || filter1.match(ref.getMessage())) {
-                     if (messageAction.actMessage(tx, ref)) {
-                        iter.remove();
-                        refRemoved(ref);
+            final List<MessageReference> indexed = getIndexedReferences(filter1, Integer.MAX_VALUE);
+            if (indexed != null) {
+               for (MessageReference ref : indexed) {
+                  if (messageAction.expectedHitsReached(count)) {
+                     break;
+                  }
+                  if (messageAction.actMessage(tx, ref)) {
+                     messageReferences.removeWithID(PropertyIndexNodeStore.LIST_ID, ref.getMessageID());
+                     refRemoved(ref);
+                  }
+                  txCount++;
+                  count++;
+               }
+            } else {
+               try (LinkedListIterator<MessageReference> iter = iterator()) {
+                  while (iter.hasNext() && !messageAction.expectedHitsReached(count)) {
+                     MessageReference ref = iter.next();
+
+                     if (filter1 == null || filter1.match(ref.getMessage())) {
+                        if (messageAction.actMessage(tx, ref)) {
+                           iter.remove();
+                           refRemoved(ref);
+                        }
+                        txCount++;
+                        count++;
                      }
-                     txCount++;
-                     count++;
                   }
                }
+            }
 
-               if (txCount > 0) {
-                  tx.commit();
+            if (txCount > 0) {
+               tx.commit();
 
-                  tx = new TransactionImpl(storageManager);
+               tx = new TransactionImpl(storageManager);
 
-                  txCount = 0;
-               }
+               txCount = 0;
+            }
 
-               if (messageAction.expectedHitsReached(count)) {
-                  return count;
-               }
+            if (messageAction.expectedHitsReached(count)) {
+               return count;
+            }
 
-               List<MessageReference> cancelled = scheduledDeliveryHandler.cancel(ref -> filter1 == null ? true : filter1.match(ref.getMessage()));
-               for (MessageReference messageReference : cancelled) {
-                  messageAction.actMessage(tx, messageReference);
-                  count++;
-                  txCount++;
-                  if (messageAction.expectedHitsReached(count)) {
-                     break;
-                  }
+            List<MessageReference> cancelled = scheduledDeliveryHandler.cancel(ref -> filter1 == null ? true : filter1.match(ref.getMessage()));
+            for (MessageReference messageReference : cancelled) {
+               messageAction.actMessage(tx, messageReference);
+               count++;
+               txCount++;
+               if (messageAction.expectedHitsReached(count)) {
+                  break;
                }
+            }
 
-               if (txCount > 0) {
-                  tx.commit();
-                  tx = new TransactionImpl(storageManager);
-                  txCount = 0;
-               }
+            if (txCount > 0) {
+               tx.commit();
+               tx = new TransactionImpl(storageManager);
+               txCount = 0;
             }
          }
 
@@ -2288,6 +2398,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return false;
    }
 
+   /**
+    * Expires the references whose deadline has passed according to the {@link ExpiryNodeStore} of each priority level,
+    * so only the due references are visited instead of the whole queue.
+    */
    class ExpiryScanner implements Runnable {
 
       private final Runnable doneCallback;
@@ -2296,22 +2410,19 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          this.doneCallback = doneCallback;
       }
 
-      LinkedListIterator<MessageReference> iter = null;
+      boolean scanning = false;
 
       @Override
       public void run() {
-         boolean expired = false;
-         boolean hasElements = false;
-         int elementsIterated = 0;
-         int elementsExpired = 0;
+         boolean hasElements;
 
          boolean rescheduled = false;
 
-         LinkedList<MessageReference> expiredMessages = new LinkedList<>();
+         final List<MessageReference> expiredMessages = new ArrayList<>();
          synchronized (QueueImpl.this) {
             logger.debug("Scanning for expires on {}", queueConfiguration.getName());
 
-            if (iter == null) {
+            if (!scanning) {
                if (server.hasBrokerQueuePlugins()) {
                   try {
                      server.callBrokerQueuePlugins((p) -> p.beforeExpiryScan(QueueImpl.this));
@@ -2319,25 +2430,27 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                      logger.warn(e.getMessage(), e);
                   }
                }
-               iter = iterator();
+               scanning = true;
             }
 
+            hasElements = !messageReferences.isEmpty();
+
             try {
-               while (!queueDestroyed && postOffice.isStarted() && iter.hasNext()) {
-                  hasElements = true;
-                  MessageReference ref = iter.next();
-                  if (ref.getMessage().isExpired()) {
-                     elementsExpired++;
-                     incDelivering(ref);
-                     expired = true;
-                     expiredMessages.add(ref);
-                     iter.remove();
+               if (!queueDestroyed && postOffice.isStarted()) {
+                  final List<MessageReference> due = new ArrayList<>();
+                  final long now = System.currentTimeMillis();
+                  for (ExpiryNodeStore expiryNodeStore : expiryNodeStores) {
+                     rescheduled |= expiryNodeStore.collectDue(now, MAX_DELIVERIES_IN_LOOP, due);
                   }
-                  if (++elementsIterated >= MAX_DELIVERIES_IN_LOOP) {
-                     logger.debug("Expiry Scanner on {} ran for {} iteration, scheduling a new one", QueueImpl.this.getName(), elementsIterated);
-                     rescheduled = true;
+                  for (MessageReference ref : due) {
+                     if (ref.getMessage().isExpired() && messageReferences.removeWithID(ExpiryNodeStore.LIST_ID, ref.getMessageID()) == ref) {
+                        incDelivering(ref);
+                        expiredMessages.add(ref);
+                     }
+                  }
+                  if (rescheduled) {
+                     logger.debug("Expiry Scanner on {} found more than {} due references, scheduling a new one", QueueImpl.this.getName(), due.size());
                      getExecutor().execute(this);
-                     break;
                   }
                }
             } finally {
@@ -2352,8 +2465,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                      }
                   }
 
-                  iter.close();
-                  iter = null;
+                  scanning = false;
 
                   if (doneCallback != null) {
                      doneCallback.run();
@@ -2380,12 +2492,12 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             }
 
             if (logger.isDebugEnabled()) {
-               logger.debug("Expired {} references", elementsExpired);
+               logger.debug("Expired {} references", expiredMessages.size());
             }
          }
 
          // If empty we need to schedule depaging to make sure we would depage expired messages as well
-         if ((!hasElements || expired) && pageIterator != null && pageIterator.tryNext() != PageIterator.NextResult.noElements) {
+         if ((!hasElements || !expiredMessages.isEmpty()) && pageIterator != null && pageIterator.tryNext() != PageIterator.NextResult.noElements) {
             scheduleDepage(true);
          }
       }
@@ -2750,7 +2862,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return "QueueImpl[name=" + queueConfiguration.getName() + ", postOffice=" + this.postOffice + ", temp=" + queueConfiguration.isTemporary() + "]@" + Integer.toHexString(System.identityHashCode(this));
    }
 
-   private synchronized void internalAddTail(final MessageReference ref) {
+   /**
+    * The caller of this method requires synchronized on the queue. Both callers ({@link #reload(MessageReference)} and
+    * {@link #doInternalPoll()}) already hold the monitor, so re-entering it for every reference is pure overhead.
+    */
+   private void internalAddTail(final MessageReference ref) {
       refAdded(ref);
       ref.setSequence(queueSequence.incrementAndGet());
       messageReferences.addTail(ref, getPriority(ref));
@@ -2876,7 +2992,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       scheduledRunners.decrementAndGet();
 
-      doInternalPoll();
+      // producers only ever touch the lock-free intermediateMessageReferences, so there's no reason to
+      // contend on the queue monitor when there's nothing to move into messageReferences
+      if (!intermediateMessageReferences.isEmpty()) {
+         doInternalPoll();
+      }
 
       // Either the iterator is empty or the consumer is busy
       int noDelivery = 0;
@@ -2992,6 +3112,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
                   ref = handleMessageGroup(ref, consumer, groupConsumer, groupID);
 
+                  recordDispatch(ref);
+
                   deliveriesInTransit.countUp();
 
                   if (!queueConfiguration.isNonDestructive()) {
@@ -3747,6 +3869,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             if (status == HandleStatus.HANDLED) {
                final MessageReference reference = handleMessageGroup(ref, consumer, groupConsumer, groupID);
 
+               recordDispatch(reference);
+
                incrementMesssagesAdded();
 
                deliveriesInTransit.countUp();
@@ -3807,6 +3931,58 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return ref;
    }
 
+   @Override
+   public void setLatencyHistograms(LatencyHistogram dispatchLatency, LatencyHistogram acknowledgeLatency) {
+      this.dispatchLatency = dispatchLatency;
+      this.acknowledgeLatency = acknowledgeLatency;
+   }
+
+   /**
+    * Records the time {@code ref} waited for its first dispatch and stamps it with the dispatch time, so its
+    * acknowledgement can record how long the consumer took.
+    */
+   private void recordDispatch(MessageReference ref) {
+      final LatencyHistogram dispatchLatency = this.dispatchLatency;
+      if (dispatchLatency == null && acknowledgeLatency == null) {
+         return;
+      }
+      final long now = System.nanoTime();
+      final long enqueued = getLatencyTimestamp(ref);
+      // the delivery count was incremented by the consumer that handled it, unless it doesn't track deliveries
+      if (dispatchLatency != null && enqueued != 0 && ref.getDeliveryCount() <= 1) {
+         dispatchLatency.record(now - enqueued);
+      }
+      setLatencyTimestamp(ref, now);
+   }
+
+   private void recordAcknowledge(MessageReference ref) {
+      final LatencyHistogram acknowledgeLatency = this.acknowledgeLatency;
+      if (acknowledgeLatency != null) {
+         final long dispatched = getLatencyTimestamp(ref);
+         if (dispatched != 0) {
+            acknowledgeLatency.recordSince(dispatched);
+         }
+      }
+   }
+
+   private static void setLatencyTimestamp(MessageReference ref, long nanoTime) {
+      final LatencyTimestamp timestamp = ref.getProtocolData(LatencyTimestamp.class);
+      if (timestamp == null) {
+         ref.setProtocolData(LatencyTimestamp.class, new LatencyTimestamp(nanoTime));
+      } else {
+         timestamp.nanoTime = nanoTime;
+      }
+   }
+
+   /**
+    * {@return the {@link System#nanoTime()} at which {@code ref} was enqueued or last dispatched, or {@code 0} if it
+    * wasn't recorded}
+    */
+   private static long getLatencyTimestamp(MessageReference ref) {
+      final LatencyTimestamp timestamp = ref.getProtocolData(LatencyTimestamp.class);
+      return timestamp == null ? 0 : timestamp.nanoTime;
+   }
+
    private void proceedDeliver(Consumer consumer, MessageReference reference) {
       try {
          consumer.proceedDeliver(reference);
@@ -3889,6 +4065,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       try {
          if (delivering) {
             queue.decDelivering(ref);
+            if (reason == AckReason.NORMAL) {
+               recordAcknowledge(ref);
+            }
          }
          if (queueConfiguration.isNonDestructive() && reason == AckReason.NORMAL) {
             // this is done to tell the difference between actual acks and just a closed consumer in the non-destructive use-case
@@ -4497,6 +4676,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          cachedAddressSettings = addressSettingsRepository.getMatch(getAddressSettingsMatch());
          checkDeadLetterAddressAndExpiryAddress();
          configureSlowConsumerReaper();
+         configurePropertyIndexes();
       }
 
       public void close() {
@@ -4609,4 +4789,17 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
          }
       }
    }
+
+   /**
+    * The time a reference was enqueued, then dispatched, kept with its protocol data so the references don't carry it
+    * when the latency histograms are disabled.
+    */
+   private static final class LatencyTimestamp {
+
+      private long nanoTime;
+
+      private LatencyTimestamp(long nanoTime) {
+         this.nanoTime = nanoTime;
+      }
+   }
 }
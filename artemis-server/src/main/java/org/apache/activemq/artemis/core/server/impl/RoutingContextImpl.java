@@ -52,6 +52,8 @@ public class RoutingContextImpl implements RoutingContext {
    // if we wanted to bypass the load balancing configured elsewhere
    private MessageLoadBalancingType loadBalancingType;
 
+   private boolean partitionByGroupID;
+
    // To be set by the Mirror target on the server, to avoid ping pongs or reflections of messages between mirrors
    private MirrorController mirrorControllerSource;
 
@@ -71,6 +73,8 @@ public class RoutingContextImpl implements RoutingContext {
 
    private ServerSession serverSession;
 
+   private long receivedTimestamp;
+
    @Override
    public boolean isDuplicateDetection() {
       return duplicateDetection;
@@ -82,6 +86,17 @@ public class RoutingContextImpl implements RoutingContext {
       return this;
    }
 
+   @Override
+   public long getReceivedTimestamp() {
+      return receivedTimestamp;
+   }
+
+   @Override
+   public RoutingContextImpl setReceivedTimestamp(long nanoTime) {
+      this.receivedTimestamp = nanoTime;
+      return this;
+   }
+
    public RoutingContextImpl(final Transaction transaction) {
       this.transaction = transaction;
    }
@@ -179,6 +194,8 @@ public class RoutingContextImpl implements RoutingContext {
 
       this.internalOnly = null;
 
+      this.receivedTimestamp = 0;
+
       // once we set to disabled, we keep it always disabled.
       // This is because the routing object used to route commands will disable this
       // and it should stay that way no matter what
@@ -253,6 +270,17 @@ public class RoutingContextImpl implements RoutingContext {
       return loadBalancingType;
    }
 
+   @Override
+   public RoutingContextImpl setPartitionByGroupID(boolean partitionByGroupID) {
+      this.partitionByGroupID = partitionByGroupID;
+      return this;
+   }
+
+   @Override
+   public boolean isPartitionByGroupID() {
+      return partitionByGroupID;
+   }
+
    @Override
    public void addQueueWithAck(SimpleString address, Queue queue) {
       addQueue(address, queue);
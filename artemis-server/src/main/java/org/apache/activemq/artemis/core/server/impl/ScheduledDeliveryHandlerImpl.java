@@ -24,7 +24,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -47,7 +46,11 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
 
    private final ScheduledExecutorService scheduledExecutor;
 
-   private final Map<Long, Runnable> runnables = new ConcurrentHashMap<>();
+   // Delivery times with a ScheduledDeliveryRunnable pending on the scheduledExecutor. Only the earliest deadline
+   // needs a runnable: every runnable re-arms the executor for the next scheduled reference once it's done,
+   // so millions of scheduled messages won't translate into millions of tasks on the executor.
+   // Guarded by scheduledReferences.
+   private final TreeSet<Long> pendingDeliveryTimes = new TreeSet<>();
 
    // This contains RefSchedules which are delegates to the real references
    // just adding some information to keep it in order accordingly to the initial operations
@@ -199,19 +202,31 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
          // if delay == 0 we will avoid races between adding the scheduler and finishing it
          ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
          scheduledExecutor.schedule(runnable, 0, TimeUnit.MILLISECONDS);
-      } else if (!runnables.containsKey(deliveryTime)) {
+      } else {
+         synchronized (scheduledReferences) {
+            if (!pendingDeliveryTimes.isEmpty() && pendingDeliveryTimes.first() <= deliveryTime) {
+               if (logger.isTraceEnabled()) {
+                  logger.trace("Couldn't make another scheduler as {} is already set for {}, now is {}", pendingDeliveryTimes.first(), deliveryTime, now);
+               }
+               return;
+            }
+            pendingDeliveryTimes.add(deliveryTime);
+         }
+
          ScheduledDeliveryRunnable runnable = new ScheduledDeliveryRunnable(deliveryTime);
 
          if (logger.isTraceEnabled()) {
             logger.trace("Setting up scheduler for {} with a delay of {} as now={}", deliveryTime, delay, now);
          }
 
-         runnables.put(deliveryTime, runnable);
          scheduledExecutor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("Couldn't make another scheduler as {} is already set, now is {}", deliveryTime, now);
-         }
+      }
+   }
+
+   // used on tests
+   int getPendingDeliveries() {
+      synchronized (scheduledReferences) {
+         return pendingDeliveryTimes.size();
       }
    }
 
@@ -255,7 +270,9 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
       public void run() {
          Map<Queue, LinkedList<MessageReference>> refs = new HashMap<>();
 
-         runnables.remove(deliveryTime);
+         synchronized (scheduledReferences) {
+            pendingDeliveryTimes.remove(deliveryTime);
+         }
 
          final long now = System.currentTimeMillis();
 
@@ -276,6 +293,8 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
             logger.trace("It is {} now and we are running deliveryTime = {}", System.currentTimeMillis(), deliveryTime);
          }
 
+         final long nextDeliveryTime;
+
          synchronized (scheduledReferences) {
 
             Iterator<RefScheduled> iter = scheduledReferences.iterator();
@@ -308,6 +327,13 @@ public class ScheduledDeliveryHandlerImpl implements ScheduledDeliveryHandler {
             if (logger.isTraceEnabled()) {
                logger.trace("Finished loop on deliveryTime = {}", deliveryTime);
             }
+
+            nextDeliveryTime = scheduledReferences.isEmpty() ? -1 : scheduledReferences.first().getRef().getScheduledDeliveryTime();
+         }
+
+         if (nextDeliveryTime > 0) {
+            // only the earliest deadline has a runnable, so we need to take care of the next one
+            ScheduledDeliveryHandlerImpl.this.scheduleDelivery(nextDeliveryTime);
          }
 
          for (Map.Entry<Queue, LinkedList<MessageReference>> entry : refs.entrySet()) {
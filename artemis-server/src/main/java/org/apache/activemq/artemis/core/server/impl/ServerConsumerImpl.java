@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
@@ -52,6 +53,7 @@ import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.remoting.impl.netty.SharedFileChannel;
 import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
@@ -65,6 +67,7 @@ import org.apache.activemq.artemis.core.server.ServerSession;
 import org.apache.activemq.artemis.core.server.SlowConsumerDetectionListener;
 import org.apache.activemq.artemis.core.server.management.ManagementService;
 import org.apache.activemq.artemis.core.server.management.Notification;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.core.transaction.Transaction;
 import org.apache.activemq.artemis.core.transaction.TransactionOperationAbstract;
 import org.apache.activemq.artemis.core.transaction.TransactionPropertyIndexes;
@@ -117,6 +120,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    private volatile AtomicInteger availableCredits = new AtomicInteger(0);
 
+   /**
+    * Only set when the address settings enable an adaptive consumer window; bounds the bytes out for delivery on top of
+    * the credits granted by the client.
+    */
+   private final AdaptiveConsumerWindow adaptiveWindow;
+
    private boolean started;
 
    private volatile CoreLargeMessageDeliverer largeMessageDeliverer = null;
@@ -276,6 +285,8 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       this.server = server;
 
+      this.adaptiveWindow = createAdaptiveWindow();
+
       if (browseOnly) {
          browserDeliverer = new BrowserDeliverer(messageQueue.browserIterator());
       } else {
@@ -292,6 +303,20 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       }
    }
 
+   private AdaptiveConsumerWindow createAdaptiveWindow() {
+      if (browseOnly || preAcknowledge || server.getAddressSettingsRepository() == null) {
+         return null;
+      }
+      final AddressSettings addressSettings = server.getAddressSettingsRepository().getMatch(messageQueue.getAddress().toString());
+      final long targetLatency = addressSettings.getAdaptiveConsumerWindowLatency();
+      if (targetLatency <= 0) {
+         return null;
+      }
+      final int defaultWindowSize = addressSettings.getDefaultConsumerWindowSize();
+      final int maxSize = defaultWindowSize > 0 ? defaultWindowSize : Integer.MAX_VALUE;
+      return new AdaptiveConsumerWindow(targetLatency, maxSize, metrics::getMessagesInTransitSize, System.currentTimeMillis());
+   }
+
    @Override
    public void readyForWriting() {
       promptDelivery();
@@ -379,7 +404,20 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
    @Override
    public void metricsAcknowledge(MessageReference ref, Transaction transaction) {
-      metrics.addAcknowledge(ref.getMessage().getEncodeSize(), transaction);
+      addAcknowledge(ref, transaction, true);
+   }
+
+   /**
+    * Takes the reference out of the in transit metrics, and out of the adaptive window if there is one.
+    *
+    * @param consumed {@code false} if the reference is going back to the queue rather than being consumed
+    */
+   private void addAcknowledge(MessageReference ref, Transaction transaction, boolean consumed) {
+      final int encodeSize = ref.getMessage().getEncodeSize();
+      metrics.addAcknowledge(encodeSize, transaction);
+      if (adaptiveWindow != null && adaptiveWindow.acknowledged(encodeSize, consumed, System.currentTimeMillis())) {
+         promptDelivery();
+      }
    }
 
    @Override
@@ -421,6 +459,13 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
          return HandleStatus.BUSY;
       }
+      if (adaptiveWindow != null && !adaptiveWindow.allowsDelivery(System.currentTimeMillis())) {
+         if (logger.isDebugEnabled()) {
+            logger.debug("{} is busy for its adaptive window. In transit = {}, window = {} Can't receive reference {}", this, metrics.getMessagesInTransitSize(), adaptiveWindow.getWindowSize(), ref);
+         }
+
+         return HandleStatus.BUSY;
+      }
       if (server.hasBrokerMessagePlugins() && !server.callBrokerMessagePluginsCanAccept(this, ref)) {
          logger.trace("Reference {} is not allowed to be consumed by {} due to message plugin filter.", ref, this);
 
@@ -737,7 +782,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
          final List<MessageReference> refs = new ArrayList<>(deliveringRefs.size());
          MessageReference ref;
          while ((ref = deliveringRefs.poll()) != null) {
-            metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
+            addAcknowledge(ref, tx, performACK);
             if (performACK) {
                ref.acknowledge(tx, this);
                performACK = false;
@@ -944,7 +989,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
             ref.acknowledge(tx, this);
             ackedRefs.add(ref.getMessageID());
-            metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
+            addAcknowledge(ref, tx, true);
          }
          while (ref.getMessageID() != messageID);
 
@@ -1010,7 +1055,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
             RefCountMessage.deferredDebug(ref.getMessage(), "Individually acked on tx={}", tx.getID());
          }
 
-         metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
+         addAcknowledge(ref, tx, true);
          ref.acknowledge(tx, this);
 
          if (startedTransaction) {
@@ -1051,7 +1096,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       if (!failed) {
          ref.decrementDeliveryCount();
       }
-      metrics.addAcknowledge(ref.getMessage().getEncodeSize(), null);
+      addAcknowledge(ref, null, false);
       ref.getQueue().cancel(ref, System.currentTimeMillis());
    }
 
@@ -1067,7 +1112,7 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       if (ref == null) {
          return; // nothing to be done
       }
-      metrics.addAcknowledge(ref.getMessage().getEncodeSize(), null);
+      addAcknowledge(ref, null, true);
       ref.getQueue().sendToDeadLetterAddress(null, ref);
    }
 
@@ -1280,6 +1325,17 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
       private ByteBuffer chunkBytes;
 
+      /**
+       * Whether the reading position of {@link #context} is {@link #positionPendingLargeMessage}: the chunks sent
+       * straight from the file of the body don't move it.
+       */
+      private boolean readerPositioned = true;
+
+      /**
+       * The file of the body, opened once for all the chunks sent straight from it.
+       */
+      private SharedFileChannel bodyFile;
+
       private CoreLargeMessageDeliverer(final MessageReference ref) {
          this.ref = ref;
 
@@ -1366,26 +1422,53 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               final boolean continues = positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage;
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               // the body is sent straight from its file if the connection allows it, e.g. it isn't encrypted
+               if (bodyFile == null && context.getFile() != null) {
+                  bodyFile = new SharedFileChannel(context.getFile());
+               }
 
-               final int readBytes = context.readInto(bodyBuffer);
+               int packetSize;
 
-               assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
+               try {
+                  packetSize = bodyFile == null ? -1 : callback.sendLargeMessageContinuation(ServerConsumerImpl.this, bodyFile, positionPendingLargeMessage, localChunkLen, continues);
+               } catch (IOException e) {
+                  // nothing was sent yet: only this consumer fails, while the connection and its other consumers go on
+                  logger.warn("{} could not send the large message {} from its file {}", ServerConsumerImpl.this, largeMessage.getMessageID(), bodyFile.getFile(), e);
+                  messageQueue.getExecutor().execute(() -> failed(e));
+                  return false;
+               }
+
+               if (packetSize >= 0) {
+                  readerPositioned = false;
+               } else {
+                  if (!readerPositioned) {
+                     context.position(positionPendingLargeMessage);
+                     readerPositioned = true;
+                  }
 
+                  final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-               final byte[] body = bodyBuffer.array();
+                  assert bodyBuffer.remaining() == localChunkLen;
 
-               assert body.length == readBytes;
+                  final int readBytes = context.readInto(bodyBuffer);
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+                  assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
 
-               int chunkLen = body.length;
+                  final byte[] body = bodyBuffer.array();
+
+                  assert body.length == readBytes;
+
+                  //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+                  //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+                  //resendCache != null && packet.isRequiresConfirmations()
+
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, continues, false);
+               }
+
+               int chunkLen = localChunkLen;
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
@@ -1433,6 +1516,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
                context = null;
             }
 
+            if (bodyFile != null) {
+               // the chunks not written yet keep the file open
+               bodyFile.release();
+               bodyFile = null;
+            }
+
             largeMessage.releaseResources(false, false);
 
             largeMessage.toMessage().usageDown();
@@ -1576,6 +1665,11 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       return metrics.getMessagesInTransitSize();
    }
 
+   @Override
+   public int getAdaptiveWindowSize() {
+      return adaptiveWindow != null ? adaptiveWindow.getWindowSize() : -1;
+   }
+
    @Override
    public int getMessagesInTransit() {
       return deliveringRefs.size();
@@ -180,6 +180,9 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
 
    protected final RoutingContext routingContext = new RoutingContextImpl(null).setServerSession(this);
 
+   // whether the route latency may be recorded, so sending only reads the clock when it might
+   private final boolean latencyHistograms;
+
    protected final SessionCallback callback;
 
    private volatile SimpleString defaultAddress;
@@ -270,6 +273,8 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
 
       this.server = server;
 
+      this.latencyHistograms = server.getMetricsManager() != null && server.getMetricsManager().isLatencyHistograms();
+
       this.prefixes = prefixes;
       if (this.prefixes != null && !this.prefixes.isEmpty()) {
          prefixEnabled = true;
@@ -1892,6 +1897,10 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
                                           final String senderName,
                                           boolean noAutoCreateQueue,
                                           RoutingContext routingContext) throws Exception {
+      if (latencyHistograms) {
+         routingContext.setReceivedTimestamp(System.nanoTime());
+      }
+
       final Message message = LargeServerMessageImpl.checkLargeMessage(messageParameter, storageManager);
 
       if (server.hasBrokerMessagePlugins()) {
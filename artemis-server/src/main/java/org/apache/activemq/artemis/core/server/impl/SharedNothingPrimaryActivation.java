@@ -168,7 +168,7 @@ public class SharedNothingPrimaryActivation extends PrimaryActivation {
          ReplicationFailureListener listener = new ReplicationFailureListener();
          rc.addCloseListener(listener);
          rc.addFailureListener(listener);
-         replicationManager = new ReplicationManager(activeMQServer, rc, clusterConnection.getCallTimeout(), replicatedPolicy.getInitialReplicationSyncTimeout(), activeMQServer.getIOExecutorFactory());
+         replicationManager = new ReplicationManager(activeMQServer, rc, clusterConnection.getCallTimeout(), replicatedPolicy.getInitialReplicationSyncTimeout(), replicatedPolicy.getReplicationStripes(), activeMQServer.getIOExecutorFactory());
          replicationManager.start();
          Thread t = new Thread(() -> {
             try {
@@ -64,6 +64,7 @@ import org.apache.activemq.artemis.api.core.management.RemoteBrokerConnectionCon
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.ClusterConnectionConfiguration;
 import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
 import org.apache.activemq.artemis.core.management.impl.AcceptorControlImpl;
 import org.apache.activemq.artemis.core.management.impl.ActiveMQServerControlImpl;
 import org.apache.activemq.artemis.core.management.impl.AddressControlImpl;
@@ -83,7 +84,9 @@ import org.apache.activemq.artemis.core.messagecounter.MessageCounter;
 import org.apache.activemq.artemis.core.messagecounter.MessageCounterManager;
 import org.apache.activemq.artemis.core.messagecounter.impl.MessageCounterManagerImpl;
 import org.apache.activemq.artemis.core.paging.PagingManager;
+import org.apache.activemq.artemis.core.paging.impl.SharedPageCache;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalStorageManager;
 import org.apache.activemq.artemis.core.postoffice.PostOffice;
 import org.apache.activemq.artemis.core.remoting.server.RemotingService;
 import org.apache.activemq.artemis.core.security.CheckType;
@@ -259,6 +262,32 @@ public class ManagementServiceImpl implements ManagementService {
             builder.build(BrokerMetricNames.AUTHENTICATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthenticationFailureCount(), ActiveMQServerControl.AUTHENTICATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationSuccessCount(), ActiveMQServerControl.AUTHORIZATION_SUCCESS_COUNT, Arrays.asList(Tag.of("result", "success")));
             builder.build(BrokerMetricNames.AUTHORIZATION_COUNT, securityStore, metrics -> (double) securityStore.getAuthorizationFailureCount(), ActiveMQServerControl.AUTHORIZATION_FAILURE_COUNT, Arrays.asList(Tag.of("result", "failure")));
+            if (storageManager != null && storageManager.getMessageJournal() != null) {
+               // the message journal is looked up on every read as it is replaced when replication starts
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_COUNT, storageManager, metrics -> (double) storageManager.getMessageJournal().getCompletedCompactCount(), ActiveMQServerControl.JOURNAL_COMPACT_COUNT_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_BYTES_WRITTEN, storageManager, metrics -> (double) storageManager.getMessageJournal().getCompactBytesWritten(), ActiveMQServerControl.JOURNAL_COMPACT_BYTES_WRITTEN_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_LAST_DURATION, storageManager, metrics -> (double) storageManager.getMessageJournal().getLastCompactDuration(), ActiveMQServerControl.JOURNAL_COMPACT_LAST_DURATION_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_LAST_PAUSE, storageManager, metrics -> storageManager.getMessageJournal().getLastCompactPauseNanos() / 1_000_000D, ActiveMQServerControl.JOURNAL_COMPACT_LAST_PAUSE_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.JOURNAL_COMPACT_MAX_PAUSE, storageManager, metrics -> storageManager.getMessageJournal().getMaxCompactPauseNanos() / 1_000_000D, ActiveMQServerControl.JOURNAL_COMPACT_MAX_PAUSE_DESCRIPTION, Collections.emptyList());
+            }
+            if (storageManager instanceof JournalStorageManager journalStorageManager && journalStorageManager.getJournalSequentialFileFactory() != null) {
+               final SequentialFileFactory journalFF = journalStorageManager.getJournalSequentialFileFactory();
+               builder.build(BrokerMetricNames.JOURNAL_BUFFER_TIMEOUT, journalFF, metrics -> journalFF.getCurrentBufferTimeout() / 1_000_000D, ActiveMQServerControl.JOURNAL_BUFFER_TIMEOUT_DESCRIPTION, Collections.emptyList());
+               if (messagingServer.getConfiguration().getJournalBufferTimeoutMax() > 0) {
+                  // sync latency is only measured by the adaptive timeout, NaN until the first measures come in
+                  builder.build(BrokerMetricNames.JOURNAL_BUFFER_SYNC_LATENCY, journalFF, metrics -> {
+                     final long latency = journalFF.getAverageBufferSyncLatency();
+                     return latency < 0 ? Double.NaN : latency / 1_000_000D;
+                  }, ActiveMQServerControl.JOURNAL_BUFFER_SYNC_LATENCY_DESCRIPTION, Collections.emptyList());
+               }
+            }
+            if (pagingManager != null && pagingManager.getSharedPageCache() != null) {
+               final SharedPageCache pageCache = pagingManager.getSharedPageCache();
+               builder.build(BrokerMetricNames.PAGING_CACHE_HITS, pageCache, metrics -> (double) pageCache.getHits(), ActiveMQServerControl.PAGING_CACHE_HITS_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGING_CACHE_MISSES, pageCache, metrics -> (double) pageCache.getMisses(), ActiveMQServerControl.PAGING_CACHE_MISSES_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGING_CACHE_EVICTIONS, pageCache, metrics -> (double) pageCache.getEvictions(), ActiveMQServerControl.PAGING_CACHE_EVICTIONS_DESCRIPTION, Collections.emptyList());
+               builder.build(BrokerMetricNames.PAGING_CACHE_SIZE, pageCache, metrics -> (double) pageCache.getSize(), ActiveMQServerControl.PAGING_CACHE_SIZE_DESCRIPTION, Collections.emptyList());
+            }
          });
       }
    }
@@ -292,6 +321,9 @@ public class ManagementServiceImpl implements ManagementService {
                builder.build(AddressMetricNames.PAGES_COUNT, addressInfo, metrics -> (double) addressControl.getNumberOfPages(), AddressControl.NUMBER_OF_PAGES_DESCRIPTION, Collections.emptyList());
                builder.build(AddressMetricNames.LIMIT_PERCENT, addressInfo, metrics -> (double) addressControl.getAddressLimitPercent(), AddressControl.LIMIT_PERCENT_DESCRIPTION, Collections.emptyList());
             });
+            final String address = addressInfo.getName().toString();
+            addressInfo.setLatencyHistograms(metricsManager.registerAddressHistogram(address, AddressMetricNames.ROUTE_LATENCY, AddressControl.ROUTE_LATENCY_DESCRIPTION),
+                                             metricsManager.registerAddressHistogram(address, AddressMetricNames.JOURNAL_SYNC_LATENCY, AddressControl.JOURNAL_SYNC_LATENCY_DESCRIPTION));
          }
       }
    }
@@ -352,6 +384,10 @@ public class ManagementServiceImpl implements ManagementService {
                builder.build(QueueMetricNames.MESSAGES_EXPIRED, queue, metrics -> (double) queue.getMessagesExpired(), QueueControl.MESSAGES_EXPIRED_DESCRIPTION, Collections.emptyList());
                builder.build(QueueMetricNames.CONSUMER_COUNT, queue, metrics -> (double) queue.getConsumerCount(), QueueControl.CONSUMER_COUNT_DESCRIPTION, Collections.emptyList());
             });
+            final String address = queue.getAddress().toString();
+            final String name = queue.getName().toString();
+            queue.setLatencyHistograms(metricsManager.registerQueueHistogram(address, name, queue.isTemporary(), QueueMetricNames.DISPATCH_LATENCY, QueueControl.DISPATCH_LATENCY_DESCRIPTION),
+                                       metricsManager.registerQueueHistogram(address, name, queue.isTemporary(), QueueMetricNames.ACKNOWLEDGE_LATENCY, QueueControl.ACKNOWLEDGE_LATENCY_DESCRIPTION));
          }
       }
    }
@@ -23,5 +23,7 @@ public class AddressMetricNames {
    public static final String ADDRESS_SIZE = "address.size";
    public static final String PAGES_COUNT = "number.of.pages";
    public static final String LIMIT_PERCENT = "limit.percent";
+   public static final String ROUTE_LATENCY = "route.latency";
+   public static final String JOURNAL_SYNC_LATENCY = "journal.sync.latency";
 
 }
@@ -29,4 +29,15 @@ public class BrokerMetricNames {
    public static final String ACTIVE = "active";
    public static final String AUTHENTICATION_COUNT = "authentication.count";
    public static final String AUTHORIZATION_COUNT = "authorization.count";
+   public static final String JOURNAL_COMPACT_COUNT = "journal.compact.count";
+   public static final String JOURNAL_COMPACT_BYTES_WRITTEN = "journal.compact.bytes.written";
+   public static final String JOURNAL_COMPACT_LAST_DURATION = "journal.compact.last.duration";
+   public static final String JOURNAL_COMPACT_LAST_PAUSE = "journal.compact.last.pause";
+   public static final String JOURNAL_COMPACT_MAX_PAUSE = "journal.compact.max.pause";
+   public static final String JOURNAL_BUFFER_TIMEOUT = "journal.buffer.timeout";
+   public static final String JOURNAL_BUFFER_SYNC_LATENCY = "journal.buffer.sync.latency";
+   public static final String PAGING_CACHE_HITS = "paging.cache.hits";
+   public static final String PAGING_CACHE_MISSES = "paging.cache.misses";
+   public static final String PAGING_CACHE_EVICTIONS = "paging.cache.evictions";
+   public static final String PAGING_CACHE_SIZE = "paging.cache.size";
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Records latencies into HdrHistogram {@link Recorder}s striped by thread so concurrent writers, e.g. the executors of
+ * different queues or sessions, rarely touch the same recorder. Recording is wait-free and doesn't allocate once the
+ * stripe of the recording thread has been created.
+ * <p>
+ * Latencies are recorded with microsecond resolution and two significant digits, clamped to
+ * {@link #HIGHEST_TRACKABLE_MICROS}. Readers see the distribution of the last completed window of
+ * {@link #WINDOW_NANOS}: the first read after a window elapsed drains the recorders and publishes it. Windows follow
+ * each other on fixed boundaries, but nothing drains the recorders between reads: the latencies recorded since the
+ * last completed window until that first read, and any window without a read, are published with it.
+ */
+public final class LatencyHistogram {
+
+   static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+   static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+   private static final int SIGNIFICANT_DIGITS = 2;
+
+   private static final int STRIPES = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+   private final AtomicReferenceArray<Recorder> recorders = new AtomicReferenceArray<>(STRIPES);
+
+   private final LongSupplier nanoClock;
+
+   // guarded by this
+   private final Histogram interval = newHistogram();
+
+   // guarded by this
+   private final Histogram published = newHistogram();
+
+   // guarded by this
+   private long windowStart;
+
+   public LatencyHistogram() {
+      this(System::nanoTime);
+   }
+
+   LatencyHistogram(LongSupplier nanoClock) {
+      this.nanoClock = nanoClock;
+      this.windowStart = nanoClock.getAsLong();
+   }
+
+   private static Histogram newHistogram() {
+      return new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+   }
+
+   /**
+    * Records the time elapsed since {@code startNanos}, a value previously taken from {@link System#nanoTime()}.
+    */
+   public void recordSince(long startNanos) {
+      record(System.nanoTime() - startNanos);
+   }
+
+   public void record(long latencyNanos) {
+      final long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+      recorder().recordValue(micros);
+   }
+
+   private Recorder recorder() {
+      final int stripe = (int) (Thread.currentThread().getId() % STRIPES);
+      Recorder recorder = recorders.get(stripe);
+      if (recorder == null) {
+         recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+         if (!recorders.compareAndSet(stripe, null, recorder)) {
+            recorder = recorders.get(stripe);
+         }
+      }
+      return recorder;
+   }
+
+   /**
+    * {@return the latency in milliseconds at the given percentile (between 0 and 100) of the last completed window}
+    */
+   public synchronized double getValueAtPercentile(double percentile) {
+      return toMillis(window().getValueAtPercentile(percentile));
+   }
+
+   /**
+    * {@return the highest latency in milliseconds of the last completed window}
+    */
+   public synchronized double getMax() {
+      return toMillis(window().getMaxValue());
+   }
+
+   /**
+    * {@return the number of latencies recorded during the last completed window}
+    */
+   public synchronized long getCount() {
+      return window().getTotalCount();
+   }
+
+   private Histogram window() {
+      final long now = nanoClock.getAsLong();
+      final long elapsed = now - windowStart;
+      if (elapsed >= WINDOW_NANOS) {
+         published.reset();
+         for (int i = 0; i < STRIPES; i++) {
+            final Recorder recorder = recorders.get(i);
+            if (recorder != null) {
+               recorder.getIntervalHistogramInto(interval);
+               published.add(interval);
+            }
+         }
+         windowStart += elapsed - elapsed % WINDOW_NANOS;
+      }
+      return published;
+   }
+
+   private static double toMillis(long micros) {
+      return micros / 1_000D;
+   }
+}
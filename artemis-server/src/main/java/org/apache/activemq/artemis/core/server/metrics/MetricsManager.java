@@ -58,6 +58,12 @@ public class MetricsManager {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   /**
+    * The percentiles published for each {@link LatencyHistogram}, as the {@code phi} tag of the
+    * {@code <metric>.percentile} gauges.
+    */
+   private static final double[] LATENCY_PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
    private final String brokerName;
 
    private final Tags commonTags;
@@ -70,6 +76,8 @@ public class MetricsManager {
    // a function used to calculate the name of the queue when looking up address settings
    private final Function<Boolean, String> queueNameFunction;
 
+   private final boolean latencyHistograms;
+
    public MetricsManager(String brokerName,
                          MetricsConfiguration metricsConfiguration,
                          HierarchicalRepository<AddressSettings> addressSettingsRepository,
@@ -80,6 +88,7 @@ public class MetricsManager {
       this.addressSettingsRepository = addressSettingsRepository;
       this.commonTags = Tags.of(BROKER_TAG_NAME, brokerName);
       this.queueNameFunction = queueNameFunction;
+      this.latencyHistograms = metricsConfiguration.isLatencyHistograms();
       if (meterRegistry != null) {
          Metrics.globalRegistry.add(meterRegistry);
          if (metricsConfiguration.isJvmMemory()) {
@@ -117,6 +126,13 @@ public class MetricsManager {
       return meterRegistry;
    }
 
+   /**
+    * {@return whether latency histograms may be registered for addresses and queues}
+    */
+   public boolean isLatencyHistograms() {
+      return meterRegistry != null && latencyHistograms;
+   }
+
    @FunctionalInterface
    public interface MetricGaugeBuilder {
 
@@ -174,6 +190,63 @@ public class MetricsManager {
       registerMeters(gaugeBuilders, ResourceNames.BROKER + "." + brokerName);
    }
 
+   /**
+    * Registers a latency histogram for {@code queue}, along with the gauges already registered for it.
+    *
+    * @return the histogram to record into or {@code null} if latency histograms are not enabled for the queue
+    */
+   public LatencyHistogram registerQueueHistogram(String address, String queue, boolean temporary, String metricName, String description) {
+      if (this.meterRegistry == null || !latencyHistograms || !addressSettingsRepository.getMatch(queueNameFunction.apply(temporary) + queue).isEnableMetrics()) {
+         return null;
+      }
+      return registerHistogram(metricName, description, Tags.of("address", address, "queue", queue), ResourceNames.QUEUE + queue);
+   }
+
+   /**
+    * Registers a latency histogram for {@code address}, along with the gauges already registered for it.
+    *
+    * @return the histogram to record into or {@code null} if latency histograms are not enabled for the address
+    */
+   public LatencyHistogram registerAddressHistogram(String address, String metricName, String description) {
+      if (this.meterRegistry == null || !latencyHistograms || !addressSettingsRepository.getMatch(address).isEnableMetrics()) {
+         return null;
+      }
+      return registerHistogram(metricName, description, Tags.of("address", address), ResourceNames.ADDRESS + address);
+   }
+
+   private LatencyHistogram registerHistogram(String metricName, String description, Tags tags, String resource) {
+      final LatencyHistogram histogram = new LatencyHistogram();
+      final List<Meter> newMeters = new ArrayList<>(LATENCY_PERCENTILES.length + 2);
+      for (double percentile : LATENCY_PERCENTILES) {
+         newMeters.add(Gauge
+            .builder("artemis." + metricName + ".percentile", histogram, h -> h.getValueAtPercentile(percentile * 100))
+            .tags(commonTags)
+            .tags(tags)
+            .tag("phi", String.valueOf(percentile))
+            .baseUnit("milliseconds")
+            .description(description)
+            .register(meterRegistry));
+      }
+      newMeters.add(Gauge
+         .builder("artemis." + metricName + ".max", histogram, LatencyHistogram::getMax)
+         .tags(commonTags)
+         .tags(tags)
+         .baseUnit("milliseconds")
+         .description(description)
+         .register(meterRegistry));
+      newMeters.add(Gauge
+         .builder("artemis." + metricName + ".count", histogram, h -> (double) h.getCount())
+         .tags(commonTags)
+         .tags(tags)
+         .description(description)
+         .register(meterRegistry));
+      if (logger.isDebugEnabled()) {
+         newMeters.forEach(meter -> logger.debug("Registered meter: {}", meter.getId()));
+      }
+      meters.computeIfAbsent(resource, r -> new ArrayList<>()).addAll(newMeters);
+      return histogram;
+   }
+
    private void registerMeters(List<Builder<Object>> gaugeBuilders, String resource) {
       if (meters.get(resource) != null) {
          throw ActiveMQMessageBundle.BUNDLE.metersAlreadyRegistered(resource);
@@ -38,4 +38,7 @@ public class QueueMetricNames {
    public static final String MESSAGES_KILLED = "messages.killed";
    public static final String MESSAGES_EXPIRED = "messages.expired";
    public static final String CONSUMER_COUNT = "consumer.count";
+
+   public static final String DISPATCH_LATENCY = "dispatch.latency";
+   public static final String ACKNOWLEDGE_LATENCY = "acknowledge.latency";
 }
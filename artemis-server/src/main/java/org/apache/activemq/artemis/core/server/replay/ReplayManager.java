@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.server.replay;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -59,6 +60,9 @@ public class ReplayManager {
    }
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // replayed messages are routed in batches of this size, see PostOffice::route(List, ...)
+   private static final int ROUTE_BATCH_SIZE = 1000;
+
    private final ActiveMQServer server;
    private JournalImpl journal;
    private final File retentionFolder;
@@ -112,6 +116,8 @@ public class ReplayManager {
 
       RoutingContext context = new RoutingContextImpl(null);
 
+      List<Message> batch = new ArrayList<>();
+
       Map<Long, Set<JournalFile>> largeMessageLocations = new HashMap<>();
 
       for (JournalFile file : files) {
@@ -160,11 +166,11 @@ public class ReplayManager {
                   ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(info.data);
                   LargeServerMessage message = new LargeServerMessageImpl(server.getStorageManager());
                   LargeMessagePersister.getInstance().decode(buffer, message, null);
-                  route(filter, context, messagesFF, message.toMessage(), sourceAddress, targetAddress, largeMessageLocations);
+                  route(filter, context, batch, messagesFF, message.toMessage(), sourceAddress, targetAddress, largeMessageLocations);
                } else if (info.getUserRecordType() == JournalRecordIds.ADD_MESSAGE_PROTOCOL) {
                   ActiveMQBuffer buffer = ActiveMQBuffers.wrappedBuffer(info.data);
                   Message message = MessagePersister.getInstance().decode(buffer, null, null, server.getStorageManager());
-                  route(filter, context, messagesFF, message, sourceAddress, targetAddress, largeMessageLocations);
+                  route(filter, context, batch, messagesFF, message, sourceAddress, targetAddress, largeMessageLocations);
                }
 
             }
@@ -187,6 +193,8 @@ public class ReplayManager {
          }, null, false, null);
       }
 
+      routeBatch(context, batch);
+
       logger.debug("Replay done::sourceAddress={}", sourceAddress);
    }
 
@@ -208,7 +216,7 @@ public class ReplayManager {
    }
 
 
-   private void route(Filter filter, RoutingContext context, SequentialFileFactory messagesFF, Message message, String sourceAddress, String targetAddress, Map<Long, Set<JournalFile>> filesMap) throws Exception {
+   private void route(Filter filter, RoutingContext context, List<Message> batch, SequentialFileFactory messagesFF, Message message, String sourceAddress, String targetAddress, Map<Long, Set<JournalFile>> filesMap) throws Exception {
       if (messageMatch(filter, message, sourceAddress, targetAddress)) {
          final long originalMessageID = message.getMessageID();
          message.setMessageID(server.getStorageManager().generateID());
@@ -219,8 +227,10 @@ public class ReplayManager {
             message.setAddress(targetAddress);
             message.reencode();
          }
-         server.getPostOffice().route(message, context, false, false, null);
-         context.clear();
+         batch.add(message);
+         if (batch.size() >= ROUTE_BATCH_SIZE) {
+            routeBatch(context, batch);
+         }
       } else {
          if (message.isLargeMessage()) {
             filesMap.remove(message.getMessageID());
@@ -228,6 +238,17 @@ public class ReplayManager {
       }
    }
 
+   private void routeBatch(RoutingContext context, List<Message> batch) throws Exception {
+      if (!batch.isEmpty()) {
+         try {
+            server.getPostOffice().route(batch, context, false, false);
+         } finally {
+            context.clear();
+            batch.clear();
+         }
+      }
+   }
+
    private void readLargeMessageBody(SequentialFileFactory messagesFF,
                           Message message,
                           Map<Long, Set<JournalFile>> filesMap,
@@ -16,7 +16,10 @@
  */
 package org.apache.activemq.artemis.spi.core.protocol;
 
+import java.io.IOException;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.remoting.impl.netty.SharedFileChannel;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
 import org.apache.activemq.artemis.core.transaction.Transaction;
@@ -73,6 +76,22 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * Sends the {@code length} bytes of {@code file} from {@code position} as a continuation of a large message, without
+    * copying them.
+    *
+    * @return the size of the packet sent, or {@code -1} if it can't be sent that way, e.g. on an encrypted connection,
+    * and has to be sent with {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)}
+    * @throws IOException if the bytes can't be read from the file, before anything was sent
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumerID,
+                                            SharedFileChannel file,
+                                            long position,
+                                            int length,
+                                            boolean continues) throws IOException {
+      return -1;
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, String errorMessage);
@@ -102,6 +102,16 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalMaxAtticFiles(), conf.getJournalMaxAtticFiles());
 
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalLoadParallelism(), conf.getJournalLoadParallelism());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutMin(), conf.getJournalBufferTimeoutMin());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalBufferTimeoutMax(), conf.getJournalBufferTimeoutMax());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultPageCacheMaxSize(), conf.getPageCacheMaxSize());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultRoutingFilterIndexMinBindings(), conf.getRoutingFilterIndexMinBindings());
+
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactMinFiles(), conf.getJournalCompactMinFiles());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultJournalCompactPercentage(), conf.getJournalCompactPercentage());
@@ -161,5 +171,7 @@ public class DefaultsFileConfigurationTest extends AbstractConfigurationTestBase
       assertEquals(ActiveMQDefaultConfiguration.getDefaultLoggingMetrics(), conf.getMetricsConfiguration().isLogging());
 
       assertEquals(ActiveMQDefaultConfiguration.getDefaultSecurityCacheMetrics(), conf.getMetricsConfiguration().isSecurityCaches());
+
+      assertEquals(ActiveMQDefaultConfiguration.getDefaultLatencyHistogramMetrics(), conf.getMetricsConfiguration().isLatencyHistograms());
    }
 }
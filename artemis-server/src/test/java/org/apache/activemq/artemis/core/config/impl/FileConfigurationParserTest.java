@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -826,6 +827,28 @@ public class FileConfigurationParserTest extends ServerTestBase {
 
    }
 
+   @Test
+   public void testAdaptiveJournalBufferTimeoutBounds() throws Exception {
+      FileConfigurationParser parser = new FileConfigurationParser();
+      Configuration configuration = parser.parseMainConfig(new ByteArrayInputStream("""
+                        <configuration>
+                           <core>
+                              <journal-buffer-timeout-min>1000</journal-buffer-timeout-min>
+                              <journal-buffer-timeout-max>5000</journal-buffer-timeout-max>
+                           </core>
+                        </configuration>""".getBytes(StandardCharsets.UTF_8)));
+      assertEquals(1000, configuration.getJournalBufferTimeoutMin());
+      assertEquals(5000, configuration.getJournalBufferTimeoutMax());
+
+      assertThrows(IllegalArgumentException.class, () -> parser.parseMainConfig(new ByteArrayInputStream("""
+                        <configuration>
+                           <core>
+                              <journal-buffer-timeout-min>5000</journal-buffer-timeout-min>
+                              <journal-buffer-timeout-max>1000</journal-buffer-timeout-max>
+                           </core>
+                        </configuration>""".getBytes(StandardCharsets.UTF_8))));
+   }
+
    @Test
    public void testNotations() throws Exception {
       StringPrintStream stringPrintStream = new StringPrintStream();
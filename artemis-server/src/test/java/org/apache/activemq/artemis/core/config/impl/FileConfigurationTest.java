@@ -232,6 +232,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(1000, configInstance.getJournalBufferTimeout_NIO());
       assertEquals(56546, configInstance.getJournalMaxIO_NIO());
       assertEquals(9876, configInstance.getJournalFileOpenTimeout());
+      assertEquals(4, configInstance.getJournalLoadParallelism());
+      assertEquals(100000, configInstance.getJournalBufferTimeoutMin());
+      assertEquals(2000000, configInstance.getJournalBufferTimeoutMax());
 
       assertFalse(configInstance.isJournalSyncTransactional());
       assertTrue(configInstance.isJournalSyncNonTransactional());
@@ -546,6 +549,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(configInstance.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(configInstance.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(configInstance.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertFalse(configInstance.getAddressSettings().get("a1").isPartitionByGroupId());
+      assertEquals(AddressSettings.DEFAULT_ADAPTIVE_CONSUMER_WINDOW_LATENCY, configInstance.getAddressSettings().get("a1").getAdaptiveConsumerWindowLatency());
+      assertNull(configInstance.getAddressSettings().get("a1").getIndexedProperties());
 
       assertEquals("a2.1", configInstance.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(configInstance.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -589,6 +595,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(configInstance.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), configInstance.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), configInstance.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertTrue(configInstance.getAddressSettings().get("a2").isPartitionByGroupId());
+      assertEquals(250, configInstance.getAddressSettings().get("a2").getAdaptiveConsumerWindowLatency());
+      assertEquals("region, customerId", configInstance.getAddressSettings().get("a2").getIndexedProperties().toString());
 
       assertEquals(111, configInstance.getMirrorAckManagerQueueAttempts());
       assertTrue(configInstance.isMirrorAckManagerWarnUnacked());
@@ -647,6 +656,8 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(a2Role.isManage());
       assertEquals(1234567, configInstance.getGlobalMaxSize());
       assertEquals(30, configInstance.getGlobalMaxSizePercentOfJvmMaxMemory());
+      assertEquals(64 * 1024 * 1024, configInstance.getPageCacheMaxSize());
+      assertEquals(8, configInstance.getRoutingFilterIndexMinBindings());
       assertEquals(37, configInstance.getMaxDiskUsage());
       assertEquals(123, configInstance.getDiskScanPeriod());
 
@@ -680,6 +691,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(metricsConfiguration.isUptime());
       assertTrue(metricsConfiguration.isLogging());
       assertTrue(metricsConfiguration.isSecurityCaches());
+      assertTrue(metricsConfiguration.isLatencyHistograms());
    }
 
    private void verifyAddresses() {
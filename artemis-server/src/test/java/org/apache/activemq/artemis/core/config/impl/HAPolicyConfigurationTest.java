@@ -330,6 +330,7 @@ public class HAPolicyConfigurationTest extends ServerTestBase {
          ReplicationPrimaryPolicy policy = (ReplicationPrimaryPolicy) haPolicy;
          assertFalse(policy.isAllowAutoFailBack());
          assertEquals(9876, policy.getInitialReplicationSyncTimeout());
+         assertEquals(4, policy.getReplicationStripes());
          assertFalse(policy.canScaleDown());
          assertFalse(policy.isBackup());
          assertFalse(policy.isSharedStore());
@@ -440,6 +441,7 @@ public class HAPolicyConfigurationTest extends ServerTestBase {
          assertTrue(replicatedPolicy.isCheckForPrimaryServer());
          assertEquals("abcdefg", replicatedPolicy.getClusterName());
          assertEquals(9876, replicatedPolicy.getInitialReplicationSyncTimeout());
+         assertEquals(4, replicatedPolicy.getReplicationStripes());
          assertEquals(12345, replicatedPolicy.getRetryReplicationWait());
          assertEquals(73, replicatedPolicy.getMaxSavedReplicatedJournalsSize());
       } finally {
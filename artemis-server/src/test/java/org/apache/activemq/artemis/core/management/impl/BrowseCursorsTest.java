@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.management.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BrowseCursorsTest {
+
+   private final AtomicLong clock = new AtomicLong();
+
+   private final BrowseCursors cursors = new BrowseCursors(() -> null, clock::get);
+
+   private static final class ListIterator implements LinkedListIterator<MessageReference> {
+
+      private final Iterator<MessageReference> iterator;
+
+      private boolean closed;
+
+      ListIterator(int size) {
+         final List<MessageReference> references = new ArrayList<>();
+         for (int i = 0; i < size; i++) {
+            final CoreMessage message = new CoreMessage(i, 50);
+            message.putIntProperty("i", i);
+            references.add(new MessageReferenceImpl(message, null));
+         }
+         this.iterator = references.iterator();
+      }
+
+      @Override
+      public boolean hasNext() {
+         return iterator.hasNext();
+      }
+
+      @Override
+      public MessageReference next() {
+         return iterator.next();
+      }
+
+      @Override
+      public void repeat() {
+      }
+
+      @Override
+      public MessageReference removeLastElement() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void close() {
+         closed = true;
+      }
+   }
+
+   private static List<Long> read(BrowseCursors.Cursor cursor, int max) {
+      final List<Long> ids = new ArrayList<>();
+      cursor.read(max, ref -> ids.add(ref.getMessageID()));
+      return ids;
+   }
+
+   @Test
+   public void testPagesResumeWhereThePreviousOneStopped() throws Exception {
+      final ListIterator iterator = new ListIterator(10);
+      final BrowseCursors.Cursor cursor = cursors.open(FilterImpl.createFilter("i > 2"), iterator);
+
+      assertEquals(List.of(3L, 4L, 5L), read(cursor, 3));
+      assertEquals(List.of(6L, 7L, 8L), read(cursor, 3));
+      assertFalse(iterator.closed);
+
+      final List<Long> last = new ArrayList<>();
+      assertTrue(cursor.read(3, ref -> last.add(ref.getMessageID())));
+      assertEquals(List.of(9L), last);
+      assertTrue(iterator.closed);
+   }
+
+   @Test
+   public void testLeastRecentlyUsedCursorIsClosed() {
+      final List<ListIterator> iterators = new ArrayList<>();
+      final List<String> ids = new ArrayList<>();
+      for (int i = 0; i < BrowseCursors.MAX_CURSORS; i++) {
+         final ListIterator iterator = new ListIterator(1);
+         iterators.add(iterator);
+         ids.add(cursors.open(null, iterator).getID());
+      }
+      assertNotNull(cursors.get(ids.get(0)));
+
+      cursors.open(null, new ListIterator(1));
+      assertEquals(BrowseCursors.MAX_CURSORS, cursors.size());
+      assertFalse(iterators.get(0).closed);
+      assertTrue(iterators.get(1).closed);
+      assertNull(cursors.get(ids.get(1)));
+   }
+
+   @Test
+   public void testIdleCursorsExpire() {
+      final ListIterator idle = new ListIterator(1);
+      final String idleID = cursors.open(null, idle).getID();
+      final ListIterator used = new ListIterator(1);
+      final String usedID = cursors.open(null, used).getID();
+
+      clock.addAndGet(BrowseCursors.IDLE_TIMEOUT_MILLIS - 1);
+      assertNotNull(cursors.get(usedID));
+      clock.addAndGet(1);
+      cursors.expire();
+
+      assertTrue(idle.closed);
+      assertNull(cursors.get(idleID));
+      assertFalse(used.closed);
+      assertTrue(cursors.close(usedID));
+      assertTrue(used.closed);
+      assertEquals(0, cursors.size());
+   }
+}
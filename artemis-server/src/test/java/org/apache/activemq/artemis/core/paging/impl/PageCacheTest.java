@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.tests.extensions.TargetTempDirFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PageCacheTest {
+
+   // Temp folder at ./target/tmp/<TestClassName>/<generated>
+   @TempDir(factory = TargetTempDirFactory.class)
+   public File temporaryFolder;
+
+   private SequentialFileFactory factory;
+
+   private final AtomicInteger loads = new AtomicInteger();
+
+   @BeforeEach
+   public void setUp() {
+      factory = new NIOSequentialFileFactory(temporaryFolder, 1);
+   }
+
+   @Test
+   public void testPageLoadedOnce() throws Exception {
+      PageCache cache = new PageCache(mock(PagingStore.class));
+
+      Page page = cache.use(1, this::load);
+      assertSame(page, cache.use(1, this::load));
+      assertEquals(1, loads.get());
+      assertEquals(2, page.getUsage());
+      assertEquals(1, cache.size());
+
+      page.usageDown();
+      assertSame(page, cache.get(1));
+      page.usageDown();
+      assertNull(cache.get(1));
+      assertEquals(0, cache.size());
+
+      Page reloaded = cache.use(1, this::load);
+      assertNotSame(page, reloaded);
+      assertEquals(2, loads.get());
+      assertNull(cache.use(2, null));
+   }
+
+   @Test
+   public void testConcurrentCursors() throws Exception {
+      final int cursors = 8;
+      final int iterations = 10_000;
+      final int pages = 4;
+      PageCache cache = new PageCache(mock(PagingStore.class));
+      ExecutorService executor = Executors.newFixedThreadPool(cursors);
+      try {
+         CountDownLatch start = new CountDownLatch(1);
+         List<Future<?>> futures = new ArrayList<>();
+         for (int c = 0; c < cursors; c++) {
+            futures.add(executor.submit(() -> {
+               start.await();
+               for (int i = 0; i < iterations; i++) {
+                  final long pageId = i % pages;
+                  Page page = cache.use(pageId, this::load);
+                  assertEquals(pageId, page.getPageId());
+                  // a page is never released while a cursor uses it
+                  assertSame(page, cache.get(pageId));
+                  page.usageDown();
+               }
+               return null;
+            }));
+         }
+         start.countDown();
+         for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+      assertEquals(0, cache.size());
+   }
+
+   private Page load(long pageId) throws Exception {
+      loads.incrementAndGet();
+      String fileName = String.format("%09d.page", pageId);
+      return new Page(SimpleString.of("test"), new NullStorageManager(), factory, factory.createSequentialFile(fileName), pageId);
+   }
+}
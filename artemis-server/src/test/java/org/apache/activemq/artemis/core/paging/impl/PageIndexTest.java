@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.io.SequentialFileFactory;
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.message.impl.CoreMessagePersister;
+import org.apache.activemq.artemis.core.paging.PagedMessage;
+import org.apache.activemq.artemis.core.persistence.StorageManager;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.spi.core.protocol.MessagePersister;
+import org.apache.activemq.artemis.tests.extensions.TargetTempDirFactory;
+import org.apache.activemq.artemis.utils.collections.LinkedList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PageIndexTest {
+
+   private static final SimpleString STORE_NAME = SimpleString.of("test");
+
+   private static final String PAGE_FILE = "000000001.page";
+
+   // Temp folder at ./target/tmp/<TestClassName>/<generated>
+   @TempDir(factory = TargetTempDirFactory.class)
+   public File temporaryFolder;
+
+   private final StorageManager storageManager = new NullStorageManager();
+
+   private SequentialFileFactory factory;
+
+   @BeforeEach
+   public void setUp() {
+      MessagePersister.registerPersister(CoreMessagePersister.getInstance());
+      factory = new NIOSequentialFileFactory(temporaryFolder, 1);
+   }
+
+   @Test
+   public void testIndexStoredWhenPageIsCompleted() throws Exception {
+      writePage(20);
+
+      PageIndex index = PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length());
+      assertNotNull(index);
+      assertEquals(20, index.size());
+      assertEquals(0, index.getPosition(0));
+      assertEquals(new File(temporaryFolder, PAGE_FILE).length(), index.getFileSize());
+
+      assertEquals(20, newPage().readNumberOfMessages());
+   }
+
+   @Test
+   public void testReadOnlyUndeliveredMessages() throws Exception {
+      writePage(20);
+
+      Page page = newPage();
+      assertTrue(page.open(false));
+      try {
+         LinkedList<PagedMessage> messages = page.read(storageManager, messageNumber -> messageNumber % 4 != 0);
+         assertEquals(5, messages.size());
+         for (int i = 0; i < messages.size(); i++) {
+            PagedMessage message = messages.get(i);
+            assertEquals(i * 4, message.getMessageNumber());
+            assertEquals(1, message.getPageNumber());
+            assertEquals(i * 4 + 1, message.getMessage().getMessageID());
+            assertEquals(STORE_NAME, message.getMessage().getAddressSimpleString());
+         }
+         assertEquals(20, page.getNumberOfMessages());
+      } finally {
+         page.close(false, false);
+      }
+   }
+
+   @Test
+   public void testIndexRebuiltWhenMissing() throws Exception {
+      writePage(10);
+      PageIndex.delete(factory, PAGE_FILE);
+
+      Page page = newPage();
+      assertTrue(page.open(false));
+      try {
+         assertEquals(3, page.read(storageManager, messageNumber -> messageNumber >= 3).size());
+      } finally {
+         page.close(false, false);
+      }
+
+      assertNotNull(PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()));
+   }
+
+   @Test
+   public void testIndexStoredOnExecutor() throws Exception {
+      final List<Runnable> tasks = new ArrayList<>();
+      Page page = new Page(STORE_NAME, storageManager, factory, factory.createSequentialFile(PAGE_FILE), 1, tasks::add);
+      page.open(true);
+      for (int i = 1; i <= 5; i++) {
+         writeMessage(page, i);
+      }
+      page.close(true);
+
+      assertFalse(new File(temporaryFolder, PAGE_FILE + PageIndex.EXTENSION).exists());
+      assertEquals(1, tasks.size());
+      tasks.get(0).run();
+      assertEquals(5, PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()).size());
+   }
+
+   @Test
+   public void testIndexNotStoredAfterPageDeleted() throws Exception {
+      final List<Runnable> tasks = new ArrayList<>();
+      Page page = new Page(STORE_NAME, storageManager, factory, factory.createSequentialFile(PAGE_FILE), 1, tasks::add);
+      page.open(true);
+      writeMessage(page, 1);
+      page.close(true);
+      assertTrue(page.delete(null));
+
+      tasks.forEach(Runnable::run);
+      assertFalse(new File(temporaryFolder, PAGE_FILE + PageIndex.EXTENSION).exists());
+   }
+
+   @Test
+   public void testInvalidIndexRebuilt() throws Exception {
+      writePage(10);
+
+      // a partially written index, as left by a crash: the right size but some entries lost
+      try (RandomAccessFile indexFile = new RandomAccessFile(new File(temporaryFolder, PAGE_FILE + PageIndex.EXTENSION), "rw")) {
+         indexFile.seek(indexFile.length() / 2);
+         indexFile.write(new byte[8]);
+      }
+      assertNull(PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()));
+
+      Page page = newPage();
+      assertTrue(page.open(false));
+      try {
+         assertEquals(3, page.read(storageManager, messageNumber -> messageNumber >= 3).size());
+      } finally {
+         page.close(false, false);
+      }
+
+      assertEquals(10, PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()).size());
+   }
+
+   @Test
+   public void testStaleIndexIgnored() throws Exception {
+      writePage(10);
+
+      // the page is appended after its index was stored, as the live page is after a restart
+      Page page = newPage();
+      page.open(true);
+      page.getMessages();
+      writeMessage(page, 11);
+      page.close(false, false);
+
+      assertNull(PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()));
+      assertEquals(11, newPage().readNumberOfMessages());
+      assertEquals(11, PageIndex.load(factory, PAGE_FILE, new File(temporaryFolder, PAGE_FILE).length()).size());
+   }
+
+   @Test
+   public void testIndexDeletedWithPage() throws Exception {
+      writePage(5);
+      assertTrue(new File(temporaryFolder, PAGE_FILE + PageIndex.EXTENSION).exists());
+
+      Page page = newPage();
+      assertTrue(page.delete(null));
+
+      assertFalse(new File(temporaryFolder, PAGE_FILE).exists());
+      assertFalse(new File(temporaryFolder, PAGE_FILE + PageIndex.EXTENSION).exists());
+   }
+
+   private Page newPage() throws Exception {
+      return new Page(STORE_NAME, storageManager, factory, factory.createSequentialFile(PAGE_FILE), 1);
+   }
+
+   private void writePage(int messages) throws Exception {
+      Page page = newPage();
+      page.open(true);
+      for (int i = 1; i <= messages; i++) {
+         writeMessage(page, i);
+      }
+      page.close(true);
+   }
+
+   private static void writeMessage(Page page, long messageID) throws Exception {
+      ICoreMessage message = new CoreMessage().initBuffer(100);
+      message.setMessageID(messageID);
+      message.getBodyBuffer().writeBytes(new byte[(int) messageID]);
+      message.setAddress(STORE_NAME);
+      page.writeDirect(new PagedMessageImpl(message, new long[0]));
+   }
+}
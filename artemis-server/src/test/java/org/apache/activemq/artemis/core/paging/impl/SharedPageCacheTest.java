@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.paging.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.junit.jupiter.api.Test;
+
+public class SharedPageCacheTest {
+
+   @Test
+   public void testReleasedPageIsReused() {
+      SharedPageCache sharedCache = new SharedPageCache(1000);
+      PageCache cache = new PageCache(mock(PagingStore.class), sharedCache);
+
+      Page page = newPage(1, 100);
+      cache.injectPage(page);
+      // the last cursor using the page released it
+      cache.removePage(page);
+
+      assertEquals(0, cache.size());
+      assertEquals(100, sharedCache.getSize());
+      assertTrue(cache.contains(1));
+
+      assertSame(page, cache.get(1));
+      assertEquals(1, cache.size());
+      assertEquals(0, sharedCache.getSize());
+      assertEquals(1, sharedCache.getHits());
+   }
+
+   @Test
+   public void testLeastRecentlyUsedEvicted() {
+      SharedPageCache sharedCache = new SharedPageCache(250);
+      PageCache cache = new PageCache(mock(PagingStore.class), sharedCache);
+      PageCache otherCache = new PageCache(mock(PagingStore.class), sharedCache);
+
+      sharedCache.retain(cache, newPage(1, 100));
+      sharedCache.retain(otherCache, newPage(1, 100));
+      sharedCache.retain(cache, newPage(2, 100));
+
+      assertEquals(2, sharedCache.getPageCount());
+      assertEquals(200, sharedCache.getSize());
+      assertEquals(1, sharedCache.getEvictions());
+      assertFalse(sharedCache.contains(cache, 1));
+      assertTrue(sharedCache.contains(otherCache, 1));
+      assertTrue(sharedCache.contains(cache, 2));
+
+      // larger than the whole cache
+      sharedCache.retain(cache, newPage(3, 300));
+      assertFalse(sharedCache.contains(cache, 3));
+      assertEquals(200, sharedCache.getSize());
+   }
+
+   @Test
+   public void testDiscard() {
+      SharedPageCache sharedCache = new SharedPageCache(1000);
+      PageCache cache = new PageCache(mock(PagingStore.class), sharedCache);
+      PageCache otherCache = new PageCache(mock(PagingStore.class), sharedCache);
+
+      Page page = newPage(1, 100);
+      cache.injectReadAhead(page);
+      sharedCache.retain(cache, newPage(2, 100));
+      sharedCache.retain(otherCache, newPage(1, 100));
+      assertEquals(1, sharedCache.getReadAheads());
+
+      cache.discard(page);
+      assertFalse(cache.contains(1));
+      assertEquals(200, sharedCache.getSize());
+
+      cache.discardRetained();
+      assertNull(cache.get(2));
+      assertEquals(1, sharedCache.getPageCount());
+      assertTrue(otherCache.contains(1));
+   }
+
+   @Test
+   public void testDisabled() {
+      SharedPageCache sharedCache = new SharedPageCache(-1);
+      PageCache cache = new PageCache(mock(PagingStore.class), sharedCache);
+      assertFalse(cache.isReadAheadEnabled());
+
+      Page page = newPage(1, 100);
+      cache.injectPage(page);
+      // the last cursor using the page released it
+      cache.removePage(page);
+
+      assertNull(cache.get(1));
+      assertEquals(0, sharedCache.getSize());
+   }
+
+   @Test
+   public void testSegmented() {
+      SharedPageCache sharedCache = new SharedPageCache(1000, 4);
+      PageCache cache = new PageCache(mock(PagingStore.class), sharedCache);
+      PageCache otherCache = new PageCache(mock(PagingStore.class), sharedCache);
+
+      for (long pageId = 0; pageId < 10; pageId++) {
+         sharedCache.retain(cache, newPage(pageId, 10));
+         sharedCache.retain(otherCache, newPage(pageId, 10));
+      }
+      assertEquals(20, sharedCache.getPageCount());
+      assertEquals(200, sharedCache.getSize());
+      assertEquals(0, sharedCache.getEvictions());
+
+      // larger than the share of a segment
+      sharedCache.retain(cache, newPage(10, 300));
+      assertFalse(sharedCache.contains(cache, 10));
+
+      assertTrue(sharedCache.contains(otherCache, 5));
+      assertEquals(5, sharedCache.take(otherCache, 5).getPageId());
+      assertEquals(190, sharedCache.getSize());
+
+      // the pages of a store are dropped from every segment
+      sharedCache.discard(cache);
+      assertEquals(9, sharedCache.getPageCount());
+      for (long pageId = 0; pageId < 10; pageId++) {
+         assertFalse(sharedCache.contains(cache, pageId));
+      }
+   }
+
+   private static Page newPage(long pageId, long size) {
+      Page page = mock(Page.class);
+      when(page.getPageId()).thenReturn(pageId);
+      when(page.getMemoryEstimate()).thenReturn(size);
+      return page;
+   }
+}
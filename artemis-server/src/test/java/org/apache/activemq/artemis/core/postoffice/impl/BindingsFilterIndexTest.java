@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class BindingsFilterIndexTest {
+
+   private static final SimpleString ADDRESS = SimpleString.of("prices");
+
+   private static final String[] REGIONS = {"EU", "US", "APAC"};
+
+   private static final String[] SYMBOLS = {"IBM", "ORCL", "MSFT", "AAPL"};
+
+   private final List<Binding> bindings = new ArrayList<>();
+
+   // in the order they were routed to
+   private final Set<Binding> routed = new LinkedHashSet<>();
+
+   private long nextID;
+
+   @Test
+   public void testRoutesLikeFilters() throws Exception {
+      final List<String> filters = new ArrayList<>();
+      for (String region : REGIONS) {
+         filters.add("region = '" + region + "'");
+         filters.add("'" + region + "' = region");
+         filters.add("region = '" + region + "' AND price > 100");
+         for (String symbol : SYMBOLS) {
+            filters.add("region = '" + region + "' AND symbol = '" + symbol + "'");
+         }
+      }
+      filters.add("symbol IN ('IBM', 'ORCL')");
+      filters.add("symbol NOT IN ('IBM', 'ORCL')");
+      filters.add("symbol = 'IBM' OR region = 'EU'");
+      filters.add("price < 50");
+      filters.add("convert_string_expressions:region = '5'");
+      filters.add(null);
+      final BindingsImpl bindings = createBindings(filters);
+
+      for (int i = 0; i < 200; i++) {
+         final Message message = new CoreMessage(i, 50).setAddress(ADDRESS);
+         if (i % 7 != 0) {
+            message.putStringProperty("region", REGIONS[i % REGIONS.length]);
+         } else if (i % 2 == 0) {
+            // not a String: only the filters can tell whether it matches
+            message.putIntProperty("region", 5);
+         }
+         message.putStringProperty("symbol", SYMBOLS[i % SYMBOLS.length]);
+         message.putDoubleProperty("price", i);
+         assertRoutedLikeFilters(bindings, message);
+      }
+   }
+
+   @Test
+   public void testIndexFollowsBindings() throws Exception {
+      final List<String> filters = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+         filters.add("region = 'EU'");
+      }
+      final BindingsImpl bindings = createBindings(filters);
+
+      final Message message = new CoreMessage(1, 50).setAddress(ADDRESS);
+      message.putStringProperty("region", "EU");
+      assertRoutedLikeFilters(bindings, message);
+      assertEquals(20, routed.size());
+
+      bindings.removeBindingByUniqueName(this.bindings.remove(0).getUniqueName());
+      addBinding(bindings, "region = 'US'");
+      assertRoutedLikeFilters(bindings, message);
+      assertEquals(19, routed.size());
+
+      message.putStringProperty("region", "US");
+      assertRoutedLikeFilters(bindings, message);
+      assertEquals(1, routed.size());
+
+      // the filters are looked up, not evaluated
+      this.bindings.forEach(binding -> Mockito.clearInvocations(binding.getFilter()));
+      bindings.route(message, new RoutingContextImpl(null));
+      for (Binding binding : this.bindings) {
+         Mockito.verify(binding.getFilter(), Mockito.never()).match(Mockito.any(Message.class));
+         Mockito.verify(binding.getFilter(), Mockito.never()).match(Mockito.any(Filterable.class));
+      }
+   }
+
+   @Test
+   public void testMinBindings() throws Exception {
+      final List<String> filters = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         filters.add("region = 'EU'");
+      }
+      final Message message = new CoreMessage(1, 50).setAddress(ADDRESS);
+      message.putStringProperty("region", "EU");
+
+      assertFiltersEvaluated(createBindings(filters, 4), message, false);
+
+      this.bindings.clear();
+      assertFiltersEvaluated(createBindings(filters, 5), message, true);
+
+      this.bindings.clear();
+      assertFiltersEvaluated(createBindings(filters, 0), message, true);
+   }
+
+   @Test
+   public void testIndexedBindingsRoutedFirst() throws Exception {
+      final List<String> filters = new ArrayList<>();
+      filters.add(null);
+      filters.add("price > 100");
+      for (int i = 0; i < 16; i++) {
+         filters.add("region = 'EU'");
+      }
+      final BindingsImpl bindings = createBindings(filters);
+
+      final Message message = new CoreMessage(1, 50).setAddress(ADDRESS);
+      message.putStringProperty("region", "EU");
+      message.putDoubleProperty("price", 200);
+      assertRoutedLikeFilters(bindings, message);
+
+      // the bindings added before the indexed ones are routed to after them
+      final List<Binding> routedInOrder = new ArrayList<>(routed);
+      assertEquals(new HashSet<>(this.bindings.subList(2, this.bindings.size())), new HashSet<>(routedInOrder.subList(0, 16)));
+      assertEquals(new HashSet<>(this.bindings.subList(0, 2)), new HashSet<>(routedInOrder.subList(16, 18)));
+   }
+
+   private void assertRoutedLikeFilters(BindingsImpl bindingsImpl, Message message) throws Exception {
+      routed.clear();
+      final RoutingContext context = new RoutingContextImpl(null);
+      bindingsImpl.route(message, context);
+      assertFalse(context.isReusable());
+      for (Binding binding : bindings) {
+         final Filter filter = binding.getFilter();
+         final boolean matches = filter == null || filter.match(message);
+         assertEquals(matches, routed.contains(binding), binding.getUniqueName() + " filtered by " + Filter.toFilterString(filter) + " with " + message.getStringProperty("region"));
+      }
+   }
+
+   private BindingsImpl createBindings(List<String> filters) throws Exception {
+      assertTrue(filters.size() >= 16);
+      return createBindings(filters, 16);
+   }
+
+   private BindingsImpl createBindings(List<String> filters, int filterIndexMinBindings) throws Exception {
+      final BindingsImpl bindingsImpl = new BindingsImpl(ADDRESS, null, null, filterIndexMinBindings);
+      for (String filter : filters) {
+         addBinding(bindingsImpl, filter);
+      }
+      return bindingsImpl;
+   }
+
+   private void assertFiltersEvaluated(BindingsImpl bindingsImpl, Message message, boolean evaluated) throws Exception {
+      this.bindings.forEach(binding -> Mockito.clearInvocations(binding.getFilter()));
+      assertRoutedLikeFilters(bindingsImpl, message);
+      // the assertion itself evaluated each filter once
+      for (Binding binding : this.bindings) {
+         Mockito.verify(binding.getFilter(), Mockito.times(evaluated ? 2 : 1)).match(Mockito.any(Message.class));
+      }
+   }
+
+   private void addBinding(BindingsImpl bindingsImpl, String filterString) throws Exception {
+      final long id = nextID++;
+      final SimpleString name = SimpleString.of("subscription." + id);
+      final Filter filter = filterString == null ? null : Mockito.spy(FilterImpl.createFilter(filterString));
+      final LocalQueueBinding binding = Mockito.mock(LocalQueueBinding.class);
+      Mockito.when(binding.getRoutingName()).thenReturn(name);
+      Mockito.when(binding.getID()).thenReturn(id);
+      Mockito.when(binding.getUniqueName()).thenReturn(name);
+      Mockito.when(binding.getFilter()).thenReturn(filter);
+      Mockito.when(binding.isLocal()).thenReturn(true);
+      Mockito.when(binding.isConnected()).thenReturn(true);
+      Mockito.doAnswer(invocation -> routed.add(binding)).when(binding).route(Mockito.any(Message.class), Mockito.any(RoutingContext.class));
+      bindings.add(binding);
+      bindingsImpl.addBinding(binding);
+   }
+}
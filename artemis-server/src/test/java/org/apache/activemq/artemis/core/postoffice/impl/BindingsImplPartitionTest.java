@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.postoffice.Binding;
+import org.apache.activemq.artemis.core.server.RoutingContext;
+import org.apache.activemq.artemis.core.server.impl.RoutingContextImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class BindingsImplPartitionTest {
+
+   private static final SimpleString ADDRESS = SimpleString.of("orders");
+
+   private static final int PARTITIONS = 4;
+
+   @Test
+   public void testGroupedMessagesStickToOnePartition() throws Exception {
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS];
+      BindingsImpl bindings = createBindings(routed);
+
+      for (int i = 0; i < 100; i++) {
+         route(bindings, "group-1", true);
+      }
+
+      int partitionsUsed = 0;
+      for (AtomicInteger count : routed) {
+         if (count.get() > 0) {
+            assertEquals(100, count.get());
+            partitionsUsed++;
+         }
+      }
+      assertEquals(1, partitionsUsed);
+   }
+
+   @Test
+   public void testUngroupedMessagesAreRoundRobined() throws Exception {
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS];
+      BindingsImpl bindings = createBindings(routed);
+
+      for (int i = 0; i < 100; i++) {
+         route(bindings, null, true);
+      }
+
+      for (AtomicInteger count : routed) {
+         assertEquals(100 / PARTITIONS, count.get());
+      }
+   }
+
+   @Test
+   public void testGroupedMessagesAreRoundRobinedWhenDisabled() throws Exception {
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS];
+      BindingsImpl bindings = createBindings(routed);
+
+      for (int i = 0; i < 100; i++) {
+         route(bindings, "group-1", false);
+      }
+
+      for (AtomicInteger count : routed) {
+         assertEquals(100 / PARTITIONS, count.get());
+      }
+   }
+
+   @Test
+   public void testGroupPinnedWhenItsPartitionRejectsTheMessage() throws Exception {
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS];
+      BindingsImpl bindings = createBindings(routed);
+      final int partition = partitionOf(bindings, routed, "group-1");
+
+      Filter rejectAll = Mockito.mock(Filter.class);
+      Mockito.when(rejectAll.match(Mockito.any(Message.class))).thenReturn(false);
+      bindings = new BindingsImpl(ADDRESS, null, null);
+      for (int i = 0; i < PARTITIONS; i++) {
+         routed[i] = new AtomicInteger();
+         bindings.addBinding(createBinding(i, routed[i], i == partition ? rejectAll : null));
+      }
+
+      for (int i = 0; i < 100; i++) {
+         route(bindings, "group-1", true);
+      }
+
+      // the group is not round-robined across the other partitions, but moves to a single one of them
+      assertEquals(0, routed[partition].get());
+      int partitionsUsed = 0;
+      for (AtomicInteger count : routed) {
+         if (count.get() > 0) {
+            assertEquals(100, count.get());
+            partitionsUsed++;
+         }
+      }
+      assertEquals(1, partitionsUsed);
+   }
+
+   @Test
+   public void testAddingPartitionOnlyMovesGroupsToIt() throws Exception {
+      final int groups = 1000;
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS + 1];
+      BindingsImpl bindings = new BindingsImpl(ADDRESS, null, null);
+      for (int i = 0; i < PARTITIONS; i++) {
+         routed[i] = new AtomicInteger();
+         bindings.addBinding(createBinding(i, routed[i], null));
+      }
+      int[] before = new int[groups];
+      for (int group = 0; group < groups; group++) {
+         before[group] = partitionOf(bindings, routed, "group-" + group);
+      }
+
+      routed[PARTITIONS] = new AtomicInteger();
+      bindings.addBinding(createBinding(PARTITIONS, routed[PARTITIONS], null));
+
+      int moved = 0;
+      for (int group = 0; group < groups; group++) {
+         final int after = partitionOf(bindings, routed, "group-" + group);
+         if (after != before[group]) {
+            assertEquals(PARTITIONS, after);
+            moved++;
+         }
+      }
+      // about a fifth of the groups move to the new partition, instead of most of them with a modulo
+      assertTrue(moved > groups / 10 && moved < groups * 3 / 10, "moved " + moved);
+
+      // and removing it moves them back
+      bindings.removeBindingByUniqueName(SimpleString.of("orders." + PARTITIONS));
+      for (int group = 0; group < groups; group++) {
+         assertEquals(before[group], partitionOf(bindings, routed, "group-" + group));
+      }
+   }
+
+   @Test
+   public void testGroupsSpreadAcrossPartitions() throws Exception {
+      AtomicInteger[] routed = new AtomicInteger[PARTITIONS];
+      BindingsImpl bindings = createBindings(routed);
+
+      for (int group = 0; group < 1000; group++) {
+         route(bindings, "group-" + group, true);
+      }
+
+      for (AtomicInteger count : routed) {
+         assertNotEquals(0, count.get());
+      }
+   }
+
+   /**
+    * {@return the partition a single message of {@code groupID} is routed to}
+    */
+   private static int partitionOf(BindingsImpl bindings, AtomicInteger[] routed, String groupID) throws Exception {
+      int[] counts = new int[routed.length];
+      for (int i = 0; i < routed.length; i++) {
+         counts[i] = routed[i] == null ? 0 : routed[i].get();
+      }
+      route(bindings, groupID, true);
+      for (int i = 0; i < routed.length; i++) {
+         if (routed[i] != null && routed[i].get() != counts[i]) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   private static void route(BindingsImpl bindings, String groupID, boolean partitionByGroupID) throws Exception {
+      Message message = new CoreMessage(1, 50).setAddress(ADDRESS);
+      if (groupID != null) {
+         message.setGroupID(groupID);
+      }
+      bindings.route(message, new RoutingContextImpl(null).setPartitionByGroupID(partitionByGroupID));
+   }
+
+   private static BindingsImpl createBindings(AtomicInteger[] routed) throws Exception {
+      BindingsImpl bindings = new BindingsImpl(ADDRESS, null, null);
+      for (int i = 0; i < routed.length; i++) {
+         routed[i] = new AtomicInteger();
+         bindings.addBinding(createBinding(i, routed[i], null));
+      }
+      return bindings;
+   }
+
+   private static Binding createBinding(int partition, AtomicInteger count, Filter filter) throws Exception {
+      Binding binding = Mockito.mock(Binding.class);
+      Mockito.when(binding.getRoutingName()).thenReturn(ADDRESS);
+      Mockito.when(binding.getID()).thenReturn((long) partition);
+      Mockito.when(binding.getUniqueName()).thenReturn(SimpleString.of("orders." + partition));
+      Mockito.when(binding.getFilter()).thenReturn(filter);
+      Mockito.when(binding.isLocal()).thenReturn(true);
+      Mockito.when(binding.isConnected()).thenReturn(true);
+      Mockito.when(binding.isHighAcceptPriority(Mockito.any())).thenReturn(true);
+      Mockito.doAnswer(invocation -> count.incrementAndGet()).when(binding).route(Mockito.any(Message.class), Mockito.any(RoutingContext.class));
+      return binding;
+   }
+}
@@ -16,7 +16,11 @@
  */
 package org.apache.activemq.artemis.core.postoffice.impl;
 
+import java.util.List;
+
 import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -29,6 +33,29 @@ public class PostOfficeImplTest {
 
    private static final int EXPIRATION_DELTA = 5000;
 
+   @Test
+   public void testAddOperationAddsReferencesOncePerQueue() {
+      Queue queue1 = Mockito.mock(Queue.class);
+      Queue queue2 = Mockito.mock(Queue.class);
+      MessageReference ref1 = mockReference(queue1, false);
+      MessageReference ref2 = mockReference(queue2, false);
+      MessageReference ref3 = mockReference(queue1, true);
+      MessageReference ref4 = mockReference(queue1, false);
+
+      new PostOfficeImpl.AddOperation(List.of(ref1, ref2, ref3, ref4)).afterCommit(null);
+
+      Mockito.verify(queue1).addTail(List.of(ref1, ref4));
+      Mockito.verify(queue2).addTail(List.of(ref2));
+      Mockito.verify(queue1, Mockito.never()).addTail(Mockito.any(MessageReference.class), Mockito.anyBoolean());
+   }
+
+   private static MessageReference mockReference(Queue queue, boolean alreadyAcked) {
+      MessageReference ref = Mockito.mock(MessageReference.class);
+      Mockito.when(ref.getQueue()).thenReturn(queue);
+      Mockito.when(ref.isAlreadyAcked()).thenReturn(alreadyAcked);
+      return ref;
+   }
+
    @Test
    public void testNoExpiryWhenExpirationSetLow() {
       Message mockMessage = Mockito.mock(Message.class);
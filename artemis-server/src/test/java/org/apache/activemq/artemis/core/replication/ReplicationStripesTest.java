@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.replication;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.paging.impl.PagedMessageImpl;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.persistence.impl.journal.LargeServerMessageImpl;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationAddTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationCommitMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationDeleteTXMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageBeginMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageEndMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationLargeMessageWriteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPageEventMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPageWriteMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationPrimaryIsStoppingMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStartSyncMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ReplicationStripesMessage;
+import org.apache.activemq.artemis.core.replication.ReplicationManager.ADD_OPERATION_TYPE;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.activemq.artemis.core.replication.ReplicationStripes.CONTROL_STRIPE;
+import static org.apache.activemq.artemis.core.replication.ReplicationStripes.PAGING_STRIPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicationStripesTest {
+
+   private static final int STRIPES = 4;
+
+   private static final byte BINDINGS = 0;
+
+   private static final byte MESSAGES = 1;
+
+   private static final SimpleString ADDRESS = SimpleString.of("test");
+
+   @Test
+   public void testControlPacketsOnControlStripe() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationStripesMessage(STRIPES)));
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationStartSyncMessage()));
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationPrimaryIsStoppingMessage()));
+      assertEquals(CONTROL_STRIPE, stripes.assign(add(BINDINGS, 10, JournalRecordIds.QUEUE_BINDING_RECORD)));
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationDeleteMessage(BINDINGS, 10)));
+   }
+
+   @Test
+   public void testRecordsSpreadOnStripes() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      final Set<Integer> used = new HashSet<>();
+      for (long id = 0; id < STRIPES; id++) {
+         final int stripe = stripes.assign(add(MESSAGES, id, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+         assertTrue(stripe >= 1 && stripe <= STRIPES, "stripe=" + stripe);
+         assertEquals(stripe, stripes.assign(update(id, JournalRecordIds.ADD_REF)));
+         assertEquals(stripe, stripes.assign(new ReplicationDeleteMessage(MESSAGES, id)));
+         used.add(stripe);
+      }
+      assertEquals(STRIPES, used.size());
+   }
+
+   @Test
+   public void testLargeMessageSharesStripeOfRecord() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      for (long messageId = 0; messageId < 20; messageId++) {
+         final int stripe = stripes.assign(new ReplicationLargeMessageBeginMessage(messageId));
+         assertTrue(stripe >= 1 && stripe <= STRIPES, "stripe=" + stripe);
+         assertEquals(stripe, stripes.assign(new ReplicationLargeMessageWriteMessage(messageId, new byte[0])));
+         assertEquals(stripe, stripes.assign(new ReplicationLargeMessageEndMessage(messageId, 0, false)));
+         assertEquals(stripe, stripes.assign(add(MESSAGES, messageId, JournalRecordIds.ADD_LARGE_MESSAGE)));
+      }
+   }
+
+   @Test
+   public void testTransactionOnStripeOfItsRecords() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      final long txId = 100;
+      final int stripe = stripes.assign(addTX(txId, 1, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+      assertEquals(stripe, stripes.assign(addTX(txId, 1 + STRIPES, JournalRecordIds.ADD_REF)));
+      assertEquals(stripe, stripes.assign(new ReplicationCommitMessage(MESSAGES, false, txId)));
+
+      // records on many stripes
+      stripes.assign(addTX(txId + 1, 1, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+      stripes.assign(addTX(txId + 1, 2, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationCommitMessage(MESSAGES, false, txId + 1)));
+   }
+
+   @Test
+   public void testPagingRecordsPinnedToPagingStripe() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      final long id = 2;
+      assertNotEquals(PAGING_STRIPE, stripes.assign(add(MESSAGES, 3, JournalRecordIds.ADD_MESSAGE_PROTOCOL)));
+      assertEquals(PAGING_STRIPE, stripes.assign(add(MESSAGES, id, JournalRecordIds.ACKNOWLEDGE_CURSOR)));
+      assertEquals(PAGING_STRIPE, stripes.assign(new ReplicationPageEventMessage(ADDRESS, 1, false, true)));
+      assertEquals(PAGING_STRIPE, stripes.assign(pageWrite(false)));
+      // the delete doesn't tell the type of the record
+      assertEquals(PAGING_STRIPE, stripes.assign(new ReplicationDeleteMessage(MESSAGES, id)));
+      assertEquals(stripes.assign(add(MESSAGES, id + STRIPES, JournalRecordIds.ADD_MESSAGE_PROTOCOL)), stripes.assign(add(MESSAGES, id, JournalRecordIds.ADD_MESSAGE_PROTOCOL)));
+
+      // unpinned once deleted by a committed transaction only
+      stripes.assign(add(MESSAGES, id + 1, JournalRecordIds.PAGE_TRANSACTION));
+      assertEquals(PAGING_STRIPE, stripes.assign(deleteTX(200, id + 1)));
+      stripes.assign(new ReplicationCommitMessage(MESSAGES, true, 200));
+      assertEquals(PAGING_STRIPE, stripes.assign(deleteTX(201, id + 1)));
+      stripes.assign(new ReplicationCommitMessage(MESSAGES, false, 201));
+      assertNotEquals(PAGING_STRIPE, stripes.assign(new ReplicationDeleteMessage(MESSAGES, id + 1)));
+   }
+
+   @Test
+   public void testLargePageWriteOnControlStripe() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      assertEquals(CONTROL_STRIPE, stripes.assign(pageWrite(true)));
+      // the backup decodes the core large messages lazily
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationPageWriteMessage(new PagedMessageImpl(0, null), 1, true, ADDRESS)));
+   }
+
+   @Test
+   public void testPendingLargeMessageOnControlStripe() {
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      final long messageId = 5;
+      final long pendingId = 6;
+      assertEquals(CONTROL_STRIPE, stripes.assign(add(MESSAGES, pendingId, JournalRecordIds.ADD_LARGE_MESSAGE_PENDING)));
+      stripes.assign(addTX(300, messageId, JournalRecordIds.ADD_LARGE_MESSAGE));
+      assertEquals(CONTROL_STRIPE, stripes.assign(deleteTX(300, pendingId)));
+      assertEquals(CONTROL_STRIPE, stripes.assign(new ReplicationCommitMessage(MESSAGES, false, 300)));
+   }
+
+   /**
+    * Applies a replicated workload on stripes interleaved at random, as the backup may, and checks the packets
+    * depending on each other are still applied in the order they were sent.
+    */
+   @Test
+   public void testReorderedStripesKeepDependencies() {
+      final List<Packet> sent = workload();
+      final List<int[]> dependencies = dependencies(sent);
+      assertTrue(dependencies.size() > sent.size(), "dependencies=" + dependencies.size());
+
+      final ReplicationStripes stripes = new ReplicationStripes(STRIPES);
+      final int[] assigned = new int[sent.size()];
+      for (int i = 0; i < sent.size(); i++) {
+         assigned[i] = stripes.assign(sent.get(i));
+      }
+      final Set<Integer> used = new HashSet<>();
+      for (int stripe : assigned) {
+         used.add(stripe);
+      }
+      assertEquals(STRIPES + 1, used.size(), "used=" + used);
+
+      for (int seed = 0; seed < 100; seed++) {
+         final int[] appliedAt = applyReordered(assigned, new Random(seed));
+         for (int[] dependency : dependencies) {
+            assertTrue(appliedAt[dependency[0]] < appliedAt[dependency[1]],
+                       "seed=" + seed + ": " + sent.get(dependency[1]) + " applied before " + sent.get(dependency[0]));
+         }
+      }
+   }
+
+   /**
+    * Applies the packets on their stripes as the backup does: in order on each stripe, with the packets of the control
+    * stripe once the ones sent before are applied and before the ones sent after, picking the next stripe at random.
+    *
+    * @return the step each packet is applied at
+    */
+   private static int[] applyReordered(int[] assigned, Random random) {
+      final List<Queue<Integer>> queues = new ArrayList<>();
+      for (int i = 0; i <= STRIPES; i++) {
+         queues.add(new ArrayDeque<>());
+      }
+      final int[] appliedAt = new int[assigned.length];
+      int step = 0;
+      int next = 0;
+      while (next < assigned.length || queues.stream().anyMatch(queue -> !queue.isEmpty())) {
+         // receives the packets up to the next barrier
+         while (next < assigned.length && queues.get(CONTROL_STRIPE).isEmpty()) {
+            if (assigned[next] == CONTROL_STRIPE && queues.stream().anyMatch(queue -> !queue.isEmpty())) {
+               queues.get(CONTROL_STRIPE).add(next++);
+               break;
+            }
+            queues.get(assigned[next]).add(next++);
+         }
+         final List<Queue<Integer>> ready = new ArrayList<>();
+         for (int stripe = 1; stripe <= STRIPES; stripe++) {
+            if (!queues.get(stripe).isEmpty()) {
+               ready.add(queues.get(stripe));
+            }
+         }
+         if (ready.isEmpty()) {
+            appliedAt[queues.get(CONTROL_STRIPE).remove()] = step++;
+         } else {
+            appliedAt[ready.get(random.nextInt(ready.size())).remove()] = step++;
+         }
+      }
+      return appliedAt;
+   }
+
+   /**
+    * {@return a workload of messages, transactions, paging and large messages on the message journal}
+    */
+   private static List<Packet> workload() {
+      final List<Packet> sent = new ArrayList<>();
+      long id = 1;
+      for (int i = 0; i < 20; i++) {
+         // a message routed to a queue, then acknowledged
+         final long messageId = id++;
+         sent.add(add(MESSAGES, messageId, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+         sent.add(update(messageId, JournalRecordIds.ADD_REF));
+         // a transaction acknowledging it and sending another one
+         final long txId = id++;
+         final long sentId = id++;
+         sent.add(addTX(txId, sentId, JournalRecordIds.ADD_MESSAGE_PROTOCOL));
+         sent.add(addTX(txId, sentId, JournalRecordIds.ADD_REF));
+         sent.add(deleteTX(txId, messageId));
+         sent.add(new ReplicationCommitMessage(MESSAGES, false, txId));
+         // a large message, complete once its pending record is deleted
+         final long largeId = id++;
+         final long pendingId = id++;
+         sent.add(add(MESSAGES, pendingId, JournalRecordIds.ADD_LARGE_MESSAGE_PENDING));
+         sent.add(new ReplicationLargeMessageBeginMessage(largeId));
+         sent.add(new ReplicationLargeMessageWriteMessage(largeId, new byte[0]));
+         sent.add(new ReplicationLargeMessageWriteMessage(largeId, new byte[0]));
+         sent.add(new ReplicationLargeMessageEndMessage(largeId, pendingId, false));
+         final long largeTxId = id++;
+         sent.add(addTX(largeTxId, largeId, JournalRecordIds.ADD_LARGE_MESSAGE));
+         sent.add(addTX(largeTxId, largeId, JournalRecordIds.ADD_REF));
+         sent.add(deleteTX(largeTxId, pendingId));
+         sent.add(new ReplicationCommitMessage(MESSAGES, false, largeTxId));
+         // a paged transaction, acknowledged from the page later on
+         final long pageTxId = id++;
+         final long pageRecordId = id++;
+         sent.add(new ReplicationPageWriteMessage(new PagedMessageImpl(new CoreMessage(id++, 50), new long[] {1}, pageTxId), 1, true, ADDRESS));
+         sent.add(addTX(pageTxId, pageRecordId, JournalRecordIds.PAGE_TRANSACTION));
+         sent.add(new ReplicationCommitMessage(MESSAGES, false, pageTxId));
+         final long ackId = id++;
+         sent.add(add(MESSAGES, ackId, JournalRecordIds.ACKNOWLEDGE_CURSOR));
+         sent.add(new ReplicationDeleteMessage(MESSAGES, ackId));
+         sent.add(new ReplicationDeleteMessage(MESSAGES, pageRecordId));
+         // a paged large message
+         sent.add(new ReplicationLargeMessageBeginMessage(id));
+         sent.add(new ReplicationLargeMessageEndMessage(id, 0, false));
+         sent.add(new ReplicationPageWriteMessage(new PagedMessageImpl(largeMessage(id++), new long[] {1}), 1, true, ADDRESS));
+         sent.add(new ReplicationPageEventMessage(ADDRESS, 1, false, true));
+      }
+      return sent;
+   }
+
+   /**
+    * {@return the pairs of packets of {@code sent} that have to be applied in the order they were sent}
+    */
+   private static List<int[]> dependencies(List<Packet> sent) {
+      final List<int[]> dependencies = new ArrayList<>();
+      for (int after = 0; after < sent.size(); after++) {
+         for (int before = 0; before < after; before++) {
+            if (dependsOn(sent.get(after), sent.get(before))) {
+               dependencies.add(new int[] {before, after});
+            }
+         }
+      }
+      return dependencies;
+   }
+
+   private static boolean dependsOn(Packet after, Packet before) {
+      // every operation on a record, including the body of a large message on its record
+      final long afterRecord = recordOf(after);
+      if (afterRecord != -1 && afterRecord == recordOf(before)) {
+         return true;
+      }
+      // a transaction on its records, e.g. the commit deleting the pending record of a large message on its record,
+      // itself on its body
+      final long afterTx = txOf(after);
+      if (after instanceof ReplicationCommitMessage && afterTx == txOf(before)) {
+         return true;
+      }
+      // the paging records on the pages, and the paged large messages on their bodies
+      if (isPaging(after) && isPaging(before)) {
+         return true;
+      }
+      return after instanceof ReplicationPageWriteMessage write && write.getMessage().isLargeMessage() &&
+         recordOf(before) == write.getMessage().getMessageID();
+   }
+
+   private static long recordOf(Packet packet) {
+      if (packet instanceof ReplicationAddMessage add) {
+         return add.getId();
+      } else if (packet instanceof ReplicationAddTXMessage add) {
+         return add.getId();
+      } else if (packet instanceof ReplicationDeleteMessage delete) {
+         return delete.getId();
+      } else if (packet instanceof ReplicationDeleteTXMessage delete) {
+         return delete.getId();
+      } else if (packet instanceof ReplicationLargeMessageBeginMessage begin) {
+         return begin.getMessageId();
+      } else if (packet instanceof ReplicationLargeMessageWriteMessage write) {
+         return write.getMessageId();
+      } else if (packet instanceof ReplicationLargeMessageEndMessage end) {
+         return end.getMessageId();
+      }
+      return -1;
+   }
+
+   private static long txOf(Packet packet) {
+      if (packet instanceof ReplicationAddTXMessage add) {
+         return add.getTxId();
+      } else if (packet instanceof ReplicationDeleteTXMessage delete) {
+         return delete.getTxId();
+      } else if (packet instanceof ReplicationCommitMessage commit) {
+         return commit.getTxId();
+      }
+      return -2;
+   }
+
+   private static boolean isPaging(Packet packet) {
+      if (packet instanceof ReplicationPageWriteMessage || packet instanceof ReplicationPageEventMessage) {
+         return true;
+      } else if (packet instanceof ReplicationAddMessage add) {
+         return add.getJournalRecordType() == JournalRecordIds.ACKNOWLEDGE_CURSOR;
+      } else if (packet instanceof ReplicationAddTXMessage add) {
+         return add.getRecordType() == JournalRecordIds.PAGE_TRANSACTION;
+      }
+      return false;
+   }
+
+   private static Message largeMessage(long messageId) {
+      final LargeServerMessageImpl message = new LargeServerMessageImpl(null);
+      message.setMessageID(messageId);
+      return message;
+   }
+
+   private static ReplicationPageWriteMessage pageWrite(boolean large) {
+      final Message message = large ? largeMessage(1) : new CoreMessage(1, 50);
+      return new ReplicationPageWriteMessage(new PagedMessageImpl(message, new long[] {1}), 1, true, ADDRESS);
+   }
+
+   private static ReplicationAddMessage add(byte journalID, long id, byte recordType) {
+      return new ReplicationAddMessage(false, journalID, ADD_OPERATION_TYPE.ADD, id, recordType, null, null);
+   }
+
+   private static ReplicationAddMessage update(long id, byte recordType) {
+      return new ReplicationAddMessage(false, MESSAGES, ADD_OPERATION_TYPE.UPDATE, id, recordType, null, null);
+   }
+
+   private static ReplicationAddTXMessage addTX(long txId, long id, byte recordType) {
+      return new ReplicationAddTXMessage(false, MESSAGES, ADD_OPERATION_TYPE.ADD, txId, id, recordType, null, null);
+   }
+
+   private static ReplicationDeleteTXMessage deleteTX(long txId, long id) {
+      return new ReplicationDeleteTXMessage(MESSAGES, txId, id, null);
+   }
+}
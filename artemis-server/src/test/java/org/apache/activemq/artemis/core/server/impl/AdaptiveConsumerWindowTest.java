@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConsumerWindowTest {
+
+   private static final int MESSAGE_SIZE = 1000;
+
+   @Test
+   public void testWindowFollowsThroughput() {
+      final AtomicLong inTransit = new AtomicLong();
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1000, Integer.MAX_VALUE, inTransit::get, 0);
+
+      // nothing measured yet: only one message at a time
+      assertEquals(0, window.getWindowSize());
+      assertTrue(window.allowsDelivery(0));
+      inTransit.addAndGet(MESSAGE_SIZE);
+      assertFalse(window.allowsDelivery(0));
+
+      // 10 messages of 1000 bytes acknowledged over 100 ms: 100 bytes/ms for 1000 ms
+      for (int i = 1; i <= 10; i++) {
+         inTransit.addAndGet(-MESSAGE_SIZE);
+         window.acknowledged(MESSAGE_SIZE, true, i * 10);
+         assertTrue(window.allowsDelivery(i * 10));
+         inTransit.addAndGet(MESSAGE_SIZE);
+      }
+      assertEquals(100_000, window.getWindowSize());
+      assertTrue(window.allowsDelivery(100));
+
+      // the consumer slows down to 10 bytes/ms, the window shrinks smoothly towards it
+      window.acknowledged(MESSAGE_SIZE, true, 200);
+      assertEquals(77_500, window.getWindowSize());
+   }
+
+   @Test
+   public void testWindowIsBounded() {
+      final AtomicLong inTransit = new AtomicLong(MESSAGE_SIZE);
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1000, 5000, inTransit::get, 0);
+
+      window.acknowledged(100 * MESSAGE_SIZE, true, AdaptiveConsumerWindow.SAMPLE_PERIOD_MILLIS);
+      assertEquals(5000, window.getWindowSize());
+
+      inTransit.set(5000);
+      assertFalse(window.allowsDelivery(AdaptiveConsumerWindow.SAMPLE_PERIOD_MILLIS));
+   }
+
+   @Test
+   public void testBlockedWindowIsPromptedOnce() {
+      final AtomicLong inTransit = new AtomicLong(MESSAGE_SIZE);
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1000, Integer.MAX_VALUE, inTransit::get, 0);
+
+      assertFalse(window.acknowledged(0, false, 1));
+      assertFalse(window.allowsDelivery(1));
+
+      inTransit.set(0);
+      assertTrue(window.acknowledged(MESSAGE_SIZE, false, 2));
+      assertFalse(window.acknowledged(MESSAGE_SIZE, false, 3));
+   }
+
+   @Test
+   public void testIdleTimeIsNotThroughput() {
+      final AtomicLong inTransit = new AtomicLong(MESSAGE_SIZE);
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1000, Integer.MAX_VALUE, inTransit::get, 0);
+
+      // the consumer acks its only message after 50 ms and then waits 10 seconds for the next one
+      inTransit.set(0);
+      window.acknowledged(MESSAGE_SIZE, true, 50);
+      assertTrue(window.allowsDelivery(10_050));
+      inTransit.set(MESSAGE_SIZE);
+
+      // which it acks 50 ms later: 2000 bytes in 100 ms of busy time
+      inTransit.set(0);
+      window.acknowledged(MESSAGE_SIZE, true, 10_100);
+      assertEquals(20_000, window.getWindowSize());
+   }
+
+   @Test
+   public void testLimitedWindowProbesAdditively() {
+      final AtomicLong inTransit = new AtomicLong(MESSAGE_SIZE);
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1000, Integer.MAX_VALUE, inTransit::get, 0);
+
+      // 100 bytes/ms for 1000 ms
+      for (int i = 1; i <= 10; i++) {
+         window.acknowledged(MESSAGE_SIZE, true, i * 10);
+      }
+      assertEquals(100_000, window.getWindowSize());
+
+      // the window is full and the consumer still acks 100 bytes/ms: it may be what limits the consumer
+      inTransit.set(100_000);
+      assertFalse(window.allowsDelivery(100));
+      for (int i = 11; i <= 20; i++) {
+         window.acknowledged(MESSAGE_SIZE, true, i * 10);
+      }
+      assertEquals(101_000, window.getWindowSize());
+   }
+
+   @Test
+   public void testWindowFloorIsOneMessage() {
+      final AtomicLong inTransit = new AtomicLong(MESSAGE_SIZE);
+      // 10 bytes/ms for 10 ms is less than a message
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(10, Integer.MAX_VALUE, inTransit::get, 0);
+
+      window.acknowledged(MESSAGE_SIZE, true, AdaptiveConsumerWindow.SAMPLE_PERIOD_MILLIS);
+      assertEquals(MESSAGE_SIZE, window.getWindowSize());
+   }
+
+   @Test
+   public void testSlowConsumer() {
+      // acks one message every 50 ms, 20 bytes/ms, for a target latency of 100 ms
+      final AtomicLong inTransit = new AtomicLong();
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(100, Integer.MAX_VALUE, inTransit::get, 0);
+
+      long maxInTransit = 0;
+      for (long now = 0; now < 10_000; now++) {
+         if (now % 50 == 49 && inTransit.get() > 0) {
+            inTransit.addAndGet(-MESSAGE_SIZE);
+            window.acknowledged(MESSAGE_SIZE, true, now);
+         }
+         while (window.allowsDelivery(now)) {
+            inTransit.addAndGet(MESSAGE_SIZE);
+         }
+         if (now >= 1000) {
+            maxInTransit = Math.max(maxInTransit, inTransit.get());
+            // around the 2 messages it processes within the target latency
+            assertTrue(window.getWindowSize() >= 2 * MESSAGE_SIZE && window.getWindowSize() <= 3 * MESSAGE_SIZE + 1, "window " + window.getWindowSize());
+         }
+      }
+      // instead of holding as many messages as the queue has
+      assertTrue(maxInTransit <= 4 * MESSAGE_SIZE, "in transit " + maxInTransit);
+   }
+
+   @Test
+   public void testFastConsumer() {
+      // acks every message 10 ms after its delivery, whatever the number of messages in transit
+      final AtomicLong inTransit = new AtomicLong();
+      final AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(100, 50_000, inTransit::get, 0);
+      final ArrayDeque<Long> acks = new ArrayDeque<>();
+
+      for (long now = 0; now < 5000; now++) {
+         while (!acks.isEmpty() && acks.peekFirst() <= now) {
+            acks.pollFirst();
+            inTransit.addAndGet(-MESSAGE_SIZE);
+            window.acknowledged(MESSAGE_SIZE, true, now);
+         }
+         while (window.allowsDelivery(now)) {
+            inTransit.addAndGet(MESSAGE_SIZE);
+            acks.addLast(now + 10);
+         }
+      }
+      // the window grew from a single message to its bound
+      assertEquals(50_000, window.getWindowSize());
+      assertEquals(50_000, inTransit.get());
+   }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedList;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExpiryNodeStoreTest {
+
+   private final List<ExpiryNodeStore> stores = new ArrayList<>();
+
+   private PriorityLinkedList<MessageReference> list;
+
+   @BeforeEach
+   public void setUp() {
+      list = new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
+      list.setNodeStore(() -> {
+         final ExpiryNodeStore store = new ExpiryNodeStore();
+         stores.add(store);
+         return store;
+      });
+   }
+
+   private static MessageReference reference(long id, long expiration) {
+      return new MessageReferenceImpl(new CoreMessage(id, 50).setExpiration(expiration), null);
+   }
+
+   private List<MessageReference> collectDue(long now, int max) {
+      final List<MessageReference> due = new ArrayList<>();
+      for (ExpiryNodeStore store : stores) {
+         store.collectDue(now, max, due);
+      }
+      return due;
+   }
+
+   @Test
+   public void testOnlyDueReferencesAreCollected() {
+      final MessageReference early = reference(1, 1_500);
+      final MessageReference late = reference(2, 10_500);
+      final MessageReference noExpiry = reference(3, 0);
+      list.addTail(early, 4);
+      list.addTail(noExpiry, 4);
+      list.addTail(late, 9);
+
+      assertTrue(collectDue(1_999, 10).isEmpty());
+
+      final List<MessageReference> due = collectDue(2_000, 10);
+      assertEquals(1, due.size());
+      assertSame(early, due.get(0));
+
+      assertSame(early, list.removeWithID(ExpiryNodeStore.LIST_ID, 1));
+      assertEquals(2, list.size());
+      assertTrue(collectDue(2_000, 10).isEmpty());
+
+      // references without an expiration are never indexed
+      assertNull(list.removeWithID(ExpiryNodeStore.LIST_ID, 3));
+
+      due.clear();
+      assertTrue(stores.get(9).collectDue(20_000, 0, due));
+      assertEquals(List.of(late), collectDue(20_000, 10));
+   }
+
+   @Test
+   public void testRemovedReferencesLeaveTheIndex() {
+      for (long id = 1; id <= 10; id++) {
+         list.addTail(reference(id, 1_000 * id), 4);
+      }
+      assertEquals(10, stores.get(4).size());
+
+      assertEquals(1, list.poll().getMessageID());
+      try (LinkedListIterator<MessageReference> iterator = list.iterator()) {
+         while (iterator.hasNext()) {
+            if (iterator.next().getMessageID() % 2 == 0) {
+               iterator.remove();
+            }
+         }
+      }
+
+      assertEquals(4, stores.get(4).size());
+      final List<MessageReference> due = collectDue(Long.MAX_VALUE / 2, 100);
+      assertEquals(List.of(3L, 5L, 7L, 9L), due.stream().map(MessageReference::getMessageID).sorted().toList());
+   }
+
+   @Test
+   public void testUpdatedReferenceIsReindexed() {
+      final CoreMessage message = new CoreMessage(1, 50).setExpiration(1_500);
+      list.addTail(new MessageReferenceImpl(message, null), 4);
+
+      message.setExpiration(5_500);
+      assertTrue(collectDue(2_000, 10).isEmpty());
+      assertFalse(stores.get(4).collectDue(2_000, 10, new ArrayList<>()));
+      assertEquals(1, collectDue(6_000, 10).size());
+   }
+}
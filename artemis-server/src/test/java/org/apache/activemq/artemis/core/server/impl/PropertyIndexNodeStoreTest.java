@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.utils.collections.LinkedListImpl;
+import org.apache.activemq.artemis.utils.collections.NodeStore;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedList;
+import org.apache.activemq.artemis.utils.collections.PriorityLinkedListImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertyIndexNodeStoreTest {
+
+   private final List<PropertyIndexNodeStore> stores = new ArrayList<>();
+
+   private PriorityLinkedList<MessageReference> list;
+
+   private long sequence;
+
+   @BeforeEach
+   public void setUp() {
+      list = new PriorityLinkedListImpl<>(QueueImpl.NUM_PRIORITIES, MessageReferenceImpl.getSequenceComparator());
+      list.setNodeStore(() -> {
+         final PropertyIndexNodeStore store = new PropertyIndexNodeStore();
+         store.setProperties(PropertyIndexNodeStore.parseProperties(SimpleString.of("region, customer")));
+         store.rebuilt();
+         stores.add(store);
+         return store;
+      });
+   }
+
+   private MessageReference add(long id, int priority, String property, Object value) {
+      final CoreMessage message = new CoreMessage(id, 50);
+      if (value != null) {
+         message.putObjectProperty(property, value);
+      }
+      return add(message, priority);
+   }
+
+   private MessageReference add(CoreMessage message, int priority) {
+      final MessageReference reference = new MessageReferenceImpl(message, null);
+      reference.setSequence(++sequence);
+      list.addTail(reference, priority);
+      return reference;
+   }
+
+   private List<Long> collect(String filter) throws Exception {
+      final Filter compiled = FilterImpl.createFilter(filter);
+      final List<MessageReference> matches = new ArrayList<>();
+      for (int level = stores.size() - 1; level >= 0; level--) {
+         stores.get(level).collect(compiled.getPropertyValues(), compiled, matches);
+      }
+      return matches.stream().map(MessageReference::getMessageID).toList();
+   }
+
+   @Test
+   public void testParseProperties() {
+      assertArrayEquals(PropertyIndexNodeStore.NO_PROPERTIES, PropertyIndexNodeStore.parseProperties(null));
+      assertArrayEquals(new SimpleString[] {SimpleString.of("a"), SimpleString.of("b")}, PropertyIndexNodeStore.parseProperties(SimpleString.of(" a,b, ,a ")));
+   }
+
+   @Test
+   public void testMatchesAreCollectedInQueueOrder() throws Exception {
+      add(1, 4, "region", "EU");
+      add(2, 4, "region", "US");
+      add(3, 9, "region", "EU");
+      add(4, 4, "region", null);
+      final CoreMessage acme = new CoreMessage(5, 50);
+      acme.putStringProperty("region", "EU");
+      acme.putStringProperty("customer", "acme");
+      add(acme, 4);
+      add(6, 4, "region", 7);
+
+      assertEquals(List.of(3L, 1L, 5L), collect("region = 'EU'"));
+      assertEquals(List.of(3L, 1L, 2L, 5L), collect("region IN ('EU', 'US')"));
+      // only the references with one of the values are evaluated
+      assertEquals(List.of(5L), collect("region = 'EU' AND customer = 'acme'"));
+      assertTrue(collect("region = 'APAC'").isEmpty());
+      assertTrue(stores.get(0).isIndexed(SimpleString.of("customer")));
+      assertEquals(4, stores.get(4).size());
+   }
+
+   @Test
+   public void testRemovedReferencesLeaveTheIndex() throws Exception {
+      final MessageReference first = add(1, 4, "region", "EU");
+      add(2, 4, "region", "EU");
+      add(3, 4, "region", "EU");
+
+      assertSame(first, list.poll());
+      assertEquals(List.of(2L, 3L), collect("region = 'EU'"));
+
+      assertEquals(3, list.removeWithID(PropertyIndexNodeStore.LIST_ID, 3).getMessageID());
+      assertNull(list.removeWithID(PropertyIndexNodeStore.LIST_ID, 3));
+      assertEquals(List.of(2L), collect("region = 'EU'"));
+      assertEquals(1, list.size());
+   }
+
+   @Test
+   public void testNewPropertiesAreRebuiltWithoutTheDelegate() throws Exception {
+      final List<MessageReference> delegated = new ArrayList<>();
+      final NodeStore<MessageReference> delegate = new NodeStore<>() {
+         @Override
+         public void storeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+            delegated.add(element);
+         }
+
+         @Override
+         public LinkedListImpl.Node<MessageReference> getNode(String listID, long id) {
+            return null;
+         }
+
+         @Override
+         public void removeNode(MessageReference element, LinkedListImpl.Node<MessageReference> node) {
+         }
+
+         @Override
+         public void clear() {
+         }
+
+         @Override
+         public int size() {
+            return 0;
+         }
+      };
+      stores.forEach(store -> store.setDelegate(delegate));
+      add(1, 4, "customer", "acme");
+      assertEquals(1, delegated.size());
+      assertTrue(collect("region = 'EU'").isEmpty());
+
+      stores.forEach(store -> store.setProperties(PropertyIndexNodeStore.parseProperties(SimpleString.of("customer"))));
+      final Iterator<PropertyIndexNodeStore> levels = stores.iterator();
+      list.setNodeStore(levels::next);
+      stores.forEach(PropertyIndexNodeStore::rebuilt);
+
+      assertEquals(List.of(1L), collect("customer = 'acme'"));
+      assertEquals(1, delegated.size());
+   }
+}
@@ -201,6 +201,34 @@ public class ScheduledDeliveryHandlerTest {
       }
    }
 
+   @Test
+   public void testSinglePendingDeliveryForManyDeadlines() throws Exception {
+      final int NUMBER_OF_MESSAGES = 1000;
+
+      ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      try {
+         final FakeQueueForScheduleUnitTest fakeQueue = new FakeQueueForScheduleUnitTest(NUMBER_OF_MESSAGES);
+         final ScheduledDeliveryHandlerImpl handler = new ScheduledDeliveryHandlerImpl(scheduler, fakeQueue);
+
+         final long now = System.currentTimeMillis();
+
+         for (int i = 0; i < NUMBER_OF_MESSAGES; i++) {
+            checkAndSchedule(handler, i, now + 1000 + i, true, fakeQueue);
+         }
+
+         // every message has a different deadline, but only the earliest one needs a task on the executor
+         assertEquals(1, handler.getPendingDeliveries());
+         assertEquals(1, scheduler.getQueue().size());
+
+         if (!fakeQueue.waitCompletion(10, TimeUnit.SECONDS)) {
+            fail("Couldn't complete queue.add, expected " + NUMBER_OF_MESSAGES + ", still missing " + fakeQueue.expectedElements.toString());
+         }
+         assertEquals(0, handler.getScheduledCount());
+      } finally {
+         scheduler.shutdownNow();
+      }
+   }
+
    private void internalSchedule(ExecutorService executor, ScheduledThreadPoolExecutor scheduler) throws Exception {
       final int NUMBER_OF_MESSAGES = 200;
       int NUMBER_OF_THREADS = 20;
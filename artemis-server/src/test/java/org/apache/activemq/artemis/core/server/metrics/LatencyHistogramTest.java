@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LatencyHistogramTest {
+
+   private final AtomicLong clock = new AtomicLong();
+
+   private final LatencyHistogram histogram = new LatencyHistogram(clock::get);
+
+   @Test
+   public void testWindowIsPublishedOnceCompleted() {
+      for (int millis = 1; millis <= 100; millis++) {
+         histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+      }
+      assertEquals(0, histogram.getCount());
+
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS);
+      assertEquals(100, histogram.getCount());
+      assertEquals(50, histogram.getValueAtPercentile(50), 0.5);
+      assertEquals(99, histogram.getValueAtPercentile(99), 1);
+      assertEquals(100, histogram.getMax(), 1);
+
+      // the published window stays until the next one completes
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+      assertEquals(100, histogram.getCount());
+
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS);
+      assertEquals(1, histogram.getCount());
+      assertEquals(1, histogram.getMax(), 0.01);
+   }
+
+   @Test
+   public void testWindowsFollowFixedBoundaries() {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+      // read late in the second window
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS + LatencyHistogram.WINDOW_NANOS / 2);
+      assertEquals(1, histogram.getCount());
+
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+      // the second window completes at twice the window from the start, not a window after the last read
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS / 2);
+      assertEquals(1, histogram.getCount());
+      assertEquals(2, histogram.getMax(), 0.01);
+   }
+
+   @Test
+   public void testRecordingFromManyThreads() throws Exception {
+      final Thread[] threads = new Thread[16];
+      for (int i = 0; i < threads.length; i++) {
+         threads[i] = new Thread(() -> {
+            for (int j = 0; j < 1000; j++) {
+               histogram.record(TimeUnit.MICROSECONDS.toNanos(j));
+            }
+         });
+         threads[i].start();
+      }
+      for (Thread thread : threads) {
+         thread.join();
+      }
+
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS);
+      assertEquals(16_000, histogram.getCount());
+   }
+
+   @Test
+   public void testOutOfRangeLatenciesAreClamped() {
+      histogram.record(-1);
+      histogram.record(TimeUnit.HOURS.toNanos(1));
+
+      clock.addAndGet(LatencyHistogram.WINDOW_NANOS);
+      assertEquals(2, histogram.getCount());
+      assertEquals(0, histogram.getValueAtPercentile(0), 0);
+      assertEquals(TimeUnit.MICROSECONDS.toMillis(LatencyHistogram.HIGHEST_TRACKABLE_MICROS), histogram.getMax(), 1000);
+   }
+}
@@ -16,8 +16,11 @@
  */
 package org.apache.activemq.artemis.core.server.metrics;
 
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.config.MetricsConfiguration;
 import org.apache.activemq.artemis.core.config.WildcardConfiguration;
 import org.apache.activemq.artemis.core.server.metrics.plugins.SimpleMetricsPlugin;
@@ -28,6 +31,9 @@ import org.apache.activemq.artemis.utils.RandomUtil;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MetricsManagerTest {
 
@@ -78,4 +84,37 @@ public class MetricsManagerTest {
       });
       assertEquals(enableMetrics, test.get());
    }
+
+   @Test
+   public void testQueueHistogram() throws Exception {
+      HierarchicalRepository<AddressSettings> addressSettingsRepository = new HierarchicalObjectRepository<>(new WildcardConfiguration());
+      addressSettingsRepository.addMatch("#", new AddressSettings().setEnableMetrics(true));
+      addressSettingsRepository.addMatch("disabled", new AddressSettings().setEnableMetrics(false));
+
+      MetricsConfiguration metricsConfiguration = new MetricsConfiguration();
+      metricsConfiguration.setPlugin(new SimpleMetricsPlugin().init(null));
+      MetricsManager metricsManager = new MetricsManager(RandomUtil.randomUUIDString(), metricsConfiguration, addressSettingsRepository, null, temp -> "");
+
+      // latency histograms are opt-in
+      assertNull(metricsManager.registerQueueHistogram("address", "queue", false, QueueMetricNames.DISPATCH_LATENCY, "test"));
+
+      metricsConfiguration.setLatencyHistograms(true);
+      metricsManager = new MetricsManager(RandomUtil.randomUUIDString(), metricsConfiguration, addressSettingsRepository, null, temp -> "");
+      assertTrue(metricsManager.isLatencyHistograms());
+      assertNull(metricsManager.registerQueueHistogram("address", "disabled", false, QueueMetricNames.DISPATCH_LATENCY, "test"));
+
+      metricsManager.registerQueueGauge("address", "queue", false, builder -> builder.build(QueueMetricNames.MESSAGE_COUNT, this, metrics -> 0, "test", Collections.emptyList()));
+      LatencyHistogram histogram = metricsManager.registerQueueHistogram("address", "queue", false, QueueMetricNames.DISPATCH_LATENCY, "test");
+      assertNotNull(histogram);
+
+      MeterRegistry registry = metricsManager.getMeterRegistry();
+      assertEquals(4, registry.find("artemis." + QueueMetricNames.DISPATCH_LATENCY + ".percentile").tag("queue", "queue").gauges().size());
+      assertNotNull(registry.find("artemis." + QueueMetricNames.DISPATCH_LATENCY + ".max").tag("queue", "queue").gauge());
+      assertNotNull(registry.find("artemis." + QueueMetricNames.DISPATCH_LATENCY + ".count").tag("queue", "queue").gauge());
+
+      // the histogram leaves the registry along with the gauges of the queue
+      metricsManager.remove(ResourceNames.QUEUE + "queue");
+      assertTrue(registry.find("artemis." + QueueMetricNames.DISPATCH_LATENCY + ".percentile").gauges().isEmpty());
+      assertNull(registry.find("artemis." + QueueMetricNames.MESSAGE_COUNT).tag("queue", "queue").gauge());
+   }
 }
@@ -294,6 +294,11 @@ public class FakePostOffice implements PostOffice {
       return null;
    }
 
+   @Override
+   public RoutingStatus[] route(List<? extends Message> messages, RoutingContext context, boolean direct, boolean rejectDuplicates) throws Exception {
+      return null;
+   }
+
    @Override
    public void processRoute(Message message, RoutingContext context, boolean direct) throws Exception {
    }
@@ -456,6 +456,106 @@ public class AckManagerTest extends ActiveMQTestBase {
 
 
 
+   @Test
+   public void testRetryFromPagingInRounds() throws Throwable {
+      server1.start();
+
+      SimpleString TOPIC_NAME = SimpleString.of("tp" + RandomUtil.randomUUIDString());
+
+      // small pages, so the retries are spread over completed pages and the page being written
+      server1.getAddressSettingsRepository().addMatch(TOPIC_NAME.toString(), new AddressSettings().setPageSizeBytes(20 * 1024));
+      server1.addAddressInfo(new AddressInfo(TOPIC_NAME).addRoutingType(RoutingType.MULTICAST));
+
+      ConnectionFactory connectionFactory = CFUtil.createConnectionFactory("AMQP", "tcp://localhost:61616");
+
+      try (Connection connection = connectionFactory.createConnection()) {
+         connection.setClientID("c0");
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         session.createDurableSubscriber(session.createTopic(TOPIC_NAME.toString()), "s0");
+      }
+
+      final Queue c0s0 = server1.locateQueue("c0.s0");
+      assertNotNull(c0s0);
+      c0s0.pause();
+
+      PagingStore store = server1.getPagingManager().getPageStore(TOPIC_NAME);
+      store.startPaging();
+
+      sendMessages(connectionFactory, TOPIC_NAME, 0, 1000);
+      assertTrue(store.getNumberOfPages() > 1);
+
+      AckManager ackManager = AckManagerProvider.getManager(server1);
+      ackManager.start();
+      ReferenceIDSupplier referenceIDSupplier = new ReferenceIDSupplier(server1);
+
+      // the messages in the middle first, then messages on the pages indexed by the first round
+      addPagedRetries(ackManager, referenceIDSupplier, store, c0s0, 500, 600);
+      Wait.assertEquals(100L, c0s0::getMessagesAcknowledged, 10_000);
+
+      addPagedRetries(ackManager, referenceIDSupplier, store, c0s0, 0, 100);
+      Wait.assertEquals(200L, c0s0::getMessagesAcknowledged, 10_000);
+
+      // and messages paged after the index was built
+      sendMessages(connectionFactory, TOPIC_NAME, 1000, 1100);
+      addPagedRetries(ackManager, referenceIDSupplier, store, c0s0, 1000, 1100);
+      Wait.assertEquals(300L, c0s0::getMessagesAcknowledged, 10_000);
+
+      Wait.assertTrue(() -> ackManager.sortRetries().isEmpty(), 5000);
+      assertEquals(800L, c0s0.getMessageCount());
+
+      c0s0.resume();
+
+      try (Connection connection = connectionFactory.createConnection()) {
+         connection.setClientID("c0");
+         connection.start();
+         Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+         TopicSubscriber subscriber = session.createDurableSubscriber(session.createTopic(TOPIC_NAME.toString()), "s0");
+         for (int i = 0; i < 1100; i++) {
+            if (i < 100 || i >= 500 && i < 600 || i >= 1000) {
+               continue;
+            }
+            TextMessage message = (TextMessage) subscriber.receive(5000);
+            assertNotNull(message);
+            assertEquals(i, message.getIntProperty("i"));
+         }
+         assertNull(subscriber.receiveNoWait());
+      }
+
+      server1.stop();
+   }
+
+   private static void sendMessages(ConnectionFactory connectionFactory, SimpleString address, int start, int end) throws Exception {
+      try (Connection connection = connectionFactory.createConnection()) {
+         Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+         MessageProducer producer = session.createProducer(session.createTopic(address.toString()));
+         for (int i = start; i < end; i++) {
+            Message m = session.createTextMessage("hello " + i);
+            m.setIntProperty("i", i);
+            producer.send(m);
+            if ((i + 1) % 100 == 0) {
+               session.commit();
+            }
+         }
+         session.commit();
+      }
+   }
+
+   private static void addPagedRetries(AckManager ackManager, ReferenceIDSupplier referenceIDSupplier, PagingStore store, Queue queue, int start, int end) throws Exception {
+      for (long pageID = store.getFirstPage(); pageID <= store.getCurrentWritingPage(); pageID++) {
+         Page page = store.usePage(pageID);
+         try {
+            page.getMessages().forEach(pagedMessage -> {
+               int i = pagedMessage.getMessage().getIntProperty("i");
+               if (i >= start && i < end) {
+                  ackManager.addRetry(referenceIDSupplier.getServerID(pagedMessage.getMessage()), queue, referenceIDSupplier.getID(pagedMessage.getMessage()), AckReason.NORMAL);
+               }
+            });
+         } finally {
+            page.usageDown();
+         }
+      }
+   }
+
    @Test
    public void testFlowControlOnPendingAcks() throws Throwable {
 
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The chunks of the large messages delivered to core consumers are sent straight from their files on plain TCP
+ * connections, and copied otherwise.
+ */
+public class ZeroCopyLargeMessageTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.of("ZeroCopyLargeMessageTest");
+
+   private static final String PASSWORD = "securepass";
+
+   private static final int MESSAGE_SIZE = (int) (3.5 * ActiveMQClient.DEFAULT_MIN_LARGE_MESSAGE_SIZE);
+
+   private ActiveMQServer startServer(Map<String, Object> acceptorParams) throws Exception {
+      final Configuration config = createDefaultConfig(false).clearAcceptorConfigurations().addAcceptorConfiguration(new TransportConfiguration(NETTY_ACCEPTOR_FACTORY, acceptorParams, "netty"));
+      final ActiveMQServer server = addServer(createServer(true, config));
+      server.start();
+      return server;
+   }
+
+   private void sendAndReceive(ActiveMQServer server,
+                               ServerLocator locator,
+                               int messages,
+                               boolean fileRegionSupported) throws Exception {
+      // random bodies stay large messages once compressed
+      final byte[] body = new byte[MESSAGE_SIZE];
+      new Random(MESSAGE_SIZE).nextBytes(body);
+
+      final ClientSessionFactory sf = createSessionFactory(locator);
+      final ClientSession session = addClientSession(sf.createSession(false, true, true));
+      session.createQueue(QueueConfiguration.of(QUEUE).setDurable(true));
+
+      final ClientProducer producer = session.createProducer(QUEUE);
+      for (int i = 0; i < messages; i++) {
+         final ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         message.setBodyInputStream(new ByteArrayInputStream(body));
+         producer.send(message);
+      }
+
+      Wait.assertEquals(1, () -> server.getRemotingService().getConnections().size());
+      for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+         assertEquals(fileRegionSupported, connection.getTransportConnection().isFileRegionSupported());
+      }
+
+      final ClientConsumer consumer = session.createConsumer(QUEUE);
+      session.start();
+      for (int i = 0; i < messages; i++) {
+         final ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         assertEquals(i, message.getIntProperty("i"));
+         assertTrue(message.isLargeMessage());
+         final ByteArrayOutputStream received = new ByteArrayOutputStream();
+         message.saveToOutputStream(received);
+         assertArrayEquals(body, received.toByteArray());
+         message.acknowledge();
+      }
+      Wait.assertEquals(0L, () -> server.locateQueue(QUEUE).getMessageCount());
+
+      // the files of the bodies are closed once delivered
+      session.close();
+      validateNoFilesOnLargeDir();
+   }
+
+   @Test
+   public void testSentFromFile() throws Exception {
+      final ActiveMQServer server = startServer(new HashMap<>());
+
+      sendAndReceive(server, createNettyNonHALocator(), 10, true);
+   }
+
+   @Test
+   public void testCompressedSentFromFile() throws Exception {
+      final ActiveMQServer server = startServer(new HashMap<>());
+
+      // the broker keeps the compressed bodies as they are
+      sendAndReceive(server, createNettyNonHALocator().setCompressLargeMessage(true), 10, true);
+   }
+
+   @Test
+   public void testCopiedWhenDisabled() throws Exception {
+      final Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.ZERO_COPY_LARGE_MESSAGES, false);
+      final ActiveMQServer server = startServer(params);
+
+      sendAndReceive(server, createNettyNonHALocator(), 10, false);
+   }
+
+   @Test
+   public void testCopiedOverTLS() throws Exception {
+      final Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.SSL_ENABLED_PROP_NAME, true);
+      params.put(TransportConstants.KEYSTORE_PATH_PROP_NAME, "server-keystore.jks");
+      params.put(TransportConstants.KEYSTORE_PASSWORD_PROP_NAME, PASSWORD);
+      params.put(TransportConstants.HOST_PROP_NAME, "localhost");
+      final ActiveMQServer server = startServer(params);
+
+      final TransportConfiguration connector = new TransportConfiguration(NETTY_CONNECTOR_FACTORY);
+      connector.getParams().put(TransportConstants.SSL_ENABLED_PROP_NAME, true);
+      connector.getParams().put(TransportConstants.TRUSTSTORE_PATH_PROP_NAME, "server-ca-truststore.jks");
+      connector.getParams().put(TransportConstants.TRUSTSTORE_PASSWORD_PROP_NAME, PASSWORD);
+      connector.getParams().put(TransportConstants.HOST_PROP_NAME, "localhost");
+
+      // the TLS handler encrypts the chunks: they can't be written as they are in their files
+      sendAndReceive(server, addServerLocator(ActiveMQClient.createServerLocatorWithoutHA(connector)), 10, false);
+   }
+}
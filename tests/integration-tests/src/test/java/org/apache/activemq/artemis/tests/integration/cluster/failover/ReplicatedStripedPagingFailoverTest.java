@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.cluster.failover;
+
+import org.apache.activemq.artemis.core.config.ha.ReplicatedPolicyConfiguration;
+
+/**
+ * Fails over while the backup applies the replicated packets on stripes, including the paging records and the
+ * transactions spanning many stripes that are a barrier between them, and checks that no sent message is lost and no
+ * acknowledged one comes back.
+ */
+public class ReplicatedStripedPagingFailoverTest extends ReplicatedPagingFailoverTest {
+
+   @Override
+   protected void setupHAPolicyConfiguration() {
+      super.setupHAPolicyConfiguration();
+      ((ReplicatedPolicyConfiguration) primaryConfig.getHAPolicyConfiguration()).setReplicationStripes(4);
+   }
+}
@@ -35,11 +35,13 @@ import javax.transaction.xa.Xid;
 import java.lang.invoke.MethodHandles;
 import java.nio.ByteBuffer;
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
@@ -110,6 +112,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -4719,6 +4722,68 @@ public class QueueControlTest extends ManagementTestBase {
       session.deleteQueue(queue);
    }
 
+   @TestTemplate
+   public void testBrowseAsJSONWithCursorIncludesPagedMessages() throws Exception {
+      SimpleString address = RandomUtil.randomUUIDSimpleString();
+      SimpleString queue = RandomUtil.randomUUIDSimpleString();
+      final int messageCount = 20;
+
+      AddressSettings addressSettings = new AddressSettings().setManagementBrowsePageSize(4).setMaxSizeBytes(1000L);
+      server.getAddressSettingsRepository().addMatch(address.toString(), addressSettings);
+
+      session.createQueue(QueueConfiguration.of(queue).setAddress(address).setDurable(durable));
+
+      ClientProducer producer = session.createProducer(address);
+      for (int i = 0; i < messageCount; i++) {
+         ClientMessage message = session.createMessage(true);
+         message.putIntProperty("i", i);
+         message.getBodyBuffer().writeBytes(new byte[100]);
+         producer.send(message);
+      }
+      producer.close();
+
+      Wait.assertTrue(server.locateQueue(queue).getPagingStore()::isPaging);
+
+      QueueControl queueControl = createManagementControl(address, queue);
+
+      // the page size is bounded by the management browse page size
+      List<Integer> browsed = new ArrayList<>();
+      String cursor = null;
+      do {
+         JsonObject page = JsonUtil.readJsonObject(queueControl.browseAsJSON(cursor, 10, "i >= 0"));
+         JsonArray messages = page.getJsonArray("messages");
+         assertTrue(messages.size() <= 4);
+         for (int i = 0; i < messages.size(); i++) {
+            browsed.add(messages.getJsonObject(i).getInt("i"));
+         }
+         cursor = page.isNull("cursor") ? null : page.getString("cursor");
+      }
+      while (cursor != null);
+
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < messageCount; i++) {
+         expected.add(i);
+      }
+      assertEquals(expected, browsed);
+
+      // the filter is only given when opening the cursor
+      JsonObject page = JsonUtil.readJsonObject(queueControl.browseAsJSON("", 2, "i >= 15"));
+      assertEquals(15, page.getJsonArray("messages").getJsonObject(0).getInt("i"));
+      cursor = page.getString("cursor");
+      page = JsonUtil.readJsonObject(queueControl.browseAsJSON(cursor, 2, null));
+      assertEquals(17, page.getJsonArray("messages").getJsonObject(0).getInt("i"));
+
+      assertTrue(queueControl.browseClose(cursor));
+      assertFalse(queueControl.browseClose(cursor));
+      final String closed = cursor;
+      assertThrows(Exception.class, () -> queueControl.browseAsJSON(closed, 2, null));
+
+      // browsing doesn't consume
+      assertEquals(messageCount, getMessageCount(queueControl));
+
+      session.deleteQueue(queue);
+   }
+
    @TestTemplate
    public void testBrowseWithNullPropertyValue() throws Exception {
       SimpleString address = RandomUtil.randomUUIDSimpleString();
@@ -644,6 +644,16 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             return compositeDatas;
          }
 
+         @Override
+         public String browseAsJSON(String cursor, int pageSize, String filter) throws Exception {
+            return (String) proxy.invokeOperation("browseAsJSON", cursor, pageSize, filter);
+         }
+
+         @Override
+         public boolean browseClose(String cursor) throws Exception {
+            return (Boolean) proxy.invokeOperation("browseClose", cursor);
+         }
+
          @Override
          public CompositeData[] browse(String filter) throws Exception {
             Map map = (Map) proxy.invokeOperation("browse", filter);
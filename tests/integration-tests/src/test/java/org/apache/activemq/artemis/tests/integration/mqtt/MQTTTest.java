@@ -58,8 +58,11 @@ import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
 import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.config.CoreAddressConfiguration;
 import org.apache.activemq.artemis.core.management.impl.view.ProducerField;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTRetainedMessageStore;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTStateManager;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
@@ -2163,6 +2166,76 @@ public class MQTTTest extends MQTTTestSupport {
       assertEquals(payload, new String(message.getPayload()));
    }
 
+   @Test
+   @Timeout(60)
+   public void testLegacyRetainQueueMovedToStoreOnRestart() throws Exception {
+      final String topic = "legacy/retained";
+      final String payload = "retained before the store";
+      final SimpleString retainAddress = SimpleString.of(MQTTUtil.getCoreRetainAddressFromMqttTopic(topic, getServer().getConfiguration().getWildcardConfiguration()));
+
+      // the retained message of a broker storing it in a queue per topic
+      getServer().createQueue(QueueConfiguration.of(retainAddress).setRoutingType(RoutingType.MULTICAST).setDurable(true));
+      final CoreMessage legacy = new CoreMessage(getServer().getStorageManager().generateID(), 50);
+      legacy.setAddress(retainAddress);
+      legacy.setDurable(true);
+      legacy.setType(org.apache.activemq.artemis.api.core.Message.BYTES_TYPE);
+      legacy.getBodyBuffer().writeBytes(payload.getBytes(StandardCharsets.UTF_8));
+      getServer().getPostOffice().route(legacy, false);
+      Wait.assertEquals(1L, () -> getServer().locateQueue(retainAddress).getMessageCount(), 2000, 50);
+
+      getServer().stop();
+      getServer().start();
+      getServer().waitForActivation(10, TimeUnit.SECONDS);
+
+      MQTT mqtt = createMQTTConnection();
+      mqtt.setClientId("legacySubscriber");
+      BlockingConnection connection = mqtt.blockingConnection();
+      connection.connect();
+      connection.subscribe(new Topic[]{new Topic("legacy/+", QoS.AT_LEAST_ONCE)});
+
+      Message message = connection.receive(5000, TimeUnit.MILLISECONDS);
+      assertNotNull(message);
+      assertEquals(payload, new String(message.getPayload(), StandardCharsets.UTF_8));
+      connection.disconnect();
+
+      assertNull(getServer().locateQueue(retainAddress));
+      assertEquals(1, MQTTStateManager.getInstance(getServer()).getRetainedMessageStore().size());
+   }
+
+   @Test
+   @Timeout(60)
+   public void testClearedRetainedMessagesRemovedFromStore() throws Exception {
+      final int topics = 50;
+      final MQTTRetainedMessageStore retainedMessageStore = MQTTStateManager.getInstance(getServer()).getRetainedMessageStore();
+      final Queue store = getServer().locateQueue(MQTTUtil.MQTT_RETAIN_STORE);
+
+      MQTT mqtt = createMQTTConnection();
+      mqtt.setClientId("retainedClearer");
+      BlockingConnection connection = mqtt.blockingConnection();
+      connection.connect();
+      for (int i = 0; i < topics; i++) {
+         connection.publish("cleared/" + i, ("retained " + i).getBytes(StandardCharsets.UTF_8), QoS.AT_LEAST_ONCE, true);
+      }
+      Wait.assertEquals(topics, retainedMessageStore::size, 2000, 50);
+      Wait.assertEquals((long) topics, store::getMessageCount, 2000, 50);
+
+      for (int i = 0; i < topics; i++) {
+         connection.publish("cleared/" + i, new byte[0], QoS.AT_LEAST_ONCE, true);
+      }
+      connection.disconnect();
+
+      Wait.assertEquals(0, retainedMessageStore::size, 2000, 50);
+      // no reset is left in the store once applied
+      Wait.assertEquals(0L, store::getMessageCount, 2000, 50);
+
+      getServer().stop();
+      getServer().start();
+      getServer().waitForActivation(10, TimeUnit.SECONDS);
+
+      assertEquals(0, MQTTStateManager.getInstance(getServer()).getRetainedMessageStore().size());
+      assertEquals(0L, getServer().locateQueue(MQTTUtil.MQTT_RETAIN_STORE).getMessageCount());
+   }
+
    @Test
    @Timeout(60)
    public void testBrokerRestartAfterSubHashWithConfigurationQueues() throws Exception {
@@ -2258,9 +2331,9 @@ public class MQTTTest extends MQTTTestSupport {
 
    @Test
    @Timeout(60)
-   public void testAutoDeleteRetainedQueue() throws Exception {
+   public void testExpireRetainedMessage() throws Exception {
       final String TOPIC = "/abc/123";
-      final String RETAINED_QUEUE = MQTTUtil.getCoreRetainAddressFromMqttTopic(TOPIC, server.getConfiguration().getWildcardConfiguration());
+      final MQTTRetainedMessageStore retainedMessageStore = MQTTStateManager.getInstance(server).getRetainedMessageStore();
       final MQTTClientProvider publisher = getMQTTClientProvider();
       final MQTTClientProvider subscriber = getMQTTClientProvider();
 
@@ -2296,10 +2369,11 @@ public class MQTTTest extends MQTTTestSupport {
       subscriber.disconnect();
       publisher.disconnect();
 
-      Wait.assertTrue(() -> server.locateQueue(RETAINED_QUEUE).getMessageCount() == 0, 2000, 50);
-      Wait.assertTrue(() -> server.locateQueue(RETAINED_QUEUE) == null, 2000, 50);
+      Wait.assertTrue(() -> retainedMessageStore.getMatchingMessages(TOPIC).isEmpty(), 2000, 50);
+      // and the expired topic was pruned from the store
+      assertEquals(0, retainedMessageStore.size());
 
-      // now that we auto-deleted do it again to ensure it is recreated and auto-deleted properly
+      // now that it expired do it again to ensure it is retained and expired properly
 
       initializeConnection(publisher);
       initializeConnection(subscriber);
@@ -2325,8 +2399,7 @@ public class MQTTTest extends MQTTTestSupport {
       subscriber.disconnect();
       publisher.disconnect();
 
-      Wait.assertTrue(() -> server.locateQueue(RETAINED_QUEUE).getMessageCount() == 0, 3000, 50);
-      Wait.assertTrue(() -> server.locateQueue(RETAINED_QUEUE) == null, 3000, 50);
+      Wait.assertTrue(() -> retainedMessageStore.getMatchingMessages(TOPIC).isEmpty(), 3000, 50);
    }
 
    /*
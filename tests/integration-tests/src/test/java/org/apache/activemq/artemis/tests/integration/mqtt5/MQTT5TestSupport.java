@@ -40,6 +40,7 @@ import org.apache.activemq.artemis.core.config.Configuration;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTInterceptor;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTProtocolManager;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTSessionState;
+import org.apache.activemq.artemis.core.protocol.mqtt.MQTTStateManager;
 import org.apache.activemq.artemis.core.protocol.mqtt.MQTTUtil;
 import org.apache.activemq.artemis.core.remoting.impl.AbstractAcceptor;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
@@ -342,8 +343,8 @@ public class MQTT5TestSupport extends ActiveMQTestBase {
       return server.locateQueue(MQTTUtil.getCoreQueueFromMqttTopic(mqttTopicFilter, clientId, server.getConfiguration().getWildcardConfiguration()));
    }
 
-   protected Queue getRetainedMessageQueue(String mqttTopicFilter) {
-      return server.locateQueue(MQTTUtil.getCoreRetainAddressFromMqttTopic(mqttTopicFilter, server.getConfiguration().getWildcardConfiguration()));
+   protected int getRetainedMessageCount(String mqttTopicFilter) throws Exception {
+      return MQTTStateManager.getInstance(server).getRetainedMessageStore().getMatchingMessages(mqttTopicFilter).size();
    }
 
    protected void setAcceptorProperty(String property) throws Exception {
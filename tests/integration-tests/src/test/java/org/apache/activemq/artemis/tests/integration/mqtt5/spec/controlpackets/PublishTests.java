@@ -272,14 +272,14 @@ public class PublishTests extends MQTT5TestSupport {
       final String CONSUMER_ID = RandomUtil.randomUUIDString();
       final String TOPIC = this.getTopicName();
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       MqttClient producer = createPahoClient("producer");
       producer.connect();
       // send first retained message
       producer.publish(TOPIC, "retain1".getBytes(), 2, true);
 
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 2000, 100);
 
       // send second retained message; should *remove* the first
       producer.publish(TOPIC, new byte[0], 2, true);
@@ -287,7 +287,7 @@ public class PublishTests extends MQTT5TestSupport {
       producer.disconnect();
       producer.close();
 
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 0, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 0, 2000, 100);
 
       final CountDownLatch latch = new CountDownLatch(1);
       MqttClient consumer = createPahoClient(CONSUMER_ID);
@@ -317,14 +317,14 @@ public class PublishTests extends MQTT5TestSupport {
       final String RETAINED_PAYLOAD = RandomUtil.randomUUIDString();
       final String UNRETAINED_PAYLOAD = RandomUtil.randomUUIDString();
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       MqttClient producer = createPahoClient("producer");
       producer.connect();
 
       // send retained message
       producer.publish(TOPIC, RETAINED_PAYLOAD.getBytes(), 2, true);
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 1000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 1000, 100);
 
       // send an unretained message; should *not* remove the existing retained message
       producer.publish(TOPIC, UNRETAINED_PAYLOAD.getBytes(), 2, false);
@@ -332,7 +332,7 @@ public class PublishTests extends MQTT5TestSupport {
       producer.disconnect();
       producer.close();
 
-      Wait.assertFalse(() -> getRetainedMessageQueue(TOPIC).getMessageCount() > 1, 1000, 100);
+      Wait.assertFalse(() -> getRetainedMessageCount(TOPIC) > 1, 1000, 100);
 
       final CountDownLatch latch = new CountDownLatch(1);
       MqttClient consumer = createPahoClient(CONSUMER_ID);
@@ -416,7 +416,7 @@ public class PublishTests extends MQTT5TestSupport {
       }
 
       for (int i = 0; i < SUBSCRIPTION_COUNT; i++) {
-         assertNull(getRetainedMessageQueue(topicNames[i]));
+         assertEquals(0, getRetainedMessageCount(topicNames[i]));
       }
 
       // send retained messages
@@ -425,7 +425,7 @@ public class PublishTests extends MQTT5TestSupport {
       for (int i = 0; i < SUBSCRIPTION_COUNT; i++) {
          final String topicName = topicNames[i];
          producer.publish(topicName, retainedPayloads[i].getBytes(), 2, true);
-         Wait.assertTrue(() -> getRetainedMessageQueue(topicName).getMessageCount() == 1, 2000, 100);
+         Wait.assertTrue(() -> getRetainedMessageCount(topicName) == 1, 2000, 100);
       }
       producer.disconnect();
       producer.close();
@@ -483,14 +483,14 @@ public class PublishTests extends MQTT5TestSupport {
       final String CONSUMER_ID = RandomUtil.randomUUIDString();
       final String TOPIC = this.getTopicName();
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       // send retained messages
       MqttClient producer = createPahoClient("producer");
       producer.connect();
       producer.publish(TOPIC, "retained".getBytes(), 2, true);
 
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 2000, 100);
       producer.disconnect();
       producer.close();
 
@@ -550,13 +550,13 @@ public class PublishTests extends MQTT5TestSupport {
       final String CONSUMER_ID = RandomUtil.randomUUIDString();
       final String TOPIC = this.getTopicName();
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       // send first retained message
       MqttClient producer = createPahoClient("producer");
       producer.connect();
       producer.publish(TOPIC, "retained".getBytes(), 2, true);
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 2000, 100);
       producer.disconnect();
       producer.close();
 
@@ -609,13 +609,13 @@ public class PublishTests extends MQTT5TestSupport {
       subscription.setRetainAsPublished(false);
       consumer.subscribe(new MqttSubscription[]{subscription});
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       // send retained message
       MqttClient producer = createPahoClient("producer");
       producer.connect();
       producer.publish(TOPIC, "retained".getBytes(), 2, true);
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 2000, 100);
       producer.disconnect();
       producer.close();
 
@@ -661,13 +661,13 @@ public class PublishTests extends MQTT5TestSupport {
       subscription.setRetainAsPublished(true);
       consumer.subscribe(new MqttSubscription[]{subscription});
 
-      assertNull(getRetainedMessageQueue(TOPIC));
+      assertEquals(0, getRetainedMessageCount(TOPIC));
 
       // send retained message
       MqttClient producer = createPahoClient("producer");
       producer.connect();
       producer.publish(TOPIC, "retained".getBytes(), 2, true);
-      Wait.assertTrue(() -> getRetainedMessageQueue(TOPIC).getMessageCount() == 1, 2000, 100);
+      Wait.assertTrue(() -> getRetainedMessageCount(TOPIC) == 1, 2000, 100);
       producer.disconnect();
       producer.close();
 
@@ -393,6 +393,43 @@ public class LVQTest extends ActiveMQTestBase {
       assertNull(m);
    }
 
+   @Test
+   public void testMultipleMessagesSentInTxToMultipleQueues() throws Exception {
+      final SimpleString qName2 = SimpleString.of("LVQTestQ2");
+      clientSession.createQueue(QueueConfiguration.of(qName2).setAddress(address));
+      ClientProducer producer = clientSessionTxSends.createProducer(address);
+      SimpleString messageId1 = SimpleString.of("SMID1");
+      SimpleString messageId2 = SimpleString.of("SMID2");
+      String[] bodies = {"m1", "m2", "m3", "m4"};
+      SimpleString[] lastValues = {messageId1, messageId2, messageId1, messageId2};
+      for (int i = 0; i < bodies.length; i++) {
+         ClientMessage message = createTextMessage(clientSessionTxSends, bodies[i]);
+         message.putStringProperty(Message.HDR_LAST_VALUE_NAME, lastValues[i]);
+         producer.send(message);
+      }
+      // every message is routed to both queues, so they are added to each queue together on commit
+      clientSessionTxSends.commit();
+
+      clientSession.start();
+      for (SimpleString queueName : new SimpleString[] {qName1, qName2}) {
+         Queue lvQueue = server.locateQueue(queueName);
+         Wait.assertEquals(4L, lvQueue::getMessagesAdded, 5000, 100);
+         Wait.assertEquals(2L, lvQueue::getMessageCount, 5000, 100);
+
+         ClientConsumer consumer = clientSession.createConsumer(queueName);
+         ClientMessage m = consumer.receive(1000);
+         assertNotNull(m);
+         m.acknowledge();
+         assertEquals("m3", m.getBodyBuffer().readString());
+         m = consumer.receive(1000);
+         assertNotNull(m);
+         m.acknowledge();
+         assertEquals("m4", m.getBodyBuffer().readString());
+         assertNull(consumer.receiveImmediate());
+         consumer.close();
+      }
+   }
+
    @Test
    public void testMultipleMessagesInTxRollback() throws Exception {
       ClientProducer producer = clientSessionTxReceives.createProducer(address);
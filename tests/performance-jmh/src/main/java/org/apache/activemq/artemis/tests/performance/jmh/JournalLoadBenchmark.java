@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.io.nio.NIOSequentialFileFactory;
+import org.apache.activemq.artemis.core.journal.LoaderCallback;
+import org.apache.activemq.artemis.core.journal.PreparedTransactionInfo;
+import org.apache.activemq.artemis.core.journal.RecordInfo;
+import org.apache.activemq.artemis.core.journal.impl.JournalImpl;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads a journal where every record was added and then updated, as a message and its reference are, and keeps the
+ * loaded journal until the next operation. With {@code updateFiles = 1} every update is in the file of the add, with
+ * {@code updateFiles = 2} the records have a second update in the next file, so each record needs a list of updated
+ * files. Run with {@code -prof gc} to compare the allocated bytes per operation, i.e. per {@code records} records.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JournalLoadBenchmark {
+
+   private static final String JOURNAL_DIR = System.getProperty("user.dir") + File.separator + "JournalLoadBenchmark";
+
+   private static final int FILE_SIZE = 10 * 1024 * 1024;
+
+   private static final byte RECORD_TYPE = 1;
+
+   private static final LoaderCallback NO_OP_LOADER = new LoaderCallback() {
+      @Override
+      public void addPreparedTransaction(PreparedTransactionInfo preparedTransaction) {
+      }
+
+      @Override
+      public void addRecord(RecordInfo info) {
+      }
+
+      @Override
+      public void deleteRecord(long id) {
+      }
+
+      @Override
+      public void updateRecord(RecordInfo info) {
+      }
+
+      @Override
+      public void failedTransaction(long transactionID, List<RecordInfo> records, List<RecordInfo> recordsToDelete) {
+      }
+   };
+
+   @Param({"1000000"})
+   private int records;
+
+   @Param({"1", "2"})
+   private int updateFiles;
+
+   private JournalImpl loaded;
+
+   @Setup
+   public void init() throws Exception {
+      FileUtil.deleteDirectory(new File(JOURNAL_DIR));
+      new File(JOURNAL_DIR).mkdirs();
+      final JournalImpl journal = newJournal();
+      journal.start();
+      journal.load(NO_OP_LOADER);
+      final byte[] add = new byte[64];
+      final byte[] update = new byte[8];
+      for (long id = 1; id <= records; id++) {
+         journal.appendAddRecord(id, RECORD_TYPE, add, false);
+         journal.appendUpdateRecord(id, RECORD_TYPE, update, false);
+      }
+      if (updateFiles > 1) {
+         journal.forceMoveNextFile();
+         for (long id = 1; id <= records; id++) {
+            journal.appendUpdateRecord(id, RECORD_TYPE, update, false);
+         }
+      }
+      journal.stop();
+   }
+
+   private static JournalImpl newJournal() {
+      return new JournalImpl(FILE_SIZE, 2, 2, 0, 0, new NIOSequentialFileFactory(new File(JOURNAL_DIR), 1), "benchmark", "amq", 1);
+   }
+
+   @Benchmark
+   public JournalImpl load() throws Exception {
+      if (loaded != null) {
+         loaded.stop();
+      }
+      final JournalImpl journal = newJournal();
+      journal.start();
+      journal.load(NO_OP_LOADER);
+      loaded = journal;
+      return journal;
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      if (loaded != null) {
+         loaded.stop();
+         loaded = null;
+      }
+      FileUtil.deleteDirectory(new File(JOURNAL_DIR));
+   }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.protocol.openwire.OpenWireMessageConverter;
+import org.apache.activemq.artemis.core.protocol.openwire.amq.AMQConsumer;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.apache.activemq.artemis.reader.TextMessageUtil;
+import org.apache.activemq.artemis.utils.UUID;
+import org.apache.activemq.artemis.utils.UUIDGenerator;
+import org.apache.activemq.command.ActiveMQTopic;
+import org.apache.activemq.command.ConsumerId;
+import org.apache.activemq.command.ConsumerInfo;
+import org.apache.activemq.command.MessageDispatch;
+import org.apache.activemq.openwire.OpenWireFormat;
+import org.apache.activemq.openwire.OpenWireFormatFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the OpenWire conversion and marshalling of a message delivered to {@code subscribers} topic subscriptions,
+ * with its conversion shared by them or converted again for every one of them.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OpenWireFanOutBenchmark {
+
+   private static final String TOPIC = "prices";
+
+   @Param({"1", "16", "128"})
+   private int subscribers;
+
+   @Param({"false", "true"})
+   private boolean shared;
+
+   private final OpenWireFormat wireFormat = (OpenWireFormat) new OpenWireFormatFactory().createWireFormat();
+
+   private final UUID nodeUUID = UUIDGenerator.getInstance().generateUUID();
+
+   private AMQConsumer[] consumers;
+
+   private long nextMessageID;
+
+   @Setup
+   public void init() {
+      final ActiveMQTopic topic = new ActiveMQTopic(TOPIC);
+      consumers = new AMQConsumer[subscribers];
+      for (int i = 0; i < subscribers; i++) {
+         final ConsumerInfo info = new ConsumerInfo(new ConsumerId("ID:benchmark-1:1:1:" + i));
+         info.setDestination(topic);
+         info.setPrefetchSize(1000);
+         consumers[i] = new AMQConsumer(null, topic, info, null, false);
+      }
+   }
+
+   private CoreMessage createMessage() {
+      final CoreMessage message = new CoreMessage(nextMessageID++, 1024);
+      message.setType(Message.TEXT_TYPE);
+      message.setAddress(TOPIC);
+      message.setDurable(true);
+      TextMessageUtil.writeBodyText(message.getBodyBuffer(), SimpleString.of("{\"symbol\": \"IBM\", \"price\": 123.45, \"volume\": 1000}"));
+      message.putStringProperty("symbol", "IBM");
+      message.putStringProperty("region", "EU");
+      message.putDoubleProperty("price", 123.45);
+      message.putIntProperty("volume", 1000);
+      message.putLongProperty("sequence", nextMessageID);
+      return message;
+   }
+
+   @Benchmark
+   public void fanOut(Blackhole blackhole) throws Exception {
+      final CoreMessage message = createMessage();
+      if (shared) {
+         // the conversion is only shared by the messages delivered to more than one queue
+         for (int i = 0; i < subscribers; i++) {
+            message.refUp();
+         }
+      }
+      for (int i = 0; i < subscribers; i++) {
+         final MessageReference reference = new MessageReferenceImpl(message, null);
+         reference.incrementDeliveryCount();
+         final MessageDispatch dispatch = OpenWireMessageConverter.createMessageDispatch(reference, message, wireFormat, consumers[i], nodeUUID, nextMessageID);
+         blackhole.consume(wireFormat.marshal(dispatch));
+      }
+   }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.paging.PagingStore;
+import org.apache.activemq.artemis.core.paging.impl.Page;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.impl.AddressInfo;
+import org.apache.activemq.artemis.utils.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Many cursors going through the same paged address: every benchmark thread is a cursor that takes the page it is
+ * reading from the store and releases it, as {@code PageSubscriptionImpl} does when it moves between pages. A slow
+ * subscription holds every page, so the pages stay in use and only the page lookup and its reference counting are
+ * measured. Use {@code -t} to change the number of cursors.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Threads(16)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PageCacheBenchmark {
+
+   private static final String STORE_DIR = System.getProperty("user.dir") + File.separator + "PageCacheBenchmark";
+
+   private static final SimpleString ADDRESS = SimpleString.of("benchmark");
+
+   @Param({"4", "64"})
+   private int pages;
+
+   private ActiveMQServer server;
+   private PagingStore store;
+   private long firstPage;
+   private final List<Page> pinned = new ArrayList<>();
+
+   @State(Scope.Thread)
+   public static class Cursor {
+
+      private long position;
+
+      @Setup
+      public void init() {
+         position = ThreadLocalRandom.current().nextInt(1024);
+      }
+   }
+
+   @Setup
+   public void init() throws Exception {
+      FileUtil.deleteDirectory(new File(STORE_DIR));
+      ConfigurationImpl configuration = new ConfigurationImpl();
+      configuration.setPersistenceEnabled(true);
+      configuration.setSecurityEnabled(false);
+      configuration.setJMXManagementEnabled(false);
+      configuration.setBrokerInstance(new File(STORE_DIR));
+      server = ActiveMQServers.newActiveMQServer(configuration, true);
+      server.start();
+      server.addAddressInfo(new AddressInfo(ADDRESS).addRoutingType(RoutingType.MULTICAST));
+      store = server.getPagingManager().getPageStore(ADDRESS);
+      store.startPaging();
+      for (int i = 1; i < pages; i++) {
+         store.forceAnotherPage();
+      }
+      firstPage = store.getFirstPage();
+      for (long pageId = firstPage; pageId <= store.getCurrentWritingPage(); pageId++) {
+         pinned.add(store.usePage(pageId));
+      }
+   }
+
+   @Benchmark
+   public Page usePage(Cursor cursor) {
+      final long pageId = firstPage + cursor.position++ % pages;
+      final Page page = store.usePage(pageId, false);
+      page.usageDown();
+      return page;
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      pinned.forEach(Page::usageDown);
+      pinned.clear();
+      server.stop();
+      FileUtil.deleteDirectory(new File(STORE_DIR));
+   }
+}
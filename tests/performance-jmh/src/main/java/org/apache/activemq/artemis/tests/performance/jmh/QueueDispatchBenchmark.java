@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.server.HandleStatus;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures produce + consume throughput of a single hot {@link Queue}: messages are added through
+ * {@link Queue#addTail(MessageReference)} (the same path used by the post office) and auto-acknowledged by
+ * {@code consumers} in-process consumers, so that only the queue dispatch path is being exercised.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class QueueDispatchBenchmark {
+
+   private static final String STORE_DIR = System.getProperty("user.dir") + File.separator + "QueueDispatchBenchmark";
+   private static final int BATCH = 1000;
+
+   @Param({"1", "8", "64"})
+   private int consumers;
+
+   private ActiveMQServer server;
+   private Queue queue;
+   private final AtomicLong acked = new AtomicLong();
+   private long sent;
+   private long nextMessageID;
+
+   @Setup
+   public void init() throws Exception {
+      ConfigurationImpl configuration = new ConfigurationImpl();
+      configuration.setPersistenceEnabled(false);
+      configuration.setSecurityEnabled(false);
+      configuration.setJMXManagementEnabled(false);
+      configuration.setBrokerInstance(new File(STORE_DIR));
+      server = ActiveMQServers.newActiveMQServer(configuration, false);
+      server.start();
+      queue = server.createQueue(QueueConfiguration.of("benchmark").setRoutingType(RoutingType.ANYCAST).setDurable(false));
+      for (int i = 0; i < consumers; i++) {
+         queue.addConsumer(new AutoAckConsumer(i));
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(BATCH)
+   public long produceConsume() throws Exception {
+      final SimpleString address = queue.getAddress();
+      for (int i = 0; i < BATCH; i++) {
+         CoreMessage message = new CoreMessage(nextMessageID++, 50);
+         message.setAddress(address);
+         queue.addTail(MessageReference.Factory.createReference(message, queue));
+      }
+      sent += BATCH;
+      while (acked.get() < sent) {
+         LockSupport.parkNanos(1000);
+      }
+      return sent;
+   }
+
+   @TearDown
+   public void stop() throws Exception {
+      server.stop();
+   }
+
+   private final class AutoAckConsumer implements Consumer {
+
+      private final long id;
+
+      private AutoAckConsumer(long id) {
+         this.id = id;
+      }
+
+      @Override
+      public HandleStatus handle(MessageReference reference) throws Exception {
+         reference.getQueue().referenceHandled(reference);
+         return HandleStatus.HANDLED;
+      }
+
+      @Override
+      public void proceedDeliver(MessageReference reference) throws Exception {
+         reference.getQueue().acknowledge(reference);
+         acked.incrementAndGet();
+      }
+
+      @Override
+      public Filter getFilter() {
+         return null;
+      }
+
+      @Override
+      public List<MessageReference> getDeliveringMessages() {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public String debug() {
+         return toString();
+      }
+
+      @Override
+      public String toManagementString() {
+         return toString();
+      }
+
+      @Override
+      public void disconnect() {
+      }
+
+      @Override
+      public void failed(Throwable t) {
+      }
+
+      @Override
+      public long sequentialID() {
+         return id;
+      }
+   }
+}
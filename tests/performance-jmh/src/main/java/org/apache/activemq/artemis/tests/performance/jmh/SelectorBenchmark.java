@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the selectors as parsed with the ones compiled by {@link SelectorCompiler}, evaluated by many consumers.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Threads(4)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class SelectorBenchmark {
+
+   private static final String[] REGIONS = {"EU", "US", "APAC", "LATAM"};
+
+   private static final String[] SYMBOLS = {"ORCL", "IBM", "MSFT", "AAPL", "AMZN", "GOOG", "INTC", "NVDA"};
+
+   @Param({"region = 'EU' AND price > 100.5 AND qty >= 10",
+           "symbol IN ('IBM', 'MSFT', 'AAPL', 'NVDA') OR urgent",
+           "description LIKE 'order%' AND NOT (region = 'US')",
+           "qty BETWEEN 10 AND 20 AND price * 2 < 2 * 100"})
+   private String selector;
+
+   @Param({"false", "true"})
+   private boolean compiled;
+
+   private BooleanExpression expression;
+
+   private Filterable[] messages;
+
+   private int mask;
+
+   /**
+    * Like the broker does, the string properties are {@code String}s.
+    */
+   private static final class MapFilterable implements Filterable {
+
+      private final Map<SimpleString, Object> properties = new HashMap<>();
+
+      @Override
+      public <T> T getBodyAs(Class<T> type) {
+         return null;
+      }
+
+      @Override
+      public Object getProperty(SimpleString name) {
+         return properties.get(name);
+      }
+
+      @Override
+      public Object getLocalConnectionId() {
+         return null;
+      }
+   }
+
+   @State(Scope.Thread)
+   public static class Cursor {
+
+      private int next;
+   }
+
+   @Setup
+   public void init() throws FilterException {
+      final BooleanExpression parsed = SelectorParser.parse(selector);
+      expression = compiled ? SelectorCompiler.compile(parsed) : parsed;
+      final SplittableRandom random = new SplittableRandom(0);
+      messages = new Filterable[1024];
+      mask = messages.length - 1;
+      for (int i = 0; i < messages.length; i++) {
+         final MapFilterable message = new MapFilterable();
+         message.properties.put(SimpleString.of("region"), REGIONS[random.nextInt(REGIONS.length)]);
+         message.properties.put(SimpleString.of("symbol"), SYMBOLS[random.nextInt(SYMBOLS.length)]);
+         message.properties.put(SimpleString.of("description"), (random.nextBoolean() ? "order " : "quote ") + i);
+         message.properties.put(SimpleString.of("price"), random.nextDouble(200));
+         message.properties.put(SimpleString.of("qty"), random.nextInt(30));
+         message.properties.put(SimpleString.of("urgent"), random.nextInt(10) == 0);
+         messages[i] = message;
+      }
+   }
+
+   @Benchmark
+   public boolean matches(Cursor cursor) throws FilterException {
+      return expression.matches(messages[cursor.next++ & mask]);
+   }
+}
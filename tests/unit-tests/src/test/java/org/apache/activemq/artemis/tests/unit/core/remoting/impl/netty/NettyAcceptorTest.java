@@ -23,13 +23,20 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptor;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnector;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.logs.AssertionLoggerHandler;
 import org.apache.activemq.artemis.spi.core.protocol.ProtocolManager;
 import org.apache.activemq.artemis.spi.core.remoting.BufferHandler;
+import org.apache.activemq.artemis.spi.core.remoting.ClientConnectionLifeCycleListener;
+import org.apache.activemq.artemis.spi.core.remoting.ClientProtocolManager;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.spi.core.remoting.ServerConnectionLifeCycleListener;
 import org.apache.activemq.artemis.tests.extensions.PortCheckExtension;
@@ -42,6 +49,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -112,6 +121,82 @@ public class NettyAcceptorTest extends ActiveMQTestBase {
       assertTrue(PortCheckExtension.checkAvailable(TransportConstants.DEFAULT_PORT));
    }
 
+   @Test
+   public void testIoUringFallback() throws Exception {
+      BufferHandler handler = (connectionID, buffer) -> {
+      };
+      ServerConnectionLifeCycleListener listener = new ServerConnectionLifeCycleListener() {
+
+         @Override
+         public void connectionException(final Object connectionID, final ActiveMQException me) {
+         }
+
+         @Override
+         public void connectionDestroyed(final Object connectionID, boolean failed) {
+         }
+
+         @Override
+         public void connectionCreated(final ActiveMQComponent component,
+                                       final Connection connection,
+                                       final ProtocolManager protocol) {
+         }
+
+         @Override
+         public void connectionReadyForWrites(Object connectionID, boolean ready) {
+         }
+      };
+      ClientConnectionLifeCycleListener clientListener = new ClientConnectionLifeCycleListener() {
+
+         @Override
+         public void connectionException(final Object connectionID, final ActiveMQException me) {
+         }
+
+         @Override
+         public void connectionDestroyed(final Object connectionID, boolean failed) {
+         }
+
+         @Override
+         public void connectionCreated(final ActiveMQComponent component,
+                                       final Connection connection,
+                                       final ClientProtocolManager protocol) {
+         }
+
+         @Override
+         public void connectionReadyForWrites(Object connectionID, boolean ready) {
+         }
+      };
+
+      // io_uring requested, with NIO as the only fallback: io_uring isn't available e.g. on a kernel older than 5.9
+      Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.USE_IO_URING_PROP_NAME, true);
+      params.put(TransportConstants.USE_EPOLL_PROP_NAME, false);
+      params.put(TransportConstants.USE_KQUEUE_PROP_NAME, false);
+      final boolean ioUring = CheckDependencies.isIoUringAvailable();
+
+      pool2 = Executors.newScheduledThreadPool(ActiveMQDefaultConfiguration.getDefaultScheduledThreadPoolMaxSize(), ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      pool3 = Executors.newSingleThreadExecutor(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName()));
+      NettyAcceptor acceptor = new NettyAcceptor("netty", null, params, handler, listener, pool2, pool3, new HashMap<>());
+      addActiveMQComponent(acceptor);
+
+      try (AssertionLoggerHandler loggerHandler = new AssertionLoggerHandler()) {
+         acceptor.start();
+         assertTrue(acceptor.isStarted());
+         assertTrue(loggerHandler.findText("AMQ221020", "Started " + (ioUring ? NettyAcceptor.IO_URING_ACCEPTOR_TYPE : NettyAcceptor.NIO_ACCEPTOR_TYPE) + " Acceptor"));
+      }
+
+      NettyConnector connector = new NettyConnector(params, handler, clientListener, pool3, pool3, pool2);
+      connector.start();
+      try {
+         assertInstanceOf(ioUring ? IOUringEventLoopGroup.class : NioEventLoopGroup.class, connector.getBootStrap().config().group());
+         Connection connection = connector.createConnection();
+         assertNotNull(connection);
+         connection.close();
+      } finally {
+         connector.close();
+         acceptor.stop();
+      }
+   }
+
    @Test
    public void testAutoStart() throws Exception {
       ActiveMQServer server = createServer(false, createDefaultInVMConfig());